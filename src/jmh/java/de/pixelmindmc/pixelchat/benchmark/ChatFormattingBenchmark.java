@@ -0,0 +1,93 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.benchmark;
+
+import de.pixelmindmc.pixelchat.constants.ConfigConstants;
+import de.pixelmindmc.pixelchat.listener.AsyncPlayerChatListener;
+import de.pixelmindmc.pixelchat.loadtest.SimulatedServer;
+import de.pixelmindmc.pixelchat.utils.TextReplacer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the emoji and chat code replacement that runs on every chat message
+ * The replacers are read from a listener built from the bundled emoji and chat code lists, the combined replacer is
+ * the one used for players that may use both
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ChatFormattingBenchmark {
+    @Param({"SHORT", "LONG", "EMOJI", "UNICODE"})
+    public MessageCorpus corpus;
+
+    private SimulatedServer server;
+    private TextReplacer emojiReplacer;
+    private TextReplacer chatCodesReplacer;
+    private TextReplacer combinedReplacer;
+    private String[] messages;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        server = new SimulatedServer("http://127.0.0.1:9/v1/chat/completions", "WARNING", Map.of(ConfigConstants.Modules.EMOJIS, true, ConfigConstants.Modules.CHAT_CODES, true));
+        AsyncPlayerChatListener listener = server.createChatListener();
+        messages = corpus.getMessages();
+
+        Field formattingField = AsyncPlayerChatListener.class.getDeclaredField("formatting");
+        formattingField.setAccessible(true);
+        Object formatting = formattingField.get(listener);
+
+        emojiReplacer = component(formatting, "emojis");
+        chatCodesReplacer = component(formatting, "chatCodes");
+        combinedReplacer = component(formatting, "combined");
+    }
+
+    private static TextReplacer component(Object formatting, String name) throws Exception {
+        Method accessor = formatting.getClass().getDeclaredMethod(name);
+        accessor.setAccessible(true);
+        return (TextReplacer) accessor.invoke(formatting);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        server.close();
+    }
+
+    @Benchmark
+    public void replaceMessageEmojis(Blackhole blackhole) {
+        for (String message : messages) {
+            blackhole.consume(emojiReplacer.replace(message));
+        }
+    }
+
+    @Benchmark
+    public void replaceMessageChatCodes(Blackhole blackhole) {
+        for (String message : messages) {
+            blackhole.consume(chatCodesReplacer.replace(message));
+        }
+    }
+
+    @Benchmark
+    public void replaceMessageCombined(Blackhole blackhole) {
+        for (String message : messages) {
+            blackhole.consume(combinedReplacer.replace(message));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.benchmark;
+
+import de.pixelmindmc.pixelchat.loadtest.SimulatedServer;
+import de.pixelmindmc.pixelchat.model.MessageClassification;
+import de.pixelmindmc.pixelchat.utils.ChatGuardHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the check of a classification against the enabled block rules, which runs for every classified message
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ChatGuardBenchmark {
+    private static final MessageClassification CLEAN = MessageClassification.fromFlags(0, "");
+    private static final MessageClassification OFFENSIVE = MessageClassification.fromFlags(MessageClassification.OFFENSIVE_LANGUAGE, "Offensive language");
+    private static final MessageClassification WEBSITE = MessageClassification.fromFlags(MessageClassification.WEBSITE, "Website");
+
+    private SimulatedServer server;
+    private ChatGuardHelper chatGuardHelper;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        server = new SimulatedServer("http://127.0.0.1:9/v1/chat/completions", "WARNING", Map.of());
+        chatGuardHelper = server.getChatGuardHelper();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        server.close();
+    }
+
+    @Benchmark
+    public boolean messageMatchesEnabledRuleClean() {
+        return chatGuardHelper.messageMatchesEnabledRule(CLEAN);
+    }
+
+    @Benchmark
+    public boolean messageMatchesEnabledRuleOffensive() {
+        return chatGuardHelper.messageMatchesEnabledRule(OFFENSIVE);
+    }
+
+    @Benchmark
+    public boolean messageMatchesEnabledRuleWebsite() {
+        return chatGuardHelper.messageMatchesEnabledRule(WEBSITE);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.benchmark;
+
+import de.pixelmindmc.pixelchat.loadtest.SimulatedServer;
+import de.pixelmindmc.pixelchat.utils.LoggingHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the debug messages of the chat path with debug logging disabled, the default on production servers
+ * The unguarded variant is how most call sites log, it builds the message before the log level is checked
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+    @Param({"SHORT", "LONG", "EMOJI", "UNICODE"})
+    public MessageCorpus corpus;
+
+    private SimulatedServer server;
+    private LoggingHelper loggingHelper;
+    private String[] messages;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        server = new SimulatedServer("http://127.0.0.1:9/v1/chat/completions", "WARNING", Map.of());
+        loggingHelper = server.getLoggingHelper();
+        messages = corpus.getMessages();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        server.close();
+    }
+
+    @Benchmark
+    public void debugUnguarded() {
+        for (String message : messages) {
+            loggingHelper.debug("Classifying the message '" + message + "' from Player" + message.length());
+        }
+    }
+
+    @Benchmark
+    public void debugGuarded() {
+        for (String message : messages) {
+            if (loggingHelper.isDebugEnabled()) {
+                loggingHelper.debug("Classifying the message '" + message + "' from Player" + message.length());
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Realistic chat messages the benchmarks run on, grouped by their shape
+ */
+public enum MessageCorpus {
+    SHORT("gg", "hi :)", "brb", "lol", "nice <3", "ty", "wb!", "anyone online?"),
+    LONG("Hey everyone, I am selling 64 iron ingots, 32 gold ingots and a stack of redstone at my shop near the spawn, just come by and pm me if you are interested in a trade :)", "Does anyone know how to get to the nether fortress from the main portal? I have been walking around for twenty minutes now and the ghasts keep destroying my bridges :(", ":red:Important:reset: the server restarts in 10 minutes, please finish your builds and log off in a safe place so you do not lose your items, thanks for playing on our server!!", "I just finished the redstone door for my base, it uses two sticky pistons and a hidden lever behind the painting, come and check it out at x 1200 z -340 if you want to copy it"),
+    EMOJI(":) :D <3 :P ;)", "gg :thumbsup: :clap: :clap:", ":fire: :fire: new build done :ok: <3 <3", ":red:wow:reset: :O :O that was close :pray:", ":wave: hi all :) :) :)", "!! :warning: creepers near spawn :warning: !!"),
+    UNICODE("Schöne Grüße aus München, wer hat Lust auf eine Runde?", "你好，有人想一起去下界吗？", "こんにちは、みんな元気？", "مرحبا بالجميع", "Привет всем, кто хочет торговать?", "🔥🔥 best base ever 😀👍", "Ça va? On se retrouve au spawn à 20h 🙂"),
+    PII("add me on discord, my mail is steve.miner@example.com", "join play.example.net or 192.168.178.20:25565", "check out https://www.example.org/shop?item=diamonds", "my password: hunter2 dont tell anyone", "login: xX_Sniper99 pw=Tr0ub4dor&3", "use k9#Lm2$qWz8 for the vault");
+
+    private final @NotNull String[] messages;
+
+    MessageCorpus(@NotNull String... messages) {
+        this.messages = messages;
+    }
+
+    /**
+     * Retrieve the messages of the corpus
+     *
+     * @return The messages
+     */
+    public @NotNull String[] getMessages() {
+        return messages;
+    }
+}
\ No newline at end of file
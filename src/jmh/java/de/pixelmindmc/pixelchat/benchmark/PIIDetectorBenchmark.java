@@ -0,0 +1,49 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.benchmark;
+
+import de.pixelmindmc.pixelchat.utils.PIIDetector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the local personal information detectors with all of them enabled, they run on every message before it
+ * is sent to the API. Most chat doesn't contain personal information, so the clean corpora show the cost every message
+ * pays and the {@code PII} corpus the cost of a hit
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class PIIDetectorBenchmark {
+    @Param({"SHORT", "LONG", "EMOJI", "UNICODE", "PII"})
+    public MessageCorpus corpus;
+
+    private PIIDetector detector;
+    private String[] messages;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        detector = new PIIDetector(true, true, true, true, true);
+        messages = corpus.getMessages();
+    }
+
+    @Benchmark
+    public void detect(Blackhole blackhole) {
+        for (String message : messages) {
+            blackhole.consume(detector.detect(message));
+        }
+    }
+}
\ No newline at end of file
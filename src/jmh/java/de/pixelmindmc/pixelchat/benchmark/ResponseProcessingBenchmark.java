@@ -0,0 +1,203 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import de.pixelmindmc.pixelchat.constants.APIConstants;
+import de.pixelmindmc.pixelchat.loadtest.SimulatedServer;
+import de.pixelmindmc.pixelchat.model.MessageClassification;
+import de.pixelmindmc.pixelchat.utils.APIHelper;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the decoding of chat completion responses into classifications, for single and batched requests
+ * The processing methods are private, they are called through method handles on the API helper. The legacy variants
+ * are a copy of the Gson tree decoding used before the streaming {@code ClassificationCodec}, kept as the baseline
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ResponseProcessingBenchmark {
+    private static final String VERDICT = "{\"isOffensiveLanguage\":%s,\"isUsername\":false,\"isPassword\":false,\"isHomeAddress\":false,\"isEmailAddress\":false,\"isWebsite\":false,\"isSexualContent\":false,\"block\":%s,\"reason\":\"%s\"}";
+
+    @Param({"SHORT", "LONG", "EMOJI", "UNICODE"})
+    public MessageCorpus corpus;
+
+    private SimulatedServer server;
+    private APIHelper apiHelper;
+    private MethodHandle processResponse;
+    private MethodHandle processBatchResponse;
+    private String[] responses;
+    private String batchResponse;
+    private int batchSize;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        server = new SimulatedServer("http://127.0.0.1:9/v1/chat/completions", "WARNING", Map.of());
+        apiHelper = server.getAPIHelper();
+
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        Method singleMethod = APIHelper.class.getDeclaredMethod("processResponse", String.class);
+        singleMethod.setAccessible(true);
+        processResponse = lookup.unreflect(singleMethod);
+
+        Method batchMethod = APIHelper.class.getDeclaredMethod("processBatchResponse", String.class, int.class);
+        batchMethod.setAccessible(true);
+        processBatchResponse = lookup.unreflect(batchMethod);
+
+        // Every second message is flagged, the reason quotes the message like real models tend to do
+        String[] messages = corpus.getMessages();
+        responses = new String[messages.length];
+        JsonArray results = new JsonArray();
+        for (int i = 0; i < messages.length; i++) {
+            String verdict = verdict(i % 2 == 1, messages[i]);
+            responses[i] = completion(verdict);
+
+            JsonObject result = JsonParser.parseString(verdict).getAsJsonObject();
+            result.addProperty("id", i);
+            results.add(result);
+        }
+
+        JsonObject batch = new JsonObject();
+        batch.add("results", results);
+        batchResponse = completion(batch.toString());
+        batchSize = messages.length;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        server.close();
+    }
+
+    @Benchmark
+    public void processResponse(Blackhole blackhole) throws Throwable {
+        for (String response : responses) {
+            blackhole.consume((MessageClassification) processResponse.invoke(apiHelper, response));
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<MessageClassification> processBatchResponse() throws Throwable {
+        return (List<MessageClassification>) processBatchResponse.invoke(apiHelper, batchResponse, batchSize);
+    }
+
+    @Benchmark
+    public void legacyProcessResponse(Blackhole blackhole) {
+        for (String response : responses) {
+            blackhole.consume(legacyParseClassification(legacyParseContent(response)));
+        }
+    }
+
+    @Benchmark
+    public List<MessageClassification> legacyProcessBatchResponse() {
+        List<MessageClassification> classifications = new ArrayList<>(Collections.nCopies(batchSize, null));
+
+        JsonArray results = legacyParseContent(batchResponse).getAsJsonArray(APIConstants.General.RESULTS);
+        for (JsonElement result : results) {
+            JsonObject message = result.getAsJsonObject();
+            int id = message.get(APIConstants.General.ID).getAsInt();
+
+            if (id >= 0 && id < batchSize) {
+                classifications.set(id, legacyParseClassification(message));
+            }
+        }
+
+        return classifications;
+    }
+
+    /**
+     * Parses the whole response into a tree and the content string into a second one, like before version 1.3.0
+     */
+    private static @NotNull JsonObject legacyParseContent(@NotNull String jsonResponse) {
+        JsonObject jsonObject = JsonParser.parseString(jsonResponse).getAsJsonObject();
+        String contentString = jsonObject.getAsJsonArray("choices").get(0).getAsJsonObject().getAsJsonObject("message").get("content").getAsString();
+        return new Gson().fromJson(contentString, JsonObject.class);
+    }
+
+    private static @NotNull MessageClassification legacyParseClassification(@NotNull JsonObject message) {
+        boolean isOffensiveLanguage = legacyFlag(message, APIConstants.DetectionFlags.IS_OFFENSIVE_LANGUAGE);
+        boolean isUsername = legacyFlag(message, APIConstants.DetectionFlags.IS_USERNAME);
+        boolean isPassword = legacyFlag(message, APIConstants.DetectionFlags.IS_PASSWORD);
+        boolean isHomeAddress = legacyFlag(message, APIConstants.DetectionFlags.IS_HOME_ADDRESS);
+        boolean isEmailAddress = legacyFlag(message, APIConstants.DetectionFlags.IS_EMAIL_ADDRESS);
+        boolean isWebsite = legacyFlag(message, APIConstants.DetectionFlags.IS_WEBSITE);
+        boolean isSexualContent = legacyFlag(message, APIConstants.DetectionFlags.IS_SEXUAL_CONTENT);
+        String reason = message.has(APIConstants.General.REASON) && !message.get(APIConstants.General.REASON).isJsonNull() ? message.get(APIConstants.General.REASON).getAsString() : "No reason provided";
+
+        return new MessageClassification(isOffensiveLanguage, isUsername, isPassword, isHomeAddress, isEmailAddress, isWebsite, isSexualContent, reason);
+    }
+
+    private static boolean legacyFlag(@NotNull JsonObject message, @NotNull String flag) {
+        return message.has(flag) && !message.get(flag).isJsonNull() && message.get(flag).getAsBoolean();
+    }
+
+    private static @NotNull String verdict(boolean flagged, @NotNull String message) {
+        JsonObject reason = new JsonObject();
+        reason.addProperty("reason", flagged ? "Offensive language in \"" + message + "\"" : "");
+        String escapedReason = reason.toString();
+        escapedReason = escapedReason.substring("{\"reason\":\"".length(), escapedReason.length() - 2);
+
+        return String.format(VERDICT, flagged, flagged, escapedReason);
+    }
+
+    /**
+     * Wraps the content into a chat completion like the one an OpenAI-compatible API answers with
+     */
+    private static @NotNull String completion(@NotNull String content) {
+        JsonObject message = new JsonObject();
+        message.addProperty("role", "assistant");
+        message.addProperty("content", content);
+
+        JsonObject choice = new JsonObject();
+        choice.addProperty("index", 0);
+        choice.add("message", message);
+        choice.addProperty("finish_reason", "stop");
+
+        JsonArray choices = new JsonArray();
+        choices.add(choice);
+
+        JsonObject usage = new JsonObject();
+        usage.addProperty("prompt_tokens", 412);
+        usage.addProperty("completion_tokens", 58);
+        usage.addProperty("total_tokens", 470);
+
+        JsonObject completion = new JsonObject();
+        completion.addProperty("id", "chatcmpl-benchmark");
+        completion.addProperty("object", "chat.completion");
+        completion.addProperty("created", 1760000000L);
+        completion.addProperty("model", "gpt-4o-mini");
+        completion.add("choices", choices);
+        completion.add("usage", usage);
+
+        return completion.toString();
+    }
+}
\ No newline at end of file
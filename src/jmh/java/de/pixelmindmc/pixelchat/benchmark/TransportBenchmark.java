@@ -0,0 +1,126 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.benchmark;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import de.pixelmindmc.pixelchat.loadtest.SimulatedServer;
+import de.pixelmindmc.pixelchat.loadtest.StubChatCompletionsServer;
+import de.pixelmindmc.pixelchat.utils.APIHelper;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks one classification request against the stub API that answers immediately, sent with a new
+ * {@link HttpURLConnection} per message like before version 1.3.0, and with the shared HTTP client of the API helper
+ * Both send the same request body and read the whole answer, so the difference is the cost of the transport. The stub
+ * speaks plain HTTP/1.1 on the loopback interface, so the TLS handshakes a new connection costs against a real API
+ * aren't part of the numbers. Run with {@code -t} to compare them with concurrent requests
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TransportBenchmark {
+    private static final String VERDICT = "{\"isOffensiveLanguage\":false,\"isUsername\":false,\"isPassword\":false,\"isHomeAddress\":false,\"isEmailAddress\":false,\"isWebsite\":false,\"isSexualContent\":false,\"block\":false,\"reason\":\"\"}";
+
+    private StubChatCompletionsServer stub;
+    private SimulatedServer server;
+    private HttpClient httpClient;
+    private URI uri;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        stub = new StubChatCompletionsServer(0, 0, 0, 0, 1, VERDICT, VERDICT);
+        uri = stub.getUri();
+        server = new SimulatedServer(uri.toString(), "WARNING", Map.of());
+
+        Field httpClientField = APIHelper.class.getDeclaredField("httpClient");
+        httpClientField.setAccessible(true);
+        httpClient = (HttpClient) httpClientField.get(server.getAPIHelper());
+
+        body = request(MessageCorpus.SHORT.getMessages()[3]).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        server.close();
+        stub.close();
+    }
+
+    @Benchmark
+    public String httpUrlConnection() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) uri.toURL().openConnection();
+        connection.setRequestMethod("POST");
+        connection.setRequestProperty("Content-Type", "application/json");
+        connection.setRequestProperty("Authorization", "Bearer benchmark");
+        connection.setDoOutput(true);
+
+        try (OutputStream outputStream = connection.getOutputStream()) {
+            outputStream.write(body);
+        }
+
+        StringBuilder response = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                response.append(line.trim());
+            }
+        }
+        return response.toString();
+    }
+
+    @Benchmark
+    public String sharedHttpClient() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).header("Content-Type", "application/json").header("Authorization", "Bearer benchmark").POST(HttpRequest.BodyPublishers.ofByteArray(body)).build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8)).body();
+    }
+
+    private static @NotNull String request(@NotNull String message) {
+        JsonObject system = new JsonObject();
+        system.addProperty("role", "system");
+        system.addProperty("content", "You are a chat moderator, answer with a JSON verdict. Language: en");
+
+        JsonObject user = new JsonObject();
+        user.addProperty("role", "user");
+        user.addProperty("content", message);
+
+        JsonArray messages = new JsonArray();
+        messages.add(system);
+        messages.add(user);
+
+        JsonObject responseFormat = new JsonObject();
+        responseFormat.addProperty("type", "json_object");
+
+        JsonObject request = new JsonObject();
+        request.addProperty("model", "gpt-4o-mini");
+        request.add("messages", messages);
+        request.add("response_format", responseFormat);
+        return request.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,233 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.loadtest;
+
+import de.pixelmindmc.pixelchat.constants.PermissionConstants;
+import de.pixelmindmc.pixelchat.listener.AsyncPlayerChatListener;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.AsyncPlayerChatEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives synthetic chat messages of simulated players through the {@link AsyncPlayerChatListener} against the stub
+ * API and reports throughput, event latency, API calls per message and the heap allocation rate
+ * Run with {@code ./gradlew loadTest}, settings are passed as {@code -Ploadtest.<setting>=<value>}:
+ * <ul>
+ *     <li>{@code players}, {@code messages} (per player), {@code think-time} (ms between two messages of a player),
+ *     {@code flagged-ratio}, {@code unique-messages}, {@code log-level}</li>
+ *     <li>{@code stub.median-latency}, {@code stub.p99-latency} (ms), {@code stub.error-rate},
+ *     {@code stub.rate-limit-rate}, {@code stub.retry-after} (s), {@code stub.clean-verdict},
+ *     {@code stub.flagged-verdict}</li>
+ *     <li>{@code config.<path>} to override any value of the plugin's config.yml, e.g.
+ *     {@code -Ploadtest.config.api.batching.enabled=true}</li>
+ * </ul>
+ */
+public final class LoadTest {
+    private static final String PREFIX = "loadtest.";
+    private static final String CONFIG_PREFIX = PREFIX + "config.";
+    private static final String CLEAN_VERDICT = "{\"isOffensiveLanguage\":false,\"isUsername\":false,\"isPassword\":false,\"isHomeAddress\":false,\"isEmailAddress\":false,\"isWebsite\":false,\"isSexualContent\":false,\"block\":false,\"reason\":\"\"}";
+    private static final String FLAGGED_VERDICT = "{\"isOffensiveLanguage\":true,\"isUsername\":false,\"isPassword\":false,\"isHomeAddress\":false,\"isEmailAddress\":false,\"isWebsite\":false,\"isSexualContent\":false,\"block\":true,\"reason\":\"Offensive language\"}";
+    private static final String[] MESSAGES = {"hello everyone :)", "anyone want to trade diamonds?", "gg", "where is the nether portal", "lol that creeper got me again", "can someone help me build my house", "brb", "who is online for the event tonight?", "selling 64 iron ingots, pm me", "nice base :D"};
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int players = intSetting("players", 50);
+        int messagesPerPlayer = intSetting("messages", 20);
+        long thinkTime = intSetting("think-time", 250);
+        double flaggedRatio = doubleSetting("flagged-ratio", 0.1);
+        boolean uniqueMessages = Boolean.parseBoolean(setting("unique-messages", "true"));
+
+        long medianLatency = intSetting("stub.median-latency", 300);
+        long p99Latency = intSetting("stub.p99-latency", 1500);
+        double errorRate = doubleSetting("stub.error-rate", 0.01);
+        double rateLimitRate = doubleSetting("stub.rate-limit-rate", 0.01);
+
+        try (StubChatCompletionsServer stub = new StubChatCompletionsServer(medianLatency, p99Latency, errorRate, rateLimitRate, intSetting("stub.retry-after", 1), setting("stub.clean-verdict", CLEAN_VERDICT), setting("stub.flagged-verdict", FLAGGED_VERDICT)); SimulatedServer server = new SimulatedServer(stub.getUri().toString(), setting("log-level", "WARNING"), getConfigOverrides())) {
+            AsyncPlayerChatListener listener = server.createChatListener();
+            Method handler = AsyncPlayerChatListener.class.getDeclaredMethod("onAsyncPlayerChat", AsyncPlayerChatEvent.class);
+            handler.setAccessible(true);
+
+            List<Player> simulatedPlayers = new ArrayList<>(players);
+            for (int i = 0; i < players; i++) {
+                simulatedPlayers.add(server.createPlayer("Player" + i, List.of(PermissionConstants.Modules.EMOJIS, PermissionConstants.Modules.CHAT_CODES, PermissionConstants.Moderation.OPTIMISTIC_DELIVERY)));
+            }
+            Set<Player> recipients = new HashSet<>(simulatedPlayers);
+
+            System.out.println("PixelChat Guardian load test");
+            System.out.printf(Locale.ROOT, "  Players: %d, messages per player: %d, think time: %d ms, flagged: %.0f%%%n", players, messagesPerPlayer, thinkTime, flaggedRatio * 100);
+            System.out.printf(Locale.ROOT, "  Stub API: median %d ms, p99 %d ms, errors %.1f%%, rate limits %.1f%%%n", medianLatency, p99Latency, errorRate * 100, rateLimitRate * 100);
+
+            long[] latencies = new long[players * messagesPerPlayer];
+            AtomicInteger recorded = new AtomicInteger();
+            AtomicLong blocked = new AtomicLong();
+            AtomicLong failed = new AtomicLong();
+            AtomicLong messageCounter = new AtomicLong();
+            CountDownLatch start = new CountDownLatch(1);
+            CountDownLatch finished = new CountDownLatch(players);
+
+            // Every player chats from their own thread, like the connection threads of a real server
+            for (Player player : simulatedPlayers) {
+                Thread thread = new Thread(() -> {
+                    try {
+                        start.await();
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+                        for (int i = 0; i < messagesPerPlayer; i++) {
+                            String message = MESSAGES[random.nextInt(MESSAGES.length)];
+                            if (uniqueMessages) {
+                                message += " #" + messageCounter.incrementAndGet();
+                            }
+                            if (random.nextDouble() < flaggedRatio) {
+                                message = StubChatCompletionsServer.FLAGGED_MARKER + " " + message;
+                            }
+
+                            AsyncPlayerChatEvent event = new AsyncPlayerChatEvent(true, player, message, new HashSet<>(recipients));
+                            long startedAt = System.nanoTime();
+                            try {
+                                handler.invoke(listener, event);
+                            } catch (InvocationTargetException | IllegalAccessException e) {
+                                failed.incrementAndGet();
+                            }
+                            latencies[recorded.getAndIncrement()] = System.nanoTime() - startedAt;
+
+                            if (event.isCancelled()) {
+                                blocked.incrementAndGet();
+                            }
+
+                            if (thinkTime > 0) {
+                                Thread.sleep(thinkTime);
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        finished.countDown();
+                    }
+                }, "Chat-" + player.getName());
+                thread.setDaemon(true);
+                thread.start();
+            }
+
+            ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+            long allocatedBefore = getAllocatedBytes(threadMXBean);
+            long startedAt = System.nanoTime();
+
+            start.countDown();
+            finished.await();
+
+            double seconds = (System.nanoTime() - startedAt) / 1e9;
+            long allocated = getAllocatedBytes(threadMXBean) - allocatedBefore;
+
+            int messages = recorded.get();
+            long[] sorted = Arrays.copyOf(latencies, messages);
+            Arrays.sort(sorted);
+
+            System.out.println("Results");
+            System.out.printf(Locale.ROOT, "  Messages: %d (blocked: %d, listener errors: %d) in %.1f s%n", messages, blocked.get(), failed.get(), seconds);
+            System.out.printf(Locale.ROOT, "  Throughput: %.1f messages/s%n", messages / seconds);
+            System.out.printf(Locale.ROOT, "  Event latency p50/p95/p99/max: %.1f/%.1f/%.1f/%.1f ms%n", percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99), percentile(sorted, 100));
+            System.out.printf(Locale.ROOT, "  API calls per message: %.2f (requests: %d, 429: %d, 5xx: %d)%n", (double) stub.getRequests() / Math.max(1, messages), stub.getRequests(), stub.getRateLimited(), stub.getErrors());
+            if (allocatedBefore >= 0) {
+                System.out.printf(Locale.ROOT, "  Heap allocation rate: %.1f MB/s (whole JVM, including the stub API)%n", allocated / seconds / (1024 * 1024));
+            } else {
+                System.out.println("  Heap allocation rate: not supported by this JVM");
+            }
+        }
+
+        // The HTTP client and the stub keep non-daemon threads around
+        System.exit(0);
+    }
+
+    /**
+     * Computes a percentile of sorted latencies
+     *
+     * @param sorted     The sorted latencies in nanoseconds
+     * @param percentile The percentile, 100 for the maximum
+     * @return The latency in milliseconds
+     */
+    private static double percentile(long @NotNull [] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+
+        int index = Math.max(0, (int) Math.ceil(sorted.length * percentile / 100.0) - 1);
+        return sorted[index] / 1e6;
+    }
+
+    /**
+     * Retrieve the bytes allocated by all threads of the JVM so far
+     *
+     * @param threadMXBean The thread bean
+     * @return The allocated bytes, or -1 if the JVM doesn't track allocations
+     */
+    private static long getAllocatedBytes(@NotNull ThreadMXBean threadMXBean) {
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean sunThreadMXBean && sunThreadMXBean.isThreadAllocatedMemorySupported()) {
+            return sunThreadMXBean.getTotalThreadAllocatedBytes();
+        }
+
+        return -1;
+    }
+
+    /**
+     * Collects the {@code loadtest.config.*} settings as config overrides
+     *
+     * @return The overrides keyed by their config path
+     */
+    private static @NotNull Map<String, Object> getConfigOverrides() {
+        Map<String, Object> overrides = new LinkedHashMap<>();
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (!name.startsWith(CONFIG_PREFIX)) {
+                continue;
+            }
+
+            String value = System.getProperty(name);
+            Object parsed;
+            if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
+                parsed = Boolean.parseBoolean(value);
+            } else {
+                try {
+                    parsed = Integer.parseInt(value);
+                } catch (NumberFormatException e) {
+                    parsed = value;
+                }
+            }
+            overrides.put(name.substring(CONFIG_PREFIX.length()), parsed);
+        }
+
+        return overrides;
+    }
+
+    private static @NotNull String setting(@NotNull String name, @NotNull String defaultValue) {
+        return System.getProperty(PREFIX + name, defaultValue);
+    }
+
+    private static int intSetting(@NotNull String name, int defaultValue) {
+        return Integer.parseInt(setting(name, String.valueOf(defaultValue)));
+    }
+
+    private static double doubleSetting(@NotNull String name, double defaultValue) {
+        return Double.parseDouble(setting(name, String.valueOf(defaultValue)));
+    }
+}
\ No newline at end of file
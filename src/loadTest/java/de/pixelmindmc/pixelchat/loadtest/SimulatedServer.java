@@ -0,0 +1,327 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.loadtest;
+
+import de.pixelmindmc.pixelchat.PixelChat;
+import de.pixelmindmc.pixelchat.constants.ConfigConstants;
+import de.pixelmindmc.pixelchat.exceptions.StrikeRepositoryException;
+import de.pixelmindmc.pixelchat.listener.AsyncPlayerChatListener;
+import de.pixelmindmc.pixelchat.utils.APIHelper;
+import de.pixelmindmc.pixelchat.utils.ChatGuardHelper;
+import de.pixelmindmc.pixelchat.utils.ConfigHelper;
+import de.pixelmindmc.pixelchat.utils.JournalStrikeRepository;
+import de.pixelmindmc.pixelchat.utils.LoggingHelper;
+import de.pixelmindmc.pixelchat.utils.PermissionCache;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.mockito.Answers;
+import org.mockito.Mockito;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * A mocked Bukkit server with a mocked plugin instance around the real helpers of the plugin
+ * The plugin reads its configuration from a temporary data folder that is filled with the bundled default files
+ */
+public class SimulatedServer implements AutoCloseable {
+    private final @NotNull Path dataFolder;
+    private final @NotNull Logger logger = Logger.getLogger("PixelChat-LoadTest");
+    private final @NotNull ExecutorService mainThread = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "Server thread"));
+    private final @NotNull ExecutorService asyncPool = Executors.newCachedThreadPool(runnable -> new Thread(runnable, "Craft Scheduler Thread"));
+    private final @NotNull List<Player> onlinePlayers = Collections.synchronizedList(new ArrayList<>());
+    private final @NotNull PixelChat plugin;
+    private final @NotNull PermissionCache permissionCache = new PermissionCache();
+    private final @NotNull Queue<String> dispatchedCommands = new ConcurrentLinkedQueue<>();
+
+    // Not final, the mocked plugin hands them out while they are still being created
+    private LoggingHelper loggingHelper;
+    private ConfigHelper configHelper;
+    private JournalStrikeRepository strikeRepository;
+    private ConfigHelper configHelperEmojiList;
+    private ConfigHelper configHelperChatCodesList;
+    private ConfigHelper configHelperBlocklist;
+    private ConfigHelper configHelperLanguage;
+    private @Nullable APIHelper apiHelper;
+    private @Nullable ChatGuardHelper chatGuardHelper;
+
+    /**
+     * Constructs a SimulatedServer object and enables the ChatGuard module against the given endpoint
+     *
+     * @param endpoint        The URI of the chat completions endpoint
+     * @param logLevel        The log level of the plugin
+     * @param configOverrides Config values that replace the defaults, keyed by their path
+     * @throws IOException               If the data folder can't be created
+     * @throws StrikeRepositoryException If the strike storage can't be created
+     */
+    public SimulatedServer(@NotNull String endpoint, @NotNull String logLevel, @NotNull Map<String, Object> configOverrides) throws IOException, StrikeRepositoryException {
+        this.dataFolder = Files.createTempDirectory("pixelchat-loadtest");
+
+        YamlConfiguration pluginConfig = new YamlConfiguration();
+        pluginConfig.set(ConfigConstants.General.LOG_LEVEL, logLevel);
+
+        this.plugin = Mockito.mock(PixelChat.class, Mockito.withSettings().stubOnly().defaultAnswer(invocation -> switch (invocation.getMethod().getName()) {
+            case "getDataFolder" -> dataFolder.toFile();
+            case "saveResource" -> {
+                saveResource(invocation.getArgument(0));
+                yield null;
+            }
+            case "getResource" -> SimulatedServer.class.getClassLoader().getResourceAsStream(invocation.getArgument(0));
+            case "getLogger" -> logger;
+            case "getConfig" -> pluginConfig;
+            case "getName" -> "PixelChatGuardian";
+            case "isEnabled" -> true;
+            case "getLoggingHelper" -> this.loggingHelper;
+            case "getConfigHelper" -> this.configHelper;
+            case "getStrikeRepository" -> this.strikeRepository;
+            case "getConfigHelperEmojiList" -> this.configHelperEmojiList;
+            case "getConfigHelperChatCodesList" -> this.configHelperChatCodesList;
+            case "getConfigHelperBlocklist" -> this.configHelperBlocklist;
+            case "getConfigHelperLanguage" -> this.configHelperLanguage;
+            case "getAPIHelper" -> this.apiHelper;
+            case "getChatGuardHelper" -> this.chatGuardHelper;
+            case "getPermissionCache" -> this.permissionCache;
+            default -> Answers.RETURNS_DEFAULTS.answer(invocation);
+        }));
+
+        if (Bukkit.getServer() == null) {
+            Bukkit.setServer(createServer());
+        }
+
+        this.loggingHelper = new LoggingHelper(plugin);
+        this.configHelper = new ConfigHelper(plugin, "config.yml");
+        this.configHelperEmojiList = new ConfigHelper(plugin, "emoji_list.yml");
+        this.configHelperChatCodesList = new ConfigHelper(plugin, "chat_codes_list.yml");
+        this.configHelperBlocklist = new ConfigHelper(plugin, "blocklist.yml");
+        this.configHelperLanguage = new ConfigHelper(plugin, "locale/locale_en.yml");
+
+        configHelper.set(ConfigConstants.API.ENDPOINT, endpoint);
+        configHelper.set(ConfigConstants.API.KEY, "load-test");
+        configHelper.set(ConfigConstants.Modules.CHATGUARD, true);
+        configHelper.set(ConfigConstants.PluginSupport.CARBONCHAT, false);
+        configHelper.set(ConfigConstants.General.CHECK_FOR_UPDATES, false);
+        for (Map.Entry<String, Object> override : configOverrides.entrySet()) {
+            configHelper.set(override.getKey(), override.getValue());
+        }
+
+        this.strikeRepository = new JournalStrikeRepository(loggingHelper, dataFolder.toFile(), JournalStrikeRepository.SyncPolicy.INTERVAL, configHelper.getInt(ConfigConstants.ChatGuard.StrikeSystem.Storage.SYNC_INTERVAL), configHelper.getInt(ConfigConstants.ChatGuard.StrikeSystem.Storage.COMPACT_AFTER));
+        strikeRepository.load(dataFolder.resolve("player_strikes.yml").toFile());
+        this.apiHelper = new APIHelper(plugin);
+        this.chatGuardHelper = new ChatGuardHelper(plugin);
+    }
+
+    /**
+     * Copies a bundled default file into the data folder, like {@link PixelChat#saveResource(String, boolean)}
+     */
+    private void saveResource(@NotNull String path) {
+        try (InputStream inputStream = SimulatedServer.class.getClassLoader().getResourceAsStream(path)) {
+            if (inputStream == null) {
+                throw new IllegalArgumentException("The embedded resource '" + path + "' cannot be found");
+            }
+
+            Path target = dataFolder.resolve(path);
+            Files.createDirectories(target.getParent());
+            Files.copy(inputStream, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Creates the Bukkit server with a scheduler that runs sync tasks on a single "main thread" and async tasks on a
+     * thread pool
+     */
+    private @NotNull Server createServer() {
+        BukkitScheduler scheduler = proxy(BukkitScheduler.class, (method, args) -> switch (method.getName()) {
+            case "runTask" -> {
+                if (args[1] instanceof Runnable task) {
+                    mainThread.execute(task);
+                }
+                yield null;
+            }
+            case "runTaskAsynchronously" -> {
+                if (args[1] instanceof Runnable task) {
+                    asyncPool.execute(task);
+                }
+                yield null;
+            }
+            default -> defaultValue(method);
+        });
+        ConsoleCommandSender console = proxy(ConsoleCommandSender.class, (method, args) -> method.getName().equals("getName") ? "CONSOLE" : defaultValue(method));
+
+        return proxy(Server.class, (method, args) -> switch (method.getName()) {
+            case "getLogger" -> logger;
+            case "getName" -> "LoadTest";
+            case "getVersion", "getBukkitVersion" -> "simulated";
+            case "getScheduler" -> scheduler;
+            case "getConsoleSender" -> console;
+            case "getOnlinePlayers" -> List.copyOf(onlinePlayers);
+            case "dispatchCommand" -> dispatchedCommands.add((String) args[1]);
+            default -> defaultValue(method);
+        });
+    }
+
+    /**
+     * Creates an online player
+     *
+     * @param name        The name of the player
+     * @param permissions The permissions the player has
+     * @return The player
+     */
+    public @NotNull Player createPlayer(@NotNull String name, @NotNull List<String> permissions) {
+        UUID uuid = UUID.nameUUIDFromBytes(("OfflinePlayer:" + name).getBytes());
+        Player player = proxy(Player.class, (method, args) -> switch (method.getName()) {
+            case "getUniqueId" -> uuid;
+            case "getName", "getDisplayName" -> name;
+            case "hasPermission" -> args[0] instanceof String permission && permissions.contains(permission);
+            case "isOnline" -> true;
+            default -> defaultValue(method);
+        });
+        onlinePlayers.add(player);
+        permissionCache.refresh(player);
+
+        return player;
+    }
+
+    /**
+     * Creates a proxy for a Bukkit interface that answers the given methods and returns default values for all others
+     * Unlike Mockito mocks, proxies don't record their invocations, so they don't distort the allocation measurement
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> @NotNull T proxy(@NotNull Class<T> type, @NotNull ProxyHandler handler) {
+        return (T) Proxy.newProxyInstance(SimulatedServer.class.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "toString" -> type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+            default -> handler.invoke(method, args);
+        });
+    }
+
+    private static @Nullable Object defaultValue(@NotNull Method method) {
+        Class<?> returnType = method.getReturnType();
+        if (!returnType.isPrimitive() || returnType == void.class) {
+            return null;
+        }
+
+        return Array.get(Array.newInstance(returnType, 1), 0);
+    }
+
+    /**
+     * Creates the chat listener of the plugin
+     *
+     * @return The listener
+     */
+    public @NotNull AsyncPlayerChatListener createChatListener() {
+        return new AsyncPlayerChatListener(plugin);
+    }
+
+    /**
+     * Retrieve the logging helper of the plugin
+     *
+     * @return The logging helper
+     */
+    public @NotNull LoggingHelper getLoggingHelper() {
+        return loggingHelper;
+    }
+
+    /**
+     * Retrieve the API helper of the plugin
+     *
+     * @return The API helper
+     */
+    public @NotNull APIHelper getAPIHelper() {
+        assert apiHelper != null;
+        return apiHelper;
+    }
+
+    /**
+     * Retrieve the ChatGuard helper of the plugin
+     *
+     * @return The ChatGuard helper
+     */
+    public @NotNull ChatGuardHelper getChatGuardHelper() {
+        assert chatGuardHelper != null;
+        return chatGuardHelper;
+    }
+
+    /**
+     * Retrieve the strike repository of the plugin
+     *
+     * @return The strike repository
+     */
+    public @NotNull JournalStrikeRepository getStrikeRepository() {
+        return strikeRepository;
+    }
+
+    /**
+     * Retrieve the console commands dispatched so far, e.g. the punishments of the strike system
+     *
+     * @return The commands in the order they were dispatched
+     */
+    public @NotNull List<String> getDispatchedCommands() {
+        return List.copyOf(dispatchedCommands);
+    }
+
+    /**
+     * Waits until the tasks already scheduled on the main thread have run
+     *
+     * @throws ExecutionException   If the main thread has been shut down
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    public void awaitMainThread() throws ExecutionException, InterruptedException {
+        mainThread.submit(() -> {
+        }).get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (apiHelper != null) {
+            apiHelper.shutdown();
+        }
+        strikeRepository.close();
+        mainThread.shutdownNow();
+        asyncPool.shutdownNow();
+
+        try (Stream<Path> files = Files.walk(dataFolder)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    /**
+     * Answers the invocations of a proxied interface
+     */
+    @FunctionalInterface
+    private interface ProxyHandler {
+        @Nullable Object invoke(@NotNull Method method, @Nullable Object[] args) throws Throwable;
+    }
+}
\ No newline at end of file
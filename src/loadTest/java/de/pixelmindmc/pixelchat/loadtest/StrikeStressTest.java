@@ -0,0 +1,157 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.loadtest;
+
+import de.pixelmindmc.pixelchat.constants.ConfigConstants;
+import de.pixelmindmc.pixelchat.model.Strike;
+import de.pixelmindmc.pixelchat.utils.ChatGuardHelper;
+import de.pixelmindmc.pixelchat.utils.ChatGuardPolicy;
+import de.pixelmindmc.pixelchat.utils.StrikeRepository;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gives the same players strikes from many threads at once and checks that no strike is lost and that every
+ * punishment whose threshold is reached is executed exactly once
+ * Run with {@code ./gradlew strikeStressTest}, settings are passed as {@code -Pstrikestress.<setting>=<value>}:
+ * {@code players}, {@code threads}, {@code strikes} (per thread and player), {@code kick}, {@code temp-ban} and
+ * {@code ban} (the thresholds)
+ */
+public final class StrikeStressTest {
+    private static final String PREFIX = "strikestress.";
+    private static final String UNUSED_ENDPOINT = "http://127.0.0.1:9/v1/chat/completions";
+
+    private StrikeStressTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int players = intSetting("players", 10);
+        int threads = intSetting("threads", 16);
+        int strikesPerThread = intSetting("strikes", 25);
+        int strikesPerPlayer = threads * strikesPerThread;
+
+        // Distinct commands, so the dispatched punishments can be told apart
+        Map<String, Object> configOverrides = new LinkedHashMap<>();
+        configOverrides.put(ConfigConstants.ChatGuard.StrikeSystem.ENABLED, true);
+        configOverrides.put(ConfigConstants.ChatGuard.StrikeSystem.Thresholds.KICK, intSetting("kick", 3));
+        configOverrides.put(ConfigConstants.ChatGuard.StrikeSystem.Thresholds.TEMP_BAN, intSetting("temp-ban", 5));
+        configOverrides.put(ConfigConstants.ChatGuard.StrikeSystem.Thresholds.BAN, intSetting("ban", 8));
+        configOverrides.put(ConfigConstants.ChatGuard.StrikeSystem.Commands.KICK, "KICK <player> <reason>");
+        configOverrides.put(ConfigConstants.ChatGuard.StrikeSystem.Commands.TEMP_BAN, "TEMP-BAN <player> <reason>");
+        configOverrides.put(ConfigConstants.ChatGuard.StrikeSystem.Commands.BAN, "BAN <player> <reason>");
+
+        boolean passed;
+        try (SimulatedServer server = new SimulatedServer(UNUSED_ENDPOINT, setting("log-level", "WARNING"), configOverrides)) {
+            ChatGuardHelper chatGuardHelper = server.getChatGuardHelper();
+            ChatGuardPolicy policy = chatGuardHelper.getPolicy();
+            StrikeRepository strikeRepository = server.getStrikeRepository();
+
+            List<UUID> playerUUIDs = new ArrayList<>(players);
+            for (int i = 0; i < players; i++) {
+                playerUUIDs.add(UUID.nameUUIDFromBytes(("OfflinePlayer:Player" + i).getBytes()));
+            }
+
+            System.out.println("PixelChat Guardian strike stress test");
+            System.out.printf(Locale.ROOT, "  Players: %d, threads: %d, strikes per thread and player: %d, thresholds: %d/%d/%d%n", players, threads, strikesPerThread, policy.kickThreshold(), policy.tempBanThreshold(), policy.banThreshold());
+
+            CountDownLatch start = new CountDownLatch(1);
+            CountDownLatch finished = new CountDownLatch(threads);
+            AtomicInteger failed = new AtomicInteger();
+
+            // Every thread strikes every player, like violations of one player detected by several chat threads
+            for (int t = 0; t < threads; t++) {
+                Thread thread = new Thread(() -> {
+                    try {
+                        start.await();
+                        for (int i = 0; i < strikesPerThread; i++) {
+                            for (int p = 0; p < players; p++) {
+                                chatGuardHelper.runStrikeSystem(playerUUIDs.get(p), "Player" + p, "Stress test");
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                    } finally {
+                        finished.countDown();
+                    }
+                }, "Strike-" + t);
+                thread.setDaemon(true);
+                thread.start();
+            }
+
+            long startedAt = System.nanoTime();
+            start.countDown();
+            finished.await();
+            double seconds = (System.nanoTime() - startedAt) / 1e9;
+            server.awaitMainThread();
+
+            // Every threshold a player reaches is reached by exactly one strike, so its punishment is executed once, a
+            // threshold shared by several punishments only executes the most severe one
+            Map<Integer, String> punishments = new LinkedHashMap<>();
+            punishments.putIfAbsent(policy.banThreshold(), "BAN");
+            punishments.putIfAbsent(policy.tempBanThreshold(), "TEMP-BAN");
+            punishments.putIfAbsent(policy.kickThreshold(), "KICK");
+            Map<String, Integer> expected = new LinkedHashMap<>();
+            punishments.forEach((threshold, action) -> {
+                if (threshold >= 1 && threshold <= strikesPerPlayer) {
+                    expected.put(action, 1);
+                }
+            });
+
+            passed = failed.get() == 0;
+            List<String> dispatchedCommands = server.getDispatchedCommands();
+            for (int p = 0; p < players; p++) {
+                String playerName = "Player" + p;
+                int strikes = strikeRepository.getStrikes(playerUUIDs.get(p));
+
+                Map<String, Integer> recorded = new LinkedHashMap<>();
+                for (Strike strike : strikeRepository.getHistory(playerUUIDs.get(p), 1, strikesPerPlayer).entries()) {
+                    if (!strike.action().equals("NOTHING")) {
+                        recorded.merge(strike.action(), 1, Integer::sum);
+                    }
+                }
+
+                Map<String, Integer> dispatched = new LinkedHashMap<>();
+                for (String command : dispatchedCommands) {
+                    String[] parts = command.split(" ", 3);
+                    if (parts.length > 1 && parts[1].equals(playerName)) {
+                        dispatched.merge(parts[0], 1, Integer::sum);
+                    }
+                }
+
+                if (strikes != strikesPerPlayer || !recorded.equals(expected) || !dispatched.equals(expected)) {
+                    passed = false;
+                    System.out.printf(Locale.ROOT, "  %s: %d of %d strikes, recorded actions %s, dispatched %s, expected %s%n", playerName, strikes, strikesPerPlayer, recorded, dispatched, expected);
+                }
+            }
+
+            System.out.println("Results");
+            System.out.printf(Locale.ROOT, "  Strikes: %d in %.2f s (%.0f strikes/s, errors: %d)%n", players * strikesPerPlayer, seconds, players * strikesPerPlayer / seconds, failed.get());
+            System.out.printf(Locale.ROOT, "  Punishments per player: %s%n", expected);
+            System.out.println(passed ? "  PASSED: no strike was lost and every punishment was executed exactly once per threshold" : "  FAILED");
+        }
+
+        // The HTTP client keeps non-daemon threads around
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static @NotNull String setting(@NotNull String name, @NotNull String defaultValue) {
+        return System.getProperty(PREFIX + name, defaultValue);
+    }
+
+    private static int intSetting(@NotNull String name, int defaultValue) {
+        return Integer.parseInt(setting(name, String.valueOf(defaultValue)));
+    }
+}
\ No newline at end of file
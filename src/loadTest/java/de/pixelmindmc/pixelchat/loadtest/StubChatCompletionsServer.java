@@ -0,0 +1,243 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.loadtest;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An in-process stand-in for an OpenAI-compatible chat completions endpoint
+ * Answers with canned verdicts after a log-normally distributed latency and injects server errors and rate limits at
+ * a configurable rate, so the plugin can be load tested without network access
+ */
+public class StubChatCompletionsServer implements AutoCloseable {
+    // Messages containing this marker get the flagged verdict, all others the clean verdict
+    public static final String FLAGGED_MARKER = "[flagged]";
+
+    private static final String PATH = "/v1/chat/completions";
+    // z-score of the 99th percentile of the standard normal distribution
+    private static final double Z_99 = 2.326;
+
+    private final @NotNull HttpServer server;
+    private final @NotNull ScheduledExecutorService responder;
+    private final boolean delayed;
+    private final double latencyMu;
+    private final double latencySigma;
+    private final double errorRate;
+    private final double rateLimitRate;
+    private final int retryAfter;
+    private final @NotNull String cleanVerdict;
+    private final @NotNull String flaggedVerdict;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong classifiedMessages = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+
+    /**
+     * Constructs a StubChatCompletionsServer object and starts it on a free local port
+     *
+     * @param medianLatency  The median latency of an answer in milliseconds, 0 to answer immediately
+     * @param p99Latency     The 99th percentile latency of an answer in milliseconds
+     * @param errorRate      The share of requests answered with HTTP 500
+     * @param rateLimitRate  The share of requests answered with HTTP 429
+     * @param retryAfter     The Retry-After seconds sent with a 429
+     * @param cleanVerdict   The verdict JSON returned for clean messages
+     * @param flaggedVerdict The verdict JSON returned for messages containing {@link #FLAGGED_MARKER}
+     * @throws IOException If the server can't be bound
+     */
+    public StubChatCompletionsServer(long medianLatency, long p99Latency, double errorRate, double rateLimitRate, int retryAfter, @NotNull String cleanVerdict, @NotNull String flaggedVerdict) throws IOException {
+        this.delayed = medianLatency > 0;
+        this.latencyMu = Math.log(Math.max(1, medianLatency));
+        this.latencySigma = Math.max(0, Math.log((double) Math.max(p99Latency, medianLatency) / Math.max(1, medianLatency)) / Z_99);
+        this.errorRate = errorRate;
+        this.rateLimitRate = rateLimitRate;
+        this.retryAfter = retryAfter;
+        this.cleanVerdict = cleanVerdict;
+        this.flaggedVerdict = flaggedVerdict;
+
+        this.responder = Executors.newScheduledThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "Stub-API-Responder");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // The JDK server writes the headers and the body of an answer separately, without TCP_NODELAY the delayed ACK of
+        // the client adds about 40 ms to every answer. It is read when the first server of the JVM is created
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext(PATH, this::handle);
+        server.setExecutor(Executors.newFixedThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "Stub-API-Acceptor");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.start();
+    }
+
+    private void handle(@NotNull HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+
+        String body;
+        try (InputStream inputStream = exchange.getRequestBody()) {
+            body = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long latency = delayed ? Math.round(Math.exp(latencyMu + latencySigma * random.nextGaussian())) : 0;
+        double roll = random.nextDouble();
+
+        int status;
+        String response;
+        if (roll < rateLimitRate) {
+            rateLimited.incrementAndGet();
+            exchange.getResponseHeaders().add("Retry-After", String.valueOf(retryAfter));
+            status = 429;
+            response = "{\"error\":{\"message\":\"Rate limit reached\",\"type\":\"rate_limit_exceeded\"}}";
+            latency = Math.min(latency, 20);
+        } else if (roll < rateLimitRate + errorRate) {
+            errors.incrementAndGet();
+            status = 500;
+            response = "{\"error\":{\"message\":\"Injected server error\",\"type\":\"server_error\"}}";
+        } else {
+            status = 200;
+            response = createCompletion(body);
+        }
+
+        responder.schedule(() -> respond(exchange, status, response), latency, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Builds the chat completion for a request, with one verdict per message for batched requests
+     */
+    private @NotNull String createCompletion(@NotNull String requestBody) {
+        JsonArray messages = JsonParser.parseString(requestBody).getAsJsonObject().getAsJsonArray("messages");
+        String systemPrompt = messages.get(0).getAsJsonObject().get("content").getAsString();
+        String userContent = messages.get(1).getAsJsonObject().get("content").getAsString();
+
+        String content;
+        if (systemPrompt.contains("BATCH MODE")) {
+            JsonArray results = new JsonArray();
+            for (JsonElement element : JsonParser.parseString(userContent).getAsJsonArray()) {
+                JsonObject entry = element.getAsJsonObject();
+                JsonObject result = JsonParser.parseString(verdictFor(entry.get("message").getAsString())).getAsJsonObject();
+                result.add("id", entry.get("id"));
+                results.add(result);
+            }
+
+            JsonObject batch = new JsonObject();
+            batch.add("results", results);
+            content = batch.toString();
+            classifiedMessages.addAndGet(results.size());
+        } else {
+            content = verdictFor(userContent);
+            classifiedMessages.incrementAndGet();
+        }
+
+        JsonObject message = new JsonObject();
+        message.addProperty("role", "assistant");
+        message.addProperty("content", content);
+
+        JsonObject choice = new JsonObject();
+        choice.addProperty("index", 0);
+        choice.add("message", message);
+        choice.addProperty("finish_reason", "stop");
+
+        JsonArray choices = new JsonArray();
+        choices.add(choice);
+
+        JsonObject completion = new JsonObject();
+        completion.addProperty("id", "chatcmpl-stub");
+        completion.addProperty("object", "chat.completion");
+        completion.add("choices", choices);
+
+        return completion.toString();
+    }
+
+    private @NotNull String verdictFor(@NotNull String message) {
+        return message.contains(FLAGGED_MARKER) ? flaggedVerdict : cleanVerdict;
+    }
+
+    private void respond(@NotNull HttpExchange exchange, int status, @NotNull String response) {
+        byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            outputStream.write(bytes);
+        } catch (IOException ignored) {
+            // The client gave up on the request, e.g. after a hedged request answered first
+        }
+    }
+
+    /**
+     * Retrieve the URI of the chat completions endpoint
+     *
+     * @return The URI
+     */
+    public @NotNull URI getUri() {
+        return URI.create("http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + PATH);
+    }
+
+    /**
+     * Retrieve the number of received requests
+     *
+     * @return The number of requests
+     */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * Retrieve the number of messages that got a verdict, counting every message of a batch
+     *
+     * @return The number of messages
+     */
+    public long getClassifiedMessages() {
+        return classifiedMessages.get();
+    }
+
+    /**
+     * Retrieve the number of injected server errors
+     *
+     * @return The number of errors
+     */
+    public long getErrors() {
+        return errors.get();
+    }
+
+    /**
+     * Retrieve the number of injected rate limits
+     *
+     * @return The number of rate limited requests
+     */
+    public long getRateLimited() {
+        return rateLimited.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        responder.shutdownNow();
+    }
+}
\ No newline at end of file
@@ -10,7 +10,9 @@ import de.pixelmindmc.pixelchat.commands.RemoveStrikesCommand;
 import de.pixelmindmc.pixelchat.commands.StrikeCommand;
 import de.pixelmindmc.pixelchat.constants.ConfigConstants;
 import de.pixelmindmc.pixelchat.constants.LangConstants;
+import de.pixelmindmc.pixelchat.exceptions.StrikeRepositoryException;
 import de.pixelmindmc.pixelchat.listener.AsyncPlayerChatListener;
+import de.pixelmindmc.pixelchat.listener.PermissionCacheListener;
 import de.pixelmindmc.pixelchat.listener.PlayerJoinListener;
 import de.pixelmindmc.pixelchat.utils.*;
 import org.bstats.bukkit.Metrics;
@@ -18,25 +20,28 @@ import org.bukkit.plugin.PluginManager;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Objects;
-import java.util.Set;
 
 /**
  * The main class for the PixelChat Guardian plugin
  */
 public final class PixelChat extends JavaPlugin {
+    // Ticks between two saves of the player trust records
+    private static final long TRUST_SAVE_INTERVAL = 20L * 60 * 5;
+
     private final LoggingHelper loggingHelper = new LoggingHelper(this);
     private String updateChecker;
 
     // ConfigHelper instances
     private ConfigHelper configHelper;
-    private ConfigHelper configHelperPlayerStrikes;
     private ConfigHelper configHelperEmojiList;
     private ConfigHelper configHelperChatCodesList;
+    private ConfigHelper configHelperBlocklist;
     private ConfigHelper configHelperLangCustom;
     private ConfigHelper configHelperLangGerman;
     private ConfigHelper configHelperLangEnglish;
@@ -45,19 +50,28 @@ public final class PixelChat extends JavaPlugin {
     private ConfigHelper configHelperLangDutch;
     private ConfigHelper configHelperLangSimplifiedChinese;
     private ConfigHelper configHelperLangTraditionalChinese;
+    private volatile ConfigHelper configHelperLanguage;
 
     private PixelChatCommand pixelChatCommand;
 
+    private StrikeRepository strikeRepository;
     private APIHelper apiHelper;
     private ChatGuardHelper chatGuardHelper;
+    private final PermissionCache permissionCache = new PermissionCache();
+    private AsyncPlayerChatListener asyncPlayerChatListener;
+    private ConfigReloader configReloader;
 
     // Called when the plugin is first enabled
     @Override
     public void onEnable() {
         loadConfigs();
+        loadStrikeRepository();
         registerAPIHelper();
         registerChatGuardHelper();
+        loadPersistentVerdictCache();
+        loadPlayerTrust();
         registerListeners(getServer().getPluginManager());
+        registerConfigReloader();
         registerCommands();
         registerTabCompleter(new PixelChatTabCompleter());
         initializeMetrics();
@@ -68,6 +82,30 @@ public final class PixelChat extends JavaPlugin {
         }
     }
 
+    // Called when the plugin is disabled
+    @Override
+    public void onDisable() {
+        if (configReloader != null) {
+            configReloader.shutdown();
+        }
+
+        if (apiHelper != null) {
+            apiHelper.shutdown();
+        }
+
+        if (chatGuardHelper != null && chatGuardHelper.getPersistentVerdictCache() != null) {
+            chatGuardHelper.getPersistentVerdictCache().close();
+        }
+
+        if (chatGuardHelper != null && chatGuardHelper.getPlayerTrustTracker() != null) {
+            chatGuardHelper.getPlayerTrustTracker().save();
+        }
+
+        if (strikeRepository != null) {
+            strikeRepository.close();
+        }
+    }
+
     /**
      * Loads the plugin's configuration files and checks their versions
      */
@@ -76,9 +114,9 @@ public final class PixelChat extends JavaPlugin {
         getLoggingHelper().debug("Loading configurations");
 
         configHelper = new ConfigHelper(this, "config.yml");
-        configHelperPlayerStrikes = new ConfigHelper(this, "player_strikes.yml");
         configHelperEmojiList = new ConfigHelper(this, "emoji_list.yml");
         configHelperChatCodesList = new ConfigHelper(this, "chat_codes_list.yml");
+        configHelperBlocklist = new ConfigHelper(this, "blocklist.yml");
         configHelperLangCustom = new ConfigHelper(this, "locale/locale_custom.yml");
         configHelperLangGerman = new ConfigHelper(this, "locale/locale_de.yml");
         configHelperLangEnglish = new ConfigHelper(this, "locale/locale_en.yml");
@@ -87,6 +125,7 @@ public final class PixelChat extends JavaPlugin {
         configHelperLangDutch = new ConfigHelper(this, "locale/locale_nl.yml");
         configHelperLangSimplifiedChinese = new ConfigHelper(this, "locale/locale_zh-cn.yml");
         configHelperLangTraditionalChinese = new ConfigHelper(this, "locale/locale_zh-tw.yml");
+        updateConfigHelperLanguage();
 
         // Check config versions
         String version = getDescription().getVersion();
@@ -102,11 +141,6 @@ public final class PixelChat extends JavaPlugin {
         if (!getConfigHelper().getFileExist()) {
             getLoggingHelper().warning(getConfigHelperLanguage().getString(LangConstants.Global.FIRST_TIME_MESSAGE));
         }
-
-        // Reset the strike count of every player if enabled
-        if (getConfigHelper().getBoolean(ConfigConstants.ChatGuard.StrikeSystem.CLEAR_ON_RESTART)) {
-            resetPlayerStrikesOnServerStart();
-        }
     }
 
     /**
@@ -118,15 +152,6 @@ public final class PixelChat extends JavaPlugin {
         return configHelper;
     }
 
-    /**
-     * Retrieves the player strikes configuration
-     *
-     * @return The {@code ConfigHelper}
-     */
-    public ConfigHelper getConfigHelperPlayerStrikes() {
-        return configHelperPlayerStrikes;
-    }
-
     /**
      * Retrieves the Emoji list configuration
      *
@@ -145,63 +170,105 @@ public final class PixelChat extends JavaPlugin {
         return configHelperChatCodesList;
     }
 
+    /**
+     * Retrieves the blocklist configuration
+     *
+     * @return The {@code ConfigHelper}
+     */
+    public ConfigHelper getConfigHelperBlocklist() {
+        return configHelperBlocklist;
+    }
+
     /**
      * Retrieves the appropriate language configuration based on the plugin's config setting
      *
      * @return The config helper for the language set in the configuration
      */
     public ConfigHelper getConfigHelperLanguage() {
-        String language = getConfigHelper().getString(ConfigConstants.General.LANGUAGE);
+        return configHelperLanguage;
+    }
 
-        switch (language.toLowerCase()) {
-            case "custom" -> {
-                return configHelperLangCustom;
-            }
-            case "de" -> {
-                return configHelperLangGerman;
-            }
-            case "es" -> {
-                return configHelperLangSpanish;
-            }
-            case "fr" -> {
-                return configHelperLangFrench;
-            }
-            case "nl" -> {
-                return configHelperLangDutch;
-            }
-            case "zh-cn" -> {
-                return configHelperLangSimplifiedChinese;
+    /**
+     * Resolves the language configuration from the plugin's config setting, after the config was loaded or reloaded
+     */
+    public void updateConfigHelperLanguage() {
+        configHelperLanguage = getConfigHelperLanguage(getConfigHelper().getString(ConfigConstants.General.LANGUAGE));
+    }
+
+    /**
+     * Retrieves the language configuration of a language
+     *
+     * @param language The language as set in the configuration
+     * @return The config helper for the language, English for unknown languages
+     */
+    public ConfigHelper getConfigHelperLanguage(@NotNull String language) {
+        return switch (language.toLowerCase()) {
+            case "custom" -> configHelperLangCustom;
+            case "de" -> configHelperLangGerman;
+            case "es" -> configHelperLangSpanish;
+            case "fr" -> configHelperLangFrench;
+            case "nl" -> configHelperLangDutch;
+            case "zh-cn" -> configHelperLangSimplifiedChinese;
+            case "zh-tw" -> configHelperLangTraditionalChinese;
+            default -> configHelperLangEnglish;
+        };
+    }
+
+    /**
+     * Loads the strikes of the players from the configured storage, migrating them from player_strikes.yml on its first
+     * start
+     * The strikes are loaded before anything else can strike a player, they are needed for the first message
+     */
+    private void loadStrikeRepository() {
+        // Debug logger message
+        getLoggingHelper().debug("Load player strikes");
+
+        File legacyFile = new File(getDataFolder(), "player_strikes.yml");
+        if (getConfigHelper().getString(ConfigConstants.ChatGuard.StrikeSystem.Storage.TYPE).equalsIgnoreCase("SQLITE")) {
+            StrikeRepository sqliteStrikeRepository = new SqliteStrikeRepository(getLoggingHelper(), getDataFolder(), getConfigHelper().getInt(ConfigConstants.ChatGuard.StrikeSystem.Storage.POOL_SIZE), getConfigHelper().getInt(ConfigConstants.ChatGuard.StrikeSystem.Storage.BATCH_SIZE));
+            try {
+                sqliteStrikeRepository.load(legacyFile);
+                strikeRepository = sqliteStrikeRepository;
+            } catch (StrikeRepositoryException e) {
+                getLoggingHelper().error(e.getMessage() + ", falling back to the journal storage");
             }
-            case "zh-tw" -> {
-                return configHelperLangTraditionalChinese;
+        }
+
+        if (strikeRepository == null) {
+            JournalStrikeRepository.SyncPolicy syncPolicy;
+            try {
+                syncPolicy = JournalStrikeRepository.SyncPolicy.valueOf(getConfigHelper().getString(ConfigConstants.ChatGuard.StrikeSystem.Storage.SYNC).toUpperCase());
+            } catch (IllegalArgumentException e) {
+                getLoggingHelper().warning("Unknown strike storage sync policy, using INTERVAL");
+                syncPolicy = JournalStrikeRepository.SyncPolicy.INTERVAL;
             }
-            default -> {
-                return configHelperLangEnglish;
+
+            JournalStrikeRepository journalStrikeRepository = new JournalStrikeRepository(getLoggingHelper(), getDataFolder(), syncPolicy, getConfigHelper().getInt(ConfigConstants.ChatGuard.StrikeSystem.Storage.SYNC_INTERVAL), getConfigHelper().getInt(ConfigConstants.ChatGuard.StrikeSystem.Storage.COMPACT_AFTER));
+            try {
+                journalStrikeRepository.load(legacyFile);
+            } catch (StrikeRepositoryException e) {
+                // Without a storage the strikes would be lost on the next restart, so the plugin isn't enabled
+                throw new RuntimeException(e);
             }
+            strikeRepository = journalStrikeRepository;
+        }
+
+        // Reset the strike count of every player if enabled
+        if (getConfigHelper().getBoolean(ConfigConstants.ChatGuard.StrikeSystem.CLEAR_ON_RESTART)) {
+            strikeRepository.resetAllStrikes();
+
+            // Log the completion of strike reset
+            getLoggingHelper().info(getConfigHelperLanguage().getString(LangConstants.ChatGuard.CLEARED_STRIKES_ON_SERVER_RESTART));
         }
     }
 
     /**
-     * Resets the strike count of every player to 0 on server start
+     * Retrieves the strikes of the players
+     *
+     * @return The plugin's StrikeRepository
      */
-    private void resetPlayerStrikesOnServerStart() {
-        // Get all the top-level keys in the config (assuming these are player UUIDs)
-        Set<String> playerUUIDs = configHelperPlayerStrikes.getKeys("");
-
-        // Iterate through each player UUID and reset the strike count
-        for (String playerUUID : playerUUIDs) {
-            // Check if the player has a strikes entry in the config
-            if (configHelperPlayerStrikes.contains(playerUUID + ".strikes")) {
-                // Set the strike count to 0
-                configHelperPlayerStrikes.set(playerUUID + ".strikes", 0);
-
-                // Debug logger message
-                getLoggingHelper().debug("Reset strikes for player with UUID: " + playerUUID);
-            }
-        }
-
-        // Log the completion of strike reset
-        getLoggingHelper().info(getConfigHelperLanguage().getString(LangConstants.ChatGuard.CLEARED_STRIKES_ON_SERVER_RESTART));
+    public StrikeRepository getStrikeRepository() {
+        return strikeRepository;
     }
 
     /**
@@ -220,13 +287,17 @@ public final class PixelChat extends JavaPlugin {
             return;
         }
 
-        // Check if the config file exists and API key is either unset or still at its default value
-        if (apiKey.isEmpty() || getConfigHelper().getFileExist() && Objects.equals(apiKey, "API-KEY")) {
+        // Check if the config file exists and API key is either unset or still at its default value, unless an endpoint list with its own keys is configured
+        if (getConfigHelper().getMapList(ConfigConstants.API.ENDPOINTS).isEmpty() && (apiKey.isEmpty() || getConfigHelper().getFileExist() && Objects.equals(apiKey, "API-KEY"))) {
             getLoggingHelper().warning(getConfigHelperLanguage().getString(LangConstants.Global.NO_API_KEY_SET));
             return;
         }
 
-        apiHelper = new APIHelper(this);
+        try {
+            apiHelper = new APIHelper(this);
+        } catch (IllegalArgumentException e) {
+            getLoggingHelper().error(e.getMessage());
+        }
     }
 
     /**
@@ -248,6 +319,37 @@ public final class PixelChat extends JavaPlugin {
         chatGuardHelper = new ChatGuardHelper(this);
     }
 
+    /**
+     * Loads the persistent classification cache in the background, so a large cache file doesn't delay startup
+     */
+    private void loadPersistentVerdictCache() {
+        PersistentVerdictCache persistentVerdictCache = chatGuardHelper.getPersistentVerdictCache();
+        if (apiHelper == null || persistentVerdictCache == null) {
+            return;
+        }
+
+        // Debug logger message
+        getLoggingHelper().debug("Load persistent classification cache");
+
+        getServer().getScheduler().runTaskAsynchronously(this, persistentVerdictCache::load);
+    }
+
+    /**
+     * Loads the trust records of the players in the background and saves them periodically
+     */
+    private void loadPlayerTrust() {
+        PlayerTrustTracker playerTrustTracker = chatGuardHelper.getPlayerTrustTracker();
+        if (apiHelper == null || playerTrustTracker == null) {
+            return;
+        }
+
+        // Debug logger message
+        getLoggingHelper().debug("Load player trust records");
+
+        getServer().getScheduler().runTaskAsynchronously(this, playerTrustTracker::load);
+        getServer().getScheduler().runTaskTimerAsynchronously(this, playerTrustTracker::save, TRUST_SAVE_INTERVAL, TRUST_SAVE_INTERVAL);
+    }
+
     /**
      * Retrieves the ChatGuard Helper
      *
@@ -267,9 +369,58 @@ public final class PixelChat extends JavaPlugin {
         getLoggingHelper().debug("Register listeners");
 
         pluginManager.registerEvents(new PlayerJoinListener(this), this);
-        pluginManager.registerEvents(new AsyncPlayerChatListener(this), this);
+        asyncPlayerChatListener = new AsyncPlayerChatListener(this);
+        pluginManager.registerEvents(asyncPlayerChatListener, this);
+        pluginManager.registerEvents(new PermissionCacheListener(this), this);
+
+        // Players that are already online after a reload of the server
+        permissionCache.refreshAll(getServer().getOnlinePlayers());
+
+        int refreshInterval = getConfigHelper().getInt(ConfigConstants.General.PERMISSION_REFRESH_INTERVAL);
+        if (refreshInterval > 0) {
+            getServer().getScheduler().runTaskTimer(this, () -> permissionCache.refreshAll(getServer().getOnlinePlayers()), refreshInterval * 20L, refreshInterval * 20L);
+        }
     }
 
+    /**
+     * Creates the reloader of the configuration files and starts watching them if auto-reload is enabled
+     */
+    private void registerConfigReloader() {
+        // Debug logger message
+        getLoggingHelper().debug("Register config reloader");
+
+        configReloader = new ConfigReloader(this);
+        if (getConfigHelper().getBoolean(ConfigConstants.General.AutoReload.ENABLED)) {
+            configReloader.startWatching(getConfigHelper().getInt(ConfigConstants.General.AutoReload.DEBOUNCE));
+        }
+    }
+
+    /**
+     * Retrieves the config reloader
+     *
+     * @return The plugin's ConfigReloader
+     */
+    public ConfigReloader getConfigReloader() {
+        return configReloader;
+    }
+
+    /**
+     * Retrieves the permission cache
+     *
+     * @return The plugin's PermissionCache
+     */
+    public @NotNull PermissionCache getPermissionCache() {
+        return permissionCache;
+    }
+
+    /**
+     * Retrieves the chat listener
+     *
+     * @return The plugin's AsyncPlayerChatListener
+     */
+    public AsyncPlayerChatListener getAsyncPlayerChatListener() {
+        return asyncPlayerChatListener;
+    }
 
     /**
      * Registers commands with their respective executors
@@ -10,32 +10,53 @@ import com.google.gson.JsonParser;
 import de.pixelmindmc.pixelchat.PixelChat;
 import de.pixelmindmc.pixelchat.constants.LangConstants;
 import de.pixelmindmc.pixelchat.constants.PermissionConstants;
-import de.pixelmindmc.pixelchat.utils.ConfigHelper;
+import de.pixelmindmc.pixelchat.exceptions.StrikeRepositoryException;
+import de.pixelmindmc.pixelchat.model.Strike;
+import de.pixelmindmc.pixelchat.model.StrikeSummary;
+import de.pixelmindmc.pixelchat.utils.APIEndpoint;
+import de.pixelmindmc.pixelchat.utils.APIHelper;
+import de.pixelmindmc.pixelchat.utils.ChatGuardHelper;
+import de.pixelmindmc.pixelchat.utils.CircuitBreaker;
+import de.pixelmindmc.pixelchat.utils.ClassificationBatcher;
+import de.pixelmindmc.pixelchat.utils.ClassificationScheduler;
 import de.pixelmindmc.pixelchat.utils.LoggingHelper;
+import de.pixelmindmc.pixelchat.utils.RateLimiter;
+import de.pixelmindmc.pixelchat.utils.StrikeRepository;
+import de.pixelmindmc.pixelchat.utils.VerdictCache;
 import org.apache.commons.lang3.StringUtils;
+import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.PluginDescriptionFile;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.URI;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 /**
  * CommandExecutor for handling the "pixelchat" command, the main command for the plugin
  */
 public class PixelChatCommand implements CommandExecutor {
+    // Number of entries per page of /pixelchat strikes
+    private static final int STRIKES_PAGE_SIZE = 10;
+    private static final DateTimeFormatter STRIKE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
     private final @NotNull PixelChat plugin;
     private final @NotNull LoggingHelper loggingHelper;
-    private final @NotNull ConfigHelper configHelper;
-    private final @NotNull ConfigHelper configHelperPlayerStrikes;
-    private final @NotNull ConfigHelper configHelperLanguage;
 
     /**
      * Constructs a PixelChatCommand object
@@ -45,9 +66,6 @@ public class PixelChatCommand implements CommandExecutor {
     public PixelChatCommand(@NotNull PixelChat plugin) {
         this.plugin = plugin;
         this.loggingHelper = plugin.getLoggingHelper();
-        this.configHelper = plugin.getConfigHelper();
-        this.configHelperPlayerStrikes = plugin.getConfigHelperPlayerStrikes();
-        this.configHelperLanguage = plugin.getConfigHelperLanguage();
     }
 
     /**
@@ -63,7 +81,7 @@ public class PixelChatCommand implements CommandExecutor {
     public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String @NotNull [] args) {
         // Display usage information if no arguments are provided
         if (args.length == 0) {
-            sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + configHelperLanguage.getString(LangConstants.Global.INVALID_SYNTAX) + " " + ChatColor.RESET + configHelperLanguage.getString(LangConstants.Global.INVALID_SYNTAX_USAGE) + label + " <version|reload>");
+            sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.Global.INVALID_SYNTAX) + " " + ChatColor.RESET + plugin.getConfigHelperLanguage().getString(LangConstants.Global.INVALID_SYNTAX_USAGE) + label + " <version|reload|status|strikes|export-strikes>");
 
             return true;
         }
@@ -72,8 +90,11 @@ public class PixelChatCommand implements CommandExecutor {
         switch (args[0].toLowerCase()) {
             case "version" -> handleVersionSubcommand(sender, label, args);
             case "reload" -> handleReloadSubcommand(sender, label, args);
+            case "status" -> handleStatusSubcommand(sender, label, args);
+            case "strikes" -> handleStrikesSubcommand(sender, label, args);
+            case "export-strikes" -> handleExportStrikesSubcommand(sender, label, args);
             default ->
-                    sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + configHelperLanguage.getString(LangConstants.Global.INVALID_SYNTAX) + " " + ChatColor.RESET + configHelperLanguage.getString(LangConstants.Global.INVALID_SYNTAX_USAGE) + " " + label + " <version|reload>");
+                    sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.Global.INVALID_SYNTAX) + " " + ChatColor.RESET + plugin.getConfigHelperLanguage().getString(LangConstants.Global.INVALID_SYNTAX_USAGE) + " " + label + " <version|reload|status|strikes|export-strikes>");
         }
 
         return true;
@@ -89,14 +110,14 @@ public class PixelChatCommand implements CommandExecutor {
     private void handleVersionSubcommand(@NotNull CommandSender sender, @NotNull String label, @NotNull String @NotNull [] args) {
         // Check if the player has the required permission
         if (!sender.hasPermission(PermissionConstants.Commands.VERSION) & sender.hasPermission(PermissionConstants.Commands.RELOAD) & !sender.hasPermission(PermissionConstants.Commands.VERSION) & !sender.hasPermission(PermissionConstants.Commands.VERSION)) {
-            sender.sendMessage(ChatColor.RED + configHelperLanguage.getString(LangConstants.Global.NO_PERMISSION));
+            sender.sendMessage(ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.Global.NO_PERMISSION));
 
             return;
         }
 
         // Check if the command syntax is correct
         if (args.length != 1) {
-            sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + configHelperLanguage.getString(LangConstants.Global.INVALID_SYNTAX) + " " + ChatColor.RESET + configHelperLanguage.getString(LangConstants.Global.INVALID_SYNTAX_USAGE) + " " + label + " version");
+            sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.Global.INVALID_SYNTAX) + " " + ChatColor.RESET + plugin.getConfigHelperLanguage().getString(LangConstants.Global.INVALID_SYNTAX_USAGE) + " " + label + " version");
 
             return;
         }
@@ -109,11 +130,11 @@ public class PixelChatCommand implements CommandExecutor {
         // Display plugin information
         sender.sendMessage(LangConstants.PLUGIN_PREFIX + headerFooter);
         sender.sendMessage(LangConstants.PLUGIN_PREFIX);
-        sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + configHelperLanguage.getString(LangConstants.PixelChatCommand.VERSION) + " " + ChatColor.WHITE + description.getVersion());
-        sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + configHelperLanguage.getString(LangConstants.PixelChatCommand.DEVELOPER) + " " + ChatColor.WHITE + authors);
-        sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + configHelperLanguage.getString(LangConstants.PixelChatCommand.PLUGIN_WEBSITE));
+        sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.VERSION) + " " + ChatColor.WHITE + description.getVersion());
+        sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.DEVELOPER) + " " + ChatColor.WHITE + authors);
+        sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.PLUGIN_WEBSITE));
         sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.WHITE + description.getWebsite());
-        sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + configHelperLanguage.getString(LangConstants.PixelChatCommand.REPORT_BUGS));
+        sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.REPORT_BUGS));
         sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.WHITE + "https://github.com/PixelMindMC/PixelChatGuardian/issues");
         sender.sendMessage(LangConstants.PLUGIN_PREFIX);
         sender.sendMessage(LangConstants.PLUGIN_PREFIX + headerFooter);
@@ -134,28 +155,263 @@ public class PixelChatCommand implements CommandExecutor {
     private void handleReloadSubcommand(@NotNull CommandSender sender, @NotNull String label, @NotNull String @NotNull [] args) {
         // Check if the player has the required permission
         if (!sender.hasPermission(PermissionConstants.Commands.RELOAD)) {
-            sender.sendMessage(ChatColor.RED + configHelperLanguage.getString(LangConstants.Global.NO_PERMISSION));
+            sender.sendMessage(ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.Global.NO_PERMISSION));
+
+            return;
+        }
+
+        // Check if the command syntax is correct
+        if (args.length != 1) {
+            sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.Global.INVALID_SYNTAX) + " " + ChatColor.RESET + plugin.getConfigHelperLanguage().getString(LangConstants.Global.INVALID_SYNTAX_USAGE) + " " + label + " " + "reload");
+
+            return;
+        }
+
+        // Reload the plugin configurations in the background, the sender is told the result once it has finished
+        plugin.getConfigReloader().reload(sender);
+    }
+
+    /**
+     * Handles the "status" subcommand to display the state of the ChatGuard module and its API connection
+     *
+     * @param sender The command sender
+     * @param label  The label
+     * @param args   The arguments
+     */
+    private void handleStatusSubcommand(@NotNull CommandSender sender, @NotNull String label, @NotNull String @NotNull [] args) {
+        // Check if the player has the required permission
+        if (!sender.hasPermission(PermissionConstants.Commands.STATUS)) {
+            sender.sendMessage(ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.Global.NO_PERMISSION));
+
+            return;
+        }
+
+        // Check if the command syntax is correct
+        if (args.length != 1) {
+            sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.Global.INVALID_SYNTAX) + " " + ChatColor.RESET + plugin.getConfigHelperLanguage().getString(LangConstants.Global.INVALID_SYNTAX_USAGE) + " " + label + " " + "status");
+
+            return;
+        }
+
+        APIHelper apiHelper = plugin.getAPIHelper();
+        if (apiHelper == null) {
+            sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.Status.CHATGUARD_INACTIVE));
+
+            return;
+        }
+
+        ChatGuardHelper chatGuardHelper = plugin.getChatGuardHelper();
+        String headerFooter = ChatColor.DARK_GRAY.toString() + ChatColor.BOLD + StringUtils.repeat("-", 36);
+
+        // Display the status information
+        sender.sendMessage(LangConstants.PLUGIN_PREFIX + headerFooter);
+
+        for (APIEndpoint endpoint : apiHelper.getEndpoints()) {
+            sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.Status.ENDPOINT) + " " + ChatColor.WHITE + endpoint.getUri().getHost() + " (" + endpoint.getWeight() + ")");
+            sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.Status.ENDPOINT_LATENCY) + " " + ChatColor.WHITE + String.format("%.0f", endpoint.getAverageLatency()) + "/" + formatGauge(endpoint.getP95Latency(1)));
+            sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.Status.ENDPOINT_REQUESTS) + " " + ChatColor.WHITE + endpoint.getRequests() + "/" + endpoint.getErrors() + "/" + endpoint.getInFlight());
+
+            CircuitBreaker circuitBreaker = endpoint.getCircuitBreaker();
+            if (circuitBreaker != null) {
+                ChatColor stateColor = circuitBreaker.getState() == CircuitBreaker.State.CLOSED ? ChatColor.GREEN : ChatColor.RED;
+                sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.Status.CIRCUIT_BREAKER) + " " + stateColor + circuitBreaker.getState());
+                sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.Status.FAILURE_RATE) + " " + ChatColor.WHITE + circuitBreaker.getFailureRate() + "%");
+                sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.Status.REJECTED_REQUESTS) + " " + ChatColor.WHITE + circuitBreaker.getRejected());
+            }
+
+            RateLimiter rateLimiter = endpoint.getRateLimiter();
+            if (rateLimiter != null) {
+                sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.Status.RATE_LIMIT_REQUESTS) + " " + ChatColor.WHITE + formatGauge(rateLimiter.getRemainingRequests()) + "/" + formatGauge(rateLimiter.getLimitRequests()));
+                sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.Status.RATE_LIMIT_TOKENS) + " " + ChatColor.WHITE + formatGauge(rateLimiter.getRemainingTokens()) + "/" + formatGauge(rateLimiter.getLimitTokens()));
+                sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.Status.PACED_REQUESTS) + " " + ChatColor.WHITE + rateLimiter.getPacedRequests());
+            }
+        }
+
+        ClassificationScheduler scheduler = apiHelper.getScheduler();
+        sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.Status.QUEUE) + " " + ChatColor.WHITE + scheduler.getQueueDepth() + "/" + scheduler.getQueuedPlayers() + "/" + scheduler.getInFlight());
+        sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.Status.QUEUE_WAIT) + " " + ChatColor.WHITE + String.format("%.1f", scheduler.getAverageWaitMillis()) + "/" + scheduler.getMaxWaitMillis());
+        sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.Status.RETRIED_REQUESTS) + " " + ChatColor.WHITE + apiHelper.getRetries());
+        if (apiHelper.getEndpoints().size() > 1) {
+            sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.Status.HEDGED_REQUESTS) + " " + ChatColor.WHITE + apiHelper.getHedgedRequests() + "/" + apiHelper.getWonHedges());
+        }
+
+        VerdictCache verdictCache = chatGuardHelper.getVerdictCache();
+        if (verdictCache != null) {
+            sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.Status.CACHE) + " " + ChatColor.WHITE + verdictCache.getHits() + "/" + verdictCache.getMisses());
+        }
+
+        sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.Status.LOCAL_DECISIONS) + " " + ChatColor.WHITE + (chatGuardHelper.getBlocklistMatches() + chatGuardHelper.getDetectorDecisions()));
+
+        if (chatGuardHelper.getPlayerTrustTracker() != null) {
+            sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.Status.TRUSTED_MESSAGES) + " " + ChatColor.WHITE + chatGuardHelper.getTrustedInBackground() + "/" + chatGuardHelper.getTrustedLocally());
+        }
+
+        if (chatGuardHelper.isNearDuplicateDetectionEnabled()) {
+            sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.Status.NEAR_DUPLICATES) + " " + ChatColor.WHITE + chatGuardHelper.getNearDuplicateReuses() + "/" + chatGuardHelper.getSpamWaveBlocks());
+        }
+
+        ClassificationBatcher batcher = apiHelper.getBatcher();
+        if (batcher != null) {
+            sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.Status.BATCHES) + " " + ChatColor.WHITE + batcher.getBatchCount() + "/" + String.format("%.1f", batcher.getAverageBatchSize()));
+        }
+
+        sender.sendMessage(LangConstants.PLUGIN_PREFIX + headerFooter);
+    }
+
+    /**
+     * Handles the "strikes" subcommand to display the strike history of a player or the players with the most strikes
+     *
+     * @param sender The command sender
+     * @param label  The label
+     * @param args   The arguments
+     */
+    private void handleStrikesSubcommand(@NotNull CommandSender sender, @NotNull String label, @NotNull String @NotNull [] args) {
+        // Check if the player has the required permission
+        if (!sender.hasPermission(PermissionConstants.Commands.STRIKES)) {
+            sender.sendMessage(ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.Global.NO_PERMISSION));
+
+            return;
+        }
+
+        // Check if the command syntax is correct
+        int page = 1;
+        try {
+            if (args.length == 3) {
+                page = Integer.parseInt(args[2]);
+            }
+        } catch (NumberFormatException e) {
+            page = 0;
+        }
+        if (args.length < 2 || args.length > 3 || page < 1) {
+            sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.Global.INVALID_SYNTAX) + " " + ChatColor.RESET + plugin.getConfigHelperLanguage().getString(LangConstants.Global.INVALID_SYNTAX_USAGE) + " " + label + " " + "strikes <player|top> [page]");
+
+            return;
+        }
+
+        // Online players are looked up here, the Mojang API and the storage are queried in the background
+        boolean top = args[1].equalsIgnoreCase("top");
+        Player onlinePlayer = top ? null : Bukkit.getPlayer(args[1]);
+        int requestedPage = page;
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            List<String> lines;
+            try {
+                if (top) {
+                    lines = formatTopPlayers(plugin.getStrikeRepository().getTopPlayers(requestedPage, STRIKES_PAGE_SIZE));
+                } else {
+                    UUID playerUUID = onlinePlayer != null ? onlinePlayer.getUniqueId() : getOfflinePlayerUUID(args[1]);
+                    StrikeRepository.Page<Strike> history = playerUUID != null ? plugin.getStrikeRepository().getHistory(playerUUID, requestedPage, STRIKES_PAGE_SIZE) : new StrikeRepository.Page<>(List.of(), 1, 1);
+                    lines = formatHistory(args[1], history);
+                }
+            } catch (StrikeRepositoryException e) {
+                loggingHelper.error(e.getMessage());
+                lines = List.of(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.Strikes.FAILED) + " " + ChatColor.RESET + e.getMessage());
+            }
+
+            List<String> messages = lines;
+            plugin.getServer().getScheduler().runTask(plugin, () -> messages.forEach(sender::sendMessage));
+        });
+    }
+
+    /**
+     * Formats a page of the strike history of a player
+     *
+     * @param playerName The name of the player
+     * @param history    The page of the history
+     * @return The lines of the message
+     */
+    private @NotNull List<String> formatHistory(@NotNull String playerName, @NotNull StrikeRepository.Page<Strike> history) {
+        List<String> lines = new ArrayList<>();
+        lines.add(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.Strikes.HISTORY) + " " + ChatColor.WHITE + playerName);
+
+        for (Strike strike : history.entries()) {
+            String date = LocalDateTime.ofInstant(Instant.ofEpochMilli(strike.timestamp()), ZoneId.systemDefault()).format(STRIKE_DATE_FORMAT);
+            lines.add(LangConstants.PLUGIN_PREFIX + ChatColor.GRAY + date + " " + ChatColor.RED + strike.action() + " " + ChatColor.WHITE + strike.reason());
+        }
+
+        addPageFooter(lines, history);
+        return lines;
+    }
+
+    /**
+     * Formats a page of the players with the most strikes
+     *
+     * @param topPlayers The page of the players
+     * @return The lines of the message
+     */
+    private @NotNull List<String> formatTopPlayers(@NotNull StrikeRepository.Page<StrikeSummary> topPlayers) {
+        List<String> lines = new ArrayList<>();
+        lines.add(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.Strikes.TOP));
+
+        int rank = (topPlayers.page() - 1) * STRIKES_PAGE_SIZE;
+        for (StrikeSummary summary : topPlayers.entries()) {
+            rank++;
+            lines.add(LangConstants.PLUGIN_PREFIX + ChatColor.RED + "#" + rank + " " + ChatColor.WHITE + summary.name() + " " + ChatColor.GRAY + summary.strikes() + "/" + summary.totalStrikes());
+        }
+
+        addPageFooter(lines, topPlayers);
+        return lines;
+    }
+
+    /**
+     * Adds the page number to a query result, or a notice if it is empty
+     *
+     * @param lines The lines of the message
+     * @param page  The page of the result
+     */
+    private void addPageFooter(@NotNull List<String> lines, @NotNull StrikeRepository.Page<?> page) {
+        if (page.entries().isEmpty()) {
+            lines.add(LangConstants.PLUGIN_PREFIX + ChatColor.GRAY + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.Strikes.NONE));
+        }
+        lines.add(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.Strikes.PAGE) + " " + ChatColor.WHITE + page.page() + "/" + page.pages());
+    }
+
+    /**
+     * Handles the "export-strikes" subcommand to write the strikes of all players to player_strikes.yml
+     *
+     * @param sender The command sender
+     * @param label  The label
+     * @param args   The arguments
+     */
+    private void handleExportStrikesSubcommand(@NotNull CommandSender sender, @NotNull String label, @NotNull String @NotNull [] args) {
+        // Check if the player has the required permission
+        if (!sender.hasPermission(PermissionConstants.Commands.EXPORT_STRIKES)) {
+            sender.sendMessage(ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.Global.NO_PERMISSION));
 
             return;
         }
 
         // Check if the command syntax is correct
         if (args.length != 1) {
-            sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + configHelperLanguage.getString(LangConstants.Global.INVALID_SYNTAX) + " " + ChatColor.RESET + configHelperLanguage.getString(LangConstants.Global.INVALID_SYNTAX_USAGE) + " " + label + " " + "reload");
+            sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.Global.INVALID_SYNTAX) + " " + ChatColor.RESET + plugin.getConfigHelperLanguage().getString(LangConstants.Global.INVALID_SYNTAX_USAGE) + " " + label + " " + "export-strikes");
 
             return;
         }
 
-        // Reload the plugin configurations
-        configHelper.loadConfig();
-        configHelperPlayerStrikes.loadConfig();
-        configHelperLanguage.loadConfig();
+        // Write the file in the background, as it can get large
+        File file = new File(plugin.getDataFolder(), "player_strikes.yml");
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                plugin.getStrikeRepository().exportYaml(file);
 
-        // Debug logger message
-        loggingHelper.debug("Configuration files successfully reloaded");
+                // Debug logger message
+                loggingHelper.debug(sender + " exported the player strikes");
+
+                plugin.getServer().getScheduler().runTask(plugin, () -> sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.GREEN + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.EXPORTED_STRIKES) + " " + ChatColor.RESET + file.getName()));
+            } catch (StrikeRepositoryException e) {
+                loggingHelper.error(e.getMessage());
+                plugin.getServer().getScheduler().runTask(plugin, () -> sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.EXPORT_STRIKES_FAILED) + " " + ChatColor.RESET + e.getMessage()));
+            }
+        });
+    }
 
-        // Send a message after successfully reloading the configurations
-        sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.GREEN + configHelperLanguage.getString(LangConstants.PixelChatCommand.RELOAD));
+    /**
+     * Formats a gauge that may not be known yet
+     *
+     * @param value The value of the gauge, negative if unknown
+     * @return The value, or "?" if it is unknown
+     */
+    private @NotNull String formatGauge(long value) {
+        return value < 0 ? "?" : String.valueOf(value);
     }
 
     /**
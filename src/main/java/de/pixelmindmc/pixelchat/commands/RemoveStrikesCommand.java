@@ -8,8 +8,8 @@ package de.pixelmindmc.pixelchat.commands;
 import de.pixelmindmc.pixelchat.PixelChat;
 import de.pixelmindmc.pixelchat.constants.LangConstants;
 import de.pixelmindmc.pixelchat.constants.PermissionConstants;
-import de.pixelmindmc.pixelchat.utils.ConfigHelper;
 import de.pixelmindmc.pixelchat.utils.LoggingHelper;
+import de.pixelmindmc.pixelchat.utils.StrikeRepository;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.command.Command;
@@ -26,8 +26,7 @@ import java.util.UUID;
 public class RemoveStrikesCommand implements CommandExecutor {
     private final @NotNull PixelChat plugin;
     private final @NotNull LoggingHelper loggingHelper;
-    private final @NotNull ConfigHelper configHelperPlayerStrikes;
-    private final @NotNull ConfigHelper configHelperLanguage;
+    private final @NotNull StrikeRepository strikeRepository;
 
     /**
      * Constructs a PixelChatCommand object
@@ -37,8 +36,7 @@ public class RemoveStrikesCommand implements CommandExecutor {
     public RemoveStrikesCommand(@NotNull PixelChat plugin) {
         this.plugin = plugin;
         this.loggingHelper = plugin.getLoggingHelper();
-        this.configHelperPlayerStrikes = plugin.getConfigHelperPlayerStrikes();
-        this.configHelperLanguage = plugin.getConfigHelperLanguage();
+        this.strikeRepository = plugin.getStrikeRepository();
     }
 
     /**
@@ -54,14 +52,14 @@ public class RemoveStrikesCommand implements CommandExecutor {
     public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String @NotNull [] args) {
         // Check if the player has the required permission
         if (!sender.hasPermission(PermissionConstants.Moderation.REMOVE_PLAYER_STRIKES)) {
-            sender.sendMessage(ChatColor.RED + configHelperLanguage.getString(LangConstants.Global.NO_PERMISSION));
+            sender.sendMessage(ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.Global.NO_PERMISSION));
 
             return true;
         }
 
         // Check if the command syntax is correct
         if (args.length != 1) {
-            sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + configHelperLanguage.getString(LangConstants.Global.INVALID_SYNTAX) + " " + ChatColor.RESET + configHelperLanguage.getString(LangConstants.Global.INVALID_SYNTAX_USAGE) + label + " " + "<player>");
+            sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.Global.INVALID_SYNTAX) + " " + ChatColor.RESET + plugin.getConfigHelperLanguage().getString(LangConstants.Global.INVALID_SYNTAX_USAGE) + label + " " + "<player>");
 
             return true;
         }
@@ -75,15 +73,15 @@ public class RemoveStrikesCommand implements CommandExecutor {
         }
 
         // Reset the player's strike count to 0
-        if (playerUUID != null && configHelperPlayerStrikes.contains(playerUUID.toString())) {
-            configHelperPlayerStrikes.set(playerUUID + ".strikes", 0);
+        if (playerUUID != null) {
+            strikeRepository.resetStrikes(playerUUID);
         }
 
         // Debug logger message
         loggingHelper.debug(sender + " removed strikes from the player " + args[0]);
 
         // Send a message after successfully remove player strikes from a specific player
-        sender.sendMessage(LangConstants.PLUGIN_PREFIX + configHelperLanguage.getString(LangConstants.PixelChatCommand.REMOVED_PLAYER_STRIKES) + " " + ChatColor.RED + ChatColor.BOLD + args[0] + ChatColor.RESET + ".");
+        sender.sendMessage(LangConstants.PLUGIN_PREFIX + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.REMOVED_PLAYER_STRIKES) + " " + ChatColor.RED + ChatColor.BOLD + args[0] + ChatColor.RESET + ".");
 
         return true;
     }
@@ -9,7 +9,6 @@ import de.pixelmindmc.pixelchat.PixelChat;
 import de.pixelmindmc.pixelchat.constants.LangConstants;
 import de.pixelmindmc.pixelchat.constants.PermissionConstants;
 import de.pixelmindmc.pixelchat.utils.ChatGuardHelper;
-import de.pixelmindmc.pixelchat.utils.ConfigHelper;
 import de.pixelmindmc.pixelchat.utils.LoggingHelper;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -27,7 +26,6 @@ import java.util.UUID;
 public class StrikeCommand implements CommandExecutor {
     private final @NotNull PixelChat plugin;
     private final @NotNull LoggingHelper loggingHelper;
-    private final @NotNull ConfigHelper configHelperLanguage;
     private final @NotNull ChatGuardHelper chatGuardHelper;
 
     /**
@@ -38,7 +36,6 @@ public class StrikeCommand implements CommandExecutor {
     public StrikeCommand(@NotNull PixelChat plugin) {
         this.plugin = plugin;
         this.loggingHelper = plugin.getLoggingHelper();
-        this.configHelperLanguage = plugin.getConfigHelperLanguage();
         this.chatGuardHelper = plugin.getChatGuardHelper();
     }
 
@@ -55,14 +52,14 @@ public class StrikeCommand implements CommandExecutor {
     public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String @NotNull [] args) {
         // Check if the player has the required permission
         if (!sender.hasPermission(PermissionConstants.Moderation.STRIKE_PLAYER)) {
-            sender.sendMessage(ChatColor.RED + configHelperLanguage.getString(LangConstants.Global.NO_PERMISSION));
+            sender.sendMessage(ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.Global.NO_PERMISSION));
 
             return true;
         }
 
         // Check if the command syntax is correct
         if (args.length != 2) {
-            sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + configHelperLanguage.getString(LangConstants.Global.INVALID_SYNTAX) + " " + ChatColor.RESET + configHelperLanguage.getString(LangConstants.Global.INVALID_SYNTAX_USAGE) + label + " <player> <reason>");
+            sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.Global.INVALID_SYNTAX) + " " + ChatColor.RESET + plugin.getConfigHelperLanguage().getString(LangConstants.Global.INVALID_SYNTAX_USAGE) + label + " <player> <reason>");
 
             return true;
         }
@@ -84,7 +81,7 @@ public class StrikeCommand implements CommandExecutor {
         loggingHelper.debug(sender + " striked the player " + args[0] + " with the reason " + args[1]);
 
         // Send a message after successfully struck a player
-        sender.sendMessage(LangConstants.PLUGIN_PREFIX + configHelperLanguage.getString(LangConstants.PixelChatCommand.STRUCK_PLAYER) + " " + ChatColor.RED + ChatColor.BOLD + args[0] + ChatColor.RESET + ".");
+        sender.sendMessage(LangConstants.PLUGIN_PREFIX + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.STRUCK_PLAYER) + " " + ChatColor.RED + ChatColor.BOLD + args[0] + ChatColor.RESET + ".");
 
         return true;
     }
@@ -20,6 +20,10 @@ public final class APIConstants {
     public static final class General {
         public static final String CONTENT = "content";
         public static final String REASON = "reason";
+        public static final String ID = "id";
+        public static final String MESSAGE = "message";
+        public static final String CONTEXT = "context";
+        public static final String RESULTS = "results";
 
         private General() {
         }
@@ -40,4 +44,24 @@ public final class APIConstants {
         private DetectionFlags() {
         }
     }
+
+    /**
+     * Prompt additions for batched requests
+     */
+    public static final class Batching {
+        public static final String PROMPT = "\nBATCH MODE: The user content is a JSON array of objects with the fields \"id\" and \"message\". Classify every message on its own and respond with a JSON object of the form {\"results\": [...]}, containing exactly one object per message with its \"id\" and all fields described above.\n";
+
+        private Batching() {
+        }
+    }
+
+    /**
+     * Prompt additions for requests with the preceding chat messages as context
+     */
+    public static final class Context {
+        public static final String PROMPT = "\nCONTEXT: A message may come with a \"context\" field, a JSON array of the chat messages sent right before it in the form \"player: message\", the oldest first. In that case the user content of a single message is a JSON object with the fields \"context\" and \"message\". Only classify the message itself, never the context, but judge it together with the context, e.g. insults split over several messages or replies that are only offensive as an answer to a previous message.\n";
+
+        private Context() {
+        }
+    }
 }
\ No newline at end of file
@@ -24,9 +24,18 @@ public final class ConfigConstants {
         public static final String METRICS_ENABLED = "general.enable-metrics";
         public static final String CHECK_FOR_UPDATES = "general.check-for-updates";
         public static final String LOG_LEVEL = "general.log-level";
+        public static final String PERMISSION_REFRESH_INTERVAL = "general.permission-refresh-interval";
 
         private General() {
         }
+
+        public static final class AutoReload {
+            public static final String ENABLED = "general.auto-reload.enabled";
+            public static final String DEBOUNCE = "general.auto-reload.debounce";
+
+            private AutoReload() {
+            }
+        }
     }
 
     /**
@@ -59,9 +68,93 @@ public final class ConfigConstants {
         public static final String MODEL = "api.ai-model";
         public static final String KEY = "api.key";
         public static final String SYSTEM_PROMPT = "api.sys-prompt";
+        public static final String ENDPOINTS = "api.endpoints";
 
         private API() {
         }
+
+        public static final class Endpoint {
+            public static final String URL = "url";
+            public static final String KEY = "key";
+            public static final String MODEL = "model";
+            public static final String WEIGHT = "weight";
+            public static final String MAX_CONCURRENCY = "max-concurrency";
+
+            private Endpoint() {
+            }
+        }
+
+        public static final class Connection {
+            public static final String POOL_SIZE = "api.connection.pool-size";
+            public static final String IDLE_TIMEOUT = "api.connection.idle-timeout";
+
+            private Connection() {
+            }
+        }
+
+        public static final class Batching {
+            public static final String ENABLED = "api.batching.enabled";
+            public static final String WINDOW = "api.batching.window";
+            public static final String MAX_SIZE = "api.batching.max-size";
+            public static final String FALLBACK_TO_SINGLE = "api.batching.fallback-to-single";
+
+            private Batching() {
+            }
+        }
+
+        public static final class Queue {
+            public static final String MAX_CONCURRENT = "api.queue.max-concurrent";
+            public static final String MAX_PER_PLAYER = "api.queue.max-per-player";
+            public static final String MAX_SIZE = "api.queue.max-size";
+
+            private Queue() {
+            }
+        }
+
+        public static final class RateLimit {
+            public static final String ENABLED = "api.rate-limit.enabled";
+
+            private RateLimit() {
+            }
+        }
+
+        public static final class Timeouts {
+            public static final String CONNECT = "api.timeouts.connect";
+            public static final String READ = "api.timeouts.read";
+            public static final String TOTAL = "api.timeouts.total";
+
+            private Timeouts() {
+            }
+        }
+
+        public static final class Retry {
+            public static final String MAX_ATTEMPTS = "api.retry.max-attempts";
+            public static final String INITIAL_BACKOFF = "api.retry.initial-backoff";
+            public static final String MAX_BACKOFF = "api.retry.max-backoff";
+
+            private Retry() {
+            }
+        }
+
+        public static final class CircuitBreaker {
+            public static final String ENABLED = "api.circuit-breaker.enabled";
+            public static final String WINDOW_SIZE = "api.circuit-breaker.window-size";
+            public static final String MINIMUM_REQUESTS = "api.circuit-breaker.minimum-requests";
+            public static final String FAILURE_RATE_THRESHOLD = "api.circuit-breaker.failure-rate-threshold";
+            public static final String OPEN_DURATION = "api.circuit-breaker.open-duration";
+            public static final String FAIL_POLICY = "api.circuit-breaker.fail-policy";
+
+            private CircuitBreaker() {
+            }
+        }
+
+        public static final class Hedging {
+            public static final String ENABLED = "api.hedging.enabled";
+            public static final String MIN_SAMPLES = "api.hedging.min-samples";
+
+            private Hedging() {
+            }
+        }
     }
 
     /**
@@ -73,6 +166,92 @@ public final class ConfigConstants {
         private ChatGuard() {
         }
 
+        public static final class Cache {
+            public static final String ENABLED = "chatguard.cache.enabled";
+            public static final String MAX_SIZE = "chatguard.cache.max-size";
+            public static final String EXPIRE_AFTER = "chatguard.cache.expire-after";
+
+            private Cache() {
+            }
+
+            public static final class Persistent {
+                public static final String ENABLED = "chatguard.cache.persistent.enabled";
+                public static final String MAX_SIZE = "chatguard.cache.persistent.max-size";
+                public static final String EXPIRE_AFTER = "chatguard.cache.persistent.expire-after";
+
+                private Persistent() {
+                }
+            }
+        }
+
+        public static final class Blocklist {
+            public static final String ENABLED = "chatguard.blocklist.enabled";
+            public static final String WHOLE_WORDS = "chatguard.blocklist.whole-words";
+
+            private Blocklist() {
+            }
+        }
+
+        public static final class NearDuplicates {
+            public static final String ENABLED = "chatguard.near-duplicates.enabled";
+            public static final String MAX_DISTANCE = "chatguard.near-duplicates.max-distance";
+            public static final String MIN_LENGTH = "chatguard.near-duplicates.min-length";
+            public static final String WINDOW = "chatguard.near-duplicates.window";
+            public static final String MAX_SIZE = "chatguard.near-duplicates.max-size";
+            public static final String SPAM_THRESHOLD = "chatguard.near-duplicates.spam-threshold";
+
+            private NearDuplicates() {
+            }
+        }
+
+        public static final class Trust {
+            public static final String ENABLED = "chatguard.trust.enabled";
+            public static final String PLAYTIME = "chatguard.trust.playtime";
+            public static final String RECENT_MESSAGES = "chatguard.trust.recent-messages";
+            public static final String MIN_MESSAGES = "chatguard.trust.min-messages";
+            public static final String MAX_STRIKES = "chatguard.trust.max-strikes";
+            public static final String THRESHOLD = "chatguard.trust.threshold";
+            public static final String MODE = "chatguard.trust.mode";
+            public static final String SAMPLE_RATE = "chatguard.trust.sample-rate";
+
+            private Trust() {
+            }
+        }
+
+        public static final class Context {
+            public static final String ENABLED = "chatguard.context.enabled";
+            public static final String SCOPE = "chatguard.context.scope";
+            public static final String SIZE = "chatguard.context.size";
+            public static final String MESSAGES = "chatguard.context.messages";
+            public static final String MAX_TOKENS = "chatguard.context.max-tokens";
+            public static final String MAX_CHANNELS = "chatguard.context.max-channels";
+            public static final String MAX_MESSAGE_LENGTH = "chatguard.context.max-message-length";
+
+            private Context() {
+            }
+        }
+
+        public static final class OptimisticDelivery {
+            public static final String ENABLED = "chatguard.optimistic-delivery.enabled";
+            public static final String RETROACTIVE_ACTION = "chatguard.optimistic-delivery.retroactive-action";
+            public static final String MUTE_DURATION = "chatguard.optimistic-delivery.mute-duration";
+
+            private OptimisticDelivery() {
+            }
+        }
+
+        public static final class Detectors {
+            public static final String ENABLED = "chatguard.detectors.enabled";
+            public static final String EMAIL_ADDRESSES = "chatguard.detectors.email-addresses";
+            public static final String WEBSITES = "chatguard.detectors.websites";
+            public static final String IP_ADDRESSES = "chatguard.detectors.ip-addresses";
+            public static final String PASSWORDS = "chatguard.detectors.passwords";
+            public static final String USERNAMES = "chatguard.detectors.usernames";
+
+            private Detectors() {
+            }
+        }
+
         public static final class CustomPrefix {
             public static final String ENABLED = "chatguard.custom-prefix.enabled";
             public static final String FORMAT = "chatguard.custom-prefix.format";
@@ -118,6 +297,18 @@ public final class ConfigConstants {
                 }
             }
 
+            public static final class Storage {
+                public static final String TYPE = "chatguard.strike-system.storage.type";
+                public static final String SYNC = "chatguard.strike-system.storage.sync";
+                public static final String SYNC_INTERVAL = "chatguard.strike-system.storage.sync-interval";
+                public static final String COMPACT_AFTER = "chatguard.strike-system.storage.compact-after";
+                public static final String POOL_SIZE = "chatguard.strike-system.storage.pool-size";
+                public static final String BATCH_SIZE = "chatguard.strike-system.storage.batch-size";
+
+                private Storage() {
+                }
+            }
+
             public static final class Commands {
                 public static final String KICK = "chatguard.strike-system.commands.kick";
                 public static final String TEMP_BAN = "chatguard.strike-system.commands.temp-ban";
@@ -140,6 +331,18 @@ public final class ConfigConstants {
         }
     }
 
+    /**
+     * Blocklist configuration
+     */
+    public static final class Blocklist {
+        public static final String OFFENSIVE_LANGUAGE = "blocklist.offensive-language";
+        public static final String SEXUAL_CONTENT = "blocklist.sexual-content";
+        public static final String WEBSITES = "blocklist.websites";
+
+        private Blocklist() {
+        }
+    }
+
     /**
      * Chat code/formatting configuration
      */
@@ -56,11 +56,50 @@ public final class LangConstants {
         public static final String PLUGIN_WEBSITE = "pixelchat.plugin-website";
         public static final String REPORT_BUGS = "pixelchat.report-bugs";
         public static final String RELOAD = "pixelchat.reload";
+        public static final String RELOAD_FAILED = "pixelchat.reload-failed";
         public static final String REMOVED_PLAYER_STRIKES = "pixelchat.chatguard.removed-player-strikes";
         public static final String STRUCK_PLAYER = "pixelchat.chatguard.struck-player";
+        public static final String EXPORTED_STRIKES = "pixelchat.chatguard.exported-strikes";
+        public static final String EXPORT_STRIKES_FAILED = "pixelchat.chatguard.export-strikes-failed";
 
         private PixelChatCommand() {
         }
+
+        public static final class Strikes {
+            public static final String HISTORY = "pixelchat.strikes.history";
+            public static final String TOP = "pixelchat.strikes.top";
+            public static final String NONE = "pixelchat.strikes.none";
+            public static final String PAGE = "pixelchat.strikes.page";
+            public static final String FAILED = "pixelchat.strikes.failed";
+
+            private Strikes() {
+            }
+        }
+
+        public static final class Status {
+            public static final String CHATGUARD_INACTIVE = "pixelchat.status.chatguard-inactive";
+            public static final String CIRCUIT_BREAKER = "pixelchat.status.circuit-breaker";
+            public static final String FAILURE_RATE = "pixelchat.status.failure-rate";
+            public static final String REJECTED_REQUESTS = "pixelchat.status.rejected-requests";
+            public static final String RETRIED_REQUESTS = "pixelchat.status.retried-requests";
+            public static final String CACHE = "pixelchat.status.cache";
+            public static final String LOCAL_DECISIONS = "pixelchat.status.local-decisions";
+            public static final String NEAR_DUPLICATES = "pixelchat.status.near-duplicates";
+            public static final String TRUSTED_MESSAGES = "pixelchat.status.trusted-messages";
+            public static final String BATCHES = "pixelchat.status.batches";
+            public static final String QUEUE = "pixelchat.status.queue";
+            public static final String QUEUE_WAIT = "pixelchat.status.queue-wait";
+            public static final String RATE_LIMIT_REQUESTS = "pixelchat.status.rate-limit-requests";
+            public static final String RATE_LIMIT_TOKENS = "pixelchat.status.rate-limit-tokens";
+            public static final String PACED_REQUESTS = "pixelchat.status.paced-requests";
+            public static final String ENDPOINT = "pixelchat.status.endpoint";
+            public static final String ENDPOINT_LATENCY = "pixelchat.status.endpoint-latency";
+            public static final String ENDPOINT_REQUESTS = "pixelchat.status.endpoint-requests";
+            public static final String HEDGED_REQUESTS = "pixelchat.status.hedged-requests";
+
+            private Status() {
+            }
+        }
     }
 
     /**
@@ -68,6 +107,9 @@ public final class LangConstants {
      */
     public static final class ChatGuard {
         public static final String CLEARED_STRIKES_ON_SERVER_RESTART = "chatguard.cleared-strikes-on-server-restart";
+        public static final String BLOCKLIST_REASON = "chatguard.blocklist-reason";
+        public static final String DETECTOR_REASON = "chatguard.detector-reason";
+        public static final String RETROACTIVE_NOTICE = "chatguard.retroactive-notice";
 
         private ChatGuard() {
         }
@@ -75,6 +117,11 @@ public final class LangConstants {
         public static final class Player {
             public static final String MESSAGE_BLOCKED = "chatguard.player.message-blocked";
             public static final String MESSAGE_CENSORED = "chatguard.player.message-censored";
+            public static final String MESSAGE_UNAVAILABLE = "chatguard.player.message-unavailable";
+            public static final String TOO_MANY_MESSAGES = "chatguard.player.too-many-messages";
+            public static final String SPAM_WAVE = "chatguard.player.spam-wave";
+            public static final String MUTED = "chatguard.player.muted";
+            public static final String STILL_MUTED = "chatguard.player.still-muted";
             public static final String KICK = "chatguard.player.kick";
             public static final String BAN_TEMPORARY = "chatguard.player.ban-temporary";
             public static final String BAN_PERMANENT = "chatguard.player.ban-permanent";
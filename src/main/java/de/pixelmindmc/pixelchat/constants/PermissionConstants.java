@@ -32,6 +32,21 @@ public final class PermissionConstants {
          */
         public static final String RELOAD = "pixelchat.reload";
 
+        /**
+         * Allows using /pixelchat status
+         */
+        public static final String STATUS = "pixelchat.status";
+
+        /**
+         * Allows using /pixelchat strikes
+         */
+        public static final String STRIKES = "pixelchat.strikes";
+
+        /**
+         * Allows using /pixelchat export-strikes
+         */
+        public static final String EXPORT_STRIKES = "pixelchat.export-strikes";
+
         private Commands() {
         }
     }
@@ -73,6 +88,11 @@ public final class PermissionConstants {
          */
         public static final String STRIKE_NOTIFY = "pixelchat.strike-notify";
 
+        /**
+         * Delivers messages immediately and moderates them in the background
+         */
+        public static final String OPTIMISTIC_DELIVERY = "pixelchat.optimistic-delivery";
+
         /**
          * Allows bypassing all chat moderation filters
          */
@@ -0,0 +1,15 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.exceptions;
+
+/**
+ * Thrown when a classification is rejected without asking the API because the circuit breaker is open
+ */
+public class CircuitBreakerOpenException extends MessageClassificationException {
+    public CircuitBreakerOpenException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.exceptions;
+
+/**
+ * Thrown when a message is rejected because the classification queue of the player or the server is full
+ */
+public class QueueFullException extends MessageClassificationException {
+    public QueueFullException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
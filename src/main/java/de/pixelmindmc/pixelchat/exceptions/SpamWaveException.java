@@ -0,0 +1,15 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.exceptions;
+
+/**
+ * Thrown when a message is blocked because it is one of too many near-duplicate messages sent within a short time
+ */
+public class SpamWaveException extends MessageClassificationException {
+    public SpamWaveException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.exceptions;
+
+/**
+ * Thrown when the strikes of the players couldn't be read from or written to their storage
+ */
+public class StrikeRepositoryException extends Exception {
+    public StrikeRepositoryException(String message) {
+        super(message);
+    }
+
+    public StrikeRepositoryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
\ No newline at end of file
@@ -6,21 +6,29 @@
 package de.pixelmindmc.pixelchat.integration;
 
 import de.pixelmindmc.pixelchat.PixelChat;
-import de.pixelmindmc.pixelchat.constants.ConfigConstants;
+import de.pixelmindmc.pixelchat.constants.LangConstants;
 import de.pixelmindmc.pixelchat.constants.PermissionConstants;
+import de.pixelmindmc.pixelchat.exceptions.CircuitBreakerOpenException;
 import de.pixelmindmc.pixelchat.exceptions.MessageClassificationException;
+import de.pixelmindmc.pixelchat.exceptions.QueueFullException;
+import de.pixelmindmc.pixelchat.exceptions.SpamWaveException;
 import de.pixelmindmc.pixelchat.model.MessageClassification;
+import de.pixelmindmc.pixelchat.model.ModerationMode;
 import de.pixelmindmc.pixelchat.utils.ChatGuardHelper;
-import de.pixelmindmc.pixelchat.utils.ConfigHelper;
 import de.pixelmindmc.pixelchat.utils.LoggingHelper;
+import de.pixelmindmc.pixelchat.utils.PermissionCache;
 import net.draycia.carbon.api.CarbonChatProvider;
 import net.draycia.carbon.api.event.events.CarbonChatEvent;
 import net.draycia.carbon.api.users.CarbonPlayer;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -30,8 +38,8 @@ import java.util.regex.Pattern;
 public class CarbonChatIntegration {
     private final @NotNull PixelChat plugin;
     private final @NotNull LoggingHelper loggingHelper;
-    private final @NotNull ConfigHelper configHelper;
     private final @NotNull ChatGuardHelper chatGuardHelper;
+    private final @NotNull PermissionCache permissionCache;
 
     /**
      * Constructs a CarbonChatIntegration object
@@ -41,8 +49,8 @@ public class CarbonChatIntegration {
     public CarbonChatIntegration(@NotNull PixelChat plugin) {
         this.plugin = plugin;
         this.loggingHelper = plugin.getLoggingHelper();
-        this.configHelper = plugin.getConfigHelper();
         this.chatGuardHelper = plugin.getChatGuardHelper();
+        this.permissionCache = plugin.getPermissionCache();
     }
 
     /**
@@ -57,19 +65,29 @@ public class CarbonChatIntegration {
             Component messageComponent = event.message();
 
             // AI based chat guard module
-            if (!carbonPlayer.hasPermission(PermissionConstants.Moderation.BYPASS_CHAT_MODERATION)) {
-                checkIfMessageShouldBeBlocked(event, messageComponent);
+            Player player = Bukkit.getPlayer(carbonPlayer.uuid());
+            boolean bypass = player != null ? permissionCache.has(player, PermissionCache.BYPASS_CHAT_MODERATION) : carbonPlayer.hasPermission(PermissionConstants.Moderation.BYPASS_CHAT_MODERATION);
+            if (!bypass) {
+                String contextChannel = player != null ? chatGuardHelper.getContextChannel(player, event.chatChannel().key().asString()) : null;
+                String message = extractContent(messageComponent);
+
+                checkIfMessageShouldBeBlocked(event, message, chatGuardHelper.getContext(contextChannel));
+
+                // Later messages are judged in the context of the delivered ones
+                if (player != null && message != null && !event.cancelled() && event.message() == messageComponent) {
+                    chatGuardHelper.recordContext(contextChannel, player, message);
+                }
             }
         });
     }
 
     /**
-     * Checks whether a message should be blocked or censored and takes appropriate actions for CarbonChat
+     * Extracts the text content of a message component
      *
-     * @param event            The CarbonChatEvent
-     * @param messageComponent The component to check
+     * @param messageComponent The component
+     * @return The content, or {@code null} if the component has none
      */
-    private void checkIfMessageShouldBeBlocked(@NotNull CarbonChatEvent event, @NotNull Component messageComponent) {
+    private static @Nullable String extractContent(@NotNull Component messageComponent) {
         // Regular expression to extract the content
         Pattern pattern = Pattern.compile("content=\"(.*?)\"");
         Matcher matcher = pattern.matcher(messageComponent.toString());
@@ -79,6 +97,17 @@ public class CarbonChatIntegration {
             message = matcher.group(1);  // Extracts the content
         }
 
+        return message;
+    }
+
+    /**
+     * Checks whether a message should be blocked or censored and takes appropriate actions for CarbonChat
+     *
+     * @param event   The CarbonChatEvent
+     * @param message The content of the message, or {@code null} if it has none
+     * @param context The messages of the chat channel sent before the message
+     */
+    private void checkIfMessageShouldBeBlocked(@NotNull CarbonChatEvent event, @Nullable String message, @NotNull List<String> context) {
         if (message == null) {
             return;
         }
@@ -86,25 +115,87 @@ public class CarbonChatIntegration {
         // Debug logger message
         loggingHelper.debug("Check if the message '" + message + "' should be blocked for the CarbonChat integration");
 
+        Player player = Bukkit.getPlayer(event.sender().uuid());
+
+        // Cancel messages of players that have been muted by the retroactive action of optimistic delivery
+        long remainingMute = player != null ? chatGuardHelper.getRemainingMute(player.getUniqueId()) : 0;
+        if (remainingMute > 0) {
+            event.cancelled(true);
+            player.sendMessage(chatGuardHelper.getPolicy().prefix() + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.ChatGuard.Player.STILL_MUTED) + " " + remainingMute);
+
+            return;
+        }
+
+        ModerationMode moderationMode = ModerationMode.BLOCKING;
+        if (player != null) {
+            moderationMode = chatGuardHelper.getPolicy().optimisticDelivery() && permissionCache.has(player, PermissionCache.OPTIMISTIC_DELIVERY) ? ModerationMode.BACKGROUND : chatGuardHelper.getTrustedModerationMode(player);
+        }
+
         MessageClassification classification;
-        try {
-            classification = plugin.getAPIHelper().classifyMessage(message);
-        } catch (MessageClassificationException exception) {
-            loggingHelper.error(exception.toString());
+        if (player != null && moderationMode != ModerationMode.BLOCKING) {
+            classification = chatGuardHelper.classifyMessageLocally(message);
+            if (classification == null && moderationMode == ModerationMode.LOCAL) {
+                // Debug logger message
+                loggingHelper.debug("Deliver the message '" + message + "' from the trusted player " + player.getName() + " without asking the AI for the CarbonChat integration");
+
+                return;
+            } else if (classification == null) {
+                // Debug logger message
+                loggingHelper.debug("Deliver the message '" + message + "' and check it in the background for the CarbonChat integration");
+
+                String deliveredMessage = message;
+                List<Player> recipients = new ArrayList<>(Bukkit.getOnlinePlayers());
+                Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> chatGuardHelper.moderateDeliveredMessage(player, deliveredMessage, context, recipients));
+
+                return;
+            }
+        } else {
+            try {
+                classification = chatGuardHelper.classifyMessage(event.sender().uuid(), message, context);
+            } catch (QueueFullException exception) {
+                // Debug logger message
+                loggingHelper.debug(exception.getMessage());
+
+                // Block messages of players that send faster than they can be classified
+                event.cancelled(true);
+                chatGuardHelper.notifyQueueFull(player);
+
+                return;
+            } catch (SpamWaveException exception) {
+                // Debug logger message
+                loggingHelper.debug(exception.getMessage());
 
-            return; //Don't block message if there was an error while classifying it
+                // Block copies of a message that is flooding the chat
+                event.cancelled(true);
+                chatGuardHelper.notifySpamWave(player);
+
+                return;
+            } catch (CircuitBreakerOpenException exception) {
+                // Debug logger message
+                loggingHelper.debug(exception.getMessage());
+
+                // Apply the fail policy while the API is unavailable
+                if (chatGuardHelper.blockWhileUnavailable(player)) {
+                    event.cancelled(true);
+                }
+
+                return;
+            } catch (MessageClassificationException exception) {
+                loggingHelper.error(exception.toString());
+
+                return; //Don't block message if there was an error while classifying it
+            }
         }
 
         // Check if classification matches any enabled blocking rules
         if (chatGuardHelper.messageMatchesEnabledRule(classification)) {
-            boolean blockOrCensor = configHelper.getString(ConfigConstants.ChatGuard.MESSAGE_HANDLING).equals("BLOCK");
+            boolean blockOrCensor = chatGuardHelper.getPolicy().blockMessages();
             if (blockOrCensor) {
                 event.cancelled(true);
             } else {
                 event.message(Component.text("*".repeat(message.length())));
             }
 
-            Player player = Bukkit.getPlayer(event.sender().uuid());
             if (player != null) {
                 chatGuardHelper.notifyAndStrikePlayer(player, message, classification, blockOrCensor);
             }
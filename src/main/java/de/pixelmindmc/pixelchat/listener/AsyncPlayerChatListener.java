@@ -7,13 +7,20 @@ package de.pixelmindmc.pixelchat.listener;
 
 import de.pixelmindmc.pixelchat.PixelChat;
 import de.pixelmindmc.pixelchat.constants.ConfigConstants;
-import de.pixelmindmc.pixelchat.constants.PermissionConstants;
+import de.pixelmindmc.pixelchat.constants.LangConstants;
+import de.pixelmindmc.pixelchat.exceptions.CircuitBreakerOpenException;
 import de.pixelmindmc.pixelchat.exceptions.MessageClassificationException;
+import de.pixelmindmc.pixelchat.exceptions.QueueFullException;
+import de.pixelmindmc.pixelchat.exceptions.SpamWaveException;
 import de.pixelmindmc.pixelchat.integration.CarbonChatIntegration;
 import de.pixelmindmc.pixelchat.model.MessageClassification;
+import de.pixelmindmc.pixelchat.model.ModerationMode;
 import de.pixelmindmc.pixelchat.utils.ChatGuardHelper;
 import de.pixelmindmc.pixelchat.utils.ConfigHelper;
 import de.pixelmindmc.pixelchat.utils.LoggingHelper;
+import de.pixelmindmc.pixelchat.utils.PermissionCache;
+import de.pixelmindmc.pixelchat.utils.TextReplacer;
+import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -23,7 +30,10 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Listener for handling player chat events asynchronously
@@ -33,12 +43,10 @@ public class AsyncPlayerChatListener implements Listener {
     private final @NotNull LoggingHelper loggingHelper;
     private final @NotNull ConfigHelper configHelper;
     private final @NotNull ChatGuardHelper chatGuardHelper;
+    private final @NotNull PermissionCache permissionCache;
     private boolean chatGuardEnabled = false;
-    private boolean emojiEnabled = false;
-    private boolean chatCodesEnabled = false;
 
-    private @NotNull Map<String, String> emojiMap = new HashMap<>();
-    private @NotNull Map<String, ChatColor> chatCodesMap = new HashMap<>();
+    private volatile @NotNull Formatting formatting;
     private @Nullable CarbonChatIntegration carbonChatIntegration = null;
 
     /**
@@ -51,9 +59,7 @@ public class AsyncPlayerChatListener implements Listener {
         this.loggingHelper = plugin.getLoggingHelper();
         this.configHelper = plugin.getConfigHelper();
         this.chatGuardHelper = plugin.getChatGuardHelper();
-        @NotNull ConfigHelper configHelperEmojiList = plugin.getConfigHelperEmojiList();
-        @NotNull ConfigHelper configHelperChatCodesList = plugin.getConfigHelperChatCodesList();
-
+        this.permissionCache = plugin.getPermissionCache();
         // Chatguard module
         if (plugin.getAPIHelper() != null) {
             this.chatGuardEnabled = true;
@@ -64,17 +70,60 @@ public class AsyncPlayerChatListener implements Listener {
             carbonChatIntegration.registerCarbonChatListener();
         }
 
+        this.formatting = compileFormatting(configHelper, plugin.getConfigHelperEmojiList(), plugin.getConfigHelperChatCodesList());
+    }
+
+    /**
+     * Compiles reloaded emoji and chat code lists without applying them yet
+     * Applying them swaps in all replacers at once, so messages are never formatted with a partially reloaded list
+     *
+     * @param configHelper              The parsed config
+     * @param configHelperEmojiList     The parsed emoji list
+     * @param configHelperChatCodesList The parsed chat code list
+     * @return The action that applies the lists
+     * @throws IllegalArgumentException If a chat code has an unknown color
+     */
+    public @NotNull Runnable prepareReload(@NotNull ConfigHelper configHelper, @NotNull ConfigHelper configHelperEmojiList, @NotNull ConfigHelper configHelperChatCodesList) {
+        Formatting formatting = compileFormatting(configHelper, configHelperEmojiList, configHelperChatCodesList);
+        return () -> this.formatting = formatting;
+    }
+
+    /**
+     * Compiles the emoji and chat code lists into replacers
+     *
+     * @param configHelper              The config
+     * @param configHelperEmojiList     The emoji list
+     * @param configHelperChatCodesList The chat code list
+     * @return The replacers
+     */
+    private @NotNull Formatting compileFormatting(@NotNull ConfigHelper configHelper, @NotNull ConfigHelper configHelperEmojiList, @NotNull ConfigHelper configHelperChatCodesList) {
+        Map<String, String> emojis = null;
+        Map<String, String> chatCodes = null;
+
         // Emoji module
         if (configHelper.getBoolean(ConfigConstants.Modules.EMOJIS)) {
-            this.emojiEnabled = true;
-            this.emojiMap = configHelperEmojiList.getStringMap(ConfigConstants.Emoji.LIST);
+            emojis = configHelperEmojiList.getStringMap(ConfigConstants.Emoji.LIST);
         }
 
         // Chat codes module
         if (configHelper.getBoolean(ConfigConstants.Modules.CHAT_CODES)) {
-            this.chatCodesEnabled = true;
-            this.chatCodesMap = configHelperChatCodesList.getChatColorMap(ConfigConstants.ChatCodes.LIST);
+            chatCodes = new HashMap<>();
+            for (Map.Entry<String, ChatColor> entry : configHelperChatCodesList.getChatColorMap(ConfigConstants.ChatCodes.LIST).entrySet()) {
+                chatCodes.put(entry.getKey(), entry.getValue().toString());
+            }
+        }
+
+        // Players with both permissions get both lists replaced in one pass, emojis win over chat codes with the same key
+        Map<String, String> combined = null;
+        if (emojis != null && chatCodes != null) {
+            combined = new HashMap<>(chatCodes);
+            combined.putAll(emojis);
         }
+
+        // Debug logger message
+        loggingHelper.debug("Compiled " + (emojis != null ? emojis.size() : 0) + " emojis and " + (chatCodes != null ? chatCodes.size() : 0) + " chat codes");
+
+        return new Formatting(emojis != null ? TextReplacer.compile(emojis) : null, chatCodes != null ? TextReplacer.compile(chatCodes) : null, combined != null ? TextReplacer.compile(combined) : null);
     }
 
     /**
@@ -109,21 +158,54 @@ public class AsyncPlayerChatListener implements Listener {
         boolean chatGuardMessageBlocked = false;
 
         // AI based chat guard module
-        if (chatGuardEnabled && carbonChatIntegration == null && !player.hasPermission(PermissionConstants.Moderation.BYPASS_CHAT_MODERATION)) {
-            chatGuardMessageBlocked = checkIfMessageShouldBeBlocked(event, message, player);
+        if (chatGuardEnabled && carbonChatIntegration == null && !permissionCache.has(player, PermissionCache.BYPASS_CHAT_MODERATION)) {
+            if (checkIfPlayerIsMuted(event, player)) {
+                return;
+            }
+
+            String contextChannel = chatGuardHelper.getContextChannel(player, null);
+            List<String> context = chatGuardHelper.getContext(contextChannel);
+
+            ModerationMode moderationMode = chatGuardHelper.getPolicy().optimisticDelivery() && permissionCache.has(player, PermissionCache.OPTIMISTIC_DELIVERY) ? ModerationMode.BACKGROUND : chatGuardHelper.getTrustedModerationMode(player);
+            chatGuardMessageBlocked = switch (moderationMode) {
+                case BACKGROUND -> checkMessageOptimistically(event, message, player, context);
+                case LOCAL -> checkMessageLocally(event, message, player);
+                case BLOCKING -> checkIfMessageShouldBeBlocked(event, message, player, context);
+            };
+
+            // Later messages are judged in the context of the delivered ones
+            if (!chatGuardMessageBlocked) {
+                chatGuardHelper.recordContext(contextChannel, player, event.getMessage());
+            }
         }
 
-        // Emoji module
-        if (emojiEnabled && !chatGuardMessageBlocked && player.hasPermission(PermissionConstants.Modules.EMOJIS)) {
-            message = replaceMessageEmojis(message, emojiMap);
-            event.setMessage(message);
+        // Emoji and chat codes modules
+        if (!chatGuardMessageBlocked) {
+            TextReplacer replacer = getReplacer(formatting, player);
+            if (replacer != null) {
+                String formattedMessage = replacer.replace(message);
+                if (formattedMessage != message) {
+                    event.setMessage(formattedMessage);
+                }
+            }
         }
+    }
 
-        // Chat codes module
-        if (chatCodesEnabled && !chatGuardMessageBlocked && carbonChatIntegration == null && player.hasPermission(PermissionConstants.Modules.CHAT_CODES)) {
-            message = replaceMessageChatCodes(message, chatCodesMap);
-            event.setMessage(message);
+    /**
+     * Selects the replacer for the emojis and chat codes a player may use
+     *
+     * @param formatting The compiled emoji and chat code lists
+     * @param player     The player that sent the message
+     * @return The replacer, or {@code null} if the player may use neither
+     */
+    private @Nullable TextReplacer getReplacer(@NotNull Formatting formatting, @NotNull Player player) {
+        boolean emojis = formatting.emojis() != null && permissionCache.has(player, PermissionCache.EMOJIS);
+        boolean chatCodes = formatting.chatCodes() != null && carbonChatIntegration == null && permissionCache.has(player, PermissionCache.CHAT_CODES);
+
+        if (emojis && chatCodes) {
+            return formatting.combined();
         }
+        return emojis ? formatting.emojis() : chatCodes ? formatting.chatCodes() : null;
     }
 
     /**
@@ -132,75 +214,150 @@ public class AsyncPlayerChatListener implements Listener {
      * @param event   The message event
      * @param message The message to check
      * @param player  The player that sent the message
+     * @param context The messages of the chat channel sent before the message
      * @return {@code true} if the message has been blocked, {@code false} if it has been allowed through
      */
-    private boolean checkIfMessageShouldBeBlocked(@NotNull AsyncPlayerChatEvent event, @NotNull String message, @NotNull Player player) {
+    private boolean checkIfMessageShouldBeBlocked(@NotNull AsyncPlayerChatEvent event, @NotNull String message, @NotNull Player player, @NotNull List<String> context) {
         // Debug logger message
         loggingHelper.debug("Check if the message '" + message + "' from " + player.getName() + " should " + "be blocked");
 
         MessageClassification classification;
         try {
-            classification = plugin.getAPIHelper().classifyMessage(message);
+            classification = chatGuardHelper.classifyMessage(player.getUniqueId(), message, context);
+        } catch (QueueFullException e) {
+            // Debug logger message
+            loggingHelper.debug(e.getMessage());
+
+            // Block messages of players that send faster than they can be classified
+            event.setCancelled(true);
+            chatGuardHelper.notifyQueueFull(player);
+            return true;
+        } catch (SpamWaveException e) {
+            // Debug logger message
+            loggingHelper.debug(e.getMessage());
+
+            // Block copies of a message that is flooding the chat
+            event.setCancelled(true);
+            chatGuardHelper.notifySpamWave(player);
+            return true;
+        } catch (CircuitBreakerOpenException e) {
+            // Debug logger message
+            loggingHelper.debug(e.getMessage());
+
+            // Apply the fail policy while the API is unavailable
+            if (chatGuardHelper.blockWhileUnavailable(player)) {
+                event.setCancelled(true);
+                return true;
+            }
+            return false;
         } catch (MessageClassificationException e) {
             loggingHelper.error(e.getMessage());
             return false; //Don't block message if there was an error while classifying it
         }
 
-        // Check if classification matches any enabled blocking rules
-        if (chatGuardHelper.messageMatchesEnabledRule(classification)) {
-            boolean blockOrCensor = configHelper.getString(ConfigConstants.ChatGuard.MESSAGE_HANDLING).equals("BLOCK");
-            if (blockOrCensor) {
-                event.setCancelled(true);
-            } else {
-                event.setMessage("*".repeat(message.length()));
-            }
+        return applyClassification(event, message, player, classification);
+    }
 
-            chatGuardHelper.notifyAndStrikePlayer(player, message, classification, blockOrCensor);
+    /**
+     * Checks a message of a player using optimistic delivery
+     * Messages the blocklist or detectors decide are handled right away, all others are delivered immediately and
+     * classified by the AI in the background
+     *
+     * @param event   The message event
+     * @param message The message to check
+     * @param player  The player that sent the message
+     * @param context The messages of the chat channel sent before the message
+     * @return {@code true} if the message has been blocked, {@code false} if it has been delivered
+     */
+    private boolean checkMessageOptimistically(@NotNull AsyncPlayerChatEvent event, @NotNull String message, @NotNull Player player, @NotNull List<String> context) {
+        MessageClassification classification = chatGuardHelper.classifyMessageLocally(message);
+        if (classification != null) {
+            return applyClassification(event, message, player, classification);
+        }
 
-            return true; // Message has been blocked or censored
+        // Debug logger message
+        loggingHelper.debug("Deliver the message '" + message + "' from " + player.getName() + " and check it in the background");
+
+        Set<Player> recipients = new HashSet<>(event.getRecipients());
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> chatGuardHelper.moderateDeliveredMessage(player, message, context, recipients));
+
+        return false;
+    }
+
+    /**
+     * Checks a message of a trusted player that wasn't sampled for classification with the blocklist and detectors
+     * only
+     *
+     * @param event   The message event
+     * @param message The message to check
+     * @param player  The player that sent the message
+     * @return {@code true} if the message has been blocked, {@code false} if it has been allowed through
+     */
+    private boolean checkMessageLocally(@NotNull AsyncPlayerChatEvent event, @NotNull String message, @NotNull Player player) {
+        MessageClassification classification = chatGuardHelper.classifyMessageLocally(message);
+        if (classification != null) {
+            return applyClassification(event, message, player, classification);
         }
+
+        // Debug logger message
+        loggingHelper.debug("Deliver the message '" + message + "' from the trusted player " + player.getName() + " without asking the AI");
+
         return false;
     }
 
     /**
-     * Helper method to apply a given map of emojis to replacements to the given string
+     * Cancels the message of a player that has been muted by the retroactive action of optimistic delivery
      *
-     * @param message  The original message
-     * @param emojiMap The map of emojis and replacements
-     * @return The message with the applied replacements
+     * @param event  The message event
+     * @param player The player that sent the message
+     * @return {@code true} if the player is muted and the message has been cancelled, {@code false} otherwise
      */
-    private @NotNull String replaceMessageEmojis(@NotNull String message, @NotNull Map<String, String> emojiMap) {
-        for (Map.Entry<String, String> entry : emojiMap.entrySet()) {
-            if (message.contains(entry.getKey())) {
-                // Debug logger message
-                loggingHelper.debug("Replacing: " + entry.getKey() + " with: " + entry.getValue());
-
-                // Replace each occurrence of the placeholder (key) in the string with its value
-                message = message.replace(entry.getKey(), entry.getValue());
-            }
+    private boolean checkIfPlayerIsMuted(@NotNull AsyncPlayerChatEvent event, @NotNull Player player) {
+        long remainingMute = chatGuardHelper.getRemainingMute(player.getUniqueId());
+        if (remainingMute <= 0) {
+            return false;
         }
 
-        return message;
+        event.setCancelled(true);
+        player.sendMessage(chatGuardHelper.getPolicy().prefix() + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.ChatGuard.Player.STILL_MUTED) + " " + remainingMute);
+
+        return true;
     }
 
     /**
-     * Helper method to convert color and format codes with :codename: format to a formatted message
+     * Blocks or censors a message if its classification violates an active block rule
      *
-     * @param message      The original message
-     * @param chatCodesMap The map of chat codes and replacements
-     * @return The message with the formatting
+     * @param event          The message event
+     * @param message        The message that was classified
+     * @param player         The player that sent the message
+     * @param classification The classification of the message
+     * @return {@code true} if the message has been blocked, {@code false} if it has been allowed through
      */
-    private @NotNull String replaceMessageChatCodes(@NotNull String message, @NotNull Map<String, ChatColor> chatCodesMap) {
-        for (Map.Entry<String, ChatColor> entry : chatCodesMap.entrySet()) {
-            if (message.contains(entry.getKey())) {
-                // Debug logger message
-                loggingHelper.debug("Replacing: " + entry.getKey() + " with: " + entry.getValue());
-
-                // Replace each occurrence of the placeholder (key) in the string with its value
-                message = message.replace(entry.getKey(), entry.getValue().toString());
+    private boolean applyClassification(@NotNull AsyncPlayerChatEvent event, @NotNull String message, @NotNull Player player, @NotNull MessageClassification classification) {
+        // Check if classification matches any enabled blocking rules
+        if (chatGuardHelper.messageMatchesEnabledRule(classification)) {
+            boolean blockOrCensor = chatGuardHelper.getPolicy().blockMessages();
+            if (blockOrCensor) {
+                event.setCancelled(true);
+            } else {
+                event.setMessage("*".repeat(message.length()));
             }
+
+            chatGuardHelper.notifyAndStrikePlayer(player, message, classification, blockOrCensor);
+
+            return true; // Message has been blocked or censored
         }
+        return false;
+    }
 
-        return message;
+    /**
+     * The compiled emoji and chat code lists
+     *
+     * @param emojis    The replacer for the emojis, or {@code null} if the emoji module is disabled
+     * @param chatCodes The replacer for the chat codes, or {@code null} if the chat codes module is disabled
+     * @param combined  The replacer for both lists, or {@code null} unless both modules are enabled
+     */
+    private record Formatting(@Nullable TextReplacer emojis, @Nullable TextReplacer chatCodes,
+                              @Nullable TextReplacer combined) {
     }
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.listener;
+
+import de.pixelmindmc.pixelchat.PixelChat;
+import de.pixelmindmc.pixelchat.utils.PermissionCache;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerCommandSendEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Listener for keeping the permission snapshots of the players up to date
+ * Permission plugins resend the command list of a player after their permissions changed, which is used as the
+ * signal to take a new snapshot
+ */
+public class PermissionCacheListener implements Listener {
+    private final @NotNull PermissionCache permissionCache;
+
+    /**
+     * Constructs a PermissionCacheListener object
+     *
+     * @param plugin The plugin instance
+     */
+    public PermissionCacheListener(@NotNull PixelChat plugin) {
+        this.permissionCache = plugin.getPermissionCache();
+    }
+
+    /**
+     * Event handler for the PlayerJoinEvent, after permission plugins have set up the player
+     *
+     * @param event The PlayerJoinEvent
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    private void onPlayerJoin(@NotNull PlayerJoinEvent event) {
+        permissionCache.refresh(event.getPlayer());
+    }
+
+    /**
+     * Event handler for the PlayerChangedWorldEvent, as permissions can depend on the world
+     *
+     * @param event The PlayerChangedWorldEvent
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    private void onPlayerChangedWorld(@NotNull PlayerChangedWorldEvent event) {
+        permissionCache.refresh(event.getPlayer());
+    }
+
+    /**
+     * Event handler for the PlayerCommandSendEvent, which permission plugins trigger after a permission change
+     *
+     * @param event The PlayerCommandSendEvent
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    private void onPlayerCommandSend(@NotNull PlayerCommandSendEvent event) {
+        permissionCache.refresh(event.getPlayer());
+    }
+
+    /**
+     * Event handler for the PlayerQuitEvent
+     *
+     * @param event The PlayerQuitEvent
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    private void onPlayerQuit(@NotNull PlayerQuitEvent event) {
+        permissionCache.remove(event.getPlayer().getUniqueId());
+    }
+}
\ No newline at end of file
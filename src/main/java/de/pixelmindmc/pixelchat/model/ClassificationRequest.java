@@ -0,0 +1,28 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.model;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * A message to classify together with the chat messages sent before it
+ *
+ * @param message The message to classify
+ * @param context The preceding messages of the chat channel as "player: message" lines, the oldest first
+ */
+public record ClassificationRequest(@NotNull String message, @NotNull List<String> context) {
+    /**
+     * Creates a request for a message without context
+     *
+     * @param message The message to classify
+     * @return The request
+     */
+    public static @NotNull ClassificationRequest of(@NotNull String message) {
+        return new ClassificationRequest(message, List.of());
+    }
+}
\ No newline at end of file
@@ -23,4 +23,32 @@ import org.jetbrains.annotations.NotNull;
 public record MessageClassification(boolean isOffensiveLanguage, boolean isUsername, boolean isPassword,
                                     boolean isHomeAddress, boolean isEmailAddress, boolean isWebsite,
                                     boolean isSexualContent, @NotNull String reason) {
+    // Bits of the compact flag representation
+    public static final int OFFENSIVE_LANGUAGE = 1;
+    public static final int USERNAME = 1 << 1;
+    public static final int PASSWORD = 1 << 2;
+    public static final int HOME_ADDRESS = 1 << 3;
+    public static final int EMAIL_ADDRESS = 1 << 4;
+    public static final int WEBSITE = 1 << 5;
+    public static final int SEXUAL_CONTENT = 1 << 6;
+
+    /**
+     * Creates a classification from its compact flag representation
+     *
+     * @param flags  The detection flags as a bitset
+     * @param reason The reason why the message should be blocked
+     * @return The classification
+     */
+    public static @NotNull MessageClassification fromFlags(int flags, @NotNull String reason) {
+        return new MessageClassification((flags & OFFENSIVE_LANGUAGE) != 0, (flags & USERNAME) != 0, (flags & PASSWORD) != 0, (flags & HOME_ADDRESS) != 0, (flags & EMAIL_ADDRESS) != 0, (flags & WEBSITE) != 0, (flags & SEXUAL_CONTENT) != 0, reason);
+    }
+
+    /**
+     * Retrieve the detection flags as a bitset
+     *
+     * @return The detection flags, one bit per flag
+     */
+    public int flags() {
+        return (isOffensiveLanguage ? OFFENSIVE_LANGUAGE : 0) | (isUsername ? USERNAME : 0) | (isPassword ? PASSWORD : 0) | (isHomeAddress ? HOME_ADDRESS : 0) | (isEmailAddress ? EMAIL_ADDRESS : 0) | (isWebsite ? WEBSITE : 0) | (isSexualContent ? SEXUAL_CONTENT : 0);
+    }
 }
\ No newline at end of file
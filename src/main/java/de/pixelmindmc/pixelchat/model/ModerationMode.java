@@ -0,0 +1,18 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.model;
+
+/**
+ * How the message of a player is moderated
+ */
+public enum ModerationMode {
+    // The message is held back until it has been classified
+    BLOCKING,
+    // The message is delivered immediately and classified in the background
+    BACKGROUND,
+    // The message is only checked by the blocklist and the local detectors
+    LOCAL
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.model;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * The strikes of a player
+ *
+ * @param name    The last known name of the player
+ * @param strikes The current number of strikes
+ * @param history Every strike the player got, oldest first, including those that were reset since
+ */
+public record PlayerStrikes(@NotNull String name, int strikes, @NotNull List<Strike> history) {
+    /**
+     * Creates a copy with another strike count and the same history
+     *
+     * @param strikes The new number of strikes
+     * @return The copy
+     */
+    public @NotNull PlayerStrikes withStrikes(int strikes) {
+        return new PlayerStrikes(name, strikes, history);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.model;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A single strike of a player
+ *
+ * @param timestamp The time of the strike in milliseconds since the epoch
+ * @param reason    The reason of the strike
+ * @param action    The action taken because of the strike, e.g. KICK or NOTHING
+ */
+public record Strike(long timestamp, @NotNull String reason, @NotNull String action) {
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.model;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * The strike counts of a player without their history
+ *
+ * @param playerUUID   The player uuid
+ * @param name         The last known name of the player
+ * @param strikes      The current number of strikes
+ * @param totalStrikes The number of strikes the player ever got, including those that were reset since
+ */
+public record StrikeSummary(@NotNull UUID playerUUID, @NotNull String name, int strikes, int totalStrikes) {
+}
\ No newline at end of file
@@ -0,0 +1,233 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.utils;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An OpenAI-compatible API endpoint requests can be routed to
+ * Every endpoint has its own circuit breaker and rate limiter and keeps track of its live latency, which is used to
+ * route requests to the fastest endpoints and to decide when a request is hedged
+ */
+public class APIEndpoint {
+    private static final int LATENCY_SAMPLES = 100;
+    // Weight of a new sample in the moving average of the latency
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    private final @NotNull URI uri;
+    private final @NotNull String apiKey;
+    private final int weight;
+    private final int maxConcurrency;
+    private final @Nullable CircuitBreaker circuitBreaker;
+    private final @Nullable RateLimiter rateLimiter;
+    private final @NotNull ClassificationCodec codec;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    // Guarded by this
+    private final long[] latencies = new long[LATENCY_SAMPLES];
+    private int latencyPosition;
+    private int latencyCount;
+    private double averageLatency;
+    private long p95Latency = -1;
+    private boolean p95Outdated;
+
+    /**
+     * Constructs an APIEndpoint object
+     *
+     * @param uri            The URI of the chat completions endpoint
+     * @param apiKey         The API key of the endpoint
+     * @param weight         The share of requests routed to this endpoint relative to the other endpoints
+     * @param maxConcurrency The maximum number of requests in flight on this endpoint, 0 for no limit
+     * @param circuitBreaker The circuit breaker of the endpoint, or {@code null} if it is disabled
+     * @param rateLimiter    The rate limiter of the endpoint, or {@code null} if rate limit pacing is disabled
+     * @param codec          The codec for the requests of the endpoint
+     */
+    public APIEndpoint(@NotNull URI uri, @NotNull String apiKey, int weight, int maxConcurrency, @Nullable CircuitBreaker circuitBreaker, @Nullable RateLimiter rateLimiter, @NotNull ClassificationCodec codec) {
+        this.uri = uri;
+        this.apiKey = apiKey;
+        this.weight = Math.max(1, weight);
+        this.maxConcurrency = Math.max(0, maxConcurrency);
+        this.circuitBreaker = circuitBreaker;
+        this.rateLimiter = rateLimiter;
+        this.codec = codec;
+    }
+
+    /**
+     * Checks whether the circuit breaker of the endpoint lets requests through
+     *
+     * @return {@code true} if requests may be sent to this endpoint
+     */
+    public boolean isAvailable() {
+        return circuitBreaker == null || circuitBreaker.isAvailable();
+    }
+
+    /**
+     * Checks whether the endpoint is below its concurrency limit
+     *
+     * @return {@code true} if another request may be started on this endpoint
+     */
+    public boolean hasCapacity() {
+        return maxConcurrency == 0 || inFlight.get() < maxConcurrency;
+    }
+
+    /**
+     * Marks a request as started on this endpoint
+     */
+    public void acquire() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Marks a request as finished on this endpoint
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Records the latency of a successful request
+     *
+     * @param latencyMillis The time until the response arrived in milliseconds
+     */
+    public synchronized void recordSuccess(long latencyMillis) {
+        requests.incrementAndGet();
+
+        averageLatency = latencyCount == 0 ? latencyMillis : averageLatency + LATENCY_SMOOTHING * (latencyMillis - averageLatency);
+        latencies[latencyPosition] = latencyMillis;
+        latencyPosition = (latencyPosition + 1) % latencies.length;
+        latencyCount = Math.min(latencyCount + 1, latencies.length);
+        p95Outdated = true;
+    }
+
+    /**
+     * Records a failed request
+     */
+    public void recordFailure() {
+        requests.incrementAndGet();
+        errors.incrementAndGet();
+    }
+
+    /**
+     * Retrieve the moving average of the latency
+     *
+     * @return The average latency in milliseconds, or 0 if no request has succeeded yet
+     */
+    public synchronized double getAverageLatency() {
+        return averageLatency;
+    }
+
+    /**
+     * Retrieve the 95th percentile of the latency of the recent successful requests
+     *
+     * @param minSamples The number of samples needed for a meaningful percentile
+     * @return The latency in milliseconds, or -1 if fewer samples were recorded
+     */
+    public synchronized long getP95Latency(int minSamples) {
+        if (latencyCount == 0 || latencyCount < minSamples) {
+            return -1;
+        }
+
+        // Only sort the samples again after new ones have been recorded
+        if (p95Outdated) {
+            long[] sorted = Arrays.copyOf(latencies, latencyCount);
+            Arrays.sort(sorted);
+            p95Latency = sorted[(int) Math.ceil(sorted.length * 0.95) - 1];
+            p95Outdated = false;
+        }
+
+        return p95Latency;
+    }
+
+    /**
+     * Retrieve the URI of the endpoint
+     *
+     * @return The URI
+     */
+    public @NotNull URI getUri() {
+        return uri;
+    }
+
+    /**
+     * Retrieve the API key of the endpoint
+     *
+     * @return The API key
+     */
+    public @NotNull String getApiKey() {
+        return apiKey;
+    }
+
+    /**
+     * Retrieve the weight of the endpoint
+     *
+     * @return The weight
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Retrieve the codec for the requests of the endpoint
+     *
+     * @return The codec
+     */
+    public @NotNull ClassificationCodec getCodec() {
+        return codec;
+    }
+
+    /**
+     * Retrieve the circuit breaker of the endpoint
+     *
+     * @return The circuit breaker, or {@code null} if it is disabled
+     */
+    public @Nullable CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Retrieve the rate limiter of the endpoint
+     *
+     * @return The rate limiter, or {@code null} if rate limit pacing is disabled
+     */
+    public @Nullable RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Retrieve the number of requests currently in flight on this endpoint
+     *
+     * @return The number of requests
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Retrieve the number of finished requests
+     *
+     * @return The number of requests
+     */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * Retrieve the number of failed requests
+     *
+     * @return The number of errors
+     */
+    public long getErrors() {
+        return errors.get();
+    }
+}
\ No newline at end of file
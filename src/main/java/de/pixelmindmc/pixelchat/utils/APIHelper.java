@@ -5,122 +5,704 @@
 
 package de.pixelmindmc.pixelchat.utils;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import de.pixelmindmc.pixelchat.PixelChat;
-import de.pixelmindmc.pixelchat.constants.APIConstants;
 import de.pixelmindmc.pixelchat.constants.ConfigConstants;
+import de.pixelmindmc.pixelchat.exceptions.CircuitBreakerOpenException;
 import de.pixelmindmc.pixelchat.exceptions.MessageClassificationException;
+import de.pixelmindmc.pixelchat.model.ClassificationRequest;
 import de.pixelmindmc.pixelchat.model.MessageClassification;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
  * A collection of methods to aid with the AI requests to the AI API
  */
 public class APIHelper {
+    private static final int DEFAULT_POOL_SIZE = 8;
+    private static final int DEFAULT_CONNECT_TIMEOUT = 5000;
+    private static final int DEFAULT_READ_TIMEOUT = 10000;
+    private static final int DEFAULT_TOTAL_TIMEOUT = 15000;
+    private static final int DEFAULT_MAX_ATTEMPTS = 3;
+    private static final int DEFAULT_INITIAL_BACKOFF = 250;
+    private static final int DEFAULT_MAX_BACKOFF = 2000;
+    private static final int DEFAULT_MAX_CONCURRENT = 4;
+    private static final int DEFAULT_MAX_PER_PLAYER = 3;
+    private static final int DEFAULT_MAX_QUEUE_SIZE = 100;
+    private static final int DEFAULT_HEDGING_MIN_SAMPLES = 20;
+    // Tokens reserved for the answer of the AI when estimating the token usage of a request
+    private static final int ESTIMATED_RESPONSE_TOKENS = 100;
+
     private final @NotNull LoggingHelper loggingHelper;
     private final @NotNull ConfigHelper configHelper;
 
-    private final String aiModel;
-    private final String apiUrl;
-    private final String apiKey;
-    private final String sysPrompt;
+    private volatile @NotNull Routing routing;
+
+    private final @NotNull Duration readTimeout;
+    private final long totalTimeout;
+    private final int maxAttempts;
+    private final long initialBackoff;
+    private final long maxBackoff;
+    private final int hedgingMinSamples;
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong hedgedRequests = new AtomicLong();
+    private final AtomicLong wonHedges = new AtomicLong();
+
+    private final @NotNull ExecutorService executor;
+    private final @NotNull HttpClient httpClient;
+    private final @Nullable ClassificationBatcher batcher;
+    private final @NotNull ClassificationScheduler scheduler;
 
     /**
      * Constructs a APIHelper object
      *
      * @param plugin The plugin instance
+     * @throws IllegalArgumentException If a configured API endpoint isn't a valid URI
      */
     public APIHelper(@NotNull PixelChat plugin) {
         this.loggingHelper = plugin.getLoggingHelper();
         this.configHelper = plugin.getConfigHelper();
 
-        this.apiUrl = configHelper.getString(ConfigConstants.API.ENDPOINT);
-        this.aiModel = configHelper.getString(ConfigConstants.API.MODEL);
-        this.apiKey = configHelper.getString(ConfigConstants.API.KEY);
-        this.sysPrompt = configHelper.getString(ConfigConstants.API.SYSTEM_PROMPT);
+        this.routing = createRouting(configHelper);
+
+        int poolSize = configHelper.getInt(ConfigConstants.API.Connection.POOL_SIZE);
+        if (poolSize <= 0) {
+            poolSize = DEFAULT_POOL_SIZE;
+        }
+        configureConnectionPool(poolSize, configHelper.getInt(ConfigConstants.API.Connection.IDLE_TIMEOUT));
+
+        this.readTimeout = Duration.ofMillis(positiveOrDefault(configHelper.getInt(ConfigConstants.API.Timeouts.READ), DEFAULT_READ_TIMEOUT));
+        this.totalTimeout = positiveOrDefault(configHelper.getInt(ConfigConstants.API.Timeouts.TOTAL), DEFAULT_TOTAL_TIMEOUT);
+        this.maxAttempts = positiveOrDefault(configHelper.getInt(ConfigConstants.API.Retry.MAX_ATTEMPTS), DEFAULT_MAX_ATTEMPTS);
+        this.initialBackoff = positiveOrDefault(configHelper.getInt(ConfigConstants.API.Retry.INITIAL_BACKOFF), DEFAULT_INITIAL_BACKOFF);
+        this.maxBackoff = Math.max(initialBackoff, positiveOrDefault(configHelper.getInt(ConfigConstants.API.Retry.MAX_BACKOFF), DEFAULT_MAX_BACKOFF));
+
+        this.executor = Executors.newFixedThreadPool(poolSize, new APIThreadFactory());
+        this.httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).connectTimeout(Duration.ofMillis(positiveOrDefault(configHelper.getInt(ConfigConstants.API.Timeouts.CONNECT), DEFAULT_CONNECT_TIMEOUT))).executor(executor).build();
+
+        this.hedgingMinSamples = positiveOrDefault(configHelper.getInt(ConfigConstants.API.Hedging.MIN_SAMPLES), DEFAULT_HEDGING_MIN_SAMPLES);
+
+        // Debug logger message
+        loggingHelper.debug("Created shared HTTP client for " + routing.endpoints().size() + " API endpoints with a pool size of " + poolSize);
+
+        if (configHelper.getBoolean(ConfigConstants.API.Batching.ENABLED)) {
+            this.batcher = new ClassificationBatcher(loggingHelper, this::requestBatchClassification, this::requestClassification, configHelper.getInt(ConfigConstants.API.Batching.WINDOW), configHelper.getInt(ConfigConstants.API.Batching.MAX_SIZE), configHelper.getBoolean(ConfigConstants.API.Batching.FALLBACK_TO_SINGLE));
+        } else {
+            this.batcher = null;
+        }
+
+        // The scheduler limits the API requests, messages that join an open batch don't need a request of their own
+        this.scheduler = new ClassificationScheduler(loggingHelper, positiveOrDefault(configHelper.getInt(ConfigConstants.API.Queue.MAX_CONCURRENT), DEFAULT_MAX_CONCURRENT), positiveOrDefault(configHelper.getInt(ConfigConstants.API.Queue.MAX_PER_PLAYER), DEFAULT_MAX_PER_PLAYER), positiveOrDefault(configHelper.getInt(ConfigConstants.API.Queue.MAX_SIZE), DEFAULT_MAX_QUEUE_SIZE), batcher != null ? batcher::hasOpenBatch : () -> false);
+    }
+
+    /**
+     * Applies the connection pool settings of the JDK HTTP client on a best-effort basis
+     * These are JVM-wide system properties that the JDK reads only once, when the first HTTP client of the JVM is
+     * created. They are only set if no other plugin or start flag has set them already, and have no effect if another
+     * plugin created an HTTP client before this one. The pool size only limits the HTTP/1.1 pool, HTTP/2 connections
+     * are multiplexed and have their own idle timeout
+     *
+     * @param poolSize    The maximum number of pooled HTTP/1.1 connections
+     * @param idleTimeout The number of seconds an idle HTTP/1.1 or HTTP/2 connection is kept alive, ignored if not
+     *                    positive
+     */
+    private void configureConnectionPool(int poolSize, int idleTimeout) {
+        setSystemPropertyIfAbsent("jdk.httpclient.connectionPoolSize", poolSize);
+        if (idleTimeout > 0) {
+            setSystemPropertyIfAbsent("jdk.httpclient.keepalive.timeout", idleTimeout);
+            setSystemPropertyIfAbsent("jdk.httpclient.keepalive.timeout.h2", idleTimeout);
+        }
+    }
+
+    /**
+     * Sets a system property of the JDK HTTP client unless it has been set already
+     *
+     * @param name  The name of the property
+     * @param value The value
+     */
+    private void setSystemPropertyIfAbsent(@NotNull String name, int value) {
+        String current = System.getProperty(name);
+        if (current == null) {
+            System.setProperty(name, String.valueOf(value));
+        } else if (!current.equals(String.valueOf(value))) {
+            // Debug logger message
+            loggingHelper.debug("The system property " + name + " is already set to " + current + ", the configured value " + value + " is ignored");
+        }
+    }
+
+    /**
+     * Creates the endpoints and the settings that decide how requests are routed to them from the configuration
+     *
+     * @param configHelper The config
+     * @return The routing
+     * @throws IllegalArgumentException If an endpoint has no valid URI
+     */
+    private @NotNull Routing createRouting(@NotNull ConfigHelper configHelper) {
+        List<APIEndpoint> endpoints = createEndpoints(configHelper);
+        return new Routing(endpoints, configHelper.getBoolean(ConfigConstants.API.Hedging.ENABLED) && endpoints.size() > 1, configHelper.getInt(ConfigConstants.ChatGuard.Context.MAX_TOKENS));
+    }
+
+    /**
+     * Creates the endpoints from the {@code api.endpoints} list
+     * Without an endpoint list, the single endpoint configured by {@code api.endpoint}, {@code api.key} and
+     * {@code api.ai-model} is used
+     *
+     * @param configHelper The config
+     * @return The endpoints
+     * @throws IllegalArgumentException If an endpoint has no valid URI
+     */
+    private @NotNull List<APIEndpoint> createEndpoints(@NotNull ConfigHelper configHelper) {
+        String defaultKey = configHelper.getString(ConfigConstants.API.KEY);
+        String defaultModel = configHelper.getString(ConfigConstants.API.MODEL);
+
+        List<Map<?, ?>> entries = configHelper.getMapList(ConfigConstants.API.ENDPOINTS);
+        if (entries.isEmpty()) {
+            return List.of(createEndpoint(configHelper, configHelper.getString(ConfigConstants.API.ENDPOINT), defaultKey, defaultModel, 1, 0));
+        }
+
+        List<APIEndpoint> endpoints = new ArrayList<>(entries.size());
+        for (Map<?, ?> entry : entries) {
+            endpoints.add(createEndpoint(configHelper, getEntryString(entry, ConfigConstants.API.Endpoint.URL, ""), getEntryString(entry, ConfigConstants.API.Endpoint.KEY, defaultKey), getEntryString(entry, ConfigConstants.API.Endpoint.MODEL, defaultModel), getEntryInt(entry, ConfigConstants.API.Endpoint.WEIGHT, 1), getEntryInt(entry, ConfigConstants.API.Endpoint.MAX_CONCURRENCY, 0)));
+        }
+
+        return List.copyOf(endpoints);
+    }
+
+    /**
+     * Creates an endpoint with its own circuit breaker and rate limiter
+     *
+     * @param configHelper   The config
+     * @param url            The URL of the chat completions endpoint
+     * @param apiKey         The API key of the endpoint
+     * @param aiModel        The AI model used on the endpoint
+     * @param weight         The weight of the endpoint
+     * @param maxConcurrency The maximum number of requests in flight on the endpoint, 0 for no limit
+     * @return The endpoint
+     * @throws IllegalArgumentException If the URL isn't a valid URI
+     */
+    private @NotNull APIEndpoint createEndpoint(@NotNull ConfigHelper configHelper, @NotNull String url, @NotNull String apiKey, @NotNull String aiModel, int weight, int maxConcurrency) {
+        URI uri;
+        try {
+            uri = new URI(url);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid API endpoint: " + e.getMessage(), e);
+        }
+        if (uri.getScheme() == null || uri.getHost() == null) {
+            throw new IllegalArgumentException("Invalid API endpoint: " + url);
+        }
+
+        RateLimiter rateLimiter = configHelper.getBoolean(ConfigConstants.API.RateLimit.ENABLED) ? new RateLimiter(loggingHelper) : null;
+
+        CircuitBreaker circuitBreaker = null;
+        if (configHelper.getBoolean(ConfigConstants.API.CircuitBreaker.ENABLED)) {
+            circuitBreaker = new CircuitBreaker(loggingHelper, configHelper.getInt(ConfigConstants.API.CircuitBreaker.WINDOW_SIZE), configHelper.getInt(ConfigConstants.API.CircuitBreaker.MINIMUM_REQUESTS), configHelper.getInt(ConfigConstants.API.CircuitBreaker.FAILURE_RATE_THRESHOLD), configHelper.getInt(ConfigConstants.API.CircuitBreaker.OPEN_DURATION));
+        }
+
+        ClassificationCodec codec = new ClassificationCodec(aiModel, configHelper.getString(ConfigConstants.API.SYSTEM_PROMPT), configHelper.getString(ConfigConstants.General.LANGUAGE));
+
+        return new APIEndpoint(uri, apiKey, weight, maxConcurrency, circuitBreaker, rateLimiter, codec);
+    }
+
+    /**
+     * Retrieve a string from an entry of the endpoint list
+     *
+     * @param entry        The entry
+     * @param key          The key of the value
+     * @param defaultValue The value returned if the key is missing or empty
+     * @return The value
+     */
+    private static @NotNull String getEntryString(@NotNull Map<?, ?> entry, @NotNull String key, @NotNull String defaultValue) {
+        Object value = entry.get(key);
+        return value != null && !value.toString().isBlank() ? value.toString() : defaultValue;
+    }
+
+    /**
+     * Retrieve a number from an entry of the endpoint list
+     *
+     * @param entry        The entry
+     * @param key          The key of the value
+     * @param defaultValue The value returned if the key is missing or not a number
+     * @return The value
+     */
+    private static int getEntryInt(@NotNull Map<?, ?> entry, @NotNull String key, int defaultValue) {
+        return entry.get(key) instanceof Number number ? number.intValue() : defaultValue;
+    }
+
+    /**
+     * Creates the endpoints of a reloaded config without applying them yet
+     * Applying them routes new requests to the reloaded endpoints with their URL, key, model, system prompt and
+     * language, while requests that are already on their way finish on the previous ones. The reloaded endpoints
+     * start with closed circuit breakers and without latency samples. The connection pool, queue and batching settings
+     * only apply after a restart
+     *
+     * @param configHelper The parsed config
+     * @return The action that applies the endpoints
+     * @throws IllegalArgumentException If an endpoint has no valid URI
+     */
+    public @NotNull Runnable prepareReload(@NotNull ConfigHelper configHelper) {
+        Routing routing = createRouting(configHelper);
+        return () -> this.routing = routing;
+    }
+
+    /**
+     * Falls back to a default for settings that are missing or not positive
+     *
+     * @param value        The configured value
+     * @param defaultValue The default value
+     * @return The configured value if it is positive, the default value otherwise
+     */
+    private static int positiveOrDefault(int value, int defaultValue) {
+        return value > 0 ? value : defaultValue;
     }
 
     /**
      * Classifies player messages using AI
+     * The message waits in the queue of its player until it is their turn, and blocks the calling thread until the
+     * classification has finished
      *
-     * @param message The message to classify
+     * @param playerUUID The uuid of the player that sent the message
+     * @param message    The message to classify
+     * @return A {@link MessageClassification} object filled with the results of the AI-classification
+     * @throws MessageClassificationException If the classification failed in any way
+     */
+    public @NotNull MessageClassification classifyMessage(@NotNull UUID playerUUID, @NotNull String message) throws MessageClassificationException {
+        return classifyMessage(playerUUID, message, List.of());
+    }
+
+    /**
+     * Classifies player messages using AI, judging them together with the chat messages sent before them
+     * The message waits in the queue of its player until it is their turn, and blocks the calling thread until the
+     * classification has finished
+     *
+     * @param playerUUID The uuid of the player that sent the message
+     * @param message    The message to classify
+     * @param context    The preceding messages of the chat channel as "player: message" lines, the oldest first
      * @return A {@link MessageClassification} object filled with the results of the AI-classification
      * @throws MessageClassificationException If the classification failed in any way
      */
-    public @NotNull MessageClassification classifyMessage(@NotNull String message) throws MessageClassificationException {
+    public @NotNull MessageClassification classifyMessage(@NotNull UUID playerUUID, @NotNull String message, @NotNull List<String> context) throws MessageClassificationException {
         try {
-            HttpURLConnection connection = createConnection();
-            sendRequest(connection, message);
-            int responseCode = connection.getResponseCode(); // HTTP code of the response
+            return scheduler.submit(playerUUID, () -> classifyMessageAsync(message, context)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof MessageClassificationException classificationException) {
+                throw classificationException;
+            }
+            throw new MessageClassificationException("Failed to classify message.", e.getCause());
+        }
+    }
+
+    /**
+     * Classifies player messages using AI without blocking the calling thread
+     *
+     * @param message The message to classify
+     * @return A future that completes with the {@link MessageClassification}, or exceptionally with a
+     * {@link MessageClassificationException} if the classification failed in any way
+     */
+    public @NotNull CompletableFuture<MessageClassification> classifyMessageAsync(@NotNull String message) {
+        return classifyMessageAsync(message, List.of());
+    }
 
-            if (responseCode >= 200 && responseCode < 300) {
-                String jsonResponse = decodeResponse(connection); // Entire JSON response
+    /**
+     * Classifies player messages using AI together with the chat messages sent before them, without blocking the
+     * calling thread
+     *
+     * @param message The message to classify
+     * @param context The preceding messages of the chat channel as "player: message" lines, the oldest first
+     * @return A future that completes with the {@link MessageClassification}, or exceptionally with a
+     * {@link MessageClassificationException} if the classification failed in any way
+     */
+    public @NotNull CompletableFuture<MessageClassification> classifyMessageAsync(@NotNull String message, @NotNull List<String> context) {
+        ClassificationRequest request = new ClassificationRequest(message, context);
+        return batcher != null ? batcher.submit(request) : requestClassification(request);
+    }
 
-                // Debug logger message
-                loggingHelper.debug("Json response: " + jsonResponse);
+    /**
+     * Sends a classification request for a single message
+     *
+     * @param request The message to classify and its context
+     * @return A future that completes with the {@link MessageClassification}
+     */
+    private @NotNull CompletableFuture<MessageClassification> requestClassification(@NotNull ClassificationRequest request) {
+        int maxTokens = routing.contextMaxTokens();
+        return countRequest(sendAsync(codec -> codec.encodeRequest(request, maxTokens))).thenApply(this::processResponse);
+    }
+
+    /**
+     * Sends one classification request for several messages
+     *
+     * @param requests The messages to classify and their context
+     * @return A future that completes with one classification per message, in the same order, with {@code null} for
+     * every message the response contained no readable result for
+     */
+    private @NotNull CompletableFuture<List<MessageClassification>> requestBatchClassification(@NotNull List<ClassificationRequest> requests) {
+        // The budget applies per message, a batch shares the budget of all its messages
+        int maxTokens = routing.contextMaxTokens() * requests.size();
+        return countRequest(sendAsync(codec -> codec.encodeBatchRequest(requests, maxTokens))).thenApply(jsonResponse -> processBatchResponse(jsonResponse, requests.size()));
+    }
+
+    /**
+     * Counts a request towards the concurrency limit of the scheduler until it has completed
+     *
+     * @param response The response of the request, the request must have been started by the caller
+     * @return The same response
+     */
+    private @NotNull CompletableFuture<String> countRequest(@NotNull CompletableFuture<String> response) {
+        scheduler.requestStarted();
+        return response.whenComplete((body, throwable) -> scheduler.requestFinished());
+    }
+
+    /**
+     * Sends a request over the shared client, retrying failed attempts until the total timeout is reached
+     * Failed attempts are retried on another endpoint if one is available. With hedging enabled, a duplicate is sent
+     * to a second endpoint once the first one takes longer than its 95th percentile latency
+     *
+     * @param encoder Encodes the request body with the codec of the endpoint it is sent to
+     * @return A future that completes with the JSON body of a successful response, or exceptionally with a
+     * {@link MessageClassificationException}
+     */
+    private @NotNull CompletableFuture<String> sendAsync(@NotNull Function<ClassificationCodec, byte[]> encoder) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(totalTimeout);
+
+        // With every circuit breaker open, the primary endpoint turns the request away and counts it as rejected
+        APIEndpoint selected = selectEndpoint(null);
+        APIEndpoint endpoint = selected != null ? selected : routing.endpoints().get(0);
+
+        CompletableFuture<String> response = sendAttempt(endpoint, encoder, 1, deadline);
+        if (routing.hedgingEnabled()) {
+            response = hedge(endpoint, response, encoder, deadline);
+        }
+
+        return response.orTimeout(totalTimeout, TimeUnit.MILLISECONDS).handle((body, throwable) -> {
+            if (throwable == null) {
+                return body;
+            }
+
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+            if (cause instanceof TimeoutException) {
+                throw new CompletionException(new MessageClassificationException("The API didn't answer within " + totalTimeout + " ms.", cause));
+            }
+            throw throwable instanceof CompletionException completionException ? completionException : new CompletionException(cause);
+        });
+    }
+
+    /**
+     * Sends a duplicate of a request to a second endpoint if the first one doesn't answer within its 95th percentile
+     * latency, and keeps whichever response arrives first
+     *
+     * @param endpoint The endpoint the request was sent to
+     * @param response The response of the request
+     * @param encoder  Encodes the request body with the codec of the endpoint it is sent to
+     * @param deadline The {@link System#nanoTime()} after which no further attempt is started
+     * @return A future that completes with the first successful response, or exceptionally once all requests failed
+     */
+    private @NotNull CompletableFuture<String> hedge(@NotNull APIEndpoint endpoint, @NotNull CompletableFuture<String> response, @NotNull Function<ClassificationCodec, byte[]> encoder, long deadline) {
+        long hedgeDelay = endpoint.getP95Latency(hedgingMinSamples);
+        if (hedgeDelay < 0) {
+            return response;
+        }
+
+        CompletableFuture<String> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+
+        response.whenComplete(completeHedged(result, pending, false));
 
-                return processResponse(jsonResponse);
-            } else {
-                String errorResponse = decodeResponse(connection);
-                throw new MessageClassificationException("HTTP error code: " + responseCode + ", Error message: " + errorResponse);
+        CompletableFuture.delayedExecutor(hedgeDelay, TimeUnit.MILLISECONDS, executor).execute(() -> {
+            if (result.isDone() || System.nanoTime() >= deadline) {
+                return;
             }
-        } catch (IOException e) {
-            throw new MessageClassificationException("Failed to classify message due to an IO issue.", e);
-        } catch (Exception e) {
-            throw new MessageClassificationException("Failed to classify message due to a URL syntax issue.", e);
+
+            APIEndpoint hedgeEndpoint = selectEndpoint(endpoint);
+            if (hedgeEndpoint == null || hedgeEndpoint == endpoint) {
+                return;
+            }
+
+            pending.incrementAndGet();
+            hedgedRequests.incrementAndGet();
+
+            // Debug logger message
+            loggingHelper.debug("API request exceeded " + hedgeDelay + " ms, sending a hedged request to " + hedgeEndpoint.getUri().getHost());
+
+            sendAttempt(hedgeEndpoint, encoder, 1, deadline).whenComplete(completeHedged(result, pending, true));
+        });
+
+        return result;
+    }
+
+    /**
+     * Completes the result of a hedged request with the first success, or with the last failure
+     *
+     * @param result  The result of the hedged request
+     * @param pending The number of requests that haven't completed yet
+     * @param hedge   Whether the completing request is the hedged duplicate
+     * @return The completion callback
+     */
+    private @NotNull BiConsumer<String, Throwable> completeHedged(@NotNull CompletableFuture<String> result, @NotNull AtomicInteger pending, boolean hedge) {
+        return (body, throwable) -> {
+            if (throwable == null) {
+                if (result.complete(body) && hedge) {
+                    wonHedges.incrementAndGet();
+                }
+            } else if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(throwable);
+            }
+        };
+    }
+
+    /**
+     * Picks the endpoint for a request by weight and live latency
+     * Endpoints below their concurrency limit are preferred, endpoints with an open circuit breaker are skipped
+     *
+     * @param exclude An endpoint to avoid, e.g. because the previous attempt failed on it, or {@code null}
+     * @return The endpoint, the excluded endpoint if no other one is available, or {@code null} if no endpoint is
+     * available at all
+     */
+    private @Nullable APIEndpoint selectEndpoint(@Nullable APIEndpoint exclude) {
+        List<APIEndpoint> endpoints = routing.endpoints();
+        if (endpoints.size() == 1) {
+            APIEndpoint endpoint = endpoints.get(0);
+            return endpoint.isAvailable() ? endpoint : null;
         }
+
+        List<APIEndpoint> available = new ArrayList<>(endpoints.size());
+        double knownLatency = 0;
+        int known = 0;
+        for (APIEndpoint endpoint : endpoints) {
+            if (endpoint.getAverageLatency() > 0) {
+                knownLatency += endpoint.getAverageLatency();
+                known++;
+            }
+            if (endpoint != exclude && endpoint.isAvailable()) {
+                available.add(endpoint);
+            }
+        }
+
+        if (available.isEmpty()) {
+            return exclude != null && exclude.isAvailable() ? exclude : null;
+        }
+
+        // Endpoints without measured latency are assumed to be as fast as the average endpoint
+        double defaultLatency = known > 0 ? knownLatency / known : 1;
+
+        List<APIEndpoint> candidates = available.stream().filter(APIEndpoint::hasCapacity).toList();
+        if (candidates.isEmpty()) {
+            candidates = available;
+        }
+
+        double[] scores = new double[candidates.size()];
+        double totalScore = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            APIEndpoint endpoint = candidates.get(i);
+            double latency = endpoint.getAverageLatency() > 0 ? endpoint.getAverageLatency() : defaultLatency;
+            scores[i] = endpoint.getWeight() / Math.max(1, latency);
+            totalScore += scores[i];
+        }
+
+        double pick = ThreadLocalRandom.current().nextDouble(totalScore);
+        for (int i = 0; i < candidates.size(); i++) {
+            pick -= scores[i];
+            if (pick < 0) {
+                return candidates.get(i);
+            }
+        }
+
+        return candidates.get(candidates.size() - 1);
     }
 
     /**
-     * Sets up a connection to the API server and configures it
+     * Sends a single attempt of a request to an endpoint once its rate limit budget allows it
      *
-     * @return The configured connection
-     * @throws IOException        If any issue happens, an exception is thrown
-     * @throws URISyntaxException Thrown if the set API URL isn't valid
+     * @param endpoint The endpoint to send the request to
+     * @param encoder  Encodes the request body with the codec of the endpoint it is sent to
+     * @param attempt  The number of this attempt, starting at 1
+     * @param deadline The {@link System#nanoTime()} after which no further attempt is started
+     * @return A future that completes with the JSON body of a successful response, or exceptionally with a
+     * {@link MessageClassificationException}
      */
-    private @NotNull HttpURLConnection createConnection() throws IOException, URISyntaxException {
-        URL url = new URI(apiUrl).toURL();
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        connection.setRequestMethod("POST");
-        connection.setRequestProperty("Content-Type", "application/json");
-        connection.setRequestProperty("Authorization", "Bearer " + apiKey);
-        connection.setDoOutput(true);
+    private @NotNull CompletableFuture<String> sendAttempt(@NotNull APIEndpoint endpoint, @NotNull Function<ClassificationCodec, byte[]> encoder, int attempt, long deadline) {
+        byte[] body = encoder.apply(endpoint.getCodec());
 
-        return connection;
+        // A request the circuit breaker turns away doesn't use up the rate limit budget
+        if (!endpoint.isAvailable()) {
+            return sendRequest(endpoint, body, encoder, attempt, deadline);
+        }
+
+        // Wait for the rate limit budget before sending
+        RateLimiter rateLimiter = endpoint.getRateLimiter();
+        long delay = rateLimiter != null ? rateLimiter.reserve(estimateTokens(body)) : 0;
+        if (delay > 0) {
+            if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay) >= deadline) {
+                return CompletableFuture.failedFuture(new MessageClassificationException("The API rate limit is exhausted for the next " + delay + " ms, the message wasn't classified."));
+            }
+
+            // Debug logger message
+            loggingHelper.debug("Delaying API request by " + delay + " ms to stay under the rate limit");
+
+            return CompletableFuture.supplyAsync(() -> null, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, executor)).thenCompose(ignored -> sendRequest(endpoint, body, encoder, attempt, deadline));
+        }
+
+        return sendRequest(endpoint, body, encoder, attempt, deadline);
     }
 
     /**
-     * Sends an OpenAI-API-compliant API request to the given connection, pre-filled with the given user prompt
+     * Sends an attempt of a request that has been cleared by the rate limiter and checks the HTTP status of the
+     * response
+     * Connection errors and retryable status codes are retried with exponential backoff and jitter, on another
+     * endpoint if one is available
      *
-     * @param connection The connection to send the request to
-     * @param message    The user message
-     * @throws IOException If any issue happens, an exception is thrown
+     * @param endpoint The endpoint to send the request to
+     * @param body     The request body encoded for the endpoint
+     * @param encoder  Encodes the request body with the codec of the endpoint it is sent to
+     * @param attempt  The number of this attempt, starting at 1
+     * @param deadline The {@link System#nanoTime()} after which no further attempt is started
+     * @return A future that completes with the JSON body of a successful response, or exceptionally with a
+     * {@link MessageClassificationException}
      */
-    private void sendRequest(@NotNull HttpURLConnection connection, @NotNull String message) throws IOException {
-        Map<String, Object> json = Map.of("model", aiModel, "messages", new Map[]{Map.of("role", "system", APIConstants.General.CONTENT, sysPrompt + "Language: " + configHelper.getString(ConfigConstants.General.LANGUAGE)), Map.of("role", "user", APIConstants.General.CONTENT, message)}, "response_format", Map.of("type", "json_object"));
+    private @NotNull CompletableFuture<String> sendRequest(@NotNull APIEndpoint endpoint, byte @NotNull [] body, @NotNull Function<ClassificationCodec, byte[]> encoder, int attempt, long deadline) {
+        CircuitBreaker circuitBreaker = endpoint.getCircuitBreaker();
+        if (circuitBreaker != null && !circuitBreaker.tryAcquire()) {
+            return CompletableFuture.failedFuture(new CircuitBreakerOpenException("The API circuit breaker is open, the message wasn't classified."));
+        }
 
-        String jsonInputString = new Gson().toJson(json);
+        RateLimiter rateLimiter = endpoint.getRateLimiter();
+        long startedAt = System.nanoTime();
+        endpoint.acquire();
 
-        // Debug logger message
-        loggingHelper.debug("Json request: " + jsonInputString);
+        // Give back the permits if the request can't even be started, the breaker would stay half open forever otherwise
+        CompletableFuture<HttpResponse<String>> responseFuture = null;
+        try {
+            responseFuture = httpClient.sendAsync(createRequest(endpoint, body), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        } finally {
+            if (responseFuture == null) {
+                endpoint.release();
+                if (circuitBreaker != null) {
+                    circuitBreaker.release();
+                }
+            }
+        }
+
+        return responseFuture.handle((response, throwable) -> {
+            endpoint.release();
+
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+            int responseCode = response != null ? response.statusCode() : 0; // HTTP code of the response
+
+            if (response != null && rateLimiter != null) {
+                rateLimiter.update(response.headers(), responseCode);
+            }
+
+            if (cause == null && responseCode >= 200 && responseCode < 300) {
+                endpoint.recordSuccess(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+                if (circuitBreaker != null) {
+                    circuitBreaker.recordSuccess();
+                }
 
-        try (OutputStream os = connection.getOutputStream()) {
-            byte[] input = jsonInputString.getBytes(StandardCharsets.UTF_8);
-            os.write(input, 0, input.length);
+                // Debug logger message
+                loggingHelper.debug("Json response: " + response.body());
+
+                return CompletableFuture.completedFuture(response.body());
+            }
+
+            endpoint.recordFailure();
+
+            // A rate limit is no outage, the rate limiter holds back the following requests instead
+            if (circuitBreaker != null) {
+                if (responseCode == 429) {
+                    circuitBreaker.release();
+                } else {
+                    circuitBreaker.recordFailure();
+                }
+            }
+
+            long backoff = getBackoff(attempt);
+            boolean retryable = cause != null ? cause instanceof IOException : isRetryable(responseCode);
+            APIEndpoint nextEndpoint = retryable && attempt < maxAttempts ? selectEndpoint(endpoint) : null;
+            if (nextEndpoint != null && System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff) < deadline) {
+                retries.incrementAndGet();
+
+                // Debug logger message
+                loggingHelper.debug("API request attempt " + attempt + " failed on " + endpoint.getUri().getHost() + ", retrying on " + nextEndpoint.getUri().getHost() + " in " + backoff + " ms");
+
+                return CompletableFuture.supplyAsync(() -> null, CompletableFuture.delayedExecutor(backoff, TimeUnit.MILLISECONDS, executor)).thenCompose(ignored -> sendAttempt(nextEndpoint, encoder, attempt + 1, deadline));
+            }
+
+            if (cause != null) {
+                return CompletableFuture.<String>failedFuture(new MessageClassificationException("Failed to classify message due to an IO issue.", cause));
+            }
+            return CompletableFuture.<String>failedFuture(new MessageClassificationException("HTTP error code: " + responseCode + ", Error message: " + response.body()));
+        }).thenCompose(Function.identity());
+    }
+
+    /**
+     * Estimates the number of tokens a request uses from the size of its body
+     *
+     * @param body The request body
+     * @return The estimated number of tokens
+     */
+    private static long estimateTokens(byte @NotNull [] body) {
+        return body.length / 4 + ESTIMATED_RESPONSE_TOKENS;
+    }
+
+    /**
+     * Checks whether a failed request is worth retrying based on its HTTP status
+     *
+     * @param responseCode The HTTP code of the response
+     * @return {@code true} for rate limits, timeouts and temporary server errors
+     */
+    private static boolean isRetryable(int responseCode) {
+        return responseCode == 408 || responseCode == 429 || responseCode == 500 || responseCode == 502 || responseCode == 503 || responseCode == 504;
+    }
+
+    /**
+     * Computes the delay before the next attempt, doubling with every attempt up to the maximum backoff
+     * A random jitter of up to half the delay keeps the retries of many messages from arriving at the same time
+     *
+     * @param attempt The number of the failed attempt, starting at 1
+     * @return The delay in milliseconds
+     */
+    private long getBackoff(int attempt) {
+        long backoff = Math.min(maxBackoff, initialBackoff << Math.min(attempt - 1, 20));
+        return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    }
+
+    /**
+     * Builds an OpenAI-API-compliant API request around a body encoded by the {@link ClassificationCodec}
+     *
+     * @param endpoint The endpoint the request is sent to
+     * @param body     The UTF-8 encoded JSON request body
+     * @return The request ready to be sent over the shared client
+     */
+    private @NotNull HttpRequest createRequest(@NotNull APIEndpoint endpoint, byte @NotNull [] body) {
+        if (loggingHelper.isDebugEnabled()) {
+            // Debug logger message
+            loggingHelper.debug("Json request: " + new String(body, StandardCharsets.UTF_8));
         }
+
+        return HttpRequest.newBuilder(endpoint.getUri()).timeout(readTimeout).header("Content-Type", "application/json").header("Authorization", "Bearer " + endpoint.getApiKey()).POST(HttpRequest.BodyPublishers.ofByteArray(body)).build();
     }
 
     /**
@@ -128,46 +710,119 @@ public class APIHelper {
      *
      * @param jsonResponse The raw JSON string to decode
      * @return The filled {@code} MessageClassification object
+     * @throws CompletionException Wrapping a {@link MessageClassificationException} if the response can't be read
      */
     private @NotNull MessageClassification processResponse(@NotNull String jsonResponse) {
-        // Parse the outer JSON response
-        JsonObject jsonObject = JsonParser.parseString(jsonResponse).getAsJsonObject();
+        try {
+            return ClassificationCodec.decodeClassification(jsonResponse);
+        } catch (IOException | RuntimeException e) {
+            throw new CompletionException(new MessageClassificationException("Failed to parse the classification response.", e));
+        }
+    }
+
+    /**
+     * Processes the JSON string of a batched request and maps its results back to the messages of the batch
+     *
+     * @param jsonResponse The raw JSON string to decode
+     * @param batchSize    The number of messages in the batch
+     * @return One classification per message, {@code null} for every message without a readable result
+     */
+    private @NotNull List<MessageClassification> processBatchResponse(@NotNull String jsonResponse, int batchSize) {
+        try {
+            return ClassificationCodec.decodeBatch(jsonResponse, batchSize);
+        } catch (IOException | RuntimeException e) {
+            loggingHelper.warning("Failed to parse the batched classification response: " + e.getMessage());
+            return new ArrayList<>(Collections.nCopies(batchSize, null));
+        }
+    }
+
+    /**
+     * Retrieve the message batcher
+     *
+     * @return The batcher, or {@code null} if batching is disabled
+     */
+    public @Nullable ClassificationBatcher getBatcher() {
+        return batcher;
+    }
 
-        // Extract the content string from the first choice's message
-        String contentString = jsonObject.getAsJsonArray("choices").get(0).getAsJsonObject().getAsJsonObject("message").get("content").getAsString();
+    /**
+     * Retrieve the scheduler that queues the classification requests of the players
+     *
+     * @return The scheduler
+     */
+    public @NotNull ClassificationScheduler getScheduler() {
+        return scheduler;
+    }
 
-        // Parse the content string as a JSON object
-        JsonObject message = new Gson().fromJson(contentString, JsonObject.class);
+    /**
+     * Retrieve the endpoints requests are routed to
+     *
+     * @return The endpoints
+     */
+    public @NotNull List<APIEndpoint> getEndpoints() {
+        return routing.endpoints();
+    }
 
-        // Extract fields from the parsed content
-        boolean isOffensiveLanguage = message.has(APIConstants.DetectionFlags.IS_OFFENSIVE_LANGUAGE) && !message.get(APIConstants.DetectionFlags.IS_OFFENSIVE_LANGUAGE).isJsonNull() && message.get(APIConstants.DetectionFlags.IS_OFFENSIVE_LANGUAGE).getAsBoolean();
-        boolean isUsername = message.has(APIConstants.DetectionFlags.IS_USERNAME) && !message.get(APIConstants.DetectionFlags.IS_USERNAME).isJsonNull() && message.get(APIConstants.DetectionFlags.IS_USERNAME).getAsBoolean();
-        boolean isPassword = message.has(APIConstants.DetectionFlags.IS_PASSWORD) && !message.get(APIConstants.DetectionFlags.IS_PASSWORD).isJsonNull() && message.get(APIConstants.DetectionFlags.IS_PASSWORD).getAsBoolean();
-        boolean isHomeAddress = message.has(APIConstants.DetectionFlags.IS_HOME_ADDRESS) && !message.get(APIConstants.DetectionFlags.IS_HOME_ADDRESS).isJsonNull() && message.get(APIConstants.DetectionFlags.IS_HOME_ADDRESS).getAsBoolean();
-        boolean isEmailAddress = message.has(APIConstants.DetectionFlags.IS_EMAIL_ADDRESS) && !message.get(APIConstants.DetectionFlags.IS_EMAIL_ADDRESS).isJsonNull() && message.get(APIConstants.DetectionFlags.IS_EMAIL_ADDRESS).getAsBoolean();
-        boolean isWebsite = message.has(APIConstants.DetectionFlags.IS_WEBSITE) && !message.get(APIConstants.DetectionFlags.IS_WEBSITE).isJsonNull() && message.get(APIConstants.DetectionFlags.IS_WEBSITE).getAsBoolean();
-        boolean isSexualContent = message.has(APIConstants.DetectionFlags.IS_SEXUAL_CONTENT) && !message.get(APIConstants.DetectionFlags.IS_SEXUAL_CONTENT).isJsonNull() && message.get(APIConstants.DetectionFlags.IS_SEXUAL_CONTENT).getAsBoolean();
-        String reason = message.has(APIConstants.General.REASON) && !message.get(APIConstants.General.REASON).isJsonNull() ? message.get(APIConstants.General.REASON).getAsString() : "No reason provided";
+    /**
+     * Retrieve the number of retried requests
+     *
+     * @return The number of retries
+     */
+    public long getRetries() {
+        return retries.get();
+    }
 
-        return new MessageClassification(isOffensiveLanguage, isUsername, isPassword, isHomeAddress, isEmailAddress, isWebsite, isSexualContent, reason);
+    /**
+     * Retrieve the number of hedged duplicate requests
+     *
+     * @return The number of hedged requests
+     */
+    public long getHedgedRequests() {
+        return hedgedRequests.get();
     }
 
     /**
-     * Decodes an incoming response from the API into a JSON string
+     * Retrieve the number of hedged requests that answered before the original request
      *
-     * @param connection The connection to read the response from
-     * @return The final JSON string
-     * @throws IOException If any issue appears, an exception is thrown
+     * @return The number of won hedges
      */
-    private @NotNull String decodeResponse(@NotNull HttpURLConnection connection) throws IOException {
-        StringBuilder response = new StringBuilder();
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
-            String responseLine;
-            while ((responseLine = br.readLine()) != null) {
-                response.append(responseLine.trim());
-            }
+    public long getWonHedges() {
+        return wonHedges.get();
+    }
+
+    /**
+     * Stops the worker threads of the shared HTTP client
+     * Requests that are still in flight are abandoned
+     */
+    public void shutdown() {
+        scheduler.shutdown();
+        if (batcher != null) {
+            batcher.shutdown();
+        }
+        executor.shutdownNow();
+    }
+
+    /**
+     * Thread factory for the daemon worker threads of the shared HTTP client
+     */
+    private static final class APIThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(@NotNull Runnable runnable) {
+            Thread thread = new Thread(runnable, "PixelChat-API-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
         }
+    }
 
-        return response.toString();
+    /**
+     * The endpoints requests are routed to and the settings that depend on them, replaced as a whole on reload
+     *
+     * @param endpoints        The endpoints
+     * @param hedgingEnabled   Whether slow requests are hedged, only with more than one endpoint
+     * @param contextMaxTokens The estimated number of tokens the conversation context of a message may use
+     */
+    private record Routing(@NotNull List<APIEndpoint> endpoints, boolean hedgingEnabled, int contextMaxTokens) {
     }
 }
\ No newline at end of file
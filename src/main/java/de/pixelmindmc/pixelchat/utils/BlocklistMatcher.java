@@ -0,0 +1,190 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An immutable Aho-Corasick automaton that finds all blocked words and phrases of a message in a single pass
+ * Every pattern carries the {@link de.pixelmindmc.pixelchat.model.MessageClassification} flags it stands for, and a
+ * match returns the combined flags of all patterns found in the message
+ */
+public final class BlocklistMatcher {
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    // Transitions of every state as sorted character arrays with their target states
+    private final char[][] transitionChars;
+    private final int[][] transitionTargets;
+    private final int[] failure;
+    // Nearest state along the failure chain that ends a pattern
+    private final int[] outputLink;
+    private final int[] patternLength;
+    private final int[] patternFlags;
+    private final boolean wholeWords;
+    private final int patternCount;
+
+    private BlocklistMatcher(char[][] transitionChars, int[][] transitionTargets, int[] failure, int[] outputLink, int[] patternLength, int[] patternFlags, boolean wholeWords, int patternCount) {
+        this.transitionChars = transitionChars;
+        this.transitionTargets = transitionTargets;
+        this.failure = failure;
+        this.outputLink = outputLink;
+        this.patternLength = patternLength;
+        this.patternFlags = patternFlags;
+        this.wholeWords = wholeWords;
+        this.patternCount = patternCount;
+    }
+
+    /**
+     * Compiles a set of patterns into a matcher
+     *
+     * @param patterns   The blocked words and phrases mapped to the classification flags they stand for
+     * @param wholeWords Whether patterns only match as whole words, so "ass" doesn't match "class"
+     * @return The compiled matcher
+     */
+    public static @NotNull BlocklistMatcher compile(@NotNull Map<String, Integer> patterns, boolean wholeWords) {
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        List<Integer> flags = new ArrayList<>();
+        children.add(new TreeMap<>());
+        lengths.add(0);
+        flags.add(0);
+
+        // Build the trie of all patterns
+        int patternCount = 0;
+        for (Map.Entry<String, Integer> entry : patterns.entrySet()) {
+            String pattern = entry.getKey().trim().toLowerCase(Locale.ROOT);
+            if (pattern.isEmpty()) {
+                continue;
+            }
+
+            int state = ROOT;
+            for (int i = 0; i < pattern.length(); i++) {
+                Integer next = children.get(state).get(pattern.charAt(i));
+                if (next == null) {
+                    next = children.size();
+                    children.add(new TreeMap<>());
+                    lengths.add(0);
+                    flags.add(0);
+                    children.get(state).put(pattern.charAt(i), next);
+                }
+                state = next;
+            }
+
+            lengths.set(state, pattern.length());
+            flags.set(state, flags.get(state) | entry.getValue());
+            patternCount++;
+        }
+
+        int stateCount = children.size();
+        char[][] transitionChars = new char[stateCount][];
+        int[][] transitionTargets = new int[stateCount][];
+        int[] patternLength = new int[stateCount];
+        int[] patternFlags = new int[stateCount];
+        for (int state = 0; state < stateCount; state++) {
+            TreeMap<Character, Integer> stateChildren = children.get(state);
+            transitionChars[state] = new char[stateChildren.size()];
+            transitionTargets[state] = new int[stateChildren.size()];
+
+            int index = 0;
+            for (Map.Entry<Character, Integer> child : stateChildren.entrySet()) {
+                transitionChars[state][index] = child.getKey();
+                transitionTargets[state][index] = child.getValue();
+                index++;
+            }
+
+            patternLength[state] = lengths.get(state);
+            patternFlags[state] = flags.get(state);
+        }
+
+        // Compute the failure and output links breadth first
+        int[] failure = new int[stateCount];
+        int[] outputLink = new int[stateCount];
+        Arrays.fill(outputLink, NONE);
+
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : transitionTargets[ROOT]) {
+            failure[child] = ROOT;
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < transitionChars[state].length; i++) {
+                char c = transitionChars[state][i];
+                int child = transitionTargets[state][i];
+
+                int fallback = failure[state];
+                while (fallback != ROOT && next(transitionChars, transitionTargets, fallback, c) == NONE) {
+                    fallback = failure[fallback];
+                }
+                int target = next(transitionChars, transitionTargets, fallback, c);
+                failure[child] = target != NONE && target != child ? target : ROOT;
+                outputLink[child] = patternLength[failure[child]] > 0 ? failure[child] : outputLink[failure[child]];
+
+                queue.add(child);
+            }
+        }
+
+        return new BlocklistMatcher(transitionChars, transitionTargets, failure, outputLink, patternLength, patternFlags, wholeWords, patternCount);
+    }
+
+    /**
+     * Finds all blocked words and phrases in a message
+     *
+     * @param message The message
+     * @return The combined classification flags of all patterns found, or 0 if the message contains none
+     */
+    public int match(@NotNull String message) {
+        int matchedFlags = 0;
+        int state = ROOT;
+
+        for (int i = 0; i < message.length(); i++) {
+            char c = Character.toLowerCase(message.charAt(i));
+
+            int target;
+            while ((target = next(transitionChars, transitionTargets, state, c)) == NONE && state != ROOT) {
+                state = failure[state];
+            }
+            state = target == NONE ? ROOT : target;
+
+            // Collect the patterns ending here, including those that are suffixes of the current one
+            for (int output = patternLength[state] > 0 ? state : outputLink[state]; output != NONE; output = outputLink[output]) {
+                if (!wholeWords || isWholeWord(message, i - patternLength[output] + 1, i + 1)) {
+                    matchedFlags |= patternFlags[output];
+                }
+            }
+        }
+
+        return matchedFlags;
+    }
+
+    /**
+     * Retrieve the number of compiled patterns
+     *
+     * @return The number of patterns
+     */
+    public int size() {
+        return patternCount;
+    }
+
+    private static int next(char[][] transitionChars, int[][] transitionTargets, int state, char c) {
+        int index = Arrays.binarySearch(transitionChars[state], c);
+        return index >= 0 ? transitionTargets[state][index] : NONE;
+    }
+
+    private static boolean isWholeWord(@NotNull String message, int start, int end) {
+        return (start == 0 || !Character.isLetterOrDigit(message.charAt(start - 1))) && (end == message.length() || !Character.isLetterOrDigit(message.charAt(end)));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,133 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the last messages of every chat channel or world, so they can be sent as context with a classification
+ * Every channel is a ring of preallocated slots and stored messages are cut to a maximum length, so the memory use is
+ * bounded by the number of channels, slots and characters regardless of the chat volume
+ */
+public class ChatContextBuffer {
+    private final int capacity;
+    private final int maxChannels;
+    private final int maxMessageLength;
+    private final @NotNull Map<String, Channel> channels = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a ChatContextBuffer object
+     *
+     * @param capacity         The number of messages kept per channel
+     * @param maxChannels      The maximum number of channels, messages of further channels aren't kept
+     * @param maxMessageLength The maximum number of characters kept of a message
+     */
+    public ChatContextBuffer(int capacity, int maxChannels, int maxMessageLength) {
+        this.capacity = Math.max(1, capacity);
+        this.maxChannels = Math.max(1, maxChannels);
+        this.maxMessageLength = Math.max(1, maxMessageLength);
+    }
+
+    /**
+     * Adds a delivered message to its channel, overwriting the oldest message once the channel is full
+     *
+     * @param channel    The chat channel or world
+     * @param playerName The name of the player that sent the message
+     * @param message    The message
+     */
+    public void record(@NotNull String channel, @NotNull String playerName, @NotNull String message) {
+        Channel ring = channels.get(channel);
+        if (ring == null) {
+            if (channels.size() >= maxChannels) {
+                return;
+            }
+            ring = channels.computeIfAbsent(channel, key -> new Channel(capacity));
+        }
+
+        String line = playerName + ": " + message;
+        if (line.length() > maxMessageLength) {
+            // Don't cut a surrogate pair in half
+            int end = Character.isHighSurrogate(line.charAt(maxMessageLength - 1)) ? maxMessageLength - 1 : maxMessageLength;
+            line = line.substring(0, end);
+        }
+
+        ring.add(line);
+    }
+
+    /**
+     * Retrieve the last messages of a channel
+     *
+     * @param channel     The chat channel or world
+     * @param maxMessages The maximum number of messages
+     * @return The messages as "player: message" lines, the oldest first
+     */
+    public @NotNull List<String> getContext(@NotNull String channel, int maxMessages) {
+        Channel ring = channels.get(channel);
+        if (ring == null || maxMessages <= 0) {
+            return List.of();
+        }
+
+        return ring.last(maxMessages);
+    }
+
+    /**
+     * Drops the messages of all channels
+     */
+    public void clear() {
+        channels.clear();
+    }
+
+    /**
+     * Checks whether the buffer was constructed with the given settings, so that a reload can keep it and the messages
+     * of its channels
+     *
+     * @param capacity         The number of messages kept per channel
+     * @param maxChannels      The maximum number of channels
+     * @param maxMessageLength The maximum number of characters kept of a message
+     * @return {@code true} if the settings are the same
+     */
+    public boolean hasSettings(int capacity, int maxChannels, int maxMessageLength) {
+        return this.capacity == Math.max(1, capacity) && this.maxChannels == Math.max(1, maxChannels) && this.maxMessageLength == Math.max(1, maxMessageLength);
+    }
+
+    /**
+     * The ring of the last messages of a channel
+     */
+    private static final class Channel {
+        private final @NotNull String[] lines;
+        private int next = 0;
+        private int count = 0;
+
+        private Channel(int capacity) {
+            this.lines = new String[capacity];
+        }
+
+        private synchronized void add(@NotNull String line) {
+            lines[next] = line;
+            next = (next + 1) % lines.length;
+            if (count < lines.length) {
+                count++;
+            }
+        }
+
+        private synchronized @NotNull List<String> last(int maxMessages) {
+            int size = Math.min(count, maxMessages);
+            List<String> context = new ArrayList<>(size);
+
+            int start = next - size + lines.length;
+            for (int i = 0; i < size; i++) {
+                context.add(lines[(start + i) % lines.length]);
+            }
+
+            return context;
+        }
+    }
+}
\ No newline at end of file
@@ -8,17 +8,27 @@ package de.pixelmindmc.pixelchat.utils;
 import de.pixelmindmc.pixelchat.PixelChat;
 import de.pixelmindmc.pixelchat.constants.ConfigConstants;
 import de.pixelmindmc.pixelchat.constants.LangConstants;
-import de.pixelmindmc.pixelchat.constants.PermissionConstants;
+import de.pixelmindmc.pixelchat.exceptions.CircuitBreakerOpenException;
+import de.pixelmindmc.pixelchat.exceptions.MessageClassificationException;
+import de.pixelmindmc.pixelchat.exceptions.QueueFullException;
+import de.pixelmindmc.pixelchat.exceptions.SpamWaveException;
 import de.pixelmindmc.pixelchat.model.MessageClassification;
+import de.pixelmindmc.pixelchat.model.ModerationMode;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.io.File;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Utility class for managing configuration files
@@ -27,7 +37,17 @@ public class ChatGuardHelper {
     private final @NotNull PixelChat plugin;
     private final @NotNull LoggingHelper loggingHelper;
     private final @NotNull ConfigHelper configHelper;
-    private final @NotNull ConfigHelper configHelperLanguage;
+    private final @Nullable VerdictCache verdictCache;
+    private final @Nullable PersistentVerdictCache persistentVerdictCache;
+    private final @Nullable PlayerTrustTracker playerTrustTracker;
+    private volatile @NotNull Compiled compiled;
+    private final AtomicLong blocklistMatches = new AtomicLong();
+    private final AtomicLong detectorDecisions = new AtomicLong();
+    private final AtomicLong nearDuplicateReuses = new AtomicLong();
+    private final AtomicLong spamWaveBlocks = new AtomicLong();
+    private final AtomicLong trustedInBackground = new AtomicLong();
+    private final AtomicLong trustedLocally = new AtomicLong();
+    private final @NotNull Map<UUID, Long> mutedPlayers = new ConcurrentHashMap<>();
 
     /**
      * Constructs a ChatGuardHelper object
@@ -36,7 +56,690 @@ public class ChatGuardHelper {
         this.plugin = plugin;
         this.loggingHelper = plugin.getLoggingHelper();
         this.configHelper = plugin.getConfigHelper();
-        this.configHelperLanguage = plugin.getConfigHelperLanguage();
+        this.compiled = compile(configHelper, plugin.getConfigHelperBlocklist(), null);
+
+        if (configHelper.getBoolean(ConfigConstants.ChatGuard.Cache.ENABLED)) {
+            this.verdictCache = new VerdictCache(configHelper.getInt(ConfigConstants.ChatGuard.Cache.MAX_SIZE), configHelper.getInt(ConfigConstants.ChatGuard.Cache.EXPIRE_AFTER), getModelFingerprint(configHelper));
+        } else {
+            this.verdictCache = null;
+        }
+
+        if (configHelper.getBoolean(ConfigConstants.ChatGuard.Cache.Persistent.ENABLED)) {
+            this.persistentVerdictCache = new PersistentVerdictCache(loggingHelper, new File(plugin.getDataFolder(), "verdict_cache.dat"), configHelper.getInt(ConfigConstants.ChatGuard.Cache.Persistent.MAX_SIZE), configHelper.getInt(ConfigConstants.ChatGuard.Cache.Persistent.EXPIRE_AFTER), getModelFingerprint(configHelper));
+        } else {
+            this.persistentVerdictCache = null;
+        }
+
+        if (configHelper.getBoolean(ConfigConstants.ChatGuard.Trust.ENABLED)) {
+            this.playerTrustTracker = new PlayerTrustTracker(loggingHelper, new File(plugin.getDataFolder(), "player_trust.dat"), configHelper.getInt(ConfigConstants.ChatGuard.Trust.RECENT_MESSAGES));
+        } else {
+            this.playerTrustTracker = null;
+        }
+    }
+
+    /**
+     * Classifies a player message, deciding it locally with the blocklist and detectors where possible
+     * Near-duplicates of a recent message reuse its classification, and are blocked as spam once too many of them have
+     * been sent within the window
+     *
+     * @param playerUUID The uuid of the player that sent the message
+     * @param message    The message to classify
+     * @return The {@link MessageClassification} of the message
+     * @throws SpamWaveException              If the message is part of a spam wave
+     * @throws MessageClassificationException If the classification failed in any way
+     */
+    public @NotNull MessageClassification classifyMessage(@NotNull UUID playerUUID, @NotNull String message) throws MessageClassificationException {
+        return classifyMessage(playerUUID, message, List.of());
+    }
+
+    /**
+     * Classifies a player message together with the chat messages sent before it, deciding it locally with the
+     * blocklist and detectors where possible
+     * Cached and near-duplicate classifications are only reused for messages with context if they violate an active
+     * block rule, as a message that is harmless on its own may not be in its context
+     *
+     * @param playerUUID The uuid of the player that sent the message
+     * @param message    The message to classify
+     * @param context    The preceding messages of the chat channel from {@link #getContext(String)}
+     * @return The {@link MessageClassification} of the message
+     * @throws SpamWaveException              If the message is part of a spam wave
+     * @throws MessageClassificationException If the classification failed in any way
+     */
+    public @NotNull MessageClassification classifyMessage(@NotNull UUID playerUUID, @NotNull String message, @NotNull List<String> context) throws MessageClassificationException {
+        APIHelper apiHelper = plugin.getAPIHelper();
+        if (apiHelper == null) {
+            throw new MessageClassificationException("The ChatGuard module is not active.");
+        }
+
+        MessageClassification classification = classifyMessage(apiHelper, playerUUID, message, context);
+
+        // Update the clean-message ratio the trust score of the player is computed from
+        if (playerTrustTracker != null) {
+            playerTrustTracker.recordMessage(playerUUID, !messageMatchesEnabledRule(classification));
+        }
+
+        return classification;
+    }
+
+    /**
+     * Classifies a player message without recording it for the trust score of the player
+     *
+     * @param apiHelper  The API helper
+     * @param playerUUID The uuid of the player that sent the message
+     * @param message    The message to classify
+     * @param context    The preceding messages of the chat channel
+     * @return The {@link MessageClassification} of the message
+     * @throws MessageClassificationException If the classification failed in any way
+     */
+    private @NotNull MessageClassification classifyMessage(@NotNull APIHelper apiHelper, @NotNull UUID playerUUID, @NotNull String message, @NotNull List<String> context) throws MessageClassificationException {
+        MessageClassification classification = classifyMessageLocally(message);
+        if (classification != null) {
+            return classification;
+        }
+
+        Compiled compiled = this.compiled;
+        NearDuplicateIndex index = compiled.nearDuplicateIndex();
+        NearDuplicateIndex.Match match = index != null ? index.record(message) : null;
+        if (match != null) {
+            int spamThreshold = compiled.policy().spamThreshold();
+            if (spamThreshold > 0 && match.count() >= spamThreshold) {
+                spamWaveBlocks.incrementAndGet();
+                throw new SpamWaveException("The message '" + message + "' is one of " + match.count() + " near-duplicate messages, it was blocked as spam.");
+            }
+
+            classification = reusable(match.classification(), context);
+            if (classification != null) {
+                nearDuplicateReuses.incrementAndGet();
+
+                // Debug logger message
+                loggingHelper.debug("Using the classification of a near-duplicate for the message '" + message + "'");
+            }
+        }
+
+        if (classification == null) {
+            classification = classifyMessageWithAI(apiHelper, playerUUID, message, context);
+
+            // Classifications that depend on the context aren't valid for near-duplicates in other conversations
+            if (match != null && index != null && context.isEmpty()) {
+                index.complete(match, classification);
+            }
+        }
+
+        // Merge the local findings into the classification of the AI
+        PIIDetector detector = compiled.piiDetector();
+        int detectedFlags = detector != null ? PIIDetector.confirmedFlags(detector.detect(message)) : 0;
+        if ((classification.flags() | detectedFlags) != classification.flags()) {
+            classification = MessageClassification.fromFlags(classification.flags() | detectedFlags, classification.reason());
+        }
+
+        return classification;
+    }
+
+    /**
+     * Classifies a player message with the blocklist and detectors only, without asking the AI
+     *
+     * @param message The message to classify
+     * @return The {@link MessageClassification} of the message, or {@code null} if the AI has to be asked
+     */
+    public @Nullable MessageClassification classifyMessageLocally(@NotNull String message) {
+        // Decide obvious messages locally without asking the AI
+        Compiled compiled = this.compiled;
+        BlocklistMatcher matcher = compiled.blocklistMatcher();
+        if (matcher != null) {
+            int flags = matcher.match(message);
+            if (flags != 0) {
+                blocklistMatches.incrementAndGet();
+
+                // Debug logger message
+                loggingHelper.debug("The message '" + message + "' matched the blocklist");
+
+                return MessageClassification.fromFlags(flags, plugin.getConfigHelperLanguage().getString(LangConstants.ChatGuard.BLOCKLIST_REASON));
+            }
+        }
+
+        // Decide personal information locally if the detectors already found a blocked one, or cover every enabled rule
+        // and don't suspect anything the AI has to confirm
+        PIIDetector detector = compiled.piiDetector();
+        if (detector != null) {
+            int enabledRules = compiled.policy().ruleFlags();
+            int detection = detector.detect(message);
+            int detectedFlags = PIIDetector.confirmedFlags(detection);
+            boolean suspected = (PIIDetector.suspectedFlags(detection) & enabledRules) != 0;
+
+            if ((detectedFlags & enabledRules) != 0 || !suspected && (enabledRules & ~detector.getCoveredFlags()) == 0) {
+                detectorDecisions.incrementAndGet();
+
+                // Debug logger message
+                loggingHelper.debug("The message '" + message + "' was classified by the local detectors");
+
+                return MessageClassification.fromFlags(detectedFlags, plugin.getConfigHelperLanguage().getString(LangConstants.ChatGuard.DETECTOR_REASON));
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Decides how the messages of a player are moderated based on their trust score
+     * Trusted players have their messages classified in the background or, in the SAMPLE mode, only a share of them
+     * classified at all
+     *
+     * @param player The player that sent the message
+     * @return The moderation mode, {@link ModerationMode#BLOCKING} for players that aren't trusted
+     */
+    public @NotNull ModerationMode getTrustedModerationMode(@NotNull Player player) {
+        PlayerTrustTracker tracker = playerTrustTracker;
+        if (tracker == null) {
+            return ModerationMode.BLOCKING;
+        }
+
+        ChatGuardPolicy policy = compiled.policy();
+        UUID playerUUID = player.getUniqueId();
+        // Strikes that were removed or cleared on restart still count against the trust of a player
+        int strikes = plugin.getStrikeRepository().getTotalStrikes(playerUUID);
+        if (strikes > policy.trustMaxStrikes()) {
+            return ModerationMode.BLOCKING;
+        }
+
+        long playtimeMinutes = plugin.getPermissionCache().getPlaytimeMinutes(playerUUID);
+        double score = tracker.getScore(playerUUID, playtimeMinutes, policy.trustedPlaytime(), strikes, policy.trustMinMessages());
+        if (score * 100 < policy.trustThreshold()) {
+            return ModerationMode.BLOCKING;
+        }
+
+        if (policy.trustSample()) {
+            if (ThreadLocalRandom.current().nextInt(100) < policy.trustSampleRate()) {
+                return ModerationMode.BLOCKING;
+            }
+
+            trustedLocally.incrementAndGet();
+            return ModerationMode.LOCAL;
+        }
+
+        trustedInBackground.incrementAndGet();
+        return ModerationMode.BACKGROUND;
+    }
+
+    /**
+     * Classifies a message that has already been delivered and applies the retroactive action if it violates an
+     * active block rule
+     * This is executed in the background for players using optimistic delivery
+     *
+     * @param player     The player that sent the message
+     * @param message    The delivered message
+     * @param context    The messages of the chat channel sent before the message
+     * @param recipients The players that received the message
+     */
+    public void moderateDeliveredMessage(@NotNull Player player, @NotNull String message, @NotNull List<String> context, @NotNull Collection<? extends Player> recipients) {
+        MessageClassification classification;
+        try {
+            classification = classifyMessage(player.getUniqueId(), message, context);
+        } catch (CircuitBreakerOpenException | QueueFullException | SpamWaveException e) {
+            // Debug logger message
+            loggingHelper.debug(e.getMessage());
+
+            return;
+        } catch (MessageClassificationException e) {
+            loggingHelper.error(e.getMessage());
+
+            return;
+        }
+
+        ChatGuardPolicy policy = compiled.policy();
+        if (!policy.matches(classification)) {
+            return;
+        }
+
+        // Debug logger message
+        loggingHelper.debug("The delivered message '" + message + "' from " + player.getName() + " violates an active block rule");
+
+        notifyAndStrikePlayer(player, message, classification, policy.blockMessages());
+
+        String chatGuardPrefix = policy.prefix();
+
+        switch (policy.retroactiveAction()) {
+            case "MUTE" -> {
+                int muteDuration = policy.muteDuration();
+                mutedPlayers.put(player.getUniqueId(), System.currentTimeMillis() + muteDuration * 1000L);
+                player.sendMessage(chatGuardPrefix + plugin.getConfigHelperLanguage().getString(LangConstants.ChatGuard.Player.MUTED) + " " + ChatColor.RED + classification.reason());
+
+                // Debug logger message
+                loggingHelper.debug("Muted " + player.getName() + " for " + muteDuration + " seconds");
+            }
+            case "NOTICE" -> {
+                String notice = chatGuardPrefix + plugin.getConfigHelperLanguage().getString(LangConstants.ChatGuard.RETROACTIVE_NOTICE).replace("[player]", ChatColor.RED + player.getName() + ChatColor.RESET) + " " + ChatColor.RED + classification.reason();
+                for (Player recipient : recipients) {
+                    if (!recipient.equals(player) && recipient.isOnline()) {
+                        recipient.sendMessage(notice);
+                    }
+                }
+            }
+            default -> {
+                // Only the notification and strike system
+            }
+        }
+    }
+
+    /**
+     * Retrieve the remaining time a player is muted for
+     *
+     * @param playerUUID The player uuid
+     * @return The remaining seconds, or 0 if the player isn't muted
+     */
+    public long getRemainingMute(@NotNull UUID playerUUID) {
+        Long mutedUntil = mutedPlayers.get(playerUUID);
+        if (mutedUntil == null) {
+            return 0;
+        }
+
+        long remaining = mutedUntil - System.currentTimeMillis();
+        if (remaining <= 0) {
+            mutedPlayers.remove(playerUUID, mutedUntil);
+            return 0;
+        }
+
+        return (remaining + 999) / 1000;
+    }
+
+    /**
+     * Classifies a message with the AI, answering repeated messages from the cache instead of asking the AI again
+     *
+     * @param apiHelper  The API helper
+     * @param playerUUID The uuid of the player that sent the message
+     * @param message    The message to classify
+     * @param context    The preceding messages of the chat channel
+     * @return The {@link MessageClassification} of the message
+     * @throws MessageClassificationException If the classification failed in any way
+     */
+    private @NotNull MessageClassification classifyMessageWithAI(@NotNull APIHelper apiHelper, @NotNull UUID playerUUID, @NotNull String message, @NotNull List<String> context) throws MessageClassificationException {
+        String language = configHelper.getString(ConfigConstants.General.LANGUAGE);
+        MessageClassification classification = verdictCache != null ? reusable(verdictCache.get(message, language), context) : null;
+        if (classification != null) {
+            // Debug logger message
+            loggingHelper.debug("Using cached classification for the message '" + message + "'");
+
+            return classification;
+        }
+
+        classification = persistentVerdictCache != null ? reusable(persistentVerdictCache.get(message, language), context) : null;
+        if (classification != null) {
+            // Debug logger message
+            loggingHelper.debug("Using persistently cached classification for the message '" + message + "'");
+        } else {
+            classification = apiHelper.classifyMessage(playerUUID, message, context);
+
+            // Classifications that depend on the context aren't valid for the same message in other conversations
+            if (!context.isEmpty()) {
+                return classification;
+            }
+
+            if (persistentVerdictCache != null) {
+                persistentVerdictCache.put(message, language, classification);
+            }
+        }
+
+        if (verdictCache != null) {
+            verdictCache.put(message, language, classification);
+        }
+
+        return classification;
+    }
+
+    /**
+     * Decides whether a stored classification can be reused for a message
+     *
+     * @param classification The stored classification, if any
+     * @param context        The preceding messages of the chat channel
+     * @return The classification if it can be reused, {@code null} if the AI has to be asked
+     */
+    private @Nullable MessageClassification reusable(@Nullable MessageClassification classification, @NotNull List<String> context) {
+        if (classification == null || context.isEmpty() || messageMatchesEnabledRule(classification)) {
+            return classification;
+        }
+
+        return null;
+    }
+
+    /**
+     * Retrieve the context channel a message of a player belongs to
+     *
+     * @param player         The player that sent the message
+     * @param carbonChannel  The key of the CarbonChat channel the message was sent in, or {@code null} if it wasn't
+     *                       sent through CarbonChat
+     * @return The channel, or {@code null} if the conversation context is disabled
+     */
+    public @Nullable String getContextChannel(@NotNull Player player, @Nullable String carbonChannel) {
+        Compiled compiled = this.compiled;
+        if (compiled.chatContextBuffer() == null) {
+            return null;
+        }
+
+        return switch (compiled.policy().contextScope()) {
+            case "GLOBAL" -> "global";
+            case "CHANNEL" -> carbonChannel != null ? "channel:" + carbonChannel : "world:" + player.getWorld().getName();
+            default -> "world:" + player.getWorld().getName();
+        };
+    }
+
+    /**
+     * Retrieve the last messages of a channel to send as context with a classification
+     *
+     * @param channel The channel from {@link #getContextChannel(Player, String)}
+     * @return The messages as "player: message" lines, the oldest first, empty if the context is disabled
+     */
+    public @NotNull List<String> getContext(@Nullable String channel) {
+        Compiled compiled = this.compiled;
+        ChatContextBuffer buffer = compiled.chatContextBuffer();
+        if (buffer == null || channel == null) {
+            return List.of();
+        }
+
+        return buffer.getContext(channel, compiled.policy().contextMessages());
+    }
+
+    /**
+     * Adds a delivered message to the context of its channel
+     *
+     * @param channel The channel from {@link #getContextChannel(Player, String)}
+     * @param player  The player that sent the message
+     * @param message The message
+     */
+    public void recordContext(@Nullable String channel, @NotNull Player player, @NotNull String message) {
+        ChatContextBuffer buffer = compiled.chatContextBuffer();
+        if (buffer != null && channel != null) {
+            buffer.record(channel, player.getName(), message);
+        }
+    }
+
+    /**
+     * Compiles reloaded ChatGuard settings without applying them yet
+     * Applying them replaces the policy, blocklist, detectors, near-duplicate index and context buffer at once, and
+     * clears the classification cache if the AI model or prompt has changed. The near-duplicate index and context
+     * buffer are kept with their recent messages unless their sizes or windows have changed
+     *
+     * @param configHelper          The parsed config
+     * @param configHelperBlocklist The parsed blocklist
+     * @return The action that applies the settings
+     */
+    public @NotNull Runnable prepareReload(@NotNull ConfigHelper configHelper, @NotNull ConfigHelper configHelperBlocklist) {
+        Compiled previous = this.compiled;
+        Compiled compiled = compile(configHelper, configHelperBlocklist, previous);
+        long fingerprint = compiled.modelFingerprint();
+
+        return () -> {
+            this.compiled = compiled;
+
+            NearDuplicateIndex index = compiled.nearDuplicateIndex();
+            if (index != null && index == previous.nearDuplicateIndex() && fingerprint != previous.modelFingerprint()) {
+                index.clearClassifications();
+            }
+
+            if (verdictCache != null && verdictCache.updateFingerprint(fingerprint)) {
+                // Debug logger message
+                loggingHelper.debug("AI model or system prompt changed, cleared the classification cache");
+            }
+
+            if (persistentVerdictCache != null) {
+                persistentVerdictCache.updateFingerprint(fingerprint);
+            }
+        };
+    }
+
+    /**
+     * Compiles everything ChatGuard reads for every message from the configuration
+     *
+     * @param configHelper          The config
+     * @param configHelperBlocklist The blocklist
+     * @param previous              The settings compiled before a reload, or {@code null} on startup
+     * @return The compiled settings
+     */
+    private @NotNull Compiled compile(@NotNull ConfigHelper configHelper, @NotNull ConfigHelper configHelperBlocklist, @Nullable Compiled previous) {
+        return new Compiled(ChatGuardPolicy.compile(configHelper), compileBlocklist(configHelper, configHelperBlocklist), createDetector(configHelper), createNearDuplicateIndex(configHelper, previous != null ? previous.nearDuplicateIndex() : null), createContextBuffer(configHelper, previous != null ? previous.chatContextBuffer() : null), getModelFingerprint(configHelper));
+    }
+
+    /**
+     * Compiles the blocked words and phrases of the blocklist into a matcher
+     *
+     * @param configHelper          The config
+     * @param configHelperBlocklist The blocklist
+     * @return The matcher, or {@code null} if the blocklist is disabled or empty
+     */
+    private @Nullable BlocklistMatcher compileBlocklist(@NotNull ConfigHelper configHelper, @NotNull ConfigHelper configHelperBlocklist) {
+        if (!configHelper.getBoolean(ConfigConstants.ChatGuard.Blocklist.ENABLED)) {
+            return null;
+        }
+
+        Map<String, Integer> patterns = new HashMap<>();
+        addBlocklistPatterns(patterns, configHelperBlocklist, ConfigConstants.Blocklist.OFFENSIVE_LANGUAGE, MessageClassification.OFFENSIVE_LANGUAGE);
+        addBlocklistPatterns(patterns, configHelperBlocklist, ConfigConstants.Blocklist.SEXUAL_CONTENT, MessageClassification.SEXUAL_CONTENT);
+        addBlocklistPatterns(patterns, configHelperBlocklist, ConfigConstants.Blocklist.WEBSITES, MessageClassification.WEBSITE);
+
+        BlocklistMatcher matcher = BlocklistMatcher.compile(patterns, configHelper.getBoolean(ConfigConstants.ChatGuard.Blocklist.WHOLE_WORDS));
+
+        // Debug logger message
+        loggingHelper.debug("Compiled blocklist with " + matcher.size() + " entries");
+
+        return matcher.size() > 0 ? matcher : null;
+    }
+
+    /**
+     * Creates the local personal information detectors from the configuration
+     *
+     * @param configHelper The config
+     * @return The detectors, or {@code null} if they are disabled
+     */
+    private static @Nullable PIIDetector createDetector(@NotNull ConfigHelper configHelper) {
+        if (!configHelper.getBoolean(ConfigConstants.ChatGuard.Detectors.ENABLED)) {
+            return null;
+        }
+
+        return new PIIDetector(configHelper.getBoolean(ConfigConstants.ChatGuard.Detectors.EMAIL_ADDRESSES), configHelper.getBoolean(ConfigConstants.ChatGuard.Detectors.WEBSITES), configHelper.getBoolean(ConfigConstants.ChatGuard.Detectors.IP_ADDRESSES), configHelper.getBoolean(ConfigConstants.ChatGuard.Detectors.PASSWORDS), configHelper.getBoolean(ConfigConstants.ChatGuard.Detectors.USERNAMES));
+    }
+
+    /**
+     * Creates the index of recent messages for the near-duplicate detection from the configuration
+     * The previous index is kept if its settings haven't changed, so that a reload doesn't forget a running spam wave
+     *
+     * @param configHelper The config
+     * @param previous     The index before a reload, or {@code null}
+     * @return The index, or {@code null} if the near-duplicate detection is disabled
+     */
+    private static @Nullable NearDuplicateIndex createNearDuplicateIndex(@NotNull ConfigHelper configHelper, @Nullable NearDuplicateIndex previous) {
+        if (!configHelper.getBoolean(ConfigConstants.ChatGuard.NearDuplicates.ENABLED)) {
+            return null;
+        }
+
+        int maxSize = configHelper.getInt(ConfigConstants.ChatGuard.NearDuplicates.MAX_SIZE);
+        int maxDistance = configHelper.getInt(ConfigConstants.ChatGuard.NearDuplicates.MAX_DISTANCE);
+        int minLength = configHelper.getInt(ConfigConstants.ChatGuard.NearDuplicates.MIN_LENGTH);
+        int window = configHelper.getInt(ConfigConstants.ChatGuard.NearDuplicates.WINDOW);
+        if (previous != null && previous.hasSettings(maxSize, maxDistance, minLength, window)) {
+            return previous;
+        }
+
+        return new NearDuplicateIndex(maxSize, maxDistance, minLength, window);
+    }
+
+    /**
+     * Creates the buffer of the last messages per channel for the conversation context from the configuration
+     * The previous buffer is kept if its settings haven't changed, so that a reload doesn't forget the conversations
+     *
+     * @param configHelper The config
+     * @param previous     The buffer before a reload, or {@code null}
+     * @return The buffer, or {@code null} if the conversation context is disabled
+     */
+    private static @Nullable ChatContextBuffer createContextBuffer(@NotNull ConfigHelper configHelper, @Nullable ChatContextBuffer previous) {
+        if (!configHelper.getBoolean(ConfigConstants.ChatGuard.Context.ENABLED)) {
+            return null;
+        }
+
+        int size = configHelper.getInt(ConfigConstants.ChatGuard.Context.SIZE);
+        int maxChannels = configHelper.getInt(ConfigConstants.ChatGuard.Context.MAX_CHANNELS);
+        int maxMessageLength = configHelper.getInt(ConfigConstants.ChatGuard.Context.MAX_MESSAGE_LENGTH);
+        if (previous != null && previous.hasSettings(size, maxChannels, maxMessageLength)) {
+            return previous;
+        }
+
+        return new ChatContextBuffer(size, maxChannels, maxMessageLength);
+    }
+
+    /**
+     * Adds the entries of a blocklist category to the patterns
+     *
+     * @param patterns     The patterns mapped to their classification flags
+     * @param configHelper The blocklist configuration
+     * @param path         The path of the category
+     * @param flag         The classification flag of the category
+     */
+    private void addBlocklistPatterns(@NotNull Map<String, Integer> patterns, @NotNull ConfigHelper configHelper, @NotNull String path, int flag) {
+        for (String entry : configHelper.getStringList(path)) {
+            patterns.merge(entry, flag, (a, b) -> a | b);
+        }
+    }
+
+    /**
+     * Retrieve the number of messages that were decided by the blocklist, each of them saved an API request
+     *
+     * @return The number of blocklist matches
+     */
+    public long getBlocklistMatches() {
+        return blocklistMatches.get();
+    }
+
+    /**
+     * Retrieve the number of messages that were decided by the local detectors without asking the AI
+     *
+     * @return The number of detector decisions
+     */
+    public long getDetectorDecisions() {
+        return detectorDecisions.get();
+    }
+
+    /**
+     * Retrieve the number of messages that reused the classification of a near-duplicate instead of asking the AI
+     *
+     * @return The number of reused classifications
+     */
+    public long getNearDuplicateReuses() {
+        return nearDuplicateReuses.get();
+    }
+
+    /**
+     * Retrieve the number of messages that were blocked as part of a spam wave
+     *
+     * @return The number of blocked messages
+     */
+    public long getSpamWaveBlocks() {
+        return spamWaveBlocks.get();
+    }
+
+    /**
+     * Retrieve the number of messages of trusted players that were classified in the background
+     *
+     * @return The number of messages
+     */
+    public long getTrustedInBackground() {
+        return trustedInBackground.get();
+    }
+
+    /**
+     * Retrieve the number of messages of trusted players that were only checked locally because they weren't sampled
+     *
+     * @return The number of messages
+     */
+    public long getTrustedLocally() {
+        return trustedLocally.get();
+    }
+
+    /**
+     * Retrieve the trust tracker
+     *
+     * @return The trust tracker, or {@code null} if trust scores are disabled
+     */
+    public @Nullable PlayerTrustTracker getPlayerTrustTracker() {
+        return playerTrustTracker;
+    }
+
+    /**
+     * Retrieve whether the near-duplicate detection is enabled
+     *
+     * @return {@code true} if near-duplicates are detected
+     */
+    public boolean isNearDuplicateDetectionEnabled() {
+        return compiled.nearDuplicateIndex() != null;
+    }
+
+    /**
+     * Computes the fingerprint of the configured AI model and system prompt
+     *
+     * @param configHelper The config
+     * @return The fingerprint
+     */
+    private static long getModelFingerprint(@NotNull ConfigHelper configHelper) {
+        return VerdictCache.fingerprint(configHelper.getString(ConfigConstants.API.MODEL), configHelper.getString(ConfigConstants.API.SYSTEM_PROMPT));
+    }
+
+    /**
+     * Retrieve the classification cache
+     *
+     * @return The cache, or {@code null} if the cache is disabled
+     */
+    public @Nullable VerdictCache getVerdictCache() {
+        return verdictCache;
+    }
+
+    /**
+     * Retrieve the persistent classification cache
+     *
+     * @return The persistent cache, or {@code null} if it is disabled
+     */
+    public @Nullable PersistentVerdictCache getPersistentVerdictCache() {
+        return persistentVerdictCache;
+    }
+
+    /**
+     * Applies the fail policy of the circuit breaker to a message that couldn't be classified because the API is
+     * unavailable
+     *
+     * @param player The player that sent the message, if known
+     * @return {@code true} if the message should be blocked, {@code false} if it should be allowed without moderation
+     */
+    public boolean blockWhileUnavailable(@Nullable Player player) {
+        ChatGuardPolicy policy = compiled.policy();
+        if (!policy.failClosed()) {
+            return false;
+        }
+
+        if (player != null) {
+            String chatGuardPrefix = policy.prefix();
+            player.sendMessage(chatGuardPrefix + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.ChatGuard.Player.MESSAGE_UNAVAILABLE));
+        }
+
+        return true;
+    }
+
+    /**
+     * Tells a player that their message was blocked because they have too many messages waiting for classification
+     *
+     * @param player The player that sent the message, if known
+     */
+    public void notifyQueueFull(@Nullable Player player) {
+        if (player != null) {
+            String chatGuardPrefix = compiled.policy().prefix();
+            player.sendMessage(chatGuardPrefix + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.ChatGuard.Player.TOO_MANY_MESSAGES));
+        }
+    }
+
+    /**
+     * Tells a player that their message was blocked because it is part of a wave of near-duplicate messages
+     *
+     * @param player The player that sent the message, if known
+     */
+    public void notifySpamWave(@Nullable Player player) {
+        if (player != null) {
+            String chatGuardPrefix = compiled.policy().prefix();
+            player.sendMessage(chatGuardPrefix + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.ChatGuard.Player.SPAM_WAVE));
+        }
     }
 
     /**
@@ -48,33 +751,35 @@ public class ChatGuardHelper {
      * @param blockOrCensor  Whether the message should be blocked ({@code true}) or censored ({@code false})
      */
     public void notifyAndStrikePlayer(@NotNull Player player, @NotNull String userMessage, @NotNull MessageClassification classification, boolean blockOrCensor) {
-        String chatGuardPrefix = (configHelper.getBoolean(ConfigConstants.ChatGuard.CustomPrefix.ENABLED) ? configHelper.getString(ConfigConstants.ChatGuard.CustomPrefix.FORMAT) + ChatColor.RESET + " " : LangConstants.PLUGIN_PREFIX);
+        ChatGuardPolicy policy = compiled.policy();
+        String chatGuardPrefix = policy.prefix();
 
         // Notify player if enabled
-        if (configHelper.getBoolean(ConfigConstants.ChatGuard.Notify.USER)) {
+        if (policy.notifyUser()) {
             // Debug logger message
             loggingHelper.debug("Notify player");
 
-            String playerMessage = chatGuardPrefix + configHelperLanguage.getString(blockOrCensor ? LangConstants.ChatGuard.Player.MESSAGE_BLOCKED : LangConstants.ChatGuard.Player.MESSAGE_CENSORED) + " " + ChatColor.RED + classification.reason();
+            String playerMessage = chatGuardPrefix + plugin.getConfigHelperLanguage().getString(blockOrCensor ? LangConstants.ChatGuard.Player.MESSAGE_BLOCKED : LangConstants.ChatGuard.Player.MESSAGE_CENSORED) + " " + ChatColor.RED + classification.reason();
             player.sendMessage(playerMessage);
         }
 
         // Notify online admins with the 'pixelchat.strike-notify' permission if enabled
-        if (configHelper.getBoolean(ConfigConstants.ChatGuard.Notify.ADMINS)) {
+        if (policy.notifyAdmins()) {
             // Debug logger message
             loggingHelper.debug("Notify online admins with the 'pixelchat.strike-notify' permission");
 
-            String adminMessage = chatGuardPrefix + configHelperLanguage.getString(blockOrCensor ? LangConstants.ChatGuard.Admin.MESSAGE_BLOCKED : LangConstants.ChatGuard.Admin.MESSAGE_CENSORED).replace("[message]", ChatColor.GRAY + userMessage + ChatColor.RESET).replace("[player]", ChatColor.RED + player.getName() + ChatColor.RESET) + " " + ChatColor.RED + classification.reason();
+            String adminMessage = chatGuardPrefix + plugin.getConfigHelperLanguage().getString(blockOrCensor ? LangConstants.ChatGuard.Admin.MESSAGE_BLOCKED : LangConstants.ChatGuard.Admin.MESSAGE_CENSORED).replace("[message]", ChatColor.GRAY + userMessage + ChatColor.RESET).replace("[player]", ChatColor.RED + player.getName() + ChatColor.RESET) + " " + ChatColor.RED + classification.reason();
 
+            PermissionCache permissionCache = plugin.getPermissionCache();
             Collection<? extends Player> onlinePlayers = Bukkit.getOnlinePlayers();
             for (Player admin : onlinePlayers) {
-                if (admin.hasPermission(PermissionConstants.Moderation.STRIKE_NOTIFY)) {
+                if (permissionCache.has(admin, PermissionCache.STRIKE_NOTIFY)) {
                     admin.sendMessage(adminMessage);
                 }
             }
         }
 
-        String loggerMessage = configHelperLanguage.getString(blockOrCensor ? LangConstants.ChatGuard.Admin.MESSAGE_BLOCKED : LangConstants.ChatGuard.Admin.MESSAGE_CENSORED).replace("[MESSAGE]", userMessage).replace("[PLAYER]", player.getName()) + " " + ChatColor.RED + classification.reason();
+        String loggerMessage = plugin.getConfigHelperLanguage().getString(blockOrCensor ? LangConstants.ChatGuard.Admin.MESSAGE_BLOCKED : LangConstants.ChatGuard.Admin.MESSAGE_CENSORED).replace("[MESSAGE]", userMessage).replace("[PLAYER]", player.getName()) + " " + ChatColor.RED + classification.reason();
 
         loggingHelper.info(loggerMessage);
 
@@ -82,10 +787,10 @@ public class ChatGuardHelper {
             return;
         }
 
-        if (configHelper.getBoolean(ConfigConstants.ChatGuard.StrikeSystem.ENABLED)) {
+        if (policy.strikeSystemEnabled()) {
             runStrikeSystem(player.getUniqueId(), player.getName(), classification.reason());
         } else {
-            executeCommand(configHelper.getString(ConfigConstants.ChatGuard.StrikeSystem.Commands.CUSTOM_STRIKE), player.getName(), classification.reason());
+            executeCommand(policy.customStrikeCommand(), player.getName(), classification.reason());
         }
     }
 
@@ -101,48 +806,23 @@ public class ChatGuardHelper {
         // Debug logger message
         loggingHelper.debug("Run strike system on " + playerName);
 
-        ConfigHelper configHelperPlayerStrikes = plugin.getConfigHelperPlayerStrikes();
-        String action = "NOTHING";
-
-        // Retrieve the player's current strike count
-        int strikes = configHelperPlayerStrikes.getInt(playerUUID + ".strikes");
-
-        // Increment the player's strike count
-        strikes++;
-
         // Get the thresholds for kick, temp ban, and permanent ban
-        int strikesToKick = configHelper.getInt(ConfigConstants.ChatGuard.StrikeSystem.Thresholds.KICK);
-        int strikesToTempBan = configHelper.getInt(ConfigConstants.ChatGuard.StrikeSystem.Thresholds.TEMP_BAN);
-        int strikesToBan = configHelper.getInt(ConfigConstants.ChatGuard.StrikeSystem.Thresholds.BAN);
-
-        // Check if the player has reached the threshold for punishment
-        if (strikes >= strikesToKick && strikes < strikesToTempBan) {
-            // Player has enough strikes to be kicked
-            executeCommand(configHelper.getString(ConfigConstants.ChatGuard.StrikeSystem.Commands.KICK), playerName, configHelperLanguage.getString(LangConstants.ChatGuard.Player.KICK) + " " + reason);
-            action = "KICK";
-        } else if (strikes >= strikesToTempBan && strikes < strikesToBan) {
-            // Player has enough strikes to be temporarily banned
-            executeCommand(plugin.getConfigHelper().getString(ConfigConstants.ChatGuard.StrikeSystem.Commands.TEMP_BAN), playerName, configHelperLanguage.getString(LangConstants.ChatGuard.Player.BAN_TEMPORARY) + " " + reason);
-            action = "TEMP-BAN";
-        } else if (strikes >= strikesToBan) {
-            // Player has enough strikes to be permanently banned
-            executeCommand(plugin.getConfigHelper().getString(ConfigConstants.ChatGuard.StrikeSystem.Commands.BAN), playerName, configHelperLanguage.getString(LangConstants.ChatGuard.Player.BAN_PERMANENT) + " " + reason);
-            action = "BAN";
-        }
-
-        // Save the player's name in case it hasn't been stored yet
-        configHelperPlayerStrikes.set(playerUUID + ".name", playerName);
-
-        // Save the player's strike count
-        configHelperPlayerStrikes.set(playerUUID + ".strikes", strikes);
-
-        // Get the current date and time
-        String currentDate = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-
-        // Create a new strike entry with reason and date in the strike history
-        String strikePath = playerUUID + ".strikeHistory." + currentDate;
-        configHelperPlayerStrikes.set(strikePath + ".reason", reason);
-        configHelperPlayerStrikes.set(strikePath + ".action", action);
+        ChatGuardPolicy policy = compiled.policy();
+
+        // Increment the player's strike count and decide the punishment for the new count in one atomic step, so
+        // strikes the player gets at the same time can't read the same count, and save the player's name and a new
+        // entry in their strike history, the storage is written in the background
+        int strikes = plugin.getStrikeRepository().addStrike(playerUUID, playerName, reason, policy::strikeAction);
+
+        // Punish the player for the threshold the new strike count has reached
+        switch (policy.strikeAction(strikes)) {
+            case "KICK" -> executeCommand(policy.kickCommand(), playerName, plugin.getConfigHelperLanguage().getString(LangConstants.ChatGuard.Player.KICK) + " " + reason);
+            case "TEMP-BAN" -> executeCommand(policy.tempBanCommand(), playerName, plugin.getConfigHelperLanguage().getString(LangConstants.ChatGuard.Player.BAN_TEMPORARY) + " " + reason);
+            case "BAN" -> executeCommand(policy.banCommand(), playerName, plugin.getConfigHelperLanguage().getString(LangConstants.ChatGuard.Player.BAN_PERMANENT) + " " + reason);
+            default -> {
+                // The new strike count doesn't reach a threshold
+            }
+        }
 
         // Log the new strike count for debugging
         loggingHelper.info(playerName + " got a Strike for " + reason + " and now has " + strikes + " " + "strike(s)");
@@ -175,15 +855,30 @@ public class ChatGuardHelper {
      * by the message
      */
     public boolean messageMatchesEnabledRule(@NotNull MessageClassification classification) {
-        boolean blockOffensiveLanguage = configHelper.getBoolean(ConfigConstants.ChatGuard.Rules.BLOCK_OFFENSIVE_LANGUAGE);
-        boolean blockUsernames = configHelper.getBoolean(ConfigConstants.ChatGuard.Rules.BLOCK_USERNAMES);
-        boolean blockPasswords = configHelper.getBoolean(ConfigConstants.ChatGuard.Rules.BLOCK_PASSWORDS);
-        boolean blockHomeAddresses = configHelper.getBoolean(ConfigConstants.ChatGuard.Rules.BLOCK_HOME_ADDRESSES);
-        boolean blockEmailAddresses = configHelper.getBoolean(ConfigConstants.ChatGuard.Rules.BLOCK_EMAIL_ADDRESSES);
-        boolean blockWebsites = configHelper.getBoolean(ConfigConstants.ChatGuard.Rules.BLOCK_WEBSITES);
-        boolean blockSexualContent = configHelper.getBoolean(ConfigConstants.ChatGuard.Rules.BLOCK_SEXUAL_CONTENT);
+        return compiled.policy().matches(classification);
+    }
 
+    /**
+     * Retrieve the compiled ChatGuard settings
+     *
+     * @return The policy, replaced as a whole on reload
+     */
+    public @NotNull ChatGuardPolicy getPolicy() {
+        return compiled.policy();
+    }
 
-        return blockOffensiveLanguage && classification.isOffensiveLanguage() || blockUsernames && classification.isUsername() || blockPasswords && classification.isPassword() || blockHomeAddresses && classification.isHomeAddress() || blockEmailAddresses && classification.isEmailAddress() || blockWebsites && classification.isWebsite() || blockSexualContent && classification.isSexualContent();
+    /**
+     * Everything ChatGuard reads for every message, compiled from the configuration and replaced as a whole on reload
+     *
+     * @param policy             The ChatGuard settings
+     * @param blocklistMatcher   The blocklist, or {@code null} if it is disabled or empty
+     * @param piiDetector        The local personal information detectors, or {@code null} if they are disabled
+     * @param nearDuplicateIndex The index of recent messages, or {@code null} if the near-duplicate detection is disabled
+     * @param chatContextBuffer  The last messages per channel, or {@code null} if the conversation context is disabled
+     * @param modelFingerprint   The fingerprint of the AI model and system prompt the classifications belong to
+     */
+    private record Compiled(@NotNull ChatGuardPolicy policy, @Nullable BlocklistMatcher blocklistMatcher,
+                            @Nullable PIIDetector piiDetector, @Nullable NearDuplicateIndex nearDuplicateIndex,
+                            @Nullable ChatContextBuffer chatContextBuffer, long modelFingerprint) {
     }
 }
\ No newline at end of file
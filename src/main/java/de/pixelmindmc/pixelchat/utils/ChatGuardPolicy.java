@@ -0,0 +1,130 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.utils;
+
+import de.pixelmindmc.pixelchat.constants.ConfigConstants;
+import de.pixelmindmc.pixelchat.constants.LangConstants;
+import de.pixelmindmc.pixelchat.model.MessageClassification;
+import org.bukkit.ChatColor;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An immutable snapshot of the ChatGuard settings that are read for every moderated message
+ * The snapshot is compiled from the config once and replaced as a whole on reload, so a message is always handled
+ * with one consistent set of settings
+ *
+ * @param ruleFlags           The enabled block rules as {@link MessageClassification} flags
+ * @param blockMessages       Whether violating messages are blocked ({@code true}) or censored ({@code false})
+ * @param prefix              The prefix of the messages ChatGuard sends to players
+ * @param notifyUser          Whether players are told that their message was blocked
+ * @param notifyAdmins        Whether admins are told about blocked messages
+ * @param strikeSystemEnabled Whether the built-in strike system is used instead of the custom strike command
+ * @param customStrikeCommand The command that is run for offensive messages without the built-in strike system
+ * @param kickThreshold       The number of strikes from which a player is kicked
+ * @param tempBanThreshold    The number of strikes from which a player is banned temporarily
+ * @param banThreshold        The number of strikes from which a player is banned permanently
+ * @param kickCommand         The command that kicks a player
+ * @param tempBanCommand      The command that bans a player temporarily
+ * @param banCommand          The command that bans a player permanently
+ * @param spamThreshold       The number of near-duplicates from which messages are blocked as spam, 0 to disable
+ * @param trustMaxStrikes     The maximum number of strikes a trusted player may have
+ * @param trustedPlaytime     The playtime in minutes from which the playtime counts fully towards the trust score
+ * @param trustMinMessages    The number of classified messages a player needs before they can be trusted
+ * @param trustThreshold      The trust score in percent from which a player is trusted
+ * @param trustSample         Whether messages of trusted players are sampled instead of checked in the background
+ * @param trustSampleRate     The percentage of messages of trusted players that are sampled
+ * @param optimisticDelivery  Whether messages of permitted players are delivered before they are classified
+ * @param retroactiveAction   The action for delivered messages that violate a rule, in upper case
+ * @param muteDuration        The number of seconds a player is muted by the retroactive action
+ * @param contextScope        What the conversation context is grouped by, in upper case
+ * @param contextMessages     The number of context messages sent with a message
+ * @param failClosed          Whether messages are blocked while the API is unavailable
+ */
+public record ChatGuardPolicy(int ruleFlags, boolean blockMessages, @NotNull String prefix, boolean notifyUser,
+                              boolean notifyAdmins, boolean strikeSystemEnabled, @NotNull String customStrikeCommand,
+                              int kickThreshold, int tempBanThreshold, int banThreshold, @NotNull String kickCommand,
+                              @NotNull String tempBanCommand, @NotNull String banCommand, int spamThreshold,
+                              int trustMaxStrikes, long trustedPlaytime, int trustMinMessages, int trustThreshold,
+                              boolean trustSample, int trustSampleRate, boolean optimisticDelivery,
+                              @NotNull String retroactiveAction,
+                              int muteDuration, @NotNull String contextScope, int contextMessages,
+                              boolean failClosed) {
+    /**
+     * Compiles the ChatGuard settings of the config into a policy
+     *
+     * @param configHelper The config
+     * @return The policy
+     */
+    public static @NotNull ChatGuardPolicy compile(@NotNull ConfigHelper configHelper) {
+        String prefix = configHelper.getBoolean(ConfigConstants.ChatGuard.CustomPrefix.ENABLED) ? configHelper.getString(ConfigConstants.ChatGuard.CustomPrefix.FORMAT) + ChatColor.RESET + " " : LangConstants.PLUGIN_PREFIX;
+
+        return new ChatGuardPolicy(compileRuleFlags(configHelper), configHelper.getString(ConfigConstants.ChatGuard.MESSAGE_HANDLING).equals("BLOCK"), prefix, configHelper.getBoolean(ConfigConstants.ChatGuard.Notify.USER), configHelper.getBoolean(ConfigConstants.ChatGuard.Notify.ADMINS), configHelper.getBoolean(ConfigConstants.ChatGuard.StrikeSystem.ENABLED), configHelper.getString(ConfigConstants.ChatGuard.StrikeSystem.Commands.CUSTOM_STRIKE), configHelper.getInt(ConfigConstants.ChatGuard.StrikeSystem.Thresholds.KICK), configHelper.getInt(ConfigConstants.ChatGuard.StrikeSystem.Thresholds.TEMP_BAN), configHelper.getInt(ConfigConstants.ChatGuard.StrikeSystem.Thresholds.BAN), configHelper.getString(ConfigConstants.ChatGuard.StrikeSystem.Commands.KICK), configHelper.getString(ConfigConstants.ChatGuard.StrikeSystem.Commands.TEMP_BAN), configHelper.getString(ConfigConstants.ChatGuard.StrikeSystem.Commands.BAN), configHelper.getInt(ConfigConstants.ChatGuard.NearDuplicates.SPAM_THRESHOLD), configHelper.getInt(ConfigConstants.ChatGuard.Trust.MAX_STRIKES), configHelper.getInt(ConfigConstants.ChatGuard.Trust.PLAYTIME) * 60L, configHelper.getInt(ConfigConstants.ChatGuard.Trust.MIN_MESSAGES), configHelper.getInt(ConfigConstants.ChatGuard.Trust.THRESHOLD), configHelper.getString(ConfigConstants.ChatGuard.Trust.MODE).equalsIgnoreCase("SAMPLE"), configHelper.getInt(ConfigConstants.ChatGuard.Trust.SAMPLE_RATE), configHelper.getBoolean(ConfigConstants.ChatGuard.OptimisticDelivery.ENABLED), configHelper.getString(ConfigConstants.ChatGuard.OptimisticDelivery.RETROACTIVE_ACTION).toUpperCase(), configHelper.getInt(ConfigConstants.ChatGuard.OptimisticDelivery.MUTE_DURATION), configHelper.getString(ConfigConstants.ChatGuard.Context.SCOPE).toUpperCase(), configHelper.getInt(ConfigConstants.ChatGuard.Context.MESSAGES), configHelper.getString(ConfigConstants.API.CircuitBreaker.FAIL_POLICY).equalsIgnoreCase("CLOSED"));
+    }
+
+    /**
+     * Compiles the enabled block rules into {@link MessageClassification} flags
+     *
+     * @param configHelper The config
+     * @return The flags of all enabled block rules
+     */
+    private static int compileRuleFlags(@NotNull ConfigHelper configHelper) {
+        int flags = 0;
+
+        if (configHelper.getBoolean(ConfigConstants.ChatGuard.Rules.BLOCK_OFFENSIVE_LANGUAGE)) {
+            flags |= MessageClassification.OFFENSIVE_LANGUAGE;
+        }
+        if (configHelper.getBoolean(ConfigConstants.ChatGuard.Rules.BLOCK_USERNAMES)) {
+            flags |= MessageClassification.USERNAME;
+        }
+        if (configHelper.getBoolean(ConfigConstants.ChatGuard.Rules.BLOCK_PASSWORDS)) {
+            flags |= MessageClassification.PASSWORD;
+        }
+        if (configHelper.getBoolean(ConfigConstants.ChatGuard.Rules.BLOCK_HOME_ADDRESSES)) {
+            flags |= MessageClassification.HOME_ADDRESS;
+        }
+        if (configHelper.getBoolean(ConfigConstants.ChatGuard.Rules.BLOCK_EMAIL_ADDRESSES)) {
+            flags |= MessageClassification.EMAIL_ADDRESS;
+        }
+        if (configHelper.getBoolean(ConfigConstants.ChatGuard.Rules.BLOCK_WEBSITES)) {
+            flags |= MessageClassification.WEBSITE;
+        }
+        if (configHelper.getBoolean(ConfigConstants.ChatGuard.Rules.BLOCK_SEXUAL_CONTENT)) {
+            flags |= MessageClassification.SEXUAL_CONTENT;
+        }
+
+        return flags;
+    }
+
+    /**
+     * Checks whether a classification violates an enabled block rule
+     *
+     * @param classification The classification of the message
+     * @return {@code true} if the message violates an enabled block rule
+     */
+    public boolean matches(@NotNull MessageClassification classification) {
+        return (classification.flags() & ruleFlags) != 0;
+    }
+
+    /**
+     * Decides the punishment for a strike count of the built-in strike system
+     * Only the strike that reaches a threshold is punished, so every punishment is executed once until the strikes of
+     * the player are reset
+     *
+     * @param strikes The number of strikes the player has with the new strike
+     * @return "KICK", "TEMP-BAN", "BAN" or "NOTHING" if the strike doesn't reach a threshold
+     */
+    public @NotNull String strikeAction(int strikes) {
+        if (strikes == banThreshold) {
+            return "BAN";
+        } else if (strikes == tempBanThreshold) {
+            return "TEMP-BAN";
+        } else if (strikes == kickThreshold) {
+            return "KICK";
+        }
+
+        return "NOTHING";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,202 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A circuit breaker that stops requests to the API while most of them fail
+ * The outcomes of the last requests are kept in a ring, once their failure rate reaches the threshold the breaker
+ * opens and rejects all requests. After the open duration a single trial request is let through, which closes the
+ * breaker again on success
+ */
+public class CircuitBreaker {
+    private final @NotNull LoggingHelper loggingHelper;
+    private final boolean[] outcomes;
+    private final int minimumRequests;
+    private final int failureRateThreshold;
+    private final long openDurationNanos;
+
+    private @NotNull State state = State.CLOSED;
+    private int position;
+    private int recorded;
+    private int failures;
+    private long openedAt;
+    private boolean trialInFlight;
+    private long rejected;
+
+    /**
+     * Constructs a CircuitBreaker object
+     *
+     * @param loggingHelper        The logging helper used to report state transitions
+     * @param windowSize           The number of recent requests the failure rate is computed over
+     * @param minimumRequests      The number of requests needed before the breaker can open
+     * @param failureRateThreshold The failure rate in percent at which the breaker opens
+     * @param openDuration         The number of seconds the breaker stays open before a trial request is let through
+     */
+    public CircuitBreaker(@NotNull LoggingHelper loggingHelper, int windowSize, int minimumRequests, int failureRateThreshold, int openDuration) {
+        this.loggingHelper = loggingHelper;
+        this.outcomes = new boolean[Math.max(1, windowSize)];
+        this.minimumRequests = Math.max(1, Math.min(minimumRequests, outcomes.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = TimeUnit.SECONDS.toNanos(openDuration);
+    }
+
+    /**
+     * Asks the breaker for permission to send a request
+     *
+     * @return {@code true} if the request may be sent, {@code false} if it has to fail fast
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openDurationNanos) {
+            transition(State.HALF_OPEN);
+        }
+
+        if (state == State.CLOSED) {
+            return true;
+        }
+
+        if (state == State.HALF_OPEN && !trialInFlight) {
+            trialInFlight = true;
+            return true;
+        }
+
+        rejected++;
+        return false;
+    }
+
+    /**
+     * Checks whether the breaker would currently let a request through, without taking the trial request
+     * This is only a probe for routing, requests are counted as rejected by {@link #tryAcquire()}
+     *
+     * @return {@code true} if a request may be sent, {@code false} if the breaker is open
+     */
+    public synchronized boolean isAvailable() {
+        return state == State.CLOSED || state == State.OPEN && System.nanoTime() - openedAt >= openDurationNanos || state == State.HALF_OPEN && !trialInFlight;
+    }
+
+    /**
+     * Records a successful request
+     */
+    public synchronized void recordSuccess() {
+        if (state == State.HALF_OPEN) {
+            transition(State.CLOSED);
+            return;
+        }
+
+        record(false);
+    }
+
+    /**
+     * Gives back the permission of a request whose outcome says nothing about the health of the API, like a rate limited
+     * request or one that couldn't be sent at all
+     * Neither a success nor a failure is recorded, but the trial request is freed again if the breaker is half open
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+        }
+    }
+
+    /**
+     * Records a failed request
+     */
+    public synchronized void recordFailure() {
+        if (state == State.HALF_OPEN) {
+            transition(State.OPEN);
+            return;
+        }
+
+        record(true);
+
+        if (state == State.CLOSED && recorded >= minimumRequests && getFailureRate() >= failureRateThreshold) {
+            transition(State.OPEN);
+        }
+    }
+
+    /**
+     * Adds the outcome of a request to the ring of recent outcomes, replacing the oldest one once the ring is full
+     *
+     * @param failure {@code true} if the request failed
+     */
+    private void record(boolean failure) {
+        if (recorded == outcomes.length) {
+            if (outcomes[position]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+
+        outcomes[position] = failure;
+        if (failure) {
+            failures++;
+        }
+        position = (position + 1) % outcomes.length;
+    }
+
+    /**
+     * Changes the state of the breaker and logs the change
+     * Opening starts the open duration, closing clears the recorded outcomes, every change frees the trial request
+     *
+     * @param newState The new state
+     */
+    private void transition(@NotNull State newState) {
+        State oldState = state;
+        state = newState;
+        trialInFlight = false;
+
+        switch (newState) {
+            case OPEN -> {
+                openedAt = System.nanoTime();
+                loggingHelper.warning("API circuit breaker changed from " + oldState + " to OPEN, requests fail fast for " + TimeUnit.NANOSECONDS.toSeconds(openDurationNanos) + " seconds");
+            }
+            case HALF_OPEN -> loggingHelper.info("API circuit breaker changed from " + oldState + " to HALF_OPEN, sending a trial request");
+            case CLOSED -> {
+                position = 0;
+                recorded = 0;
+                failures = 0;
+                loggingHelper.info("API circuit breaker changed from " + oldState + " to CLOSED, the API is reachable again");
+            }
+        }
+    }
+
+    /**
+     * Retrieve the current state of the breaker
+     *
+     * @return The state
+     */
+    public synchronized @NotNull State getState() {
+        return state;
+    }
+
+    /**
+     * Retrieve the failure rate of the recent requests
+     *
+     * @return The failure rate in percent
+     */
+    public synchronized int getFailureRate() {
+        return recorded == 0 ? 0 : failures * 100 / recorded;
+    }
+
+    /**
+     * Retrieve the number of requests that were rejected while the breaker was open
+     *
+     * @return The number of rejected requests
+     */
+    public synchronized long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * The states of a circuit breaker
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+}
\ No newline at end of file
@@ -0,0 +1,289 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.utils;
+
+import de.pixelmindmc.pixelchat.exceptions.MessageClassificationException;
+import de.pixelmindmc.pixelchat.model.ClassificationRequest;
+import de.pixelmindmc.pixelchat.model.MessageClassification;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Collects chat messages for a short time window and classifies them together in a single API request
+ */
+public class ClassificationBatcher {
+    private final @NotNull LoggingHelper loggingHelper;
+    private final @NotNull Function<List<ClassificationRequest>, CompletableFuture<List<MessageClassification>>> batchClassifier;
+    private final @NotNull Function<ClassificationRequest, CompletableFuture<MessageClassification>> singleClassifier;
+    private final long windowMillis;
+    private final int maxSize;
+    private final boolean fallbackToSingle;
+
+    private final @NotNull ScheduledExecutorService scheduler;
+    private final @NotNull Object lock = new Object();
+    private @NotNull List<PendingMessage> pending = new ArrayList<>();
+    private @Nullable ScheduledFuture<?> flushTask;
+
+    // Metrics
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong messageCount = new AtomicLong();
+    private final AtomicLong fallbackCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    /**
+     * Constructs a ClassificationBatcher object
+     *
+     * @param loggingHelper    The logging helper
+     * @param batchClassifier  Classifies a list of messages in one request, the resulting list contains {@code null}
+     *                         for every message the response had no readable result for
+     * @param singleClassifier Classifies a single message in its own request
+     * @param windowMillis     The maximum time in milliseconds a message waits for its batch to fill up
+     * @param maxSize          The maximum number of messages per batch
+     * @param fallbackToSingle Whether messages without a readable batch result are classified one by one
+     */
+    public ClassificationBatcher(@NotNull LoggingHelper loggingHelper, @NotNull Function<List<ClassificationRequest>, CompletableFuture<List<MessageClassification>>> batchClassifier, @NotNull Function<ClassificationRequest, CompletableFuture<MessageClassification>> singleClassifier, long windowMillis, int maxSize, boolean fallbackToSingle) {
+        this.loggingHelper = loggingHelper;
+        this.batchClassifier = batchClassifier;
+        this.singleClassifier = singleClassifier;
+        this.windowMillis = Math.max(1, windowMillis);
+        this.maxSize = Math.max(1, maxSize);
+        this.fallbackToSingle = fallbackToSingle;
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "PixelChat-Batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Adds a message to the current batch
+     *
+     * @param request The message to classify and its context
+     * @return A future that completes with the classification of this message
+     */
+    public @NotNull CompletableFuture<MessageClassification> submit(@NotNull ClassificationRequest request) {
+        PendingMessage pendingMessage = new PendingMessage(request, System.nanoTime(), new CompletableFuture<>());
+        List<PendingMessage> fullBatch = null;
+
+        synchronized (lock) {
+            pending.add(pendingMessage);
+            if (pending.size() >= maxSize) {
+                fullBatch = drain();
+            } else if (pending.size() == 1) {
+                flushTask = scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (fullBatch != null) {
+            dispatch(fullBatch);
+        }
+
+        return pendingMessage.future();
+    }
+
+    /**
+     * Sends the current batch once its time window has passed
+     */
+    private void flush() {
+        List<PendingMessage> batch;
+        synchronized (lock) {
+            batch = drain();
+        }
+
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    /**
+     * Takes all pending messages out of the current batch, must be called while holding the lock
+     *
+     * @return The pending messages
+     */
+    private @NotNull List<PendingMessage> drain() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+
+        List<PendingMessage> batch = pending;
+        pending = new ArrayList<>(maxSize);
+        return batch;
+    }
+
+    /**
+     * Sends a batch to the API and hands the results back to the waiting messages
+     *
+     * @param batch The messages of the batch
+     */
+    private void dispatch(@NotNull List<PendingMessage> batch) {
+        recordBatch(batch);
+
+        // A single message doesn't need the batch format
+        if (batch.size() == 1) {
+            PendingMessage pendingMessage = batch.get(0);
+            forward(singleClassifier.apply(pendingMessage.request()), pendingMessage.future());
+            return;
+        }
+
+        List<ClassificationRequest> requests = new ArrayList<>(batch.size());
+        for (PendingMessage pendingMessage : batch) {
+            requests.add(pendingMessage.request());
+        }
+
+        batchClassifier.apply(requests).whenComplete((classifications, throwable) -> {
+            if (throwable != null) {
+                Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+                for (PendingMessage pendingMessage : batch) {
+                    pendingMessage.future().completeExceptionally(cause);
+                }
+                return;
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                PendingMessage pendingMessage = batch.get(i);
+                MessageClassification classification = i < classifications.size() ? classifications.get(i) : null;
+
+                if (classification != null) {
+                    pendingMessage.future().complete(classification);
+                } else if (fallbackToSingle) {
+                    fallbackCount.incrementAndGet();
+                    forward(singleClassifier.apply(pendingMessage.request()), pendingMessage.future());
+                } else {
+                    pendingMessage.future().completeExceptionally(new MessageClassificationException("No classification for the message in the batched response."));
+                }
+            }
+        });
+    }
+
+    /**
+     * Completes the target future with the outcome of the source future
+     *
+     * @param source The future to read the outcome from
+     * @param target The future to complete
+     */
+    private void forward(@NotNull CompletableFuture<MessageClassification> source, @NotNull CompletableFuture<MessageClassification> target) {
+        source.whenComplete((classification, throwable) -> {
+            if (throwable != null) {
+                target.completeExceptionally(throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+            } else {
+                target.complete(classification);
+            }
+        });
+    }
+
+    /**
+     * Updates the batch size and wait time metrics
+     *
+     * @param batch The batch that is about to be sent
+     */
+    private void recordBatch(@NotNull List<PendingMessage> batch) {
+        long now = System.nanoTime();
+        long batchWaitNanos = 0;
+        for (PendingMessage pendingMessage : batch) {
+            long waitNanos = now - pendingMessage.enqueuedAt();
+            batchWaitNanos += waitNanos;
+            maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        }
+
+        batchCount.incrementAndGet();
+        messageCount.addAndGet(batch.size());
+        totalWaitNanos.addAndGet(batchWaitNanos);
+
+        // Debug logger message
+        loggingHelper.debug("Sending batch of " + batch.size() + " message(s)");
+    }
+
+    /**
+     * Checks whether a batch is collecting messages, the next message then joins it instead of starting a new request
+     *
+     * @return {@code true} if a batch is waiting for more messages
+     */
+    public boolean hasOpenBatch() {
+        synchronized (lock) {
+            return !pending.isEmpty();
+        }
+    }
+
+    /**
+     * Retrieve the number of batches sent so far
+     *
+     * @return The number of batches
+     */
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    /**
+     * Retrieve the average number of messages per batch
+     *
+     * @return The average batch size, or 0 if no batch has been sent yet
+     */
+    public double getAverageBatchSize() {
+        long batches = batchCount.get();
+        return batches == 0 ? 0 : (double) messageCount.get() / batches;
+    }
+
+    /**
+     * Retrieve the average time a message waited for its batch to be sent
+     *
+     * @return The average wait time in milliseconds
+     */
+    public double getAverageWaitMillis() {
+        long messages = messageCount.get();
+        return messages == 0 ? 0 : totalWaitNanos.get() / 1_000_000.0 / messages;
+    }
+
+    /**
+     * Retrieve the longest time a message waited for its batch to be sent
+     *
+     * @return The maximum wait time in milliseconds
+     */
+    public double getMaxWaitMillis() {
+        return maxWaitNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Retrieve the number of messages that had to be classified one by one after a batch
+     *
+     * @return The number of fallback classifications
+     */
+    public long getFallbackCount() {
+        return fallbackCount.get();
+    }
+
+    /**
+     * Sends the messages that are still waiting and stops the batch timer
+     */
+    public void shutdown() {
+        flush();
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * A message waiting for its batch to be sent
+     *
+     * @param request    The message to classify and its context
+     * @param enqueuedAt The {@link System#nanoTime()} at which the message was added
+     * @param future     The future to complete with the classification
+     */
+    private record PendingMessage(@NotNull ClassificationRequest request, long enqueuedAt,
+                                  @NotNull CompletableFuture<MessageClassification> future) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,413 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import de.pixelmindmc.pixelchat.constants.APIConstants;
+import de.pixelmindmc.pixelchat.model.ClassificationRequest;
+import de.pixelmindmc.pixelchat.model.MessageClassification;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Encodes classification requests and decodes the answers of the AI without building intermediate JSON trees
+ * Everything of a request except the player message is encoded once when the codec is created, a request only
+ * escapes the message into a single exactly sized byte array. Responses are decoded in a single streaming pass over
+ * the envelope and one over the content of the answer
+ */
+public final class ClassificationCodec {
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SUFFIX = "\"}]}".getBytes(StandardCharsets.US_ASCII);
+    private static final String NO_REASON = "No reason provided";
+    // Same estimate as the rate limiter uses, about four characters per token
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private final byte[] prefix;
+    private final byte[] batchPrefix;
+    private final byte[] contextPrefix;
+    private final byte[] contextBatchPrefix;
+
+    /**
+     * Constructs a ClassificationCodec object
+     *
+     * @param aiModel      The AI model
+     * @param systemPrompt The system prompt
+     * @param language     The language the reasons are translated to
+     */
+    public ClassificationCodec(@NotNull String aiModel, @NotNull String systemPrompt, @NotNull String language) {
+        this.prefix = encodePrefix(aiModel, systemPrompt + "Language: " + language);
+        this.batchPrefix = encodePrefix(aiModel, systemPrompt + APIConstants.Batching.PROMPT + "Language: " + language);
+        this.contextPrefix = encodePrefix(aiModel, systemPrompt + APIConstants.Context.PROMPT + "Language: " + language);
+        this.contextBatchPrefix = encodePrefix(aiModel, systemPrompt + APIConstants.Batching.PROMPT + APIConstants.Context.PROMPT + "Language: " + language);
+    }
+
+    /**
+     * Encodes everything of a request that comes before the user message
+     */
+    private static byte[] encodePrefix(@NotNull String aiModel, @NotNull String systemPrompt) {
+        Gson gson = new Gson();
+        return ("{\"model\":" + gson.toJson(aiModel) + ",\"response_format\":{\"type\":\"json_object\"},\"messages\":[{\"role\":\"system\",\"" + APIConstants.General.CONTENT + "\":" + gson.toJson(systemPrompt) + "},{\"role\":\"user\",\"" + APIConstants.General.CONTENT + "\":\"").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Encodes the request body for the classification of a single message with the chat messages sent before it
+     * The context is cut from the oldest message on so that the user content stays within the token budget, without
+     * any context that fits the plain single message format is used
+     *
+     * @param request   The message to classify and its context
+     * @param maxTokens The maximum number of estimated tokens of the user content
+     * @return The UTF-8 encoded JSON request body
+     */
+    public byte @NotNull [] encodeRequest(@NotNull ClassificationRequest request, int maxTokens) {
+        int contextStart = fitContext(request, maxTokens * CHARS_PER_TOKEN - request.message().length());
+        if (contextStart == request.context().size()) {
+            return encode(prefix, request.message());
+        }
+
+        StringBuilder content = new StringBuilder(request.message().length() + 256);
+        appendEntry(content, request, contextStart, -1);
+        return encode(contextPrefix, content);
+    }
+
+    /**
+     * Encodes the request body for the classification of several messages with the chat messages sent before them
+     * The token budget is split evenly between the messages, each message's context is cut to its share
+     *
+     * @param requests  The messages to classify and their context
+     * @param maxTokens The maximum number of estimated tokens of the user content
+     * @return The UTF-8 encoded JSON request body
+     */
+    public byte @NotNull [] encodeBatchRequest(@NotNull List<ClassificationRequest> requests, int maxTokens) {
+        int share = requests.isEmpty() ? 0 : maxTokens * CHARS_PER_TOKEN / requests.size();
+        boolean withContext = false;
+
+        StringBuilder batch = new StringBuilder(requests.size() * 128);
+        batch.append('[');
+        for (int i = 0; i < requests.size(); i++) {
+            if (i > 0) {
+                batch.append(',');
+            }
+
+            ClassificationRequest request = requests.get(i);
+            int contextStart = fitContext(request, share - request.message().length());
+            withContext |= contextStart < request.context().size();
+            appendEntry(batch, request, contextStart, i);
+        }
+        batch.append(']');
+
+        return encode(withContext ? contextBatchPrefix : batchPrefix, batch);
+    }
+
+    /**
+     * Finds the oldest context message from which on all newer context messages fit into the remaining budget
+     *
+     * @param request The message to classify and its context
+     * @param budget  The number of characters left for the context
+     * @return The index of the first context message to send, the size of the context if none fits
+     */
+    private static int fitContext(@NotNull ClassificationRequest request, int budget) {
+        List<String> context = request.context();
+        int start = context.size();
+
+        // Quotes and the separating comma of each line
+        while (start > 0 && context.get(start - 1).length() + 3 <= budget) {
+            budget -= context.get(start - 1).length() + 3;
+            start--;
+        }
+
+        return start;
+    }
+
+    /**
+     * Appends a JSON object with the context from the given index on and the message
+     *
+     * @param builder      The builder to append to
+     * @param request      The message to classify and its context
+     * @param contextStart The index of the first context message to append
+     * @param id           The id of the message in the batch, or -1 for single requests
+     */
+    private static void appendEntry(@NotNull StringBuilder builder, @NotNull ClassificationRequest request, int contextStart, int id) {
+        builder.append('{');
+        if (id >= 0) {
+            builder.append('"').append(APIConstants.General.ID).append("\":").append(id).append(',');
+        }
+
+        List<String> context = request.context();
+        if (contextStart < context.size()) {
+            builder.append('"').append(APIConstants.General.CONTEXT).append("\":[");
+            for (int i = contextStart; i < context.size(); i++) {
+                if (i > contextStart) {
+                    builder.append(',');
+                }
+                builder.append('"');
+                appendEscaped(builder, context.get(i));
+                builder.append('"');
+            }
+            builder.append("],");
+        }
+
+        builder.append('"').append(APIConstants.General.MESSAGE).append("\":\"");
+        appendEscaped(builder, request.message());
+        builder.append("\"}");
+    }
+
+    /**
+     * Writes the prefix, the JSON-escaped UTF-8 bytes of the content and the suffix into one exactly sized array
+     */
+    private static byte @NotNull [] encode(byte @NotNull [] prefix, @NotNull CharSequence content) {
+        byte[] body = new byte[prefix.length + escapedLength(content) + SUFFIX.length];
+        System.arraycopy(prefix, 0, body, 0, prefix.length);
+
+        int position = prefix.length;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+
+            if (c == '"' || c == '\\') {
+                body[position++] = '\\';
+                body[position++] = (byte) c;
+            } else if (c < 0x20) {
+                position = writeControlCharacter(body, position, c);
+            } else if (c < 0x80) {
+                body[position++] = (byte) c;
+            } else if (c < 0x800) {
+                body[position++] = (byte) (0xC0 | c >> 6);
+                body[position++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < content.length() && Character.isLowSurrogate(content.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, content.charAt(++i));
+                body[position++] = (byte) (0xF0 | codePoint >> 18);
+                body[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                body[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                body[position++] = (byte) (0x80 | codePoint & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogates can't be encoded
+                body[position++] = '?';
+            } else {
+                body[position++] = (byte) (0xE0 | c >> 12);
+                body[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                body[position++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+
+        System.arraycopy(SUFFIX, 0, body, position, SUFFIX.length);
+        return body;
+    }
+
+    /**
+     * Computes the number of bytes the content takes when JSON-escaped and UTF-8 encoded
+     */
+    private static int escapedLength(@NotNull CharSequence content) {
+        int length = 0;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+
+            if (c == '"' || c == '\\') {
+                length += 2;
+            } else if (c < 0x20) {
+                length += c == '\n' || c == '\r' || c == '\t' || c == '\b' || c == '\f' ? 2 : 6;
+            } else if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < content.length() && Character.isLowSurrogate(content.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length++;
+            } else {
+                length += 3;
+            }
+        }
+
+        return length;
+    }
+
+    private static int writeControlCharacter(byte @NotNull [] body, int position, char c) {
+        body[position++] = '\\';
+        switch (c) {
+            case '\n' -> body[position++] = 'n';
+            case '\r' -> body[position++] = 'r';
+            case '\t' -> body[position++] = 't';
+            case '\b' -> body[position++] = 'b';
+            case '\f' -> body[position++] = 'f';
+            default -> {
+                body[position++] = 'u';
+                body[position++] = '0';
+                body[position++] = '0';
+                body[position++] = HEX[c >> 4];
+                body[position++] = HEX[c & 0xF];
+            }
+        }
+
+        return position;
+    }
+
+    private static void appendEscaped(@NotNull StringBuilder builder, @NotNull String message) {
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < 0x20) {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+    }
+
+    /**
+     * Decodes the classification of a single message from the JSON response of the API
+     *
+     * @param jsonResponse The raw JSON response
+     * @return The classification
+     * @throws IOException If the response isn't valid JSON or contains no answer
+     */
+    public static @NotNull MessageClassification decodeClassification(@NotNull String jsonResponse) throws IOException {
+        try (JsonReader reader = new JsonReader(new StringReader(readContent(jsonResponse)))) {
+            return readClassification(reader, null);
+        }
+    }
+
+    /**
+     * Decodes the classifications of a batch from the JSON response of the API
+     *
+     * @param jsonResponse The raw JSON response
+     * @param batchSize    The number of messages in the batch
+     * @return One classification per message, {@code null} for every message without a result
+     * @throws IOException If the response isn't valid JSON or contains no answer
+     */
+    public static @NotNull List<MessageClassification> decodeBatch(@NotNull String jsonResponse, int batchSize) throws IOException {
+        List<MessageClassification> classifications = new ArrayList<>(Collections.nCopies(batchSize, null));
+
+        try (JsonReader reader = new JsonReader(new StringReader(readContent(jsonResponse)))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!reader.nextName().equals(APIConstants.General.RESULTS)) {
+                    reader.skipValue();
+                    continue;
+                }
+
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    int[] id = {-1};
+                    MessageClassification classification = readClassification(reader, id);
+                    if (id[0] >= 0 && id[0] < batchSize) {
+                        classifications.set(id[0], classification);
+                    }
+                }
+                reader.endArray();
+            }
+        }
+
+        return classifications;
+    }
+
+    /**
+     * Reads the content of the first choice's message from the envelope of the response
+     */
+    private static @NotNull String readContent(@NotNull String jsonResponse) throws IOException {
+        try (JsonReader reader = new JsonReader(new StringReader(jsonResponse))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!reader.nextName().equals("choices")) {
+                    reader.skipValue();
+                    continue;
+                }
+
+                reader.beginArray();
+                if (reader.hasNext()) {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        if (!reader.nextName().equals("message")) {
+                            reader.skipValue();
+                            continue;
+                        }
+
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            if (reader.nextName().equals(APIConstants.General.CONTENT) && reader.peek() == JsonToken.STRING) {
+                                return reader.nextString();
+                            }
+                            reader.skipValue();
+                        }
+                        reader.endObject();
+                    }
+                    reader.endObject();
+                }
+                // Only the first choice is used
+                break;
+            }
+        }
+
+        throw new IOException("The response contains no message content.");
+    }
+
+    /**
+     * Reads the detection flags of one classification object
+     *
+     * @param reader The reader positioned before the object
+     * @param id     Receives the id of a batched result, or {@code null} for single requests
+     * @return The classification
+     */
+    private static @NotNull MessageClassification readClassification(@NotNull JsonReader reader, int @Nullable [] id) throws IOException {
+        int flags = 0;
+        String reason = NO_REASON;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case APIConstants.DetectionFlags.IS_OFFENSIVE_LANGUAGE -> flags |= readFlag(reader, MessageClassification.OFFENSIVE_LANGUAGE);
+                case APIConstants.DetectionFlags.IS_USERNAME -> flags |= readFlag(reader, MessageClassification.USERNAME);
+                case APIConstants.DetectionFlags.IS_PASSWORD -> flags |= readFlag(reader, MessageClassification.PASSWORD);
+                case APIConstants.DetectionFlags.IS_HOME_ADDRESS -> flags |= readFlag(reader, MessageClassification.HOME_ADDRESS);
+                case APIConstants.DetectionFlags.IS_EMAIL_ADDRESS -> flags |= readFlag(reader, MessageClassification.EMAIL_ADDRESS);
+                case APIConstants.DetectionFlags.IS_WEBSITE -> flags |= readFlag(reader, MessageClassification.WEBSITE);
+                case APIConstants.DetectionFlags.IS_SEXUAL_CONTENT -> flags |= readFlag(reader, MessageClassification.SEXUAL_CONTENT);
+                case APIConstants.General.REASON -> {
+                    if (reader.peek() == JsonToken.NULL) {
+                        reader.nextNull();
+                    } else {
+                        reason = reader.nextString();
+                    }
+                }
+                case APIConstants.General.ID -> {
+                    if (id != null && reader.peek() == JsonToken.NUMBER) {
+                        id[0] = reader.nextInt();
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return MessageClassification.fromFlags(flags, reason);
+    }
+
+    /**
+     * Reads a boolean detection flag, accepting booleans and "true"/"false" strings
+     */
+    private static int readFlag(@NotNull JsonReader reader, int flag) throws IOException {
+        return switch (reader.peek()) {
+            case BOOLEAN -> reader.nextBoolean() ? flag : 0;
+            case STRING -> Boolean.parseBoolean(reader.nextString()) ? flag : 0;
+            default -> {
+                reader.skipValue();
+                yield 0;
+            }
+        };
+    }
+}
\ No newline at end of file
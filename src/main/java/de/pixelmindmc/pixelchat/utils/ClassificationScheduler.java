@@ -0,0 +1,285 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.utils;
+
+import de.pixelmindmc.pixelchat.exceptions.QueueFullException;
+import de.pixelmindmc.pixelchat.model.MessageClassification;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of classification requests in flight and shares them fairly between players
+ * Every player has their own queue and the queues are served round-robin, so a player flooding the chat only delays
+ * their own messages. The limit counts API requests, not messages: the requests report themselves with
+ * {@link #requestStarted()} and {@link #requestFinished()}, and messages that join a batch which is still collecting
+ * messages are let through even at the limit, so a batch can fill up to its maximum size
+ */
+public class ClassificationScheduler {
+    private final @NotNull LoggingHelper loggingHelper;
+    private final int maxConcurrent;
+    private final int maxPerPlayer;
+    private final int maxSize;
+    private final @NotNull BooleanSupplier joinsOpenRequest;
+
+    // Guarded by this
+    private final @NotNull Map<UUID, ArrayDeque<QueuedRequest>> queues = new HashMap<>();
+    private final @NotNull ArrayDeque<UUID> rotation = new ArrayDeque<>();
+    private int queueDepth;
+    private int inFlight;
+    private long dispatched;
+    private long rejected;
+    private long totalWaitNanos;
+    private long maxWaitNanos;
+    private boolean dispatching;
+
+    /**
+     * Constructs a ClassificationScheduler object
+     *
+     * @param loggingHelper    The logging helper
+     * @param maxConcurrent    The maximum number of API requests in flight at the same time
+     * @param maxPerPlayer     The maximum number of queued messages per player
+     * @param maxSize          The maximum number of queued messages of all players
+     * @param joinsOpenRequest Whether the next message joins a request that is still collecting messages, like an open
+     *                         batch, and doesn't need a request of its own
+     */
+    public ClassificationScheduler(@NotNull LoggingHelper loggingHelper, int maxConcurrent, int maxPerPlayer, int maxSize, @NotNull BooleanSupplier joinsOpenRequest) {
+        this.loggingHelper = loggingHelper;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.maxPerPlayer = Math.max(1, maxPerPlayer);
+        this.maxSize = Math.max(this.maxPerPlayer, maxSize);
+        this.joinsOpenRequest = joinsOpenRequest;
+    }
+
+    /**
+     * Queues a classification request of a player
+     *
+     * @param playerUUID The uuid of the player that sent the message
+     * @param request    Starts the classification request once it is the player's turn
+     * @return A future that completes with the result of the request, or exceptionally with a
+     * {@link QueueFullException} if the queue of the player or the server is full
+     */
+    public @NotNull CompletableFuture<MessageClassification> submit(@NotNull UUID playerUUID, @NotNull Supplier<CompletableFuture<MessageClassification>> request) {
+        CompletableFuture<MessageClassification> future = new CompletableFuture<>();
+
+        synchronized (this) {
+            ArrayDeque<QueuedRequest> queue = queues.get(playerUUID);
+            if (queueDepth >= maxSize || queue != null && queue.size() >= maxPerPlayer) {
+                rejected++;
+                return CompletableFuture.failedFuture(new QueueFullException("The classification queue is full, the message wasn't classified."));
+            }
+
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                queues.put(playerUUID, queue);
+                rotation.add(playerUUID);
+            }
+
+            queue.add(new QueuedRequest(request, System.nanoTime(), future));
+            queueDepth++;
+        }
+
+        dispatch();
+
+        return future;
+    }
+
+    /**
+     * Marks an API request as started, it counts towards the concurrency limit until {@link #requestFinished()}
+     */
+    public synchronized void requestStarted() {
+        inFlight++;
+    }
+
+    /**
+     * Marks an API request as finished and starts the queued messages that fit in again
+     */
+    public void requestFinished() {
+        synchronized (this) {
+            inFlight--;
+        }
+
+        dispatch();
+    }
+
+    /**
+     * Starts queued messages round-robin until the concurrency limit is reached
+     * Only one thread drains the queues at a time. A request that completes right away while a message is started
+     * calls this method again, it then returns immediately and the running loop picks up the freed capacity, so the
+     * stack doesn't grow with the length of the queue
+     */
+    private void dispatch() {
+        synchronized (this) {
+            if (dispatching) {
+                return;
+            }
+            dispatching = true;
+        }
+
+        while (true) {
+            QueuedRequest next;
+
+            synchronized (this) {
+                if (rotation.isEmpty() || inFlight >= maxConcurrent && !joinsOpenRequest.getAsBoolean()) {
+                    dispatching = false;
+                    return;
+                }
+
+                // Take the next message of the next player and move the player to the back of the rotation
+                UUID playerUUID = rotation.poll();
+                ArrayDeque<QueuedRequest> queue = queues.get(playerUUID);
+                next = queue.poll();
+                if (queue.isEmpty()) {
+                    queues.remove(playerUUID);
+                } else {
+                    rotation.add(playerUUID);
+                }
+
+                long waitNanos = System.nanoTime() - next.enqueuedAt();
+                totalWaitNanos += waitNanos;
+                maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+                dispatched++;
+                queueDepth--;
+            }
+
+            start(next);
+        }
+    }
+
+    /**
+     * Starts the classification of a queued message and hands its result to the future of the caller
+     * The API requests the message causes are counted by the request itself, so this only forwards the outcome
+     *
+     * @param queuedRequest The message whose turn it is
+     */
+    private void start(@NotNull QueuedRequest queuedRequest) {
+        CompletableFuture<MessageClassification> response;
+        try {
+            response = queuedRequest.request().get();
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+
+        response.whenComplete((classification, throwable) -> {
+            if (throwable != null) {
+                queuedRequest.future().completeExceptionally(throwable);
+            } else {
+                queuedRequest.future().complete(classification);
+            }
+        });
+    }
+
+    /**
+     * Retrieve the number of queued messages of all players
+     *
+     * @return The queue depth
+     */
+    public synchronized int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Retrieve the number of players with queued messages
+     *
+     * @return The number of players
+     */
+    public synchronized int getQueuedPlayers() {
+        return queues.size();
+    }
+
+    /**
+     * Retrieve the number of API requests currently in flight
+     *
+     * @return The number of requests
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Retrieve the number of messages rejected because a queue was full
+     *
+     * @return The number of rejected messages
+     */
+    public synchronized long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Retrieve the average time messages waited in the queue before their request was started
+     *
+     * @return The average wait time in milliseconds
+     */
+    public synchronized double getAverageWaitMillis() {
+        return dispatched == 0 ? 0 : (double) totalWaitNanos / dispatched / 1_000_000;
+    }
+
+    /**
+     * Retrieve the longest time a message waited in the queue
+     *
+     * @return The maximum wait time in milliseconds
+     */
+    public synchronized long getMaxWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos);
+    }
+
+    /**
+     * Retrieve how long the oldest queued message of every waiting player has been waiting
+     *
+     * @return The wait time in milliseconds per player uuid
+     */
+    public synchronized @NotNull Map<UUID, Long> getPlayerWaitMillis() {
+        long now = System.nanoTime();
+        Map<UUID, Long> waitMillis = new HashMap<>();
+        for (Map.Entry<UUID, ArrayDeque<QueuedRequest>> entry : queues.entrySet()) {
+            waitMillis.put(entry.getKey(), TimeUnit.NANOSECONDS.toMillis(now - entry.getValue().element().enqueuedAt()));
+        }
+
+        return waitMillis;
+    }
+
+    /**
+     * Fails all queued messages
+     * Requests that are already in flight are not affected
+     */
+    public void shutdown() {
+        ArrayDeque<QueuedRequest> abandoned = new ArrayDeque<>();
+
+        synchronized (this) {
+            for (ArrayDeque<QueuedRequest> queue : queues.values()) {
+                abandoned.addAll(queue);
+            }
+            queues.clear();
+            rotation.clear();
+            queueDepth = 0;
+        }
+
+        for (QueuedRequest queuedRequest : abandoned) {
+            queuedRequest.future().completeExceptionally(new QueueFullException("The classification queue has been shut down."));
+        }
+
+        // Debug logger message
+        loggingHelper.debug("Classification scheduler shut down, " + abandoned.size() + " queued messages were abandoned");
+    }
+
+    /**
+     * A classification request waiting for its turn
+     *
+     * @param request    Starts the classification request
+     * @param enqueuedAt The {@link System#nanoTime()} the message was queued at
+     * @param future     The future handed out to the caller
+     */
+    private record QueuedRequest(@NotNull Supplier<CompletableFuture<MessageClassification>> request, long enqueuedAt,
+                                 @NotNull CompletableFuture<MessageClassification> future) {
+    }
+}
\ No newline at end of file
@@ -9,27 +9,41 @@ import de.pixelmindmc.pixelchat.PixelChat;
 import de.pixelmindmc.pixelchat.constants.LangConstants;
 import org.bukkit.ChatColor;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * Utility class for managing configuration files
+ * Every time a file is loaded it is flattened into an immutable table of its values, with the defaults bundled in the
+ * plugin jar merged in for missing and blank values, so lookups never touch the disk
  */
 public class ConfigHelper {
     private final @NotNull PixelChat plugin;
     private final @NotNull LoggingHelper loggingHelper;
     private final @NotNull String path;
+    private final @Nullable FileConfiguration defaultConfiguration;
     private FileConfiguration fileConfiguration;
     private File file;
     private boolean fileExist = true;
+    private volatile @NotNull Table table = Table.EMPTY;
 
     /**
      * Constructs a ConfigHelper object
@@ -42,10 +56,28 @@ public class ConfigHelper {
         this.loggingHelper = plugin.getLoggingHelper();
 
         this.path = path;
+        this.defaultConfiguration = loadDefaultConfig();
         saveDefaultConfig();
         loadConfig();
     }
 
+    /**
+     * Constructs a detached ConfigHelper object with a parsed file, see {@link #parse()}
+     *
+     * @param source            The helper the file was parsed for
+     * @param fileConfiguration The parsed file
+     */
+    private ConfigHelper(@NotNull ConfigHelper source, @NotNull FileConfiguration fileConfiguration) {
+        this.plugin = source.plugin;
+        this.loggingHelper = source.loggingHelper;
+        this.path = source.path;
+        this.defaultConfiguration = source.defaultConfiguration;
+        this.file = source.file;
+        this.fileExist = source.fileExist;
+        this.fileConfiguration = fileConfiguration;
+        this.table = Table.flatten(fileConfiguration, defaultConfiguration);
+    }
+
     /**
      * Method to save the default config if it doesn't exist
      */
@@ -68,6 +100,50 @@ public class ConfigHelper {
         }
 
         fileConfiguration = YamlConfiguration.loadConfiguration(file);
+        table = Table.flatten(fileConfiguration, defaultConfiguration);
+    }
+
+    /**
+     * Parses the config file into a detached helper without changing this one
+     * Unlike {@link #loadConfig()}, a file with invalid YAML is reported instead of being read as an empty file, so a
+     * reload can be rejected before anything was changed
+     *
+     * @return The detached helper with the parsed file, which can be applied with {@link #publish(ConfigHelper)}
+     * @throws IOException                   If the file couldn't be read
+     * @throws InvalidConfigurationException If the file isn't valid YAML
+     */
+    public @NotNull ConfigHelper parse() throws IOException, InvalidConfigurationException {
+        File file = new File(plugin.getDataFolder(), path);
+        if (!file.exists()) {
+            saveDefaultConfig();
+        }
+
+        YamlConfiguration configuration = new YamlConfiguration();
+        try {
+            configuration.load(file);
+        } catch (InvalidConfigurationException e) {
+            throw new InvalidConfigurationException(path + ": " + e.getMessage(), e);
+        }
+        return new ConfigHelper(this, configuration);
+    }
+
+    /**
+     * Replaces the values of this helper with those of a file parsed by {@link #parse()}
+     *
+     * @param parsed The detached helper with the parsed file
+     */
+    public void publish(@NotNull ConfigHelper parsed) {
+        fileConfiguration = parsed.fileConfiguration;
+        table = parsed.table;
+    }
+
+    /**
+     * Retrieve the path of the config file
+     *
+     * @return The path relative to the data folder
+     */
+    public @NotNull String getPath() {
+        return path;
     }
 
     /**
@@ -106,7 +182,8 @@ public class ConfigHelper {
      * @return The value
      */
     public boolean contains(@NotNull String path) {
-        return fileConfiguration.contains(path);
+        Table table = this.table;
+        return table.values().containsKey(path) || table.keys().containsKey(path);
     }
 
     /**
@@ -116,19 +193,8 @@ public class ConfigHelper {
      * @return The value, or a "Message not found" message
      */
     public @NotNull String getString(@NotNull String path) {
-        // Get the value from the current language config
-        String message = fileConfiguration.getString(path);
-
-        // If the message is null or empty, replace it with the default value
-        if (message == null || message.trim().isEmpty()) {
-            // Load the default config from the plugin's jar
-            FileConfiguration defaultConfig = YamlConfiguration.loadConfiguration(new File(plugin.getDataFolder(), path));
-
-            // Return the default message
-            return defaultConfig.getString(path, "Message not found: " + path);
-        }
-
-        return message;
+        String message = table.strings().get(path);
+        return message != null ? message : "Message not found: " + path;
     }
 
     /**
@@ -138,7 +204,7 @@ public class ConfigHelper {
      * @return The value
      */
     public boolean getBoolean(@NotNull String path) {
-        return fileConfiguration.getBoolean(path);
+        return table.values().get(path) instanceof Boolean value && value;
     }
 
     /**
@@ -148,7 +214,27 @@ public class ConfigHelper {
      * @return The value
      */
     public int getInt(@NotNull String path) {
-        return fileConfiguration.getInt(path);
+        return table.values().get(path) instanceof Number value ? value.intValue() : 0;
+    }
+
+    /**
+     * Retrieve a string list from the config
+     *
+     * @param path The path of the value
+     * @return The string list, empty if the path doesn't exist
+     */
+    public @NotNull List<String> getStringList(@NotNull String path) {
+        return table.stringLists().getOrDefault(path, List.of());
+    }
+
+    /**
+     * Retrieve a list of maps from the config
+     *
+     * @param path The path of the value
+     * @return The list of maps, empty if the path doesn't exist
+     */
+    public @NotNull List<Map<?, ?>> getMapList(@NotNull String path) {
+        return table.mapLists().getOrDefault(path, List.of());
     }
 
     /**
@@ -158,32 +244,14 @@ public class ConfigHelper {
      * @return The string map
      */
     public @NotNull Map<String, String> getStringMap(@NotNull String path) {
+        Table table = this.table;
         Map<String, String> resultMap = new HashMap<>();
-        ConfigurationSection section = fileConfiguration.getConfigurationSection(path);
-
-        // If the section is not null, iterate over its keys and add them to the map
-        if (section == null) {
-            // Load the default config from the plugin's jar
-            FileConfiguration defaultConfig = YamlConfiguration.loadConfiguration(new File(plugin.getDataFolder(), path));
-            section = defaultConfig.getConfigurationSection(path);
-
-            assert section != null;
-            for (String key : section.getKeys(false)) {
-                // Get the value associated with the key
-                String value = section.getString(key);
-                // Put the key-value pair in the resultMap
+
+        for (String key : getKeys(path)) {
+            String value = table.strings().get(path + "." + key);
+            if (value != null) {
                 resultMap.put(key, value);
             }
-
-            // Return the default message
-            return resultMap;
-        }
-
-        for (String key : section.getKeys(false)) {
-            // Get the value associated with the key
-            String value = section.getString(key);
-            // Put the key-value pair in the resultMap
-            resultMap.put(key, value);
         }
         return resultMap;
     }
@@ -196,31 +264,9 @@ public class ConfigHelper {
      */
     public @NotNull Map<String, ChatColor> getChatColorMap(@NotNull String path) {
         Map<String, ChatColor> resultMap = new HashMap<>();
-        ConfigurationSection section = fileConfiguration.getConfigurationSection(path);
-
-        // If the section is not null, iterate over its keys and add them to the map
-        if (section == null) {
-            // Load the default config from the plugin's jar
-            FileConfiguration defaultConfig = YamlConfiguration.loadConfiguration(new File(plugin.getDataFolder(), path));
-            section = defaultConfig.getConfigurationSection(path);
-
-            assert section != null;
-            for (String key : section.getKeys(false)) {
-                // Get the chatColor associated with the key
-                ChatColor chatColor = ChatColor.valueOf(section.getString(key));
-                // Put the key-chatColor pair in the resultMap
-                resultMap.put(key, chatColor);
-            }
-
-            // Return the default message
-            return resultMap;
-        }
 
-        for (String key : section.getKeys(false)) {
-            // Get the value associated with the key
-            ChatColor chatColor = ChatColor.valueOf(section.getString(key));
-            // Put the key-chatColor pair in the resultMap
-            resultMap.put(key, chatColor);
+        for (Map.Entry<String, String> entry : getStringMap(path).entrySet()) {
+            resultMap.put(entry.getKey(), ChatColor.valueOf(entry.getValue()));
         }
         return resultMap;
     }
@@ -232,7 +278,125 @@ public class ConfigHelper {
      * @return A set of all keys found in that section or root
      */
     public @NotNull Set<String> getKeys(@NotNull String path) {
-        ConfigurationSection section = fileConfiguration.getConfigurationSection(path);
-        return (section != null) ? section.getKeys(false) : new HashSet<>();
+        return table.keys().getOrDefault(path, Set.of());
+    }
+
+    /**
+     * Loads the defaults of the file bundled in the plugin jar
+     *
+     * @return The defaults, or {@code null} if the jar doesn't contain the file
+     */
+    private @Nullable FileConfiguration loadDefaultConfig() {
+        InputStream inputStream = plugin.getResource(path);
+        if (inputStream == null) {
+            return null;
+        }
+
+        try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+            return YamlConfiguration.loadConfiguration(reader);
+        } catch (IOException e) {
+            loggingHelper.error("Failed to load the bundled defaults of " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * The flattened values of a file, keyed by their full path
+     *
+     * @param values      The values as they were read, without sections
+     * @param strings     The string form of every value, blank values replaced by their defaults
+     * @param stringLists The lists of every list value as strings
+     * @param mapLists    The maps of every list value
+     * @param keys        The direct child keys of every section, "" for the root
+     */
+    private record Table(@NotNull Map<String, Object> values, @NotNull Map<String, String> strings,
+                         @NotNull Map<String, List<String>> stringLists,
+                         @NotNull Map<String, List<Map<?, ?>>> mapLists, @NotNull Map<String, Set<String>> keys) {
+        private static final Table EMPTY = new Table(Map.of(), Map.of(), Map.of(), Map.of(), Map.of());
+
+        /**
+         * Flattens a file and its defaults into a table
+         * Defaults are used for missing and blank values, but sections of the file keep their own keys, so entries
+         * removed from a list like the emojis don't come back from the defaults
+         *
+         * @param configuration        The file
+         * @param defaultConfiguration The defaults, or {@code null} if there are none
+         * @return The table
+         */
+        private static @NotNull Table flatten(@NotNull FileConfiguration configuration, @Nullable FileConfiguration defaultConfiguration) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            Map<String, String> strings = new HashMap<>();
+            Map<String, Set<String>> keys = new HashMap<>();
+
+            for (Map.Entry<String, Object> entry : configuration.getValues(true).entrySet()) {
+                if (entry.getValue() instanceof ConfigurationSection) {
+                    keys.computeIfAbsent(entry.getKey(), section -> new LinkedHashSet<>());
+                } else if (entry.getValue() != null) {
+                    values.put(entry.getKey(), entry.getValue());
+                    strings.put(entry.getKey(), entry.getValue().toString());
+                }
+                addKey(keys, entry.getKey(), Set.of());
+            }
+
+            if (defaultConfiguration != null) {
+                Set<String> fileSections = Set.copyOf(keys.keySet());
+                for (Map.Entry<String, Object> entry : defaultConfiguration.getValues(true).entrySet()) {
+                    String string = strings.get(entry.getKey());
+                    if (entry.getValue() == null || entry.getValue() instanceof ConfigurationSection || string != null && !string.isBlank()) {
+                        continue;
+                    }
+
+                    values.put(entry.getKey(), entry.getValue());
+                    strings.put(entry.getKey(), entry.getValue().toString());
+                    if (string == null) {
+                        addKey(keys, entry.getKey(), fileSections);
+                    }
+                }
+            }
+
+            Map<String, List<String>> stringLists = new HashMap<>();
+            Map<String, List<Map<?, ?>>> mapLists = new HashMap<>();
+            for (Map.Entry<String, Object> entry : values.entrySet()) {
+                if (!(entry.getValue() instanceof List<?> list)) {
+                    continue;
+                }
+
+                List<String> stringList = new ArrayList<>();
+                List<Map<?, ?>> mapList = new ArrayList<>();
+                for (Object element : list) {
+                    if (element instanceof String || element instanceof Number || element instanceof Boolean || element instanceof Character) {
+                        stringList.add(String.valueOf(element));
+                    } else if (element instanceof Map<?, ?> map) {
+                        mapList.add(Collections.unmodifiableMap(map));
+                    }
+                }
+                stringLists.put(entry.getKey(), List.copyOf(stringList));
+                mapLists.put(entry.getKey(), List.copyOf(mapList));
+            }
+            keys.replaceAll((section, children) -> Collections.unmodifiableSet(children));
+
+            return new Table(Collections.unmodifiableMap(values), Map.copyOf(strings), Map.copyOf(stringLists), Map.copyOf(mapLists), Map.copyOf(keys));
+        }
+
+        /**
+         * Registers a key with all of its parent sections
+         *
+         * @param keys           The child keys of every section
+         * @param key            The full path of the key
+         * @param closedSections The sections that don't get new child keys
+         */
+        private static void addKey(@NotNull Map<String, Set<String>> keys, @NotNull String key, @NotNull Set<String> closedSections) {
+            while (true) {
+                int separator = key.lastIndexOf('.');
+                String parent = separator < 0 ? "" : key.substring(0, separator);
+                if (!closedSections.contains(parent)) {
+                    keys.computeIfAbsent(parent, section -> new LinkedHashSet<>()).add(key.substring(separator + 1));
+                }
+                if (separator < 0) {
+                    return;
+                }
+                key = parent;
+            }
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,271 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.utils;
+
+import de.pixelmindmc.pixelchat.PixelChat;
+import de.pixelmindmc.pixelchat.constants.ConfigConstants;
+import de.pixelmindmc.pixelchat.constants.LangConstants;
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloads all configuration files without pausing the chat
+ * The files are parsed and everything compiled from them is built on a background thread. Only if all of them are
+ * valid, the new values and compiled structures are applied right after each other on the main thread, otherwise the
+ * previous configuration stays active. With auto-reload enabled, changed files in the data folder trigger a reload
+ * once no further change has been made for the debounce time
+ */
+public class ConfigReloader {
+    // Only written by /pixelchat export-strikes, so its changes never trigger a reload
+    private static final String PLAYER_STRIKES_FILE = "player_strikes.yml";
+
+    private final @NotNull PixelChat plugin;
+    private final @NotNull LoggingHelper loggingHelper;
+    private final @NotNull ScheduledExecutorService executor;
+
+    // Guarded by this
+    private @Nullable ScheduledFuture<?> pendingReload;
+    private @Nullable WatchService watchService;
+
+    /**
+     * Constructs a ConfigReloader object
+     *
+     * @param plugin The plugin instance
+     */
+    public ConfigReloader(@NotNull PixelChat plugin) {
+        this.plugin = plugin;
+        this.loggingHelper = plugin.getLoggingHelper();
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "PixelChat-Reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Reloads all configuration files in the background
+     *
+     * @param sender The sender that is told the result once the reload has finished, or {@code null} to only log it
+     */
+    public void reload(@Nullable CommandSender sender) {
+        executor.execute(() -> runReload(sender));
+    }
+
+    /**
+     * Parses and compiles all configuration files, then applies them on the main thread if all of them are valid
+     *
+     * @param sender The sender that is told the result, or {@code null} to only log it
+     */
+    private void runReload(@Nullable CommandSender sender) {
+        List<Runnable> actions = new ArrayList<>();
+
+        try {
+            ConfigHelper configHelper = parse(actions, plugin.getConfigHelper());
+            ConfigHelper configHelperBlocklist = parse(actions, plugin.getConfigHelperBlocklist());
+            ConfigHelper configHelperEmojiList = parse(actions, plugin.getConfigHelperEmojiList());
+            ConfigHelper configHelperChatCodesList = parse(actions, plugin.getConfigHelperChatCodesList());
+            parse(actions, plugin.getConfigHelperLanguage(configHelper.getString(ConfigConstants.General.LANGUAGE)));
+
+            actions.add(plugin::updateConfigHelperLanguage);
+            actions.add(() -> loggingHelper.setLogLevel(configHelper.getString(ConfigConstants.General.LOG_LEVEL)));
+
+            actions.add(plugin.getChatGuardHelper().prepareReload(configHelper, configHelperBlocklist));
+            actions.add(plugin.getAsyncPlayerChatListener().prepareReload(configHelper, configHelperEmojiList, configHelperChatCodesList));
+            APIHelper apiHelper = plugin.getAPIHelper();
+            if (apiHelper != null) {
+                actions.add(apiHelper.prepareReload(configHelper));
+            }
+        } catch (IOException | InvalidConfigurationException | IllegalArgumentException e) {
+            String reason = e.getMessage() != null ? e.getMessage() : e.toString();
+            loggingHelper.error("Failed to reload the configuration files, the previous configuration stays active: " + reason);
+
+            runOnMainThread(() -> {
+                if (sender != null) {
+                    sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.RED + plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.RELOAD_FAILED) + " " + ChatColor.RESET + reason);
+                }
+            });
+            return;
+        }
+
+        runOnMainThread(() -> {
+            for (Runnable action : actions) {
+                action.run();
+            }
+
+            // Debug logger message
+            loggingHelper.debug("Configuration files successfully reloaded");
+
+            String message = plugin.getConfigHelperLanguage().getString(LangConstants.PixelChatCommand.RELOAD);
+            if (sender != null) {
+                sender.sendMessage(LangConstants.PLUGIN_PREFIX + ChatColor.GREEN + message);
+            } else {
+                loggingHelper.info(message);
+            }
+        });
+    }
+
+    /**
+     * Parses a configuration file and adds applying it to the reload
+     *
+     * @param actions      The actions that apply the reload
+     * @param configHelper The helper of the file
+     * @return The detached helper with the parsed file
+     * @throws IOException                   If the file couldn't be read
+     * @throws InvalidConfigurationException If the file isn't valid YAML
+     */
+    private @NotNull ConfigHelper parse(@NotNull List<Runnable> actions, @NotNull ConfigHelper configHelper) throws IOException, InvalidConfigurationException {
+        ConfigHelper parsed = configHelper.parse();
+        actions.add(() -> configHelper.publish(parsed));
+        return parsed;
+    }
+
+    /**
+     * Runs a task on the main thread, unless the plugin has been disabled in the meantime
+     *
+     * @param task The task
+     */
+    private void runOnMainThread(@NotNull Runnable task) {
+        if (plugin.isEnabled()) {
+            plugin.getServer().getScheduler().runTask(plugin, task);
+        }
+    }
+
+    /**
+     * Starts watching the configuration files in the data folder and its locale folder for changes
+     *
+     * @param debounce The number of milliseconds without further changes after which the files are reloaded
+     */
+    public synchronized void startWatching(long debounce) {
+        if (watchService != null) {
+            return;
+        }
+
+        WatchService service = null;
+        try {
+            service = FileSystems.getDefault().newWatchService();
+            Path dataFolder = plugin.getDataFolder().toPath();
+            dataFolder.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+            Path localeFolder = dataFolder.resolve("locale");
+            if (Files.isDirectory(localeFolder)) {
+                localeFolder.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+        } catch (IOException e) {
+            loggingHelper.error("Failed to watch the configuration files for changes: " + e.getMessage());
+            closeQuietly(service);
+            return;
+        }
+        watchService = service;
+
+        WatchService watchedService = service;
+        Thread thread = new Thread(() -> watch(watchedService, Math.max(0, debounce)), "PixelChat-Config-Watcher");
+        thread.setDaemon(true);
+        thread.start();
+
+        // Debug logger message
+        loggingHelper.debug("Watching the configuration files for changes with a debounce of " + debounce + " ms");
+    }
+
+    /**
+     * Waits for changed configuration files until the watch service is closed
+     *
+     * @param service  The watch service
+     * @param debounce The number of milliseconds without further changes after which the files are reloaded
+     */
+    private void watch(@NotNull WatchService service, long debounce) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    // Lost events may have included a configuration file
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || event.context() instanceof Path path && isConfigurationFile(path)) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+
+                if (changed) {
+                    scheduleReload(debounce);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // The plugin was disabled
+        }
+    }
+
+    /**
+     * Checks whether a changed file is a configuration file that is reloaded
+     *
+     * @param path The name of the changed file
+     * @return {@code true} if the file is reloaded
+     */
+    private static boolean isConfigurationFile(@NotNull Path path) {
+        String name = path.getFileName().toString();
+        return name.endsWith(".yml") && !name.equals(PLAYER_STRIKES_FILE);
+    }
+
+    /**
+     * Reloads the files once no further change has been made for the debounce time, editors often write a file in
+     * several steps
+     *
+     * @param debounce The number of milliseconds to wait
+     */
+    private synchronized void scheduleReload(long debounce) {
+        if (pendingReload != null) {
+            pendingReload.cancel(false);
+        }
+
+        pendingReload = executor.schedule(() -> runReload(null), debounce, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops watching the files and drops reloads that haven't started yet
+     */
+    public synchronized void shutdown() {
+        closeQuietly(watchService);
+        watchService = null;
+
+        executor.shutdownNow();
+    }
+
+    /**
+     * Closes a watch service, which also ends the thread waiting for its changes
+     *
+     * @param service The watch service, or {@code null}
+     */
+    private void closeQuietly(@Nullable WatchService service) {
+        if (service == null) {
+            return;
+        }
+
+        try {
+            service.close();
+        } catch (IOException e) {
+            loggingHelper.error("Failed to stop watching the configuration files: " + e.getMessage());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,738 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.utils;
+
+import de.pixelmindmc.pixelchat.exceptions.StrikeRepositoryException;
+import de.pixelmindmc.pixelchat.model.PlayerStrikes;
+import de.pixelmindmc.pixelchat.model.Strike;
+import de.pixelmindmc.pixelchat.model.StrikeSummary;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+import java.util.zip.CRC32;
+
+/**
+ * A {@link StrikeRepository} that keeps the strikes of all players in memory and persists every change to an
+ * append-only journal
+ * Changes are applied in memory right away and written to the journal in batches by a background thread, which forces
+ * the journal to disk according to the sync policy. Once the journal holds enough records, the whole state is written
+ * to a snapshot and the journal is emptied. Every journal record carries a sequence number and a checksum, so after a
+ * crash the journal is replayed on top of the snapshot up to the last complete record
+ */
+public class JournalStrikeRepository implements StrikeRepository {
+    // File layout
+    private static final int SNAPSHOT_MAGIC = 0x50435353;
+    private static final int JOURNAL_MAGIC = 0x5043534A;
+    private static final int VERSION = 1;
+    private static final int JOURNAL_HEADER_SIZE = 8;
+    // Records larger than this can only be the result of a corrupted length
+    private static final int MAX_RECORD_SIZE = 1 << 20;
+
+    // Record types
+    private static final byte RECORD_STRIKE = 1;
+    private static final byte RECORD_RESET = 2;
+    private static final byte RECORD_RESET_ALL = 3;
+
+    private final @NotNull LoggingHelper loggingHelper;
+    private final @NotNull File snapshotFile;
+    private final @NotNull File journalFile;
+    private final @NotNull SyncPolicy syncPolicy;
+    private final long syncIntervalNanos;
+    private final int compactAfter;
+
+    private final @NotNull Map<UUID, PlayerStrikes> players = new ConcurrentHashMap<>();
+    // Changes hold the read lock, compaction holds the write lock to see a state that matches a sequence number
+    private final @NotNull ReadWriteLock stateLock = new ReentrantReadWriteLock();
+    private final @NotNull AtomicLong sequence = new AtomicLong();
+    private final @NotNull BlockingQueue<byte[]> pendingRecords = new LinkedBlockingQueue<>();
+
+    // Only used by the writer thread, or after it has stopped
+    private @Nullable FileChannel journal;
+    private int journalRecords = 0;
+    private long lastSync = System.nanoTime();
+    private boolean unsynced = false;
+
+    private volatile boolean running = false;
+    private @Nullable Thread writer;
+
+    /**
+     * Constructs a JournalStrikeRepository object, the saved strikes are only read by {@link #load(File)}
+     *
+     * @param loggingHelper The logging helper
+     * @param dataFolder    The folder the snapshot and journal are saved in
+     * @param syncPolicy    When the journal is forced to disk
+     * @param syncInterval  The number of milliseconds between two syncs with {@link SyncPolicy#INTERVAL}
+     * @param compactAfter  The number of journal records after which the journal is compacted into the snapshot
+     */
+    public JournalStrikeRepository(@NotNull LoggingHelper loggingHelper, @NotNull File dataFolder, @NotNull SyncPolicy syncPolicy, long syncInterval, int compactAfter) {
+        this.loggingHelper = loggingHelper;
+        this.snapshotFile = new File(dataFolder, "player_strikes.dat");
+        this.journalFile = new File(dataFolder, "player_strikes.journal");
+        this.syncPolicy = syncPolicy;
+        this.syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, syncInterval));
+        this.compactAfter = Math.max(1, compactAfter);
+    }
+
+    /**
+     * Retrieve the number of strikes of a player
+     *
+     * @param playerUUID The player uuid
+     * @return The number of strikes, 0 for players without any
+     */
+    @Override
+    public int getStrikes(@NotNull UUID playerUUID) {
+        PlayerStrikes playerStrikes = players.get(playerUUID);
+        return playerStrikes != null ? playerStrikes.strikes() : 0;
+    }
+
+    /**
+     * Retrieve the number of strikes a player ever got, the length of their history
+     *
+     * @param playerUUID The player uuid
+     * @return The number of strikes including those that were reset since, 0 for players without any
+     */
+    @Override
+    public int getTotalStrikes(@NotNull UUID playerUUID) {
+        PlayerStrikes playerStrikes = players.get(playerUUID);
+        return playerStrikes != null ? playerStrikes.history().size() : 0;
+    }
+
+    /**
+     * Adds a strike to a player
+     * The strike count is incremented atomically per player, so strikes a player gets at the same time are never lost
+     * and every strike count is reached by exactly one strike
+     *
+     * @param playerUUID The player uuid
+     * @param playerName The current name of the player
+     * @param reason     The reason of the strike
+     * @param action     Decides the action taken because of the strike from the new strike count, it is called while
+     *                   the player is locked and must not block
+     * @return The number of strikes the player has with this strike
+     */
+    @Override
+    public int addStrike(@NotNull UUID playerUUID, @NotNull String playerName, @NotNull String reason, @NotNull IntFunction<String> action) {
+        long timestamp = System.currentTimeMillis();
+
+        stateLock.readLock().lock();
+        try {
+            // The count is incremented and the record is queued while the entry is locked, so concurrent strikes of a
+            // player can't read the same count and the journal has the changes of a player in order
+            return players.compute(playerUUID, (uuid, current) -> {
+                int strikes = (current != null ? current.strikes() : 0) + 1;
+                Strike strike = new Strike(timestamp, reason, action.apply(strikes));
+                enqueue(encodeStrike(sequence.incrementAndGet(), uuid, playerName, strikes, strike));
+                return apply(current, playerName, strikes, strike);
+            }).strikes();
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Resets the strike count of a player to 0, the strike history is kept
+     *
+     * @param playerUUID The player uuid
+     * @return {@code true} if the player ever got a strike
+     */
+    @Override
+    public boolean resetStrikes(@NotNull UUID playerUUID) {
+        stateLock.readLock().lock();
+        try {
+            return players.computeIfPresent(playerUUID, (uuid, current) -> {
+                enqueue(encodeReset(sequence.incrementAndGet(), uuid));
+                return current.withStrikes(0);
+            }) != null;
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Resets the strike count of every player to 0, the strike histories are kept
+     */
+    @Override
+    public void resetAllStrikes() {
+        stateLock.writeLock().lock();
+        try {
+            players.replaceAll((uuid, current) -> current.withStrikes(0));
+            enqueue(encodeReset(sequence.incrementAndGet(), null));
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Queues a record for the journal, changes are only kept in memory if the journal couldn't be opened
+     *
+     * @param record The encoded record
+     */
+    private void enqueue(byte @NotNull [] record) {
+        if (running) {
+            pendingRecords.add(record);
+        }
+    }
+
+    /**
+     * Retrieve the number of players that ever got a strike
+     *
+     * @return The number of players
+     */
+    public int size() {
+        return players.size();
+    }
+
+    /**
+     * Reads the snapshot, replays the journal on top of it and starts writing new changes to the journal
+     * If neither a snapshot nor a journal exists yet, the strikes are migrated from the given YAML file
+     *
+     * @param legacyFile The player_strikes.yml the strikes were saved in by earlier versions
+     * @throws StrikeRepositoryException If the snapshot or the journal couldn't be read or created
+     */
+    @Override
+    public synchronized void load(@NotNull File legacyFile) throws StrikeRepositoryException {
+        if (running) {
+            return;
+        }
+
+        boolean migrate = !snapshotFile.exists() && !journalFile.exists() && legacyFile.exists();
+        try {
+            long snapshotSequence = readSnapshot();
+            openJournal(snapshotSequence);
+
+            if (migrate) {
+                Map<UUID, PlayerStrikes> migrated = StrikeYamlFormat.read(legacyFile);
+                players.putAll(migrated);
+                compact();
+                loggingHelper.info("Migrated the strikes of " + migrated.size() + " players from " + legacyFile.getName());
+            }
+
+            // Debug logger message
+            loggingHelper.debug("Loaded the strikes of " + players.size() + " players, " + journalRecords + " of them changed since the last snapshot");
+        } catch (IOException e) {
+            FileChannel channel = journal;
+            journal = null;
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException closeException) {
+                    loggingHelper.error("Failed to close the player strike journal: " + closeException.getMessage());
+                }
+            }
+            players.clear();
+            journalRecords = 0;
+
+            // The journal of a failed migration would keep the next start from migrating again, a snapshot is only
+            // written once the migration is complete
+            if (migrate && !snapshotFile.exists()) {
+                try {
+                    Files.deleteIfExists(journalFile.toPath());
+                } catch (IOException deleteException) {
+                    loggingHelper.error("Failed to delete the incomplete player strike journal, delete " + journalFile.getName() + " before the next start: " + deleteException.getMessage());
+                }
+            }
+
+            throw new StrikeRepositoryException("Failed to load the player strikes: " + e.getMessage(), e);
+        }
+
+        running = true;
+        Thread thread = new Thread(this::writeJournal, "PixelChat-Strike-Journal");
+        thread.setDaemon(true);
+        thread.start();
+        writer = thread;
+    }
+
+    /**
+     * Writes the pending changes, compacts the journal into the snapshot and closes it
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+
+        Thread thread = writer;
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        try {
+            writePendingRecords();
+            compact();
+        } catch (IOException e) {
+            loggingHelper.error("Failed to save the player strikes: " + e.getMessage());
+        }
+
+        try {
+            if (journal != null) {
+                journal.close();
+            }
+        } catch (IOException e) {
+            loggingHelper.error("Failed to close the player strike journal: " + e.getMessage());
+        }
+        journal = null;
+    }
+
+    /**
+     * Retrieve a page of the strike history of a player from memory, newest first
+     *
+     * @param playerUUID The player uuid
+     * @param page       The page, starting at 1
+     * @param pageSize   The number of strikes per page
+     * @return The page
+     */
+    @Override
+    public @NotNull Page<Strike> getHistory(@NotNull UUID playerUUID, int page, int pageSize) {
+        PlayerStrikes playerStrikes = players.get(playerUUID);
+        List<Strike> history = playerStrikes != null ? playerStrikes.history() : List.of();
+
+        // The history is stored oldest first, so the first page is taken from its end
+        int pages = Page.count(history.size(), pageSize);
+        int currentPage = Math.max(1, Math.min(page, pages));
+        int skipped = Math.min(history.size(), (currentPage - 1) * pageSize);
+        List<Strike> entries = new ArrayList<>(history.subList(Math.max(0, history.size() - skipped - pageSize), history.size() - skipped));
+        Collections.reverse(entries);
+        return new Page<>(entries, currentPage, pages);
+    }
+
+    /**
+     * Retrieve a page of the players that got the most strikes in total, sorted in memory
+     *
+     * @param page     The page, starting at 1
+     * @param pageSize The number of players per page
+     * @return The page
+     */
+    @Override
+    public @NotNull Page<StrikeSummary> getTopPlayers(int page, int pageSize) {
+        List<StrikeSummary> summaries = new ArrayList<>();
+        for (Map.Entry<UUID, PlayerStrikes> entry : players.entrySet()) {
+            PlayerStrikes playerStrikes = entry.getValue();
+            if (!playerStrikes.history().isEmpty()) {
+                summaries.add(new StrikeSummary(entry.getKey(), playerStrikes.name(), playerStrikes.strikes(), playerStrikes.history().size()));
+            }
+        }
+        summaries.sort(Comparator.comparingInt(StrikeSummary::totalStrikes).thenComparingInt(StrikeSummary::strikes).reversed());
+
+        int pages = Page.count(summaries.size(), pageSize);
+        int currentPage = Math.max(1, Math.min(page, pages));
+        int skipped = (currentPage - 1) * pageSize;
+        return new Page<>(List.copyOf(summaries.subList(skipped, Math.min(summaries.size(), skipped + pageSize))), currentPage, pages);
+    }
+
+    /**
+     * Writes the strikes of all players to a YAML file in the format of earlier versions
+     *
+     * @param file The file
+     * @throws StrikeRepositoryException If the file couldn't be written
+     */
+    @Override
+    public void exportYaml(@NotNull File file) throws StrikeRepositoryException {
+        try {
+            StrikeYamlFormat.write(file, Map.copyOf(players));
+        } catch (IOException e) {
+            throw new StrikeRepositoryException("Failed to export the player strikes: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the snapshot into memory
+     *
+     * @return The sequence number of the last change included in the snapshot, 0 if there is none
+     * @throws IOException If the snapshot couldn't be read
+     */
+    private long readSnapshot() throws IOException {
+        if (!snapshotFile.exists()) {
+            return 0;
+        }
+
+        try (InputStream inputStream = Files.newInputStream(snapshotFile.toPath()); DataInputStream input = new DataInputStream(new BufferedInputStream(inputStream))) {
+            if (input.readInt() != SNAPSHOT_MAGIC || input.readInt() != VERSION) {
+                throw new IOException("The player strike snapshot has an unknown format");
+            }
+
+            long snapshotSequence = input.readLong();
+            int count = input.readInt();
+            for (int i = 0; i < count; i++) {
+                UUID playerUUID = new UUID(input.readLong(), input.readLong());
+                String name = input.readUTF();
+                int strikes = input.readInt();
+
+                int historySize = input.readInt();
+                List<Strike> history = new ArrayList<>(historySize);
+                for (int j = 0; j < historySize; j++) {
+                    history.add(new Strike(input.readLong(), input.readUTF(), input.readUTF()));
+                }
+
+                players.put(playerUUID, new PlayerStrikes(name, strikes, List.copyOf(history)));
+            }
+
+            return snapshotSequence;
+        } catch (EOFException e) {
+            // The snapshot is only ever replaced as a whole, so a truncated one was damaged outside the plugin
+            throw new IOException("The player strike snapshot is truncated");
+        }
+    }
+
+    /**
+     * Opens the journal, replays the changes that aren't included in the snapshot yet and cuts off a record that was
+     * only partially written when the server stopped
+     *
+     * @param snapshotSequence The sequence number of the last change included in the snapshot
+     * @throws IOException If the journal couldn't be read or created
+     */
+    private void openJournal(long snapshotSequence) throws IOException {
+        FileChannel channel = FileChannel.open(journalFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long lastSequence = snapshotSequence;
+        long validEnd = JOURNAL_HEADER_SIZE;
+
+        try {
+            if (channel.size() < JOURNAL_HEADER_SIZE) {
+                writeJournalHeader(channel);
+            } else {
+                DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel.position(0))));
+                if (input.readInt() != JOURNAL_MAGIC || input.readInt() != VERSION) {
+                    throw new IOException("The player strike journal has an unknown format");
+                }
+
+                CRC32 checksum = new CRC32();
+                while (true) {
+                    byte[] payload;
+                    try {
+                        int length = input.readInt();
+                        int expectedChecksum = input.readInt();
+                        if (length <= 0 || length > MAX_RECORD_SIZE) {
+                            break;
+                        }
+
+                        payload = new byte[length];
+                        input.readFully(payload);
+
+                        checksum.reset();
+                        checksum.update(payload);
+                        if ((int) checksum.getValue() != expectedChecksum) {
+                            break;
+                        }
+                    } catch (EOFException e) {
+                        break;
+                    }
+
+                    long recordSequence = replay(payload, snapshotSequence);
+                    lastSequence = Math.max(lastSequence, recordSequence);
+                    validEnd += 8 + payload.length;
+                    journalRecords++;
+                }
+
+                if (validEnd < channel.size()) {
+                    loggingHelper.warning("Discarded an incomplete record at the end of the player strike journal");
+                    channel.truncate(validEnd);
+                    channel.force(true);
+                }
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+
+        channel.position(channel.size());
+        journal = channel;
+        sequence.set(lastSequence);
+    }
+
+    /**
+     * Applies a journal record to the strikes in memory, unless the snapshot already includes it
+     *
+     * @param payload          The record without its length and checksum
+     * @param snapshotSequence The sequence number of the last change included in the snapshot
+     * @return The sequence number of the record
+     * @throws IOException If the record is malformed
+     */
+    private long replay(byte @NotNull [] payload, long snapshotSequence) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload));
+        long recordSequence = input.readLong();
+        byte type = input.readByte();
+        UUID playerUUID = new UUID(input.readLong(), input.readLong());
+
+        if (recordSequence <= snapshotSequence) {
+            return recordSequence;
+        }
+
+        switch (type) {
+            case RECORD_STRIKE -> {
+                String name = input.readUTF();
+                int strikes = input.readInt();
+                Strike strike = new Strike(input.readLong(), input.readUTF(), input.readUTF());
+                players.compute(playerUUID, (uuid, current) -> apply(current, name, strikes, strike));
+            }
+            case RECORD_RESET -> players.computeIfPresent(playerUUID, (uuid, current) -> current.withStrikes(0));
+            case RECORD_RESET_ALL -> players.replaceAll((uuid, current) -> current.withStrikes(0));
+            default -> throw new IOException("Unknown record type " + type + " in the player strike journal");
+        }
+
+        return recordSequence;
+    }
+
+    /**
+     * Writes queued changes to the journal until the store is closed
+     */
+    private void writeJournal() {
+        while (running) {
+            try {
+                // Wake up in time for the next interval sync even if nothing changes
+                byte[] record = pendingRecords.poll(syncIntervalNanos, TimeUnit.NANOSECONDS);
+                if (record != null) {
+                    List<byte[]> batch = new ArrayList<>();
+                    batch.add(record);
+                    pendingRecords.drainTo(batch);
+                    writeRecords(batch);
+                }
+
+                if (unsynced && (syncPolicy == SyncPolicy.ALWAYS || syncPolicy == SyncPolicy.INTERVAL && System.nanoTime() - lastSync >= syncIntervalNanos)) {
+                    sync();
+                }
+
+                if (journalRecords >= compactAfter) {
+                    compact();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                loggingHelper.error("Failed to write the player strike journal: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Writes all queued changes to the journal and forces it to disk
+     *
+     * @throws IOException If the journal couldn't be written
+     */
+    private void writePendingRecords() throws IOException {
+        List<byte[]> batch = new ArrayList<>();
+        pendingRecords.drainTo(batch);
+        if (!batch.isEmpty()) {
+            writeRecords(batch);
+        }
+        if (unsynced) {
+            sync();
+        }
+    }
+
+    /**
+     * Appends records to the journal with their length and checksum
+     *
+     * @param batch The encoded records
+     * @throws IOException If the journal couldn't be written
+     */
+    private void writeRecords(@NotNull List<byte[]> batch) throws IOException {
+        FileChannel channel = journal;
+        if (channel == null) {
+            return;
+        }
+
+        int size = 0;
+        for (byte[] payload : batch) {
+            size += 8 + payload.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        CRC32 checksum = new CRC32();
+        for (byte[] payload : batch) {
+            checksum.reset();
+            checksum.update(payload);
+            buffer.putInt(payload.length).putInt((int) checksum.getValue()).put(payload);
+        }
+        buffer.flip();
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        journalRecords += batch.size();
+        unsynced = syncPolicy != SyncPolicy.NEVER;
+    }
+
+    /**
+     * Forces the journal to disk
+     *
+     * @throws IOException If the journal couldn't be forced
+     */
+    private void sync() throws IOException {
+        FileChannel channel = journal;
+        if (channel != null) {
+            channel.force(false);
+        }
+        lastSync = System.nanoTime();
+        unsynced = false;
+    }
+
+    /**
+     * Writes the strikes of all players to the snapshot and empties the journal
+     * The snapshot is written next to the old one and moved over it before the journal is emptied. Records still in
+     * the journal or queue that the snapshot already includes are skipped on replay by their sequence number
+     *
+     * @throws IOException If the snapshot couldn't be written
+     */
+    private void compact() throws IOException {
+        Map<UUID, PlayerStrikes> snapshot;
+        long snapshotSequence;
+        stateLock.writeLock().lock();
+        try {
+            snapshot = new HashMap<>(players);
+            snapshotSequence = sequence.get();
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+
+        File temporaryFile = new File(snapshotFile.getPath() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream outputStream = Channels.newOutputStream(channel);
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream));
+            output.writeInt(SNAPSHOT_MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(snapshotSequence);
+            output.writeInt(snapshot.size());
+
+            for (Map.Entry<UUID, PlayerStrikes> entry : snapshot.entrySet()) {
+                PlayerStrikes playerStrikes = entry.getValue();
+                output.writeLong(entry.getKey().getMostSignificantBits());
+                output.writeLong(entry.getKey().getLeastSignificantBits());
+                output.writeUTF(playerStrikes.name());
+                output.writeInt(playerStrikes.strikes());
+                output.writeInt(playerStrikes.history().size());
+                for (Strike strike : playerStrikes.history()) {
+                    output.writeLong(strike.timestamp());
+                    output.writeUTF(strike.reason());
+                    output.writeUTF(strike.action());
+                }
+            }
+
+            output.flush();
+            channel.force(true);
+        }
+
+        Files.move(temporaryFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        FileChannel channel = journal;
+        if (channel != null) {
+            channel.truncate(JOURNAL_HEADER_SIZE);
+            channel.position(JOURNAL_HEADER_SIZE);
+            channel.force(true);
+        }
+        journalRecords = 0;
+        unsynced = false;
+
+        // Debug logger message
+        loggingHelper.debug("Compacted the strikes of " + snapshot.size() + " players into the snapshot");
+    }
+
+    private static void writeJournalHeader(@NotNull FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(JOURNAL_HEADER_SIZE).putInt(JOURNAL_MAGIC).putInt(VERSION).flip();
+        channel.truncate(0);
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+        channel.force(true);
+    }
+
+    private static @NotNull PlayerStrikes apply(@Nullable PlayerStrikes current, @NotNull String playerName, int strikes, @NotNull Strike strike) {
+        List<Strike> history = new ArrayList<>(current != null ? current.history().size() + 1 : 1);
+        if (current != null) {
+            history.addAll(current.history());
+        }
+        history.add(strike);
+        return new PlayerStrikes(playerName, strikes, List.copyOf(history));
+    }
+
+    private static byte @NotNull [] encodeStrike(long recordSequence, @NotNull UUID playerUUID, @NotNull String playerName, int strikes, @NotNull Strike strike) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + strike.reason().length());
+            DataOutputStream output = encodeHeader(bytes, recordSequence, RECORD_STRIKE, playerUUID);
+            output.writeUTF(playerName);
+            output.writeInt(strikes);
+            output.writeLong(strike.timestamp());
+            output.writeUTF(strike.reason());
+            output.writeUTF(strike.action());
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            // Writing to a byte array never fails, but a reason longer than 65535 bytes is rejected
+            throw new IllegalArgumentException("Failed to encode the strike: " + e.getMessage(), e);
+        }
+    }
+
+    private static byte @NotNull [] encodeReset(long recordSequence, @Nullable UUID playerUUID) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(25);
+            encodeHeader(bytes, recordSequence, playerUUID != null ? RECORD_RESET : RECORD_RESET_ALL, playerUUID != null ? playerUUID : new UUID(0, 0));
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static @NotNull DataOutputStream encodeHeader(@NotNull ByteArrayOutputStream bytes, long recordSequence, byte type, @NotNull UUID playerUUID) throws IOException {
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeLong(recordSequence);
+        output.writeByte(type);
+        output.writeLong(playerUUID.getMostSignificantBits());
+        output.writeLong(playerUUID.getLeastSignificantBits());
+        return output;
+    }
+
+    /**
+     * When the journal is forced to disk, changes that weren't forced yet may be lost if the server crashes
+     */
+    public enum SyncPolicy {
+        /**
+         * After every batch of changes
+         */
+        ALWAYS,
+        /**
+         * At most once per sync interval
+         */
+        INTERVAL,
+        /**
+         * Only on compaction and shutdown, otherwise whenever the operating system writes it
+         */
+        NEVER
+    }
+}
\ No newline at end of file
@@ -75,6 +75,15 @@ public class LoggingHelper {
         }
     }
 
+    /**
+     * Checks whether debug messages are logged, to skip building expensive debug messages otherwise
+     *
+     * @return True if the current log level allows DEBUG logging, false otherwise
+     */
+    public boolean isDebugEnabled() {
+        return isLogLevel(Level.CONFIG);
+    }
+
     /**
      * Sets the log level for the logger based on a string value
      * Supported values: DEBUG, ERROR, WARNING, and INFO
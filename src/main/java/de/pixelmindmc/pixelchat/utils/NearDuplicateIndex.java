@@ -0,0 +1,242 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.utils;
+
+import de.pixelmindmc.pixelchat.model.MessageClassification;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A time-windowed index of the SimHash fingerprints of recent messages from all players
+ * Messages whose fingerprints differ in only a few bits are near-duplicates, like the slightly changed copies of an
+ * advert a spam bot wave sends from many accounts. The index is a fixed-size ring, so its memory doesn't depend on the
+ * chat volume, and the oldest fingerprint is overwritten once it is full
+ */
+public class NearDuplicateIndex {
+    // Length of the character shingles the fingerprint is computed from
+    private static final int SHINGLE_LENGTH = 4;
+
+    private final long[] fingerprints;
+    private final long[] firstSeen;
+    private final int[] counts;
+    private final @Nullable MessageClassification[] classifications;
+    private final int maxDistance;
+    private final int minLength;
+    private final long windowNanos;
+    private int nextSlot = 0;
+
+    /**
+     * Constructs a NearDuplicateIndex object
+     *
+     * @param maxSize       The maximum number of fingerprints kept in the index
+     * @param maxDistance   The maximum number of differing bits for two messages to be near-duplicates
+     * @param minLength     The minimum length of a normalized message to be indexed, shorter messages like "gg" are
+     *                      too similar to each other to be compared
+     * @param windowSeconds The number of seconds a fingerprint stays in the index after it was first seen
+     */
+    public NearDuplicateIndex(int maxSize, int maxDistance, int minLength, long windowSeconds) {
+        int size = Math.max(1, maxSize);
+        this.fingerprints = new long[size];
+        this.firstSeen = new long[size];
+        this.counts = new int[size];
+        this.classifications = new MessageClassification[size];
+        this.maxDistance = Math.max(0, Math.min(64, maxDistance));
+        this.minLength = Math.max(SHINGLE_LENGTH, minLength);
+        this.windowNanos = TimeUnit.SECONDS.toNanos(Math.max(1, windowSeconds));
+    }
+
+    /**
+     * Records a message and looks up the recent messages it is a near-duplicate of
+     *
+     * @param message The message
+     * @return The match with the number of near-duplicates seen within the window including this message, or
+     * {@code null} if the message is too short to be indexed
+     */
+    public @Nullable Match record(@NotNull String message) {
+        String normalized = normalize(message);
+        if (normalized.length() < minLength) {
+            return null;
+        }
+
+        long fingerprint = simHash(normalized);
+        long now = System.nanoTime();
+
+        synchronized (this) {
+            // Find the closest fingerprint that hasn't expired yet
+            int closest = -1;
+            int closestDistance = maxDistance + 1;
+            for (int slot = 0; slot < counts.length; slot++) {
+                if (counts[slot] == 0 || now - firstSeen[slot] >= windowNanos) {
+                    continue;
+                }
+
+                int distance = Long.bitCount(fingerprints[slot] ^ fingerprint);
+                if (distance < closestDistance) {
+                    closest = slot;
+                    closestDistance = distance;
+                }
+            }
+
+            if (closest >= 0) {
+                counts[closest]++;
+                return new Match(closest, firstSeen[closest], counts[closest], classifications[closest]);
+            }
+
+            int slot = nextSlot;
+            nextSlot = (nextSlot + 1) % counts.length;
+
+            fingerprints[slot] = fingerprint;
+            firstSeen[slot] = now;
+            counts[slot] = 1;
+            classifications[slot] = null;
+
+            return new Match(slot, now, 1, null);
+        }
+    }
+
+    /**
+     * Stores the classification of the first message of a match, so that its near-duplicates can reuse it
+     *
+     * @param match          The match of the classified message
+     * @param classification The classification
+     */
+    public synchronized void complete(@NotNull Match match, @NotNull MessageClassification classification) {
+        // The slot may have been overwritten by a newer message in the meantime
+        if (firstSeen[match.slot()] == match.firstSeen() && counts[match.slot()] > 0 && classifications[match.slot()] == null) {
+            classifications[match.slot()] = classification;
+        }
+    }
+
+    /**
+     * Drops all fingerprints, e.g. after the AI model or system prompt changed
+     */
+    public synchronized void clear() {
+        Arrays.fill(counts, 0);
+        Arrays.fill(classifications, null);
+    }
+
+    /**
+     * Drops the stored classifications but keeps the fingerprints, so that a spam wave is still counted after the AI
+     * model or system prompt changed
+     */
+    public synchronized void clearClassifications() {
+        Arrays.fill(classifications, null);
+    }
+
+    /**
+     * Checks whether the index was constructed with the given settings, so that a reload can keep it and its recent
+     * messages
+     *
+     * @param maxSize       The maximum number of fingerprints kept in the index
+     * @param maxDistance   The maximum number of differing bits for two messages to be near-duplicates
+     * @param minLength     The minimum length of a normalized message to be indexed
+     * @param windowSeconds The number of seconds a fingerprint stays in the index after it was first seen
+     * @return {@code true} if the settings are the same
+     */
+    public boolean hasSettings(int maxSize, int maxDistance, int minLength, long windowSeconds) {
+        return counts.length == Math.max(1, maxSize) && this.maxDistance == Math.max(0, Math.min(64, maxDistance)) && this.minLength == Math.max(SHINGLE_LENGTH, minLength) && windowNanos == TimeUnit.SECONDS.toNanos(Math.max(1, windowSeconds));
+    }
+
+    /**
+     * Retrieve the number of fingerprints within the window
+     *
+     * @return The number of fingerprints
+     */
+    public synchronized int size() {
+        long now = System.nanoTime();
+        int size = 0;
+        for (int slot = 0; slot < counts.length; slot++) {
+            if (counts[slot] > 0 && now - firstSeen[slot] < windowNanos) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Normalizes a message so that changed case, punctuation and spacing don't change its fingerprint
+     *
+     * @param message The message
+     * @return The lower case letters and digits of the message, words separated by single spaces
+     */
+    static @NotNull String normalize(@NotNull String message) {
+        StringBuilder normalized = new StringBuilder(message.length());
+        boolean pendingSpace = false;
+
+        for (int i = 0; i < message.length(); ) {
+            int codePoint = message.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (pendingSpace) {
+                    normalized.append(' ');
+                    pendingSpace = false;
+                }
+                normalized.appendCodePoint(Character.toLowerCase(codePoint));
+            } else {
+                pendingSpace = !normalized.isEmpty();
+            }
+        }
+
+        return normalized.toString();
+    }
+
+    /**
+     * Computes the 64-bit SimHash of a normalized message from its character shingles
+     * Every shingle votes for each bit of its hash, so a small change of the message only flips a few bits of the
+     * fingerprint while unrelated messages differ in about half of them
+     *
+     * @param normalized The normalized message
+     * @return The fingerprint
+     */
+    static long simHash(@NotNull String normalized) {
+        int[] votes = new int[64];
+
+        for (int i = 0; i + SHINGLE_LENGTH <= normalized.length(); i++) {
+            long hash = 0xcbf29ce484222325L;
+            for (int j = i; j < i + SHINGLE_LENGTH; j++) {
+                hash = (hash ^ normalized.charAt(j)) * 0x100000001b3L;
+            }
+            hash = mix(hash);
+
+            for (int bit = 0; bit < 64; bit++) {
+                votes[bit] += (int) ((hash >>> bit) & 1) * 2 - 1;
+            }
+        }
+
+        long fingerprint = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (votes[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Spreads the bits of an FNV hash, whose high bits barely change for short inputs
+     */
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    /**
+     * A recent message that a recorded message is a near-duplicate of, or the recorded message itself
+     *
+     * @param slot           The slot of the fingerprint in the index
+     * @param firstSeen      The {@link System#nanoTime()} at which the first of the near-duplicates was seen
+     * @param count          The number of near-duplicates seen within the window, including the recorded message
+     * @param classification The classification of the first of the near-duplicates, or {@code null} if it isn't known
+     *                       yet
+     */
+    public record Match(int slot, long firstSeen, int count, @Nullable MessageClassification classification) {
+    }
+}
\ No newline at end of file
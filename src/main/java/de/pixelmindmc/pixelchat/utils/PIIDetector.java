@@ -0,0 +1,358 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.utils;
+
+import de.pixelmindmc.pixelchat.model.MessageClassification;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Detects email addresses, websites, IP addresses, shared passwords and shared usernames locally
+ * The message is scanned token by token using index arithmetic only, so detection doesn't allocate and costs a tiny
+ * fraction of an API request. Tokens that only look like generated passwords are reported as suspected, they are not
+ * certain enough to be decided without the AI
+ */
+public final class PIIDetector {
+    /**
+     * The suspected flags are returned by {@link #detect(String)} shifted by this number of bits
+     */
+    public static final int SUSPECTED_SHIFT = 16;
+
+    // Minimum length of a token that looks like a generated password
+    private static final int MIN_PASSWORD_LENGTH = 10;
+    private static final String[] URL_PREFIXES = {"http://", "https://", "www."};
+    private static final String[] PASSWORD_KEYS = {"password", "passwort", "passwd", "pass", "pwd", "pw"};
+    private static final String[] USERNAME_KEYS = {"username", "user", "login", "ign"};
+    private static final String[] TOP_LEVEL_DOMAINS = {"com", "net", "org", "de", "io", "gg", "me", "co", "uk", "ru", "xyz", "info", "biz", "tk", "ml", "ga", "cf", "gq", "us", "eu", "fr", "nl", "es", "it", "pl", "cn", "tw", "tv", "app", "dev", "shop", "store", "site", "online", "club", "top", "link", "live", "pro", "fun", "at", "ch", "be", "ly", "to", "cc", "sh"};
+
+    private final boolean emailAddresses;
+    private final boolean websites;
+    private final boolean ipAddresses;
+    private final boolean passwords;
+    private final boolean usernames;
+
+    /**
+     * Constructs a PIIDetector object
+     *
+     * @param emailAddresses Whether email addresses are detected
+     * @param websites       Whether websites are detected
+     * @param ipAddresses    Whether IP addresses are detected, they are reported as websites
+     * @param passwords      Whether password-like tokens and shared passwords are detected
+     * @param usernames      Whether explicitly shared usernames like "user: name" are detected
+     */
+    public PIIDetector(boolean emailAddresses, boolean websites, boolean ipAddresses, boolean passwords, boolean usernames) {
+        this.emailAddresses = emailAddresses;
+        this.websites = websites;
+        this.ipAddresses = ipAddresses;
+        this.passwords = passwords;
+        this.usernames = usernames;
+    }
+
+    /**
+     * Retrieve the flags that the enabled detectors decide on their own
+     * If none of these flags are detected or suspected in a message, the AI doesn't need to be asked to confirm it,
+     * usernames are never covered because only explicitly shared ones are detected
+     *
+     * @return The covered {@link MessageClassification} flags
+     */
+    public int getCoveredFlags() {
+        return (emailAddresses ? MessageClassification.EMAIL_ADDRESS : 0) | (websites ? MessageClassification.WEBSITE : 0) | (passwords ? MessageClassification.PASSWORD : 0);
+    }
+
+    /**
+     * Scans a message for personal information
+     *
+     * @param message The message
+     * @return The {@link MessageClassification} flags of everything found, with the flags that are only suspected
+     * shifted by {@link #SUSPECTED_SHIFT}, or 0 if nothing was found
+     */
+    public int detect(@NotNull String message) {
+        int flags = 0;
+        int length = message.length();
+        int index = 0;
+        // Flag of a preceding "password:" or "user:" label that applies to the next token
+        int labelFlag = 0;
+
+        while (index < length) {
+            // Skip whitespace between tokens
+            while (index < length && Character.isWhitespace(message.charAt(index))) {
+                index++;
+            }
+
+            int start = index;
+            while (index < length && !Character.isWhitespace(message.charAt(index))) {
+                index++;
+            }
+
+            // Trim surrounding punctuation
+            int end = index;
+            while (start < end && isEnclosingPunctuation(message.charAt(start))) {
+                start++;
+            }
+            while (end > start && isEnclosingPunctuation(message.charAt(end - 1))) {
+                end--;
+            }
+
+            if (start < end) {
+                flags |= labelFlag | detectToken(message, start, end);
+                labelFlag = detectLabel(message, start, end);
+            }
+        }
+
+        return flags;
+    }
+
+    /**
+     * Runs all enabled detectors on a single token
+     */
+    private int detectToken(@NotNull String message, int start, int end) {
+        int at = indexOf(message, '@', start, end);
+        if (at >= 0) {
+            return emailAddresses && isEmailAddress(message, start, at, end) ? MessageClassification.EMAIL_ADDRESS : 0;
+        }
+
+        if (websites && isWebsite(message, start, end)) {
+            return MessageClassification.WEBSITE;
+        }
+
+        if (ipAddresses && isIpAddress(message, start, end)) {
+            return MessageClassification.WEBSITE;
+        }
+
+        if (passwords && hasKeyPrefix(message, start, end, PASSWORD_KEYS)) {
+            return MessageClassification.PASSWORD;
+        }
+
+        if (usernames && hasKeyPrefix(message, start, end, USERNAME_KEYS)) {
+            return MessageClassification.USERNAME;
+        }
+
+        if (passwords && isPasswordLike(message, start, end)) {
+            return MessageClassification.PASSWORD << SUSPECTED_SHIFT;
+        }
+
+        return 0;
+    }
+
+    /**
+     * Retrieve the flags a detection is certain about
+     *
+     * @param detection The result of {@link #detect(String)}
+     * @return The {@link MessageClassification} flags
+     */
+    public static int confirmedFlags(int detection) {
+        return detection & ((1 << SUSPECTED_SHIFT) - 1);
+    }
+
+    /**
+     * Retrieve the flags a detection only suspects, they have to be confirmed by the AI
+     *
+     * @param detection The result of {@link #detect(String)}
+     * @return The {@link MessageClassification} flags
+     */
+    public static int suspectedFlags(int detection) {
+        return detection >>> SUSPECTED_SHIFT;
+    }
+
+    /**
+     * Checks whether a token is a label like "password:" whose value follows as the next token
+     */
+    private int detectLabel(@NotNull String message, int start, int end) {
+        if (passwords && isLabel(message, start, end, PASSWORD_KEYS)) {
+            return MessageClassification.PASSWORD;
+        }
+
+        if (usernames && isLabel(message, start, end, USERNAME_KEYS)) {
+            return MessageClassification.USERNAME;
+        }
+
+        return 0;
+    }
+
+    private boolean isEmailAddress(@NotNull String message, int start, int at, int end) {
+        if (at == start) {
+            return false;
+        }
+
+        for (int i = start; i < at; i++) {
+            char c = message.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '.' && c != '_' && c != '%' && c != '+' && c != '-') {
+                return false;
+            }
+        }
+
+        return isDomain(message, at + 1, end);
+    }
+
+    private boolean isWebsite(@NotNull String message, int start, int end) {
+        for (String prefix : URL_PREFIXES) {
+            if (end - start > prefix.length() && message.regionMatches(true, start, prefix, 0, prefix.length())) {
+                return true;
+            }
+        }
+
+        return isDomain(message, start, hostEnd(message, start, end));
+    }
+
+    /**
+     * Checks whether the given range is a host name with at least two labels and a known top level domain
+     */
+    private boolean isDomain(@NotNull String message, int start, int end) {
+        int lastDot = -1;
+        int labelLength = 0;
+
+        for (int i = start; i < end; i++) {
+            char c = message.charAt(i);
+            if (c == '.') {
+                if (labelLength == 0) {
+                    return false;
+                }
+                lastDot = i;
+                labelLength = 0;
+            } else if (Character.isLetterOrDigit(c) || c == '-') {
+                labelLength++;
+            } else {
+                return false;
+            }
+        }
+
+        if (lastDot < 0 || labelLength == 0) {
+            return false;
+        }
+
+        for (String topLevelDomain : TOP_LEVEL_DOMAINS) {
+            if (topLevelDomain.length() == labelLength && message.regionMatches(true, lastDot + 1, topLevelDomain, 0, labelLength)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks whether the host part of the given range is an IPv4 address
+     */
+    private boolean isIpAddress(@NotNull String message, int start, int end) {
+        int hostEnd = hostEnd(message, start, end);
+        int groups = 0;
+        int value = 0;
+        int digits = 0;
+
+        for (int i = start; i <= hostEnd; i++) {
+            char c = i < hostEnd ? message.charAt(i) : '.';
+            if (c == '.') {
+                if (digits == 0 || value > 255) {
+                    return false;
+                }
+                groups++;
+                value = 0;
+                digits = 0;
+            } else if (c >= '0' && c <= '9' && digits < 3) {
+                value = value * 10 + (c - '0');
+                digits++;
+            } else {
+                return false;
+            }
+        }
+
+        return groups == 4;
+    }
+
+    /**
+     * Checks whether a token looks like a generated password: lower and upper case letters, digits and a symbol, with
+     * hardly any repeated characters
+     * Underscores, hyphens, exclamation and question marks are common in player names and chat, so they aren't counted
+     * as symbols
+     */
+    private boolean isPasswordLike(@NotNull String message, int start, int end) {
+        int length = end - start;
+        if (length < MIN_PASSWORD_LENGTH || length > 64) {
+            return false;
+        }
+
+        boolean lower = false;
+        boolean upper = false;
+        boolean digit = false;
+        boolean symbol = false;
+        // The distinct characters of the token, every character is printable ASCII
+        long seenLow = 0;
+        long seenHigh = 0;
+
+        for (int i = start; i < end; i++) {
+            char c = message.charAt(i);
+            if (c <= ' ' || c > '~' || c == '.' || c == '/' || c == ':' || c == '\'') {
+                // Words in other scripts, paths, times, abbreviations and contractions are not passwords
+                return false;
+            } else if (c >= 'a' && c <= 'z') {
+                lower = true;
+            } else if (c >= 'A' && c <= 'Z') {
+                upper = true;
+            } else if (c >= '0' && c <= '9') {
+                digit = true;
+            } else if (c != '_' && c != '-' && c != '!' && c != '?') {
+                symbol = true;
+            }
+
+            if (c < 64) {
+                seenLow |= 1L << c;
+            } else {
+                seenHigh |= 1L << (c - 64);
+            }
+        }
+
+        // Generated passwords rarely repeat characters, words and names with digits appended do
+        int distinct = Long.bitCount(seenLow) + Long.bitCount(seenHigh);
+        return lower && upper && digit && symbol && distinct * 4 >= length * 3;
+    }
+
+    /**
+     * Checks whether a token has the form "key:value" or "key=value" for one of the given keys
+     */
+    private boolean hasKeyPrefix(@NotNull String message, int start, int end, @NotNull String[] keys) {
+        for (String key : keys) {
+            int separator = start + key.length();
+            if (separator + 1 < end && message.regionMatches(true, start, key, 0, key.length()) && (message.charAt(separator) == ':' || message.charAt(separator) == '=')) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean isLabel(@NotNull String message, int start, int end, @NotNull String[] keys) {
+        for (String key : keys) {
+            if (end - start == key.length() + 1 && message.regionMatches(true, start, key, 0, key.length()) && (message.charAt(end - 1) == ':' || message.charAt(end - 1) == '=')) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private int hostEnd(@NotNull String message, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = message.charAt(i);
+            if (c == '/' || c == ':' || c == '?' || c == '#') {
+                return i;
+            }
+        }
+
+        return end;
+    }
+
+    private static int indexOf(@NotNull String message, char c, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (message.charAt(i) == c) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static boolean isEnclosingPunctuation(char c) {
+        return c == ',' || c == '.' || c == '!' || c == '?' || c == ';' || c == '(' || c == ')' || c == '[' || c == ']' || c == '<' || c == '>' || c == '"' || c == '\'';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,129 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.utils;
+
+import de.pixelmindmc.pixelchat.constants.PermissionConstants;
+import org.bukkit.Statistic;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a snapshot of the chat permissions of every online player as a bitmask, together with their playtime
+ * Permission plugins resolve {@link Player#hasPermission(String)} through inheritance and contexts on every call,
+ * while the chat path checks several permissions per message. The snapshots are taken on the main thread when a
+ * player joins, changes worlds or gets their commands resent after a permission change, and are read lock-free from
+ * the async chat threads. Players without a snapshot are checked directly. Statistics mustn't be read off the main
+ * thread, so the playtime is only known from a snapshot and counted on from the time it was taken
+ */
+public class PermissionCache {
+    public static final int BYPASS_CHAT_MODERATION = 1;
+    public static final int OPTIMISTIC_DELIVERY = 1 << 1;
+    public static final int EMOJIS = 1 << 2;
+    public static final int CHAT_CODES = 1 << 3;
+    public static final int STRIKE_NOTIFY = 1 << 4;
+
+    // Permission nodes indexed by the bit of their flag
+    private static final String[] PERMISSIONS = {PermissionConstants.Moderation.BYPASS_CHAT_MODERATION, PermissionConstants.Moderation.OPTIMISTIC_DELIVERY, PermissionConstants.Modules.EMOJIS, PermissionConstants.Modules.CHAT_CODES, PermissionConstants.Moderation.STRIKE_NOTIFY};
+    private static final long TICKS_PER_MINUTE = 20L * 60;
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+
+    private final @NotNull Map<UUID, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * Checks whether a player has a chat permission
+     *
+     * @param player     The player
+     * @param permission The flag of the permission, e.g. {@link #EMOJIS}
+     * @return {@code true} if the player has the permission
+     */
+    public boolean has(@NotNull Player player, int permission) {
+        Snapshot snapshot = snapshots.get(player.getUniqueId());
+        if (snapshot == null) {
+            return player.hasPermission(PERMISSIONS[Integer.numberOfTrailingZeros(permission)]);
+        }
+
+        return (snapshot.permissions() & permission) != 0;
+    }
+
+    /**
+     * Retrieve the playtime of a player from their snapshot, safe to call from the async chat threads
+     *
+     * @param playerUUID The player uuid
+     * @return The playtime in minutes, 0 for players without a snapshot
+     */
+    public long getPlaytimeMinutes(@NotNull UUID playerUUID) {
+        Snapshot snapshot = snapshots.get(playerUUID);
+        if (snapshot == null) {
+            return 0;
+        }
+
+        return snapshot.playtimeMinutes() + (System.currentTimeMillis() - snapshot.takenAt()) / MILLIS_PER_MINUTE;
+    }
+
+    /**
+     * Takes a new snapshot of the chat permissions and the playtime of a player, must be called on the main thread
+     *
+     * @param player The player
+     */
+    public void refresh(@NotNull Player player) {
+        int snapshot = 0;
+        for (int bit = 0; bit < PERMISSIONS.length; bit++) {
+            if (player.hasPermission(PERMISSIONS[bit])) {
+                snapshot |= 1 << bit;
+            }
+        }
+
+        // The statistic counts ticks despite its name
+        long playtimeMinutes = player.getStatistic(Statistic.PLAY_ONE_MINUTE) / TICKS_PER_MINUTE;
+
+        snapshots.put(player.getUniqueId(), new Snapshot(snapshot, playtimeMinutes, System.currentTimeMillis()));
+    }
+
+    /**
+     * Takes new snapshots of the chat permissions and the playtime of several players, must be called on the main
+     * thread
+     *
+     * @param players The players
+     */
+    public void refreshAll(@NotNull Collection<? extends Player> players) {
+        for (Player player : players) {
+            refresh(player);
+        }
+    }
+
+    /**
+     * Drops the snapshot of a player that left
+     *
+     * @param playerUUID The player uuid
+     */
+    public void remove(@NotNull UUID playerUUID) {
+        snapshots.remove(playerUUID);
+    }
+
+    /**
+     * Retrieve the number of players with a snapshot
+     *
+     * @return The number of snapshots
+     */
+    public int size() {
+        return snapshots.size();
+    }
+
+    /**
+     * A snapshot of a player
+     *
+     * @param permissions     The chat permissions as a bitmask
+     * @param playtimeMinutes The playtime when the snapshot was taken in minutes
+     * @param takenAt         The time the snapshot was taken in milliseconds
+     */
+    private record Snapshot(int permissions, long playtimeMinutes, long takenAt) {
+    }
+}
\ No newline at end of file
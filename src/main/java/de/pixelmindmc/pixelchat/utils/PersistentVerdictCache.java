@@ -0,0 +1,386 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.utils;
+
+import de.pixelmindmc.pixelchat.model.MessageClassification;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A disk-backed cache for message classifications that survives server restarts
+ * The cache is a fixed-size memory-mapped hash table, every record only holds the hash of the message, the expiry
+ * time, the detection flags and the id of an interned reason. Every record carries a checksum that is written last,
+ * so a record that was only partially written when the server crashed is simply treated as empty
+ * Records are grouped into buckets of a few slots, a message is only ever stored in the bucket its hash points to
+ */
+public class PersistentVerdictCache {
+    // File layout
+    private static final int MAGIC = 0x50434743;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int HEADER_SLOT_COUNT = 8;
+    private static final int HEADER_REASON_COUNT = 12;
+    private static final int HEADER_FINGERPRINT = 16;
+    private static final int REASON_CAPACITY = 1024;
+    private static final int REASON_SIZE = 192;
+    private static final int REASON_TABLE_SIZE = REASON_CAPACITY * REASON_SIZE;
+
+    // Record layout
+    private static final int RECORD_SIZE = 24;
+    private static final int RECORD_HASH = 0;
+    private static final int RECORD_EXPIRES_AT = 8;
+    private static final int RECORD_REASON = 16;
+    private static final int RECORD_FLAGS = 18;
+    private static final int RECORD_CHECKSUM = 20;
+
+    private static final int BUCKET_SIZE = 8;
+    private static final int LOCK_STRIPES = 64;
+
+    private final @NotNull LoggingHelper loggingHelper;
+    private final @NotNull File file;
+    private final int slotCount;
+    private final int bucketCount;
+    private final long expireAfterMillis;
+    private final @NotNull Object[] locks = new Object[LOCK_STRIPES];
+
+    private final @NotNull Map<String, Integer> reasonIds = new ConcurrentHashMap<>();
+    private final @NotNull List<String> reasons = new CopyOnWriteArrayList<>();
+    private volatile @Nullable MappedByteBuffer buffer;
+    private volatile long fingerprint;
+
+    // Metrics
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Constructs a PersistentVerdictCache object, the file is only opened by {@link #load()}
+     *
+     * @param loggingHelper      The logging helper
+     * @param file               The cache file
+     * @param maxSize            The maximum number of cached classifications
+     * @param expireAfterSeconds The number of seconds after which a cached classification expires
+     * @param fingerprint        The fingerprint of the model and prompt the classifications are made with
+     */
+    public PersistentVerdictCache(@NotNull LoggingHelper loggingHelper, @NotNull File file, int maxSize, long expireAfterSeconds, long fingerprint) {
+        this.loggingHelper = loggingHelper;
+        this.file = file;
+        this.bucketCount = Math.max(1, (maxSize + BUCKET_SIZE - 1) / BUCKET_SIZE);
+        this.slotCount = bucketCount * BUCKET_SIZE;
+        this.expireAfterMillis = TimeUnit.SECONDS.toMillis(Math.max(1, expireAfterSeconds));
+        this.fingerprint = fingerprint;
+
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Opens or creates the cache file and maps it into memory
+     * Until this has finished, every lookup is a miss and nothing is stored
+     */
+    public void load() {
+        try {
+            long fileSize = (long) HEADER_SIZE + REASON_TABLE_SIZE + (long) slotCount * RECORD_SIZE;
+
+            try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw"); FileChannel channel = randomAccessFile.getChannel()) {
+                boolean fresh = channel.size() != fileSize;
+                if (fresh) {
+                    randomAccessFile.setLength(0);
+                    randomAccessFile.setLength(fileSize);
+                }
+
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+
+                // Start over if the file layout changed, or if the cached results belong to another model or prompt
+                if (fresh || mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION || mapped.getInt(HEADER_SLOT_COUNT) != slotCount || mapped.getLong(HEADER_FINGERPRINT) != fingerprint) {
+                    initialize(mapped);
+                } else {
+                    readReasons(mapped);
+                }
+
+                buffer = mapped;
+            }
+
+            // Debug logger message
+            loggingHelper.debug("Loaded persistent classification cache with " + slotCount + " slots and " + reasons.size() + " reasons");
+        } catch (IOException e) {
+            loggingHelper.error("Failed to load the persistent classification cache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Looks up the cached classification of a message
+     *
+     * @param message  The message
+     * @param language The language the classification reason is written in
+     * @return The cached classification, or {@code null} if there is none or the cache hasn't been loaded yet
+     */
+    public @Nullable MessageClassification get(@NotNull String message, @NotNull String language) {
+        MappedByteBuffer mapped = buffer;
+        if (mapped == null) {
+            return null;
+        }
+
+        long hash = hash(message, language);
+        int bucket = Math.floorMod(hash, bucketCount);
+        long now = System.currentTimeMillis();
+
+        synchronized (lockFor(bucket)) {
+            for (int i = 0; i < BUCKET_SIZE; i++) {
+                int position = recordPosition(bucket, i);
+                if (mapped.getLong(position + RECORD_HASH) != hash || !isValid(mapped, position)) {
+                    continue;
+                }
+
+                int reasonId = mapped.getShort(position + RECORD_REASON);
+                if (mapped.getLong(position + RECORD_EXPIRES_AT) < now || reasonId >= reasons.size()) {
+                    break;
+                }
+
+                hits.incrementAndGet();
+                return MessageClassification.fromFlags(mapped.get(position + RECORD_FLAGS), reasons.get(reasonId));
+            }
+        }
+
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Caches the classification of a message
+     *
+     * @param message        The message
+     * @param language       The language the classification reason is written in
+     * @param classification The classification
+     */
+    public void put(@NotNull String message, @NotNull String language, @NotNull MessageClassification classification) {
+        MappedByteBuffer mapped = buffer;
+        if (mapped == null) {
+            return;
+        }
+
+        int reasonId = internReason(mapped, classification.reason());
+        if (reasonId < 0) {
+            return;
+        }
+
+        long hash = hash(message, language);
+        int bucket = Math.floorMod(hash, bucketCount);
+        long now = System.currentTimeMillis();
+
+        synchronized (lockFor(bucket)) {
+            // Reuse the slot of the same message, otherwise a free slot, otherwise the one expiring first
+            int target = -1;
+            long oldestExpiry = Long.MAX_VALUE;
+            for (int i = 0; i < BUCKET_SIZE; i++) {
+                int position = recordPosition(bucket, i);
+                long storedHash = mapped.getLong(position + RECORD_HASH);
+                if (storedHash == hash) {
+                    target = position;
+                    break;
+                }
+
+                long expiresAt = storedHash == 0 || !isValid(mapped, position) ? 0 : mapped.getLong(position + RECORD_EXPIRES_AT);
+                if (expiresAt < oldestExpiry) {
+                    oldestExpiry = expiresAt;
+                    target = position;
+                }
+            }
+
+            writeRecord(mapped, target, hash, now + expireAfterMillis, reasonId, classification.flags());
+        }
+    }
+
+    /**
+     * Updates the fingerprint of the model and prompt
+     * The fingerprint is part of every record hash, so classifications made with the old model or prompt are never
+     * found again and are overwritten over time
+     *
+     * @param newFingerprint The new fingerprint
+     */
+    public void updateFingerprint(long newFingerprint) {
+        fingerprint = newFingerprint;
+
+        MappedByteBuffer mapped = buffer;
+        if (mapped != null) {
+            mapped.putLong(HEADER_FINGERPRINT, newFingerprint);
+        }
+    }
+
+    /**
+     * Writes all pending changes to disk and releases the cache file
+     */
+    public void close() {
+        MappedByteBuffer mapped = buffer;
+        buffer = null;
+        if (mapped != null) {
+            mapped.force();
+        }
+    }
+
+    /**
+     * Retrieve the number of lookups that found a cached classification
+     *
+     * @return The number of hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Retrieve the number of lookups that found no cached classification
+     *
+     * @return The number of misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Clears the whole file and writes a fresh header
+     *
+     * @param mapped The mapped file
+     */
+    private void initialize(@NotNull MappedByteBuffer mapped) {
+        for (int position = 0; position < mapped.capacity(); position += 8) {
+            mapped.putLong(position, 0L);
+        }
+
+        mapped.putInt(0, MAGIC);
+        mapped.putInt(4, VERSION);
+        mapped.putInt(HEADER_SLOT_COUNT, slotCount);
+        mapped.putInt(HEADER_REASON_COUNT, 0);
+        mapped.putLong(HEADER_FINGERPRINT, fingerprint);
+
+        reasons.clear();
+        reasonIds.clear();
+    }
+
+    /**
+     * Reads the table of interned reasons from the file
+     *
+     * @param mapped The mapped file
+     */
+    private void readReasons(@NotNull MappedByteBuffer mapped) {
+        int reasonCount = Math.min(mapped.getInt(HEADER_REASON_COUNT), REASON_CAPACITY);
+
+        for (int id = 0; id < reasonCount; id++) {
+            int position = HEADER_SIZE + id * REASON_SIZE;
+            int length = Math.min(mapped.getShort(position), REASON_SIZE - 2);
+            byte[] bytes = new byte[length];
+            mapped.get(position + 2, bytes);
+
+            String reason = new String(bytes, StandardCharsets.UTF_8);
+            reasons.add(reason);
+            reasonIds.putIfAbsent(reason, id);
+        }
+    }
+
+    /**
+     * Looks up the id of a reason, adding it to the reason table if it isn't known yet
+     *
+     * @param mapped The mapped file
+     * @param reason The reason
+     * @return The id of the reason, or -1 if the reason table is full or the reason is too long
+     */
+    private int internReason(@NotNull MappedByteBuffer mapped, @NotNull String reason) {
+        Integer id = reasonIds.get(reason);
+        if (id != null) {
+            return id;
+        }
+
+        byte[] bytes = reason.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > REASON_SIZE - 2) {
+            return -1;
+        }
+
+        synchronized (reasons) {
+            id = reasonIds.get(reason);
+            if (id != null) {
+                return id;
+            }
+
+            int newId = reasons.size();
+            if (newId >= REASON_CAPACITY) {
+                return -1;
+            }
+
+            // Write the reason before raising the count, so a crash never exposes a partially written reason
+            int position = HEADER_SIZE + newId * REASON_SIZE;
+            mapped.putShort(position, (short) bytes.length);
+            mapped.put(position + 2, bytes);
+            mapped.putInt(HEADER_REASON_COUNT, newId + 1);
+
+            reasons.add(reason);
+            reasonIds.put(reason, newId);
+            return newId;
+        }
+    }
+
+    /**
+     * Writes a record, the checksum is cleared first and written last so that a torn write is never valid
+     */
+    private void writeRecord(@NotNull MappedByteBuffer mapped, int position, long hash, long expiresAt, int reasonId, int flags) {
+        mapped.putInt(position + RECORD_CHECKSUM, 0);
+        mapped.putLong(position + RECORD_HASH, hash);
+        mapped.putLong(position + RECORD_EXPIRES_AT, expiresAt);
+        mapped.putShort(position + RECORD_REASON, (short) reasonId);
+        mapped.put(position + RECORD_FLAGS, (byte) flags);
+        mapped.putInt(position + RECORD_CHECKSUM, checksum(hash, expiresAt, reasonId, flags));
+    }
+
+    /**
+     * Checks whether the checksum of a record matches its content
+     */
+    private boolean isValid(@NotNull MappedByteBuffer mapped, int position) {
+        return mapped.getInt(position + RECORD_CHECKSUM) == checksum(mapped.getLong(position + RECORD_HASH), mapped.getLong(position + RECORD_EXPIRES_AT), mapped.getShort(position + RECORD_REASON), mapped.get(position + RECORD_FLAGS));
+    }
+
+    private static int checksum(long hash, long expiresAt, int reasonId, int flags) {
+        long mixed = (hash ^ Long.rotateLeft(expiresAt, 17) ^ ((long) (reasonId & 0xFFFF) << 40 | (flags & 0xFF))) * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ mixed >>> 32) | 1;
+    }
+
+    /**
+     * Computes the 64-bit FNV-1a hash of the normalized message, the language and the fingerprint, 0 is reserved for
+     * empty records
+     */
+    private long hash(@NotNull String message, @NotNull String language) {
+        long hash = 0xcbf29ce484222325L ^ fingerprint;
+        String normalized = VerdictCache.normalize(message);
+        for (int i = 0; i < normalized.length(); i++) {
+            hash = (hash ^ normalized.charAt(i)) * 0x100000001b3L;
+        }
+
+        hash *= 0x100000001b3L;
+        for (int i = 0; i < language.length(); i++) {
+            hash = (hash ^ language.charAt(i)) * 0x100000001b3L;
+        }
+
+        return hash == 0 ? 1 : hash;
+    }
+
+    private int recordPosition(int bucket, int index) {
+        return HEADER_SIZE + REASON_TABLE_SIZE + (bucket * BUCKET_SIZE + index) * RECORD_SIZE;
+    }
+
+    private @NotNull Object lockFor(int bucket) {
+        return locks[bucket % LOCK_STRIPES];
+    }
+}
\ No newline at end of file
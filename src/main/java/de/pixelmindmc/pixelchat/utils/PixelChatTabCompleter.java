@@ -54,6 +54,22 @@ public class PixelChatTabCompleter implements org.bukkit.command.TabCompleter {
             if (sender.hasPermission(PermissionConstants.Commands.RELOAD)) {
                 results.add("reload");
             }
+            if (sender.hasPermission(PermissionConstants.Commands.STATUS)) {
+                results.add("status");
+            }
+            if (sender.hasPermission(PermissionConstants.Commands.STRIKES)) {
+                results.add("strikes");
+            }
+            if (sender.hasPermission(PermissionConstants.Commands.EXPORT_STRIKES)) {
+                results.add("export-strikes");
+            }
+        } else if (args[0].equalsIgnoreCase("strikes") && sender.hasPermission(PermissionConstants.Commands.STRIKES)) {
+            if (args.length == 2) {
+                results.add("top");
+                addOnlinePlayerCompletions();
+            } else if (args.length == 3) {
+                results.add("[page]");
+            }
         }
     }
 
@@ -0,0 +1,191 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the recent clean-message ratio of every player in memory to compute how much they can be trusted
+ * The ratio is updated incrementally with every classified message, as a running average over the first messages and
+ * an exponentially weighted average afterwards. Only the ratios are saved, in a small binary file of fixed-size
+ * records, playtime and strikes are read from the server and the strike file when a score is computed
+ */
+public class PlayerTrustTracker {
+    // File layout
+    private static final int MAGIC = 0x50435452;
+    private static final int VERSION = 1;
+
+    private final @NotNull LoggingHelper loggingHelper;
+    private final @NotNull File file;
+    private final int recentMessages;
+    private final @NotNull Map<UUID, TrustRecord> records = new ConcurrentHashMap<>();
+    private volatile boolean dirty = false;
+
+    /**
+     * Constructs a PlayerTrustTracker object, the saved ratios are only read by {@link #load()}
+     *
+     * @param loggingHelper  The logging helper
+     * @param file           The file the ratios are saved in
+     * @param recentMessages The number of recent messages the clean-message ratio is computed over
+     */
+    public PlayerTrustTracker(@NotNull LoggingHelper loggingHelper, @NotNull File file, int recentMessages) {
+        this.loggingHelper = loggingHelper;
+        this.file = file;
+        this.recentMessages = Math.max(1, recentMessages);
+    }
+
+    /**
+     * Records the outcome of a classified message of a player
+     *
+     * @param playerUUID The player uuid
+     * @param clean      Whether the message didn't violate any active block rule
+     */
+    public void recordMessage(@NotNull UUID playerUUID, boolean clean) {
+        records.computeIfAbsent(playerUUID, uuid -> new TrustRecord()).record(clean ? 1 : 0, recentMessages);
+        dirty = true;
+    }
+
+    /**
+     * Computes the trust score of a player
+     * The score is the share of the trusted playtime the player has reached multiplied with their recent
+     * clean-message ratio, divided by one plus their number of strikes
+     *
+     * @param playerUUID       The player uuid
+     * @param playtimeMinutes  The playtime of the player in minutes
+     * @param trustedPlaytime  The playtime in minutes from which the playtime counts fully
+     * @param strikes          The number of strikes of the player
+     * @param minMessages      The number of classified messages a player needs before they get a score
+     * @return The score between 0 and 1, 0 for players with fewer messages than required
+     */
+    public double getScore(@NotNull UUID playerUUID, long playtimeMinutes, long trustedPlaytime, int strikes, int minMessages) {
+        TrustRecord record = records.get(playerUUID);
+        if (record == null) {
+            return 0;
+        }
+
+        double cleanRatio;
+        synchronized (record) {
+            if (record.messages < Math.max(1, minMessages)) {
+                return 0;
+            }
+            cleanRatio = record.cleanRatio;
+        }
+
+        double playtimeShare = trustedPlaytime > 0 ? Math.min(1, (double) playtimeMinutes / trustedPlaytime) : 1;
+        return playtimeShare * cleanRatio / (1 + Math.max(0, strikes));
+    }
+
+    /**
+     * Retrieve the number of players with recorded messages
+     *
+     * @return The number of players
+     */
+    public int size() {
+        return records.size();
+    }
+
+    /**
+     * Reads the saved ratios, players that have already chatted since the start keep their current ratio
+     */
+    public void load() {
+        if (!file.exists()) {
+            return;
+        }
+
+        try (InputStream inputStream = Files.newInputStream(file.toPath()); DataInputStream input = new DataInputStream(new BufferedInputStream(inputStream))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                loggingHelper.warning("Ignoring the player trust file with an unknown format");
+                return;
+            }
+
+            int count = input.readInt();
+            for (int i = 0; i < count; i++) {
+                UUID playerUUID = new UUID(input.readLong(), input.readLong());
+                TrustRecord record = new TrustRecord();
+                record.cleanRatio = input.readFloat();
+                record.messages = input.readInt();
+                records.putIfAbsent(playerUUID, record);
+            }
+
+            // Debug logger message
+            loggingHelper.debug("Loaded the trust records of " + count + " players");
+        } catch (EOFException e) {
+            loggingHelper.warning("The player trust file is truncated, only part of it was loaded");
+        } catch (IOException e) {
+            loggingHelper.error("Failed to load the player trust file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Saves the ratios if any changed since the last save
+     * The file is written next to the old one and moved over it, so a crash while saving never loses the old file
+     */
+    public synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+
+        File temporaryFile = new File(file.getPath() + ".tmp");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(temporaryFile.toPath()); DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream))) {
+                // Write a snapshot, as players keep chatting while the file is written
+                Map<UUID, TrustRecord> snapshot = Map.copyOf(records);
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeInt(snapshot.size());
+
+                for (Map.Entry<UUID, TrustRecord> entry : snapshot.entrySet()) {
+                    TrustRecord record = entry.getValue();
+                    output.writeLong(entry.getKey().getMostSignificantBits());
+                    output.writeLong(entry.getKey().getLeastSignificantBits());
+                    synchronized (record) {
+                        output.writeFloat((float) record.cleanRatio);
+                        output.writeInt(record.messages);
+                    }
+                }
+            }
+
+            Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty = true;
+            loggingHelper.error("Failed to save the player trust file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * The recent clean-message ratio of a player
+     */
+    private static final class TrustRecord {
+        private double cleanRatio = 0;
+        private int messages = 0;
+
+        private synchronized void record(int clean, int recentMessages) {
+            if (messages < Integer.MAX_VALUE) {
+                messages++;
+            }
+
+            // Running average until the window is full, which doesn't let the first message decide the ratio
+            double weight = 1.0 / Math.min(messages, recentMessages);
+            cleanRatio += (clean - cleanRatio) * weight;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,273 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.utils;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.http.HttpHeaders;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Keeps track of the request and token budget the API reports in its rate limit headers and paces outgoing requests
+ * so they stay under the limit instead of running into it
+ * Supports the OpenAI-style {@code x-ratelimit-*} headers and {@code Retry-After}
+ */
+public class RateLimiter {
+    private static final long UNKNOWN = -1;
+
+    private final @NotNull LoggingHelper loggingHelper;
+
+    private long limitRequests = UNKNOWN;
+    private long remainingRequests = UNKNOWN;
+    private long requestsResetAt;
+    private long limitTokens = UNKNOWN;
+    private long remainingTokens = UNKNOWN;
+    private long tokensResetAt;
+    private long retryAfterUntil;
+    private long lastScheduledAt;
+    private long pacedRequests;
+
+    /**
+     * Constructs a RateLimiter object
+     *
+     * @param loggingHelper The logging helper
+     */
+    public RateLimiter(@NotNull LoggingHelper loggingHelper) {
+        this.loggingHelper = loggingHelper;
+    }
+
+    /**
+     * Reserves a request from the budget
+     *
+     * @param tokens The estimated number of tokens the request uses
+     * @return The number of milliseconds to wait before the request may be sent
+     */
+    public synchronized long reserve(long tokens) {
+        long now = System.currentTimeMillis();
+
+        // The budget is full again once its reset time has passed
+        if (limitRequests != UNKNOWN && now >= requestsResetAt) {
+            remainingRequests = limitRequests;
+        }
+        if (limitTokens != UNKNOWN && now >= tokensResetAt) {
+            remainingTokens = limitTokens;
+        }
+
+        long readyAt = Math.max(now, retryAfterUntil);
+
+        if (remainingRequests != UNKNOWN) {
+            if (remainingRequests <= 0) {
+                readyAt = Math.max(readyAt, requestsResetAt);
+            } else if (requestsResetAt > now) {
+                // Spread the remaining requests evenly over the time until the budget resets
+                readyAt = Math.max(readyAt, lastScheduledAt + (requestsResetAt - now) / remainingRequests);
+            }
+            // Clamped at zero, a negative budget would read as unknown and turn the pacing off
+            remainingRequests = Math.max(0, remainingRequests - 1);
+        }
+
+        if (remainingTokens != UNKNOWN) {
+            if (remainingTokens < tokens) {
+                readyAt = Math.max(readyAt, tokensResetAt);
+            }
+            remainingTokens = Math.max(0, remainingTokens - tokens);
+        }
+
+        lastScheduledAt = readyAt;
+        if (readyAt > now) {
+            pacedRequests++;
+        }
+
+        return readyAt - now;
+    }
+
+    /**
+     * Updates the budget from the headers of an API response
+     *
+     * @param headers    The response headers
+     * @param statusCode The HTTP code of the response
+     */
+    public synchronized void update(@NotNull HttpHeaders headers, int statusCode) {
+        long now = System.currentTimeMillis();
+
+        limitRequests = parseLong(headers.firstValue("x-ratelimit-limit-requests").orElse(null), limitRequests);
+        remainingRequests = parseLong(headers.firstValue("x-ratelimit-remaining-requests").orElse(null), remainingRequests);
+        limitTokens = parseLong(headers.firstValue("x-ratelimit-limit-tokens").orElse(null), limitTokens);
+        remainingTokens = parseLong(headers.firstValue("x-ratelimit-remaining-tokens").orElse(null), remainingTokens);
+
+        long resetRequests = parseDuration(headers.firstValue("x-ratelimit-reset-requests").orElse(null));
+        if (resetRequests >= 0) {
+            requestsResetAt = now + resetRequests;
+        }
+        long resetTokens = parseDuration(headers.firstValue("x-ratelimit-reset-tokens").orElse(null));
+        if (resetTokens >= 0) {
+            tokensResetAt = now + resetTokens;
+        }
+
+        long retryAfter = parseRetryAfter(headers.firstValue("retry-after").orElse(null), now);
+        if (retryAfter < 0 && statusCode == 429) {
+            // Without a Retry-After header, wait until the exhausted budget resets
+            retryAfter = Math.max(0, Math.max(requestsResetAt, tokensResetAt) - now);
+        }
+        if (retryAfter > 0) {
+            retryAfterUntil = Math.max(retryAfterUntil, now + retryAfter);
+
+            // Debug logger message
+            loggingHelper.debug("API rate limit reached, pausing requests for " + retryAfter + " ms");
+        }
+    }
+
+    /**
+     * Parses a header value as a number
+     *
+     * @param value        The header value
+     * @param defaultValue The value returned if the header is missing or invalid
+     * @return The parsed number
+     */
+    private static long parseLong(@Nullable String value, long defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Parses a duration like "1s", "6m0s", "1.5s" or "20ms" as used by the {@code x-ratelimit-reset-*} headers
+     *
+     * @param value The header value
+     * @return The duration in milliseconds, or -1 if the header is missing or invalid
+     */
+    private static long parseDuration(@Nullable String value) {
+        if (value == null || value.isBlank()) {
+            return UNKNOWN;
+        }
+
+        double millis = 0;
+        int index = 0;
+        String duration = value.trim();
+
+        while (index < duration.length()) {
+            int start = index;
+            while (index < duration.length() && (Character.isDigit(duration.charAt(index)) || duration.charAt(index) == '.')) {
+                index++;
+            }
+            int unitStart = index;
+            while (index < duration.length() && Character.isLetter(duration.charAt(index))) {
+                index++;
+            }
+
+            if (start == unitStart) {
+                return UNKNOWN;
+            }
+
+            double amount;
+            try {
+                amount = Double.parseDouble(duration.substring(start, unitStart));
+            } catch (NumberFormatException e) {
+                return UNKNOWN;
+            }
+
+            switch (duration.substring(unitStart, index)) {
+                case "h" -> millis += amount * 3_600_000;
+                case "m" -> millis += amount * 60_000;
+                case "s", "" -> millis += amount * 1000;
+                case "ms" -> millis += amount;
+                default -> {
+                    return UNKNOWN;
+                }
+            }
+        }
+
+        return (long) Math.ceil(millis);
+    }
+
+    /**
+     * Parses a {@code Retry-After} header given either in seconds or as an HTTP date
+     *
+     * @param value The header value
+     * @param now   The current time in milliseconds
+     * @return The time to wait in milliseconds, or -1 if the header is missing or invalid
+     */
+    private static long parseRetryAfter(@Nullable String value, long now) {
+        if (value == null || value.isBlank()) {
+            return UNKNOWN;
+        }
+
+        try {
+            return (long) Math.ceil(Double.parseDouble(value.trim()) * 1000);
+        } catch (NumberFormatException ignored) {
+            // Not a number of seconds, try an HTTP date
+        }
+
+        try {
+            return Math.max(0, ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli() - now);
+        } catch (DateTimeParseException e) {
+            return UNKNOWN;
+        }
+    }
+
+    /**
+     * Retrieve the request limit reported by the API
+     *
+     * @return The number of requests per window, or -1 if unknown
+     */
+    public synchronized long getLimitRequests() {
+        return limitRequests;
+    }
+
+    /**
+     * Retrieve the remaining request budget
+     *
+     * @return The number of remaining requests, or -1 if unknown
+     */
+    public synchronized long getRemainingRequests() {
+        return remainingRequests;
+    }
+
+    /**
+     * Retrieve the token limit reported by the API
+     *
+     * @return The number of tokens per window, or -1 if unknown
+     */
+    public synchronized long getLimitTokens() {
+        return limitTokens;
+    }
+
+    /**
+     * Retrieve the remaining token budget
+     *
+     * @return The number of remaining tokens, or -1 if unknown
+     */
+    public synchronized long getRemainingTokens() {
+        return remainingTokens;
+    }
+
+    /**
+     * Retrieve the time until requests are no longer paused because of a {@code Retry-After} header
+     *
+     * @return The remaining pause in milliseconds, or 0 if requests aren't paused
+     */
+    public synchronized long getRetryAfterMillis() {
+        return Math.max(0, retryAfterUntil - System.currentTimeMillis());
+    }
+
+    /**
+     * Retrieve the number of requests that were delayed to stay under the rate limit
+     *
+     * @return The number of paced requests
+     */
+    public synchronized long getPacedRequests() {
+        return pacedRequests;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,682 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.utils;
+
+import de.pixelmindmc.pixelchat.exceptions.StrikeRepositoryException;
+import de.pixelmindmc.pixelchat.model.PlayerStrikes;
+import de.pixelmindmc.pixelchat.model.Strike;
+import de.pixelmindmc.pixelchat.model.StrikeSummary;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+
+/**
+ * A {@link StrikeRepository} that stores the strikes of all players in an embedded SQLite database
+ * The history is indexed by player and time and the players by their total number of strikes, so the history and
+ * top queries only read the rows they return. Changes are queued and written by a background thread in batches of
+ * one transaction each, the queries use a small pool of their own connections. The SQLite driver is provided by the
+ * server
+ */
+public class SqliteStrikeRepository implements StrikeRepository {
+    private static final String DRIVER = "org.sqlite.JDBC";
+    // Seconds a query waits for a pooled connection
+    private static final long CONNECTION_TIMEOUT = 5;
+    // Milliseconds the writer waits before it writes a failed batch again, doubled after every further failure
+    private static final long MIN_RETRY_DELAY = 1000;
+    private static final long MAX_RETRY_DELAY = 60000;
+
+    private static final String[] SCHEMA = {"CREATE TABLE IF NOT EXISTS players (uuid TEXT PRIMARY KEY, name TEXT NOT NULL, strikes INTEGER NOT NULL, total_strikes INTEGER NOT NULL)", "CREATE INDEX IF NOT EXISTS players_total_strikes ON players (total_strikes, strikes)", "CREATE TABLE IF NOT EXISTS strikes (id INTEGER PRIMARY KEY AUTOINCREMENT, uuid TEXT NOT NULL, time INTEGER NOT NULL, reason TEXT NOT NULL, action TEXT NOT NULL)", "CREATE INDEX IF NOT EXISTS strikes_uuid_time ON strikes (uuid, time)"};
+
+    private static final String UPSERT_PLAYER = "INSERT INTO players (uuid, name, strikes, total_strikes) VALUES (?, ?, ?, 1) ON CONFLICT (uuid) DO UPDATE SET name = excluded.name, strikes = excluded.strikes, total_strikes = players.total_strikes + 1";
+    private static final String IMPORT_PLAYER = "INSERT OR REPLACE INTO players (uuid, name, strikes, total_strikes) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_STRIKE = "INSERT INTO strikes (uuid, time, reason, action) VALUES (?, ?, ?, ?)";
+    private static final String RESET_PLAYER = "UPDATE players SET strikes = 0 WHERE uuid = ?";
+    private static final String RESET_ALL = "UPDATE players SET strikes = 0";
+    private static final String SELECT_COUNTS = "SELECT uuid, strikes, total_strikes FROM players";
+    private static final String COUNT_HISTORY = "SELECT COUNT(*) FROM strikes WHERE uuid = ?";
+    private static final String SELECT_HISTORY = "SELECT time, reason, action FROM strikes WHERE uuid = ? ORDER BY time DESC, id DESC LIMIT ? OFFSET ?";
+    private static final String COUNT_TOP = "SELECT COUNT(*) FROM players WHERE total_strikes > 0";
+    private static final String SELECT_TOP = "SELECT uuid, name, strikes, total_strikes FROM players WHERE total_strikes > 0 ORDER BY total_strikes DESC, strikes DESC LIMIT ? OFFSET ?";
+    private static final String SELECT_PLAYERS = "SELECT uuid, name, strikes FROM players";
+    private static final String SELECT_STRIKES = "SELECT uuid, time, reason, action FROM strikes ORDER BY uuid, time, id";
+
+    private final @NotNull LoggingHelper loggingHelper;
+    private final @NotNull File databaseFile;
+    private final int poolSize;
+    private final int batchSize;
+
+    // The current and total strike counts, so that they can be read for every message without a query
+    private final @NotNull Map<UUID, Integer> strikeCounts = new ConcurrentHashMap<>();
+    private final @NotNull Map<UUID, Integer> totalStrikeCounts = new ConcurrentHashMap<>();
+    // Changes hold the read lock, resetting all players holds the write lock to queue its change in order
+    private final @NotNull ReadWriteLock stateLock = new ReentrantReadWriteLock();
+    private final @NotNull BlockingQueue<Write> pendingWrites = new LinkedBlockingQueue<>();
+    private final @NotNull BlockingQueue<Connection> readers = new LinkedBlockingQueue<>();
+
+    // Only used by the writer thread, or after it has stopped
+    private @Nullable Connection writerConnection;
+    private @Nullable Statements statements;
+    // The batch that is being written, a failed batch is kept and written again before any later change
+    private final @NotNull List<Write> batch = new ArrayList<>();
+
+    private volatile boolean running = false;
+    private @Nullable Thread writer;
+
+    /**
+     * Constructs a SqliteStrikeRepository object, the database is only opened by {@link #load(File)}
+     *
+     * @param loggingHelper The logging helper
+     * @param dataFolder    The folder the database is saved in
+     * @param poolSize      The number of connections for queries
+     * @param batchSize     The maximum number of changes written in one transaction
+     */
+    public SqliteStrikeRepository(@NotNull LoggingHelper loggingHelper, @NotNull File dataFolder, int poolSize, int batchSize) {
+        this.loggingHelper = loggingHelper;
+        this.databaseFile = new File(dataFolder, "player_strikes.db");
+        this.poolSize = Math.max(1, poolSize);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Opens the database and starts the writer thread
+     * If the database doesn't exist yet, it is created and the strikes are migrated from the given YAML file
+     *
+     * @param legacyFile The player_strikes.yml the strikes were saved in by earlier versions
+     * @throws StrikeRepositoryException If the SQLite driver isn't available or the database couldn't be opened
+     */
+    @Override
+    public synchronized void load(@NotNull File legacyFile) throws StrikeRepositoryException {
+        if (running) {
+            return;
+        }
+
+        try {
+            Class.forName(DRIVER);
+        } catch (ClassNotFoundException e) {
+            throw new StrikeRepositoryException("The SQLite driver isn't available on this server", e);
+        }
+
+        boolean created = !databaseFile.exists();
+        boolean migrate = created && legacyFile.exists();
+        try {
+            Connection connection = openConnection();
+            writerConnection = connection;
+
+            // The schema and the migrated strikes are committed together, a new database is deleted again if either
+            // fails, so the next start migrates the strikes again
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : SCHEMA) {
+                    statement.execute(sql);
+                }
+            }
+
+            statements = new Statements(connection.prepareStatement(UPSERT_PLAYER), connection.prepareStatement(INSERT_STRIKE), connection.prepareStatement(RESET_PLAYER), connection.prepareStatement(RESET_ALL));
+
+            if (migrate) {
+                int migrated = importYaml(connection, legacyFile);
+                loggingHelper.info("Migrated the strikes of " + migrated + " players from " + legacyFile.getName());
+            }
+
+            try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery(SELECT_COUNTS)) {
+                while (result.next()) {
+                    UUID playerUUID = UUID.fromString(result.getString(1));
+                    strikeCounts.put(playerUUID, result.getInt(2));
+                    totalStrikeCounts.put(playerUUID, result.getInt(3));
+                }
+            }
+            connection.commit();
+
+            for (int i = 0; i < poolSize; i++) {
+                readers.add(openConnection());
+            }
+        } catch (SQLException | IllegalArgumentException e) {
+            closeConnections();
+            writerConnection = null;
+            statements = null;
+            strikeCounts.clear();
+            totalStrikeCounts.clear();
+            if (created) {
+                deleteDatabase();
+            }
+            throw new StrikeRepositoryException("Failed to open the strike database: " + e.getMessage(), e);
+        }
+
+        // Debug logger message
+        loggingHelper.debug("Loaded the strikes of " + strikeCounts.size() + " players from the database");
+
+        running = true;
+        Thread thread = new Thread(this::writeChanges, "PixelChat-Strike-Writer");
+        thread.setDaemon(true);
+        thread.start();
+        writer = thread;
+    }
+
+    /**
+     * Retrieve the number of strikes of a player
+     *
+     * @param playerUUID The player uuid
+     * @return The number of strikes, 0 for players without any
+     */
+    @Override
+    public int getStrikes(@NotNull UUID playerUUID) {
+        return strikeCounts.getOrDefault(playerUUID, 0);
+    }
+
+    /**
+     * Retrieve the number of strikes a player ever got, the length of their history
+     *
+     * @param playerUUID The player uuid
+     * @return The number of strikes including those that were reset since, 0 for players without any
+     */
+    @Override
+    public int getTotalStrikes(@NotNull UUID playerUUID) {
+        return totalStrikeCounts.getOrDefault(playerUUID, 0);
+    }
+
+    /**
+     * Adds a strike to a player
+     * The strike count is incremented atomically per player, so strikes a player gets at the same time are never lost
+     * and every strike count is reached by exactly one strike
+     *
+     * @param playerUUID The player uuid
+     * @param playerName The current name of the player
+     * @param reason     The reason of the strike
+     * @param action     Decides the action taken because of the strike from the new strike count, it is called while
+     *                   the player is locked and must not block
+     * @return The number of strikes the player has with this strike
+     */
+    @Override
+    public int addStrike(@NotNull UUID playerUUID, @NotNull String playerName, @NotNull String reason, @NotNull IntFunction<String> action) {
+        long timestamp = System.currentTimeMillis();
+        String uuid = playerUUID.toString();
+
+        stateLock.readLock().lock();
+        try {
+            // The count is incremented and the change is queued while the entry is locked, so concurrent strikes of a
+            // player can't read the same count and the changes of a player are written in order
+            return strikeCounts.compute(playerUUID, (key, current) -> {
+                int strikes = (current != null ? current : 0) + 1;
+                totalStrikeCounts.merge(playerUUID, 1, Integer::sum);
+                String strikeAction = action.apply(strikes);
+                enqueue(statements -> {
+                    statements.upsertPlayer().setString(1, uuid);
+                    statements.upsertPlayer().setString(2, playerName);
+                    statements.upsertPlayer().setInt(3, strikes);
+                    statements.upsertPlayer().executeUpdate();
+
+                    statements.insertStrike().setString(1, uuid);
+                    statements.insertStrike().setLong(2, timestamp);
+                    statements.insertStrike().setString(3, reason);
+                    statements.insertStrike().setString(4, strikeAction);
+                    statements.insertStrike().executeUpdate();
+                });
+                return strikes;
+            });
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Resets the strike count of a player to 0, the strike history is kept
+     *
+     * @param playerUUID The player uuid
+     * @return {@code true} if the player ever got a strike
+     */
+    @Override
+    public boolean resetStrikes(@NotNull UUID playerUUID) {
+        String uuid = playerUUID.toString();
+
+        stateLock.readLock().lock();
+        try {
+            return strikeCounts.computeIfPresent(playerUUID, (key, current) -> {
+                enqueue(statements -> {
+                    statements.resetPlayer().setString(1, uuid);
+                    statements.resetPlayer().executeUpdate();
+                });
+                return 0;
+            }) != null;
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Resets the strike count of every player to 0, the strike histories are kept
+     */
+    @Override
+    public void resetAllStrikes() {
+        stateLock.writeLock().lock();
+        try {
+            strikeCounts.replaceAll((key, current) -> 0);
+            enqueue(statements -> statements.resetAll().executeUpdate());
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieve a page of the strike history of a player with an indexed query, newest first
+     * Changes that haven't been written by the background thread yet aren't included
+     *
+     * @param playerUUID The player uuid
+     * @param page       The page, starting at 1
+     * @param pageSize   The number of strikes per page
+     * @return The page
+     * @throws StrikeRepositoryException If the database couldn't be read
+     */
+    @Override
+    public @NotNull Page<Strike> getHistory(@NotNull UUID playerUUID, int page, int pageSize) throws StrikeRepositoryException {
+        Connection connection = borrowConnection();
+        try {
+            long total;
+            try (PreparedStatement statement = connection.prepareStatement(COUNT_HISTORY)) {
+                statement.setString(1, playerUUID.toString());
+                total = queryCount(statement);
+            }
+
+            int pages = Page.count(total, pageSize);
+            int currentPage = Math.max(1, Math.min(page, pages));
+            List<Strike> entries = new ArrayList<>(pageSize);
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_HISTORY)) {
+                statement.setString(1, playerUUID.toString());
+                statement.setInt(2, pageSize);
+                statement.setInt(3, (currentPage - 1) * pageSize);
+                try (ResultSet result = statement.executeQuery()) {
+                    while (result.next()) {
+                        entries.add(new Strike(result.getLong(1), result.getString(2), result.getString(3)));
+                    }
+                }
+            }
+
+            return new Page<>(List.copyOf(entries), currentPage, pages);
+        } catch (SQLException e) {
+            throw new StrikeRepositoryException("Failed to read the strike history: " + e.getMessage(), e);
+        } finally {
+            releaseConnection(connection);
+        }
+    }
+
+    /**
+     * Retrieve a page of the players that got the most strikes in total with an indexed query
+     * Changes that haven't been written by the background thread yet aren't included
+     *
+     * @param page     The page, starting at 1
+     * @param pageSize The number of players per page
+     * @return The page
+     * @throws StrikeRepositoryException If the database couldn't be read
+     */
+    @Override
+    public @NotNull Page<StrikeSummary> getTopPlayers(int page, int pageSize) throws StrikeRepositoryException {
+        Connection connection = borrowConnection();
+        try {
+            long total;
+            try (PreparedStatement statement = connection.prepareStatement(COUNT_TOP)) {
+                total = queryCount(statement);
+            }
+
+            int pages = Page.count(total, pageSize);
+            int currentPage = Math.max(1, Math.min(page, pages));
+            List<StrikeSummary> entries = new ArrayList<>(pageSize);
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_TOP)) {
+                statement.setInt(1, pageSize);
+                statement.setInt(2, (currentPage - 1) * pageSize);
+                try (ResultSet result = statement.executeQuery()) {
+                    while (result.next()) {
+                        entries.add(new StrikeSummary(UUID.fromString(result.getString(1)), result.getString(2), result.getInt(3), result.getInt(4)));
+                    }
+                }
+            }
+
+            return new Page<>(List.copyOf(entries), currentPage, pages);
+        } catch (SQLException | IllegalArgumentException e) {
+            throw new StrikeRepositoryException("Failed to read the players with the most strikes: " + e.getMessage(), e);
+        } finally {
+            releaseConnection(connection);
+        }
+    }
+
+    /**
+     * Writes the strikes of all players to a YAML file in the format of earlier versions
+     * Changes that haven't been written by the background thread yet aren't included
+     *
+     * @param file The file
+     * @throws StrikeRepositoryException If the database couldn't be read or the file couldn't be written
+     */
+    @Override
+    public void exportYaml(@NotNull File file) throws StrikeRepositoryException {
+        Map<UUID, PlayerStrikes> players = new LinkedHashMap<>();
+
+        Connection connection = borrowConnection();
+        try (Statement statement = connection.createStatement()) {
+            Map<UUID, List<Strike>> histories = new HashMap<>();
+            try (ResultSet result = statement.executeQuery(SELECT_STRIKES)) {
+                while (result.next()) {
+                    histories.computeIfAbsent(UUID.fromString(result.getString(1)), uuid -> new ArrayList<>()).add(new Strike(result.getLong(2), result.getString(3), result.getString(4)));
+                }
+            }
+
+            try (ResultSet result = statement.executeQuery(SELECT_PLAYERS)) {
+                while (result.next()) {
+                    UUID playerUUID = UUID.fromString(result.getString(1));
+                    players.put(playerUUID, new PlayerStrikes(result.getString(2), result.getInt(3), histories.getOrDefault(playerUUID, List.of())));
+                }
+            }
+        } catch (SQLException | IllegalArgumentException e) {
+            throw new StrikeRepositoryException("Failed to read the player strikes: " + e.getMessage(), e);
+        } finally {
+            releaseConnection(connection);
+        }
+
+        try {
+            StrikeYamlFormat.write(file, players);
+        } catch (IOException e) {
+            throw new StrikeRepositoryException("Failed to export the player strikes: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Stops the writer thread, writes the pending changes and closes the database
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+
+        Thread thread = writer;
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // Write the batch that failed last and what was queued after the writer thread stopped
+        do {
+            if (!batch.isEmpty() && !writeBatch(batch)) {
+                loggingHelper.error("Dropped " + (batch.size() + pendingWrites.size()) + " strike changes that couldn't be written to the database before it was closed");
+                pendingWrites.clear();
+                break;
+            }
+            batch.clear();
+        } while (pendingWrites.drainTo(batch, batchSize) > 0);
+
+        closeConnections();
+    }
+
+    /**
+     * Queues a change for the writer thread, changes are only kept in memory if the database couldn't be opened
+     *
+     * @param write The change
+     */
+    private void enqueue(@NotNull Write write) {
+        if (running) {
+            pendingWrites.add(write);
+        }
+    }
+
+    /**
+     * Writes queued changes to the database until the repository is closed
+     * A batch that failed is kept at the front and written again with a growing delay, so the database never misses a
+     * change that the strike counts in memory already include
+     */
+    private void writeChanges() {
+        long retryDelay = 0;
+        while (running) {
+            try {
+                if (batch.isEmpty()) {
+                    Write write = pendingWrites.poll(1, TimeUnit.SECONDS);
+                    if (write == null) {
+                        continue;
+                    }
+
+                    batch.add(write);
+                    pendingWrites.drainTo(batch, batchSize - 1);
+                }
+
+                if (writeBatch(batch)) {
+                    batch.clear();
+                    retryDelay = 0;
+                    continue;
+                }
+
+                retryDelay = retryDelay == 0 ? MIN_RETRY_DELAY : Math.min(MAX_RETRY_DELAY, retryDelay * 2);
+                loggingHelper.warning("Writing " + batch.size() + " strike changes again in " + retryDelay + " ms, " + pendingWrites.size() + " further changes are waiting");
+                awaitRetry(retryDelay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Waits before a failed batch is written again, or until the repository is closed, which writes it one last time
+     *
+     * @param delay The number of milliseconds to wait
+     * @throws InterruptedException If the writer thread was interrupted
+     */
+    private void awaitRetry(long delay) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+        long remaining;
+        while (running && (remaining = deadline - System.nanoTime()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(Math.min(remaining, TimeUnit.SECONDS.toNanos(1)));
+        }
+    }
+
+    /**
+     * Writes a batch of changes in one transaction
+     *
+     * @param batch The changes in the order they were made
+     * @return {@code false} if the batch was rolled back and has to be written again
+     */
+    private boolean writeBatch(@NotNull List<Write> batch) {
+        Connection connection = writerConnection;
+        Statements preparedStatements = statements;
+        if (connection == null || preparedStatements == null) {
+            return true;
+        }
+
+        try {
+            for (Write write : batch) {
+                write.apply(preparedStatements);
+            }
+            connection.commit();
+            return true;
+        } catch (SQLException e) {
+            loggingHelper.error("Failed to write " + batch.size() + " strike changes to the database: " + e.getMessage());
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackException) {
+                loggingHelper.error("Failed to roll back the strike changes: " + rollbackException.getMessage());
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Imports the strikes of earlier versions into the new database, as part of the transaction that creates it
+     *
+     * @param connection The writer connection
+     * @param legacyFile The player_strikes.yml
+     * @return The number of imported players
+     * @throws SQLException If the strikes couldn't be written
+     */
+    private int importYaml(@NotNull Connection connection, @NotNull File legacyFile) throws SQLException {
+        Map<UUID, PlayerStrikes> players = StrikeYamlFormat.read(legacyFile);
+
+        try (PreparedStatement importPlayer = connection.prepareStatement(IMPORT_PLAYER); PreparedStatement insertStrike = connection.prepareStatement(INSERT_STRIKE)) {
+            for (Map.Entry<UUID, PlayerStrikes> entry : players.entrySet()) {
+                String uuid = entry.getKey().toString();
+                PlayerStrikes playerStrikes = entry.getValue();
+
+                importPlayer.setString(1, uuid);
+                importPlayer.setString(2, playerStrikes.name());
+                importPlayer.setInt(3, playerStrikes.strikes());
+                importPlayer.setInt(4, playerStrikes.history().size());
+                importPlayer.addBatch();
+
+                for (Strike strike : playerStrikes.history()) {
+                    insertStrike.setString(1, uuid);
+                    insertStrike.setLong(2, strike.timestamp());
+                    insertStrike.setString(3, strike.reason());
+                    insertStrike.setString(4, strike.action());
+                    insertStrike.addBatch();
+                }
+            }
+
+            importPlayer.executeBatch();
+            insertStrike.executeBatch();
+        }
+
+        return players.size();
+    }
+
+    /**
+     * Takes a connection for a query from the pool, it must be returned with {@link #releaseConnection(Connection)}
+     *
+     * @return The connection
+     * @throws StrikeRepositoryException If the database isn't open or no connection became available in time
+     */
+    private @NotNull Connection borrowConnection() throws StrikeRepositoryException {
+        if (!running) {
+            throw new StrikeRepositoryException("The strike database isn't open");
+        }
+
+        try {
+            Connection connection = readers.poll(CONNECTION_TIMEOUT, TimeUnit.SECONDS);
+            if (connection == null) {
+                throw new StrikeRepositoryException("No connection to the strike database became available");
+            }
+            return connection;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StrikeRepositoryException("Interrupted while waiting for a connection to the strike database", e);
+        }
+    }
+
+    /**
+     * Returns a connection to the pool, or closes it if the repository was closed while it was in use
+     *
+     * @param connection The connection
+     */
+    private void releaseConnection(@NotNull Connection connection) {
+        if (running) {
+            readers.add(connection);
+            return;
+        }
+
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            loggingHelper.error("Failed to close a connection to the strike database: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Opens a connection to the database
+     * The write-ahead log lets the queries read while the writer thread writes, and it only has to be synced to disk
+     * at checkpoints
+     *
+     * @return The connection
+     * @throws SQLException If the database couldn't be opened
+     */
+    private @NotNull Connection openConnection() throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getAbsolutePath());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA journal_mode=WAL");
+            statement.execute("PRAGMA synchronous=NORMAL");
+            statement.execute("PRAGMA busy_timeout=" + TimeUnit.SECONDS.toMillis(CONNECTION_TIMEOUT));
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+
+    /**
+     * Deletes a database that was created by a failed {@link #load(File)}, together with its write-ahead log
+     */
+    private void deleteDatabase() {
+        for (String suffix : new String[]{"", "-wal", "-shm"}) {
+            try {
+                Files.deleteIfExists(new File(databaseFile.getPath() + suffix).toPath());
+            } catch (IOException e) {
+                loggingHelper.error("Failed to delete the incomplete strike database, delete " + databaseFile.getName() + suffix + " before the next start: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Closes the writer connection and all pooled connections
+     */
+    private void closeConnections() {
+        List<Connection> connections = new ArrayList<>();
+        readers.drainTo(connections);
+        if (writerConnection != null) {
+            connections.add(writerConnection);
+        }
+
+        // Closing a connection also closes its prepared statements
+        for (Connection connection : connections) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                loggingHelper.error("Failed to close a connection to the strike database: " + e.getMessage());
+            }
+        }
+
+        writerConnection = null;
+        statements = null;
+    }
+
+    private static long queryCount(@NotNull PreparedStatement statement) throws SQLException {
+        try (ResultSet result = statement.executeQuery()) {
+            return result.next() ? result.getLong(1) : 0;
+        }
+    }
+
+    /**
+     * A change that is written by the writer thread
+     */
+    @FunctionalInterface
+    private interface Write {
+        void apply(@NotNull Statements statements) throws SQLException;
+    }
+
+    /**
+     * The prepared statements of the writer connection
+     */
+    private record Statements(@NotNull PreparedStatement upsertPlayer, @NotNull PreparedStatement insertStrike,
+                              @NotNull PreparedStatement resetPlayer, @NotNull PreparedStatement resetAll) {
+    }
+}
\ No newline at end of file
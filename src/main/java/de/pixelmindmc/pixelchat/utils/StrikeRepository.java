@@ -0,0 +1,133 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.utils;
+
+import de.pixelmindmc.pixelchat.exceptions.StrikeRepositoryException;
+import de.pixelmindmc.pixelchat.model.Strike;
+import de.pixelmindmc.pixelchat.model.StrikeSummary;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+/**
+ * Stores the strikes of all players
+ * The current strike counts are kept in memory, so {@link #getStrikes(UUID)} can be called for every message, and
+ * changes are written in the background. The history queries read the storage and may block, they must not be called
+ * on the main thread
+ */
+public interface StrikeRepository {
+    /**
+     * Opens the storage and reads the current strike counts
+     * If the storage is new, the strikes are migrated from the given YAML file
+     *
+     * @param legacyFile The player_strikes.yml the strikes were saved in by earlier versions
+     * @throws StrikeRepositoryException If the storage couldn't be opened
+     */
+    void load(@NotNull File legacyFile) throws StrikeRepositoryException;
+
+    /**
+     * Retrieve the number of strikes of a player
+     *
+     * @param playerUUID The player uuid
+     * @return The number of strikes, 0 for players without any
+     */
+    int getStrikes(@NotNull UUID playerUUID);
+
+    /**
+     * Retrieve the number of strikes a player ever got
+     * Unlike the current count, the total isn't lowered when the strikes are removed or cleared, it is kept in memory
+     * as well
+     *
+     * @param playerUUID The player uuid
+     * @return The number of strikes including those that were reset since, 0 for players without any
+     */
+    int getTotalStrikes(@NotNull UUID playerUUID);
+
+    /**
+     * Adds a strike to a player
+     * The strike count is incremented atomically per player, so strikes a player gets at the same time are never lost
+     * and every strike count is reached by exactly one strike
+     *
+     * @param playerUUID The player uuid
+     * @param playerName The current name of the player
+     * @param reason     The reason of the strike
+     * @param action     Decides the action taken because of the strike from the new strike count, it is called while
+     *                   the player is locked and must not block
+     * @return The number of strikes the player has with this strike
+     */
+    int addStrike(@NotNull UUID playerUUID, @NotNull String playerName, @NotNull String reason, @NotNull IntFunction<String> action);
+
+    /**
+     * Resets the strike count of a player to 0, the strike history is kept
+     *
+     * @param playerUUID The player uuid
+     * @return {@code true} if the player ever got a strike
+     */
+    boolean resetStrikes(@NotNull UUID playerUUID);
+
+    /**
+     * Resets the strike count of every player to 0, the strike histories are kept
+     */
+    void resetAllStrikes();
+
+    /**
+     * Retrieve a page of the strike history of a player, newest first
+     *
+     * @param playerUUID The player uuid
+     * @param page       The page, starting at 1
+     * @param pageSize   The number of strikes per page
+     * @return The page
+     * @throws StrikeRepositoryException If the storage couldn't be read
+     */
+    @NotNull Page<Strike> getHistory(@NotNull UUID playerUUID, int page, int pageSize) throws StrikeRepositoryException;
+
+    /**
+     * Retrieve a page of the players that got the most strikes in total
+     *
+     * @param page     The page, starting at 1
+     * @param pageSize The number of players per page
+     * @return The page
+     * @throws StrikeRepositoryException If the storage couldn't be read
+     */
+    @NotNull Page<StrikeSummary> getTopPlayers(int page, int pageSize) throws StrikeRepositoryException;
+
+    /**
+     * Writes the strikes of all players to a YAML file in the format of earlier versions
+     *
+     * @param file The file
+     * @throws StrikeRepositoryException If the storage couldn't be read or the file couldn't be written
+     */
+    void exportYaml(@NotNull File file) throws StrikeRepositoryException;
+
+    /**
+     * Writes the pending changes and closes the storage
+     */
+    void close();
+
+    /**
+     * A page of a query result
+     *
+     * @param entries The entries on the page
+     * @param page    The page, starting at 1
+     * @param pages   The total number of pages, at least 1
+     * @param <T>     The type of the entries
+     */
+    record Page<T>(@NotNull List<T> entries, int page, int pages) {
+        /**
+         * Computes the number of pages for a number of entries
+         *
+         * @param entries  The total number of entries
+         * @param pageSize The number of entries per page
+         * @return The number of pages, at least 1
+         */
+        static int count(long entries, int pageSize) {
+            return (int) Math.max(1, (entries + pageSize - 1) / pageSize);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,112 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.utils;
+
+import de.pixelmindmc.pixelchat.model.PlayerStrikes;
+import de.pixelmindmc.pixelchat.model.Strike;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads and writes the strikes of all players in the player_strikes.yml format of earlier versions, which is kept for
+ * migrating between the strike storages and exporting the strikes
+ */
+final class StrikeYamlFormat {
+    // Date format of the strike history
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private StrikeYamlFormat() {
+    }
+
+    /**
+     * Reads the strikes of all players from a file
+     *
+     * @param file The file
+     * @return The strikes mapped to the player uuids, entries that aren't player uuids are skipped
+     */
+    static @NotNull Map<UUID, PlayerStrikes> read(@NotNull File file) {
+        YamlConfiguration configuration = YamlConfiguration.loadConfiguration(file);
+        Map<UUID, PlayerStrikes> players = new LinkedHashMap<>();
+
+        for (String key : configuration.getKeys(false)) {
+            UUID playerUUID;
+            try {
+                playerUUID = UUID.fromString(key);
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+
+            List<Strike> history = new ArrayList<>();
+            ConfigurationSection historySection = configuration.getConfigurationSection(key + ".strikeHistory");
+            if (historySection != null) {
+                for (String date : historySection.getKeys(false)) {
+                    long timestamp;
+                    try {
+                        timestamp = LocalDateTime.parse(date, DATE_FORMAT).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                    } catch (DateTimeParseException e) {
+                        timestamp = 0;
+                    }
+                    history.add(new Strike(timestamp, historySection.getString(date + ".reason", ""), historySection.getString(date + ".action", "NOTHING")));
+                }
+            }
+
+            String name = configuration.getString(key + ".name");
+            players.put(playerUUID, new PlayerStrikes(name != null ? name : key, configuration.getInt(key + ".strikes"), List.copyOf(history)));
+        }
+
+        return players;
+    }
+
+    /**
+     * Writes the strikes of all players to a file
+     *
+     * @param file    The file
+     * @param players The strikes mapped to the player uuids
+     * @throws IOException If the file couldn't be written
+     */
+    static void write(@NotNull File file, @NotNull Map<UUID, PlayerStrikes> players) throws IOException {
+        YamlConfiguration configuration = new YamlConfiguration();
+
+        for (Map.Entry<UUID, PlayerStrikes> entry : players.entrySet()) {
+            PlayerStrikes playerStrikes = entry.getValue();
+            String playerPath = entry.getKey().toString();
+            configuration.set(playerPath + ".name", playerStrikes.name());
+            configuration.set(playerPath + ".strikes", playerStrikes.strikes());
+
+            for (Strike strike : playerStrikes.history()) {
+                String strikePath = playerPath + ".strikeHistory." + formatDate(strike.timestamp());
+                configuration.set(strikePath + ".reason", strike.reason());
+                configuration.set(strikePath + ".action", strike.action());
+            }
+        }
+
+        configuration.save(file);
+    }
+
+    /**
+     * Formats the time of a strike like the keys of the strike history
+     *
+     * @param timestamp The time in milliseconds since the epoch
+     * @return The formatted date and time
+     */
+    static @NotNull String formatDate(long timestamp) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault()).format(DATE_FORMAT);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,163 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An immutable trie of placeholders like emoji and chat codes that replaces all of them in a single left to right pass
+ * At every position the longest placeholder starting there is replaced, so ":))" wins over ":)", and the scan
+ * continues after it. Messages without any placeholder are returned as they are, all others are written into a
+ * builder that is reused by the thread
+ */
+public final class TextReplacer {
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+    // Builders that grew larger than this aren't kept for the next message
+    private static final int MAX_RETAINED_CAPACITY = 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    // Transitions of every node as sorted character arrays with their target nodes
+    private final char[][] transitionChars;
+    private final int[][] transitionTargets;
+    private final String[] replacements;
+    private final int placeholderCount;
+
+    private TextReplacer(char[][] transitionChars, int[][] transitionTargets, String[] replacements, int placeholderCount) {
+        this.transitionChars = transitionChars;
+        this.transitionTargets = transitionTargets;
+        this.replacements = replacements;
+        this.placeholderCount = placeholderCount;
+    }
+
+    /**
+     * Compiles a set of placeholders into a replacer
+     *
+     * @param placeholders The placeholders mapped to their replacements
+     * @return The compiled replacer
+     */
+    public static @NotNull TextReplacer compile(@NotNull Map<String, String> placeholders) {
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        children.add(new TreeMap<>());
+        values.add(null);
+
+        // Build the trie of all placeholders
+        int placeholderCount = 0;
+        for (Map.Entry<String, String> entry : placeholders.entrySet()) {
+            String placeholder = entry.getKey();
+            if (placeholder.isEmpty() || entry.getValue() == null) {
+                continue;
+            }
+
+            int node = ROOT;
+            for (int i = 0; i < placeholder.length(); i++) {
+                Integer next = children.get(node).get(placeholder.charAt(i));
+                if (next == null) {
+                    next = children.size();
+                    children.add(new TreeMap<>());
+                    values.add(null);
+                    children.get(node).put(placeholder.charAt(i), next);
+                }
+                node = next;
+            }
+
+            values.set(node, entry.getValue());
+            placeholderCount++;
+        }
+
+        int nodeCount = children.size();
+        char[][] transitionChars = new char[nodeCount][];
+        int[][] transitionTargets = new int[nodeCount][];
+        for (int node = 0; node < nodeCount; node++) {
+            TreeMap<Character, Integer> nodeChildren = children.get(node);
+            transitionChars[node] = new char[nodeChildren.size()];
+            transitionTargets[node] = new int[nodeChildren.size()];
+
+            int index = 0;
+            for (Map.Entry<Character, Integer> child : nodeChildren.entrySet()) {
+                transitionChars[node][index] = child.getKey();
+                transitionTargets[node][index] = child.getValue();
+                index++;
+            }
+        }
+
+        return new TextReplacer(transitionChars, transitionTargets, values.toArray(new String[0]), placeholderCount);
+    }
+
+    /**
+     * Replaces all placeholders of a message
+     *
+     * @param message The message
+     * @return The message with the placeholders replaced, the same instance if it contains none
+     */
+    public @NotNull String replace(@NotNull String message) {
+        StringBuilder builder = null;
+        // Start of the text that hasn't been copied to the builder yet
+        int copied = 0;
+
+        int i = 0;
+        while (i < message.length()) {
+            // Find the longest placeholder starting at this position
+            int node = ROOT;
+            int matchEnd = NONE;
+            String replacement = null;
+            for (int j = i; j < message.length(); j++) {
+                node = next(node, message.charAt(j));
+                if (node == NONE) {
+                    break;
+                }
+                if (replacements[node] != null) {
+                    matchEnd = j + 1;
+                    replacement = replacements[node];
+                }
+            }
+
+            if (matchEnd == NONE) {
+                i++;
+                continue;
+            }
+
+            if (builder == null) {
+                builder = BUFFER.get();
+                builder.setLength(0);
+            }
+            builder.append(message, copied, i).append(replacement);
+            copied = matchEnd;
+            i = matchEnd;
+        }
+
+        if (builder == null) {
+            return message;
+        }
+
+        String result = builder.append(message, copied, message.length()).toString();
+        if (builder.capacity() > MAX_RETAINED_CAPACITY) {
+            BUFFER.remove();
+        }
+        return result;
+    }
+
+    /**
+     * Retrieve the number of compiled placeholders
+     *
+     * @return The number of placeholders
+     */
+    public int size() {
+        return placeholderCount;
+    }
+
+    private int next(int node, char c) {
+        int index = Arrays.binarySearch(transitionChars[node], c);
+        return index >= 0 ? transitionTargets[node][index] : NONE;
+    }
+}
\ No newline at end of file
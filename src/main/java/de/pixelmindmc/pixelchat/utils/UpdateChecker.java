@@ -23,7 +23,6 @@ import java.net.URL;
  */
 public class UpdateChecker {
     private final @NotNull PixelChat plugin;
-    private final @NotNull ConfigHelper configHelperLanguage;
     private final @NotNull URL url;
 
     /**
@@ -34,7 +33,6 @@ public class UpdateChecker {
      */
     public UpdateChecker(@NotNull PixelChat plugin, @NotNull URL apiUrl) {
         this.plugin = plugin;
-        this.configHelperLanguage = plugin.getConfigHelperLanguage();
 
         this.url = apiUrl;
     }
@@ -62,7 +60,7 @@ public class UpdateChecker {
 
             return JsonParser.parseString(response.toString()).getAsJsonObject();
         } else {
-            throw new IOException(configHelperLanguage.getString(LangConstants.Global.UNABLE_TO_CHECK_FOR_UPDATES) + " " + responseCode);
+            throw new IOException(plugin.getConfigHelperLanguage().getString(LangConstants.Global.UNABLE_TO_CHECK_FOR_UPDATES) + " " + responseCode);
         }
     }
 
@@ -80,12 +78,12 @@ public class UpdateChecker {
             boolean isPreRelease = latestRelease.get("prerelease").getAsBoolean();
 
             if (!isPreRelease && isNewerVersion(currentVersion, latestVersion)) {
-                return configHelperLanguage.getString(LangConstants.Global.UPDATE_AVAILABLE) + " https://modrinth.com/plugin/pixelchatguardian/";
+                return plugin.getConfigHelperLanguage().getString(LangConstants.Global.UPDATE_AVAILABLE) + " https://modrinth.com/plugin/pixelchatguardian/";
             } else {
-                return configHelperLanguage.getString(LangConstants.Global.NO_UPDATE_AVAILABLE);
+                return plugin.getConfigHelperLanguage().getString(LangConstants.Global.NO_UPDATE_AVAILABLE);
             }
         } catch (Exception e) {
-            throw new IOException(configHelperLanguage.getString(LangConstants.Global.UNABLE_TO_CHECK_FOR_UPDATES) + " " + e);
+            throw new IOException(plugin.getConfigHelperLanguage().getString(LangConstants.Global.UNABLE_TO_CHECK_FOR_UPDATES) + " " + e);
         }
     }
 
@@ -0,0 +1,310 @@
+/*
+ * This file is part of PixelChat Guardian.
+ * Copyright (C) 2026 PixelMindMC
+ */
+
+package de.pixelmindmc.pixelchat.utils;
+
+import de.pixelmindmc.pixelchat.model.MessageClassification;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A size- and time-bounded in-memory cache for message classifications
+ * The cache is split into independently locked segments, each using a segmented LRU policy so that a burst of
+ * one-off messages can't push out the messages that are repeated all the time
+ */
+public class VerdictCache {
+    private static final int SEGMENT_COUNT = 16;
+
+    private final @NotNull Segment[] segments;
+    private final long expireAfterNanos;
+    private volatile long fingerprint;
+
+    // Metrics
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    /**
+     * Constructs a VerdictCache object
+     *
+     * @param maxSize            The maximum number of cached classifications
+     * @param expireAfterSeconds The number of seconds after which a cached classification expires
+     * @param fingerprint        The fingerprint of the model and prompt the classifications are made with
+     */
+    public VerdictCache(int maxSize, long expireAfterSeconds, long fingerprint) {
+        int segmentCapacity = Math.max(1, (maxSize + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+
+        this.segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+
+        this.expireAfterNanos = TimeUnit.SECONDS.toNanos(Math.max(1, expireAfterSeconds));
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Computes the fingerprint of the settings a classification depends on
+     *
+     * @param aiModel   The AI model
+     * @param sysPrompt The system prompt
+     * @return The fingerprint
+     */
+    public static long fingerprint(@NotNull String aiModel, @NotNull String sysPrompt) {
+        return 31L * aiModel.hashCode() + sysPrompt.hashCode();
+    }
+
+    /**
+     * Normalizes a message so that trivial variations of the same message share one cache entry
+     *
+     * @param message The message
+     * @return The trimmed, lower case message with collapsed whitespace
+     */
+    public static @NotNull String normalize(@NotNull String message) {
+        StringBuilder normalized = new StringBuilder(message.length());
+        boolean pendingSpace = false;
+
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = !normalized.isEmpty();
+            } else {
+                if (pendingSpace) {
+                    normalized.append(' ');
+                    pendingSpace = false;
+                }
+                normalized.append(c);
+            }
+        }
+
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Looks up the cached classification of a message
+     *
+     * @param message  The message
+     * @param language The language the classification reason is written in
+     * @return The cached classification, or {@code null} if there is none
+     */
+    public @Nullable MessageClassification get(@NotNull String message, @NotNull String language) {
+        Key key = new Key(normalize(message), language, fingerprint);
+        MessageClassification classification = segmentFor(key).get(key, System.nanoTime());
+
+        if (classification != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+
+        return classification;
+    }
+
+    /**
+     * Caches the classification of a message
+     *
+     * @param message        The message
+     * @param language       The language the classification reason is written in
+     * @param classification The classification
+     */
+    public void put(@NotNull String message, @NotNull String language, @NotNull MessageClassification classification) {
+        Key key = new Key(normalize(message), language, fingerprint);
+        segmentFor(key).put(key, classification, System.nanoTime() + expireAfterNanos);
+    }
+
+    /**
+     * Updates the fingerprint of the model and prompt, and drops all cached classifications if it changed
+     *
+     * @param newFingerprint The new fingerprint
+     * @return {@code true} if the cache has been invalidated
+     */
+    public boolean updateFingerprint(long newFingerprint) {
+        if (newFingerprint == fingerprint) {
+            return false;
+        }
+
+        fingerprint = newFingerprint;
+        invalidateAll();
+        return true;
+    }
+
+    /**
+     * Drops all cached classifications
+     */
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Retrieve the number of cached classifications
+     *
+     * @return The number of entries
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Retrieve the number of lookups that found a cached classification
+     *
+     * @return The number of hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Retrieve the number of lookups that found no cached classification
+     *
+     * @return The number of misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Retrieve the number of classifications that were evicted to make room for new ones
+     *
+     * @return The number of evictions
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Retrieve the number of classifications that were dropped because they expired
+     *
+     * @return The number of expirations
+     */
+    public long getExpirations() {
+        return expirations.get();
+    }
+
+    /**
+     * Selects the segment responsible for a key
+     *
+     * @param key The key
+     * @return The segment
+     */
+    private @NotNull Segment segmentFor(@NotNull Key key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENT_COUNT - 1)];
+    }
+
+    /**
+     * The cache key of a message
+     *
+     * @param message     The normalized message
+     * @param language    The language of the classification reason
+     * @param fingerprint The fingerprint of the model and prompt
+     */
+    private record Key(@NotNull String message, @NotNull String language, long fingerprint) {
+    }
+
+    /**
+     * A cached classification with its expiry time
+     *
+     * @param classification The classification
+     * @param expiresAt      The {@link System#nanoTime()} at which the entry expires
+     */
+    private record Entry(@NotNull MessageClassification classification, long expiresAt) {
+    }
+
+    /**
+     * A segment of the cache using a segmented LRU policy
+     * New entries start in the probation area and are only moved into the protected area once they are hit again,
+     * so entries that are only seen once never displace frequently used ones
+     */
+    private final class Segment {
+        private final int probationCapacity;
+        private final int protectedCapacity;
+        private final LinkedHashMap<Key, Entry> probation = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<Key, Entry> protectedArea = new LinkedHashMap<>(16, 0.75f, true);
+
+        private Segment(int capacity) {
+            this.probationCapacity = Math.max(1, capacity / 5);
+            this.protectedCapacity = Math.max(1, capacity - probationCapacity);
+        }
+
+        private synchronized @Nullable MessageClassification get(@NotNull Key key, long now) {
+            Entry entry = protectedArea.get(key);
+            if (entry != null) {
+                if (isExpired(entry, now)) {
+                    protectedArea.remove(key);
+                    return null;
+                }
+                return entry.classification();
+            }
+
+            entry = probation.remove(key);
+            if (entry == null) {
+                return null;
+            }
+            if (isExpired(entry, now)) {
+                return null;
+            }
+
+            // Second hit, promote the entry into the protected area
+            protectedArea.put(key, entry);
+            if (protectedArea.size() > protectedCapacity) {
+                Iterator<Map.Entry<Key, Entry>> iterator = protectedArea.entrySet().iterator();
+                Map.Entry<Key, Entry> demoted = iterator.next();
+                iterator.remove();
+                addToProbation(demoted.getKey(), demoted.getValue());
+            }
+            return entry.classification();
+        }
+
+        private synchronized void put(@NotNull Key key, @NotNull MessageClassification classification, long expiresAt) {
+            Entry entry = new Entry(classification, expiresAt);
+            if (protectedArea.containsKey(key)) {
+                protectedArea.put(key, entry);
+            } else {
+                addToProbation(key, entry);
+            }
+        }
+
+        private void addToProbation(@NotNull Key key, @NotNull Entry entry) {
+            probation.put(key, entry);
+            if (probation.size() > probationCapacity) {
+                Iterator<Key> iterator = probation.keySet().iterator();
+                iterator.next();
+                iterator.remove();
+                evictions.incrementAndGet();
+            }
+        }
+
+        private boolean isExpired(@NotNull Entry entry, long now) {
+            if (now - entry.expiresAt() < 0) {
+                return false;
+            }
+            expirations.incrementAndGet();
+            return true;
+        }
+
+        private synchronized void clear() {
+            probation.clear();
+            protectedArea.clear();
+        }
+
+        private synchronized int size() {
+            return probation.size() + protectedArea.size();
+        }
+    }
+}
\ No newline at end of file